@@ -19,7 +19,9 @@
 package org.apache.tinkerpop.gremlin.jsr223;
 
 import org.apache.tinkerpop.gremlin.language.grammar.GremlinAntlrToJava;
+import org.apache.tinkerpop.gremlin.language.grammar.GremlinParser;
 import org.apache.tinkerpop.gremlin.language.grammar.GremlinQueryParser;
+import org.apache.tinkerpop.gremlin.language.grammar.ParseTreeCache;
 import org.apache.tinkerpop.gremlin.language.grammar.VariableResolver;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
@@ -50,12 +52,27 @@ import java.util.function.Function;
  * implementation represents the first step to changes in what it means to have a {@link GremlinScriptEngine}. In some
  * sense, there is question why a {@link GremlinScriptEngine} approach is necessary at all except for easily plugging
  * into the existing internals of Gremlin Server or more specifically the {@code GremlinExecutor}.
+ * <p/>
+ * Parsed scripts are held in a {@link ParseTreeCache} so that repeated evaluation of the same parameterized script
+ * only needs to visit the parse tree and resolve its variables. The size of that cache can be configured with the
+ * {@link ParseCacheCustomizer}.
  */
 public class GremlinLangScriptEngine extends AbstractScriptEngine implements GremlinScriptEngine {
+
+    /**
+     * The default number of parsed scripts held in the {@link ParseTreeCache}.
+     */
+    public static final int DEFAULT_PARSE_CACHE_SIZE = 1000;
+
     private volatile GremlinScriptEngineFactory factory;
 
     private final Function<Map<String, Object>, VariableResolver> variableResolverMaker;
 
+    /**
+     * The cache of parsed scripts which will be {@code null} if caching is disabled.
+     */
+    private final ParseTreeCache parseCache;
+
     /**
      * Creates a new instance using no {@link Customizer}.
      */
@@ -73,6 +90,9 @@ public class GremlinLangScriptEngine extends AbstractScriptEngine implements Gre
                 ((VariableResolverCustomizer) opt.get()).getVariableResolverMaker() :
                 VariableResolver.DirectVariableResolver::new;
 
+        final int parseCacheSize = listOfCustomizers.stream().filter(c -> c instanceof ParseCacheCustomizer).
+                map(c -> ((ParseCacheCustomizer) c).getMaxSize()).findFirst().orElse(DEFAULT_PARSE_CACHE_SIZE);
+        parseCache = parseCacheSize > 0 ? new ParseTreeCache(parseCacheSize) : null;
     }
 
     @Override
@@ -102,12 +122,57 @@ public class GremlinLangScriptEngine extends AbstractScriptEngine implements Gre
                 variableResolverMaker.apply(m));
 
         try {
-            return GremlinQueryParser.parse(script, antlr);
+            final GremlinParser.QueryListContext queryContext = null == parseCache ?
+                    GremlinQueryParser.parseQueryList(script) : parseCache.get(script);
+            return GremlinQueryParser.parse(queryContext, antlr);
         } catch (Exception ex) {
             throw new ScriptException(ex);
         }
     }
 
+    /**
+     * Gets the {@link ParseTreeCache} used by this engine which will be empty if caching was disabled with a
+     * {@link ParseCacheCustomizer}.
+     */
+    public Optional<ParseTreeCache> getParseCache() {
+        return Optional.ofNullable(parseCache);
+    }
+
+    /**
+     * Gets the number of parsed scripts currently held in the cache.
+     */
+    public long getParseCacheEstimatedSize() {
+        return null == parseCache ? 0 : parseCache.size();
+    }
+
+    /**
+     * Gets the number of times a parsed script was served from the cache.
+     */
+    public long getParseCacheHitCount() {
+        return null == parseCache ? 0 : parseCache.getHitCount();
+    }
+
+    /**
+     * Gets the hit rate of the parse cache.
+     */
+    public double getParseCacheHitRate() {
+        return null == parseCache ? 0 : parseCache.getHitRate();
+    }
+
+    /**
+     * Gets the number of times a script was not found in the cache and had to be parsed.
+     */
+    public long getParseCacheMissCount() {
+        return null == parseCache ? 0 : parseCache.getMissCount();
+    }
+
+    /**
+     * Gets the number of times a parsed script has been evicted from the cache.
+     */
+    public long getParseCacheEvictionCount() {
+        return null == parseCache ? 0 : parseCache.getEvictionCount();
+    }
+
     @Override
     public Object eval(final Reader reader, final ScriptContext context) throws ScriptException {
         return eval(readFully(reader), context);
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.jsr223;
+
+import org.apache.tinkerpop.gremlin.language.grammar.ParseTreeCache;
+
+/**
+ * A plugin that configures the {@link ParseTreeCache} of the {@link GremlinLangScriptEngine}. By default, the engine
+ * caches up to {@link GremlinLangScriptEngine#DEFAULT_PARSE_CACHE_SIZE} parsed scripts which is typically enough to
+ * hold all of the distinct parameterized query shapes an application sends.
+ */
+public class ParseCachePlugin extends AbstractGremlinPlugin {
+    private static final String NAME = "tinkerpop.parseCache";
+
+    private ParseCachePlugin(final ParseCachePlugin.Builder builder) {
+        super(NAME, new ParseCacheCustomizer(builder.maxSize));
+    }
+
+    public static ParseCachePlugin.Builder build() {
+        return new ParseCachePlugin.Builder();
+    }
+
+    public static final class Builder {
+
+        int maxSize = GremlinLangScriptEngine.DEFAULT_PARSE_CACHE_SIZE;
+
+        private Builder() {}
+
+        /**
+         * Sets the maximum number of parsed scripts to hold in the cache. Setting this value to zero disables the
+         * cache.
+         */
+        public ParseCachePlugin.Builder maxSize(final int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        public ParseCachePlugin create() {
+            return new ParseCachePlugin(this);
+        }
+    }
+}
@@ -46,6 +46,15 @@ public class GremlinQueryParser {
      * Parse Gremlin string using a specified {@link GremlinAntlrToJava} object.
      */
     public static Object parse(final String query, final GremlinVisitor<Object> visitor)  {
+        return parse(parseQueryList(query), visitor);
+    }
+
+    /**
+     * Parse Gremlin string to its ANTLR {@link GremlinParser.QueryListContext} without visiting it. The returned parse
+     * tree is not modified by visitors and may therefore be cached and visited repeatedly with
+     * {@link #parse(GremlinParser.QueryListContext, GremlinVisitor)}.
+     */
+    public static GremlinParser.QueryListContext parseQueryList(final String query) {
         final CharStream in = CharStreams.fromString(query);
         final GremlinLexer lexer = new GremlinLexer(in);
         lexer.removeErrorListeners();
@@ -81,6 +90,13 @@ public class GremlinQueryParser {
             }        
         }
 
+        return queryContext;
+    }
+
+    /**
+     * Visit an already parsed Gremlin query with the specified {@link GremlinVisitor} object.
+     */
+    public static Object parse(final GremlinParser.QueryListContext queryContext, final GremlinVisitor<Object> visitor) {
         try {
             return visitor.visit(queryContext);
         } catch (ClassCastException ex) {
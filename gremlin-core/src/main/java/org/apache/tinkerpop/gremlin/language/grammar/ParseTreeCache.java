@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.language.grammar;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, least-recently-used cache of parsed Gremlin queries. Parameterized Gremlin, as produced by
+ * {@code GremlinLang} when parameters are used, leaves the parameters as variables in the query string, so a small
+ * number of query shapes tends to dominate traffic. Caching the {@link GremlinParser.QueryListContext} for those
+ * shapes means that only the visit, and thus the resolution of variables by a {@link VariableResolver}, has to be
+ * performed on each request.
+ */
+public class ParseTreeCache {
+
+    private final int maxSize;
+    private final Map<String, GremlinParser.QueryListContext> cache;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Creates a new cache that will hold at most {@code maxSize} parsed queries.
+     */
+    public ParseTreeCache(final int maxSize) {
+        if (maxSize < 1)
+            throw new IllegalArgumentException("maxSize must be greater than zero");
+
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<String, GremlinParser.QueryListContext>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, GremlinParser.QueryListContext> eldest) {
+                final boolean evict = size() > ParseTreeCache.this.maxSize;
+                if (evict) evictionCount.increment();
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Gets the parse tree for the query from the cache or parses it with {@link GremlinQueryParser#parseQueryList}
+     * and caches the result. Queries that fail to parse are not cached.
+     */
+    public GremlinParser.QueryListContext get(final String query) {
+        final String key = normalize(query);
+        GremlinParser.QueryListContext queryContext;
+        synchronized (cache) {
+            queryContext = cache.get(key);
+        }
+
+        if (queryContext != null) {
+            hitCount.increment();
+            return queryContext;
+        }
+
+        // parse outside of the lock so that concurrent misses don't serialize on parsing. two threads racing on the
+        // same query will both parse and the last one in wins which is harmless.
+        missCount.increment();
+        queryContext = GremlinQueryParser.parseQueryList(key);
+        synchronized (cache) {
+            cache.put(key, queryContext);
+        }
+        return queryContext;
+    }
+
+    /**
+     * Removes all entries from the cache. Statistics are not reset.
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the number of parsed queries currently held in the cache.
+     */
+    public long size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Gets the number of times a query was found in the cache.
+     */
+    public long getHitCount() {
+        return hitCount.longValue();
+    }
+
+    /**
+     * Gets the number of times a query was not found in the cache and had to be parsed.
+     */
+    public long getMissCount() {
+        return missCount.longValue();
+    }
+
+    /**
+     * Gets the number of parsed queries that have been evicted from the cache because it was full.
+     */
+    public long getEvictionCount() {
+        return evictionCount.longValue();
+    }
+
+    /**
+     * Gets the ratio of cache hits to total requests or {@code 1.0} if there have been no requests.
+     */
+    public double getHitRate() {
+        final long hits = getHitCount();
+        final long requests = hits + getMissCount();
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+
+    /**
+     * Whitespace surrounding the query has no meaning to the grammar so it is removed to avoid storing the same query
+     * shape more than once.
+     */
+    private static String normalize(final String query) {
+        return query.trim();
+    }
+}
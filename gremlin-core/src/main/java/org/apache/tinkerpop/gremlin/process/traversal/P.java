@@ -75,6 +75,15 @@ public class P<V> implements Predicate<V>, Serializable, Cloneable {
         this.value = value;
     }
 
+    /**
+     * Sets the value as if the {@code P} had been constructed with it which, unlike {@link #setValue(Object)}, also
+     * replaces the value returned by {@link #getOriginalValue()}.
+     */
+    public void setOriginalValue(final V value) {
+        this.value = value;
+        this.originalValue = value;
+    }
+
     @Override
     public boolean test(final V testValue) {
         // this might be a bunch of GValue that need to be resolved. zomg
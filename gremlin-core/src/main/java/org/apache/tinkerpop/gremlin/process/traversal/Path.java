@@ -261,11 +261,13 @@ public interface Path extends Cloneable, Iterable<Object> {
             return this;
         else {
             Path subPath = MutablePath.make();
-            final int size = this.size();
+            final List<Object> objects = this.objects();
+            final List<Set<String>> pathLabels = this.labels();
+            final int size = objects.size();
             int fromIndex = -1;
             int toIndex = -1;
             for (int i = size - 1; i >= 0; i--) {
-                final Set<String> labels = this.labels().get(i);
+                final Set<String> labels = pathLabels.get(i);
                 if (-1 == fromIndex && labels.contains(fromLabel))
                     fromIndex = i;
                 if (-1 == toIndex && labels.contains(toLabel))
@@ -283,8 +285,7 @@ public interface Path extends Cloneable, Iterable<Object> {
             if (fromIndex > toIndex)
                 throw Path.Exceptions.couldNotIsolatedSubPath(fromLabel, toLabel);
             for (int i = fromIndex; i <= toIndex; i++) {
-                final Set<String> labels = this.labels().get(i);
-                subPath.extend(this.get(i), labels);
+                subPath.extend(objects.get(i), pathLabels.get(i));
             }
             return subPath;
         }
@@ -177,6 +177,23 @@ public interface Step<S, E> extends Iterator<Traverser.Admin<E>>, Serializable,
         return Collections.emptySet();
     }
 
+    /**
+     * Fills the array with the next traversers of this step, starting at index zero, and returns the number of
+     * traversers added, where zero means that the step has no more traversers. A step may add fewer traversers than
+     * the array can hold even when it has more to give. The provided default gets the traversers one at a time with
+     * {@link #hasNext()} and {@link #next()}.
+     *
+     * @param batch the array to fill with traversers
+     * @return the number of traversers added to the array
+     */
+    public default int nextBatch(final Traverser.Admin<E>[] batch) {
+        int count = 0;
+        while (count < batch.length && this.hasNext()) {
+            batch[count++] = this.next();
+        }
+        return count;
+    }
+
     /**
      * Compare the current step with another step.
      *
@@ -33,8 +33,11 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.Option
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SackStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SeedStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SpillStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BatchingStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ProfileStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ReferenceElementStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.AdjacentToIncidentStrategy;
@@ -248,11 +251,14 @@ public interface TraversalStrategies extends Serializable, Cloneable, Iterable<T
             put(OptionsStrategy.class.getSimpleName(), OptionsStrategy.class);
             put(PartitionStrategy.class.getSimpleName(), PartitionStrategy.class);
             put(SeedStrategy.class.getSimpleName(), SeedStrategy.class);
+            put(SpillStrategy.class.getSimpleName(), SpillStrategy.class);
             put(SubgraphStrategy.class.getSimpleName(), SubgraphStrategy.class);
             put(VertexProgramStrategy.class.getSimpleName(), VertexProgramStrategy.class);
 
             // finalization
+            put(BatchingStrategy.class.getSimpleName(), BatchingStrategy.class);
             put(MatchAlgorithmStrategy.class.getSimpleName(), MatchAlgorithmStrategy.class);
+            put(ParallelStrategy.class.getSimpleName(), ParallelStrategy.class);
             put(ReferenceElementStrategy.class.getSimpleName(), ReferenceElementStrategy.class);
 
             // optimizations
@@ -282,6 +288,7 @@ public interface TraversalStrategies extends Serializable, Cloneable, Iterable<T
                     MatchPredicateStrategy.instance(),
                     RepeatUnrollStrategy.instance(),
                     CountStrategy.instance(),
+                    OrderLimitStrategy.instance(),
                     PathRetractionStrategy.instance(),
                     LazyBarrierStrategy.instance(),
                     ProfileStrategy.instance(),
@@ -295,7 +302,6 @@ public interface TraversalStrategies extends Serializable, Cloneable, Iterable<T
             graphComputerStrategies.addStrategies(
                     GraphFilterStrategy.instance(),
                     MessagePassingReductionStrategy.instance(),
-                    OrderLimitStrategy.instance(),
                     PathProcessorStrategy.instance(),
                     ComputerFinalizationStrategy.instance(),
                     ComputerVerificationStrategy.instance());
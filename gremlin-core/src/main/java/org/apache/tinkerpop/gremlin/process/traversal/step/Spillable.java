@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step;
+
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SpillStrategy;
+
+import java.io.File;
+
+/**
+ * An interface implemented by barrier steps that can write the traversers they hold to disk once they hold more than
+ * a configured number of them, which bounds the memory that the step uses in OLTP.
+ *
+ * @see SpillStrategy
+ */
+public interface Spillable {
+
+    /**
+     * Has the step spill to files in the {@code directory} once it holds more than {@code threshold} traversers.
+     */
+    public void setSpill(final int threshold, final File directory);
+}
@@ -21,8 +21,10 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.branch;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Configuring;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComputerAwareStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.Parameters;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
@@ -30,6 +32,7 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -38,7 +41,13 @@ import java.util.Set;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements TraversalParent {
+public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements TraversalParent, Configuring {
+
+    /**
+     * Configuration key for {@code with()} that, when {@code true}, prunes any traverser whose object was already
+     * reached by this {@code repeat()}.
+     */
+    public static final String VISITED = "visited";
 
     private Traversal.Admin<S, S> repeatTraversal = null;
     private Traversal.Admin<S, ?> untilTraversal = null;
@@ -46,6 +55,9 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
     private String loopName = null;
     public boolean untilFirst = false;
     public boolean emitFirst = false;
+    private boolean visited = false;
+    private Set<Object> visitedSet = new HashSet<>();
+    private Parameters parameters = new Parameters();
 
     public RepeatStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -104,6 +116,31 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         return this.repeatTraversal;
     }
 
+    /**
+     * Determines if traversers are pruned once their object has been reached by this step, where elements are
+     * matched by their id. Pruning happens as a traverser enters the loop, before the {@code until()} and
+     * {@code emit()} tests, and the surviving traverser has its bulk set to one as it would with {@code dedup()}.
+     */
+    public boolean isVisited() {
+        return this.visited;
+    }
+
+    @Override
+    public void configure(final Object... keyValues) {
+        if (keyValues[0].equals(VISITED)) {
+            if (keyValues.length != 2 || !(keyValues[1] instanceof Boolean))
+                throw new IllegalArgumentException("The repeat()-step requires a boolean value for " + VISITED + ": " + this);
+            this.visited = (Boolean) keyValues[1];
+        } else {
+            this.parameters.set(null, keyValues);
+        }
+    }
+
+    @Override
+    public Parameters getParameters() {
+        return this.parameters;
+    }
+
     public List<Traversal.Admin<S, S>> getGlobalChildren() {
         return null == this.repeatTraversal ? Collections.emptyList() : Collections.singletonList(this.repeatTraversal);
     }
@@ -125,16 +162,29 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         return emitFirst == this.emitFirst && null != this.emitTraversal && TraversalUtil.test(traverser, this.emitTraversal);
     }
 
+    private boolean doVisit(final Traverser.Admin<S> traverser) {
+        if (!this.visited)
+            return true;
+        if (!this.visitedSet.add(traverser.get()))
+            return false;
+        traverser.setBulk(1L);
+        return true;
+    }
+
     @Override
     public String toString() {
+        final List<Object> arguments = new ArrayList<>(4);
         if (this.untilFirst && this.emitFirst)
-            return StringFactory.stepString(this, untilString(), emitString(), this.repeatTraversal);
+            Collections.addAll(arguments, untilString(), emitString(), this.repeatTraversal);
         else if (this.emitFirst)
-            return StringFactory.stepString(this, emitString(), this.repeatTraversal, untilString());
+            Collections.addAll(arguments, emitString(), this.repeatTraversal, untilString());
         else if (this.untilFirst)
-            return StringFactory.stepString(this, untilString(), this.repeatTraversal, emitString());
+            Collections.addAll(arguments, untilString(), this.repeatTraversal, emitString());
         else
-            return StringFactory.stepString(this, this.repeatTraversal, untilString(), emitString());
+            Collections.addAll(arguments, this.repeatTraversal, untilString(), emitString());
+        if (this.visited)
+            arguments.add(VISITED);
+        return StringFactory.stepString(this, arguments.toArray());
     }
 
     @Override
@@ -146,6 +196,7 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             this.untilTraversal.reset();
         if (null != this.repeatTraversal)
             this.repeatTraversal.reset();
+        this.visitedSet.clear();
     }
 
     private final String untilString() {
@@ -166,6 +217,8 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             clone.untilTraversal = this.untilTraversal.clone();
         if (null != this.emitTraversal)
             clone.emitTraversal = this.emitTraversal.clone();
+        clone.visitedSet = new HashSet<>();
+        clone.parameters = this.parameters.clone();
         return clone;
     }
 
@@ -182,6 +235,7 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         int result = super.hashCode();
         result ^= Boolean.hashCode(this.untilFirst);
         result ^= Boolean.hashCode(this.emitFirst) << 1;
+        result ^= Boolean.hashCode(this.visited) << 2;
         if (this.repeatTraversal != null)
             result ^= this.repeatTraversal.hashCode();
         if (this.loopName != null)
@@ -203,6 +257,8 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
                 return this.repeatTraversal.getEndStep();
             } else {
                 final Traverser.Admin<S> start = this.starts.next();
+                if (!doVisit(start))
+                    continue;
                 start.initialiseLoops(this.getId(), this.loopName);
                 if (doUntil(start, true)) {
                     start.resetLoops();
@@ -300,6 +356,9 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             final RepeatStep<S> repeatStep = (RepeatStep<S>) this.getTraversal().getParent();
             while (true) {
                 final Traverser.Admin<S> start = this.starts.next();
+                // when until() or emit() come first the traverser re-enters the RepeatStep which does the check
+                if (!repeatStep.untilFirst && !repeatStep.emitFirst && !repeatStep.doVisit(start))
+                    continue;
                 start.incrLoops();
                 if (repeatStep.doUntil(start, false)) {
                     start.resetLoops();
@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.filter;
 import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
 import org.apache.tinkerpop.gremlin.process.traversal.Operator;
 import org.apache.tinkerpop.gremlin.process.traversal.Pop;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
@@ -28,16 +29,20 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.GraphComputing;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spillable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalProduct;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -53,7 +58,12 @@ import java.util.function.BinaryOperator;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing, Barrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor {
+public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing, Barrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor, Spillable, AutoCloseable {
+
+    /**
+     * The number of partitions by hash that the objects not yet seen are spilled to once the step holds too many.
+     */
+    private static final int SPILL_PARTITIONS = 16;
 
     private Traversal.Admin<S, Object> dedupTraversal = null;
     private Set<Object> duplicateSet = new HashSet<>();
@@ -64,6 +74,16 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     private Map<Object, Traverser.Admin<S>> barrier;
     private Iterator<Map.Entry<Object, Traverser.Admin<S>>> barrierIterator;
 
+    private int spillThreshold = Integer.MAX_VALUE;
+    private File spillDirectory;
+    private Boolean spillable = null;
+    private SpillFile[] pending = null;
+    private SpillFile[] seen = null;
+    private int drainPartition = -1;
+    private SpillFile drainFile = null;
+    private CloseableIterator<Object[]> drainRecords = null;
+    private Set<Object> drainKeys = null;
+
     public DedupGlobalStep(final Traversal.Admin traversal, final String... dedupLabels) {
         super(traversal);
         this.dedupLabels = dedupLabels.length == 0 ? null : Collections.unmodifiableSet(new HashSet<>(Arrays.asList(dedupLabels)));
@@ -75,7 +95,21 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
         traverser.setBulk(1L);
         if (null == this.dedupLabels) {
             final TraversalProduct product = TraversalUtil.produce(traverser, this.dedupTraversal);
-            return product.isProductive() && this.duplicateSet.add(product.get());
+            if (!product.isProductive())
+                return false;
+            if (null != this.pending) {
+                // the duplicate set is full so anything it does not hold is deduplicated from disk later
+                if (!this.duplicateSet.contains(product.get()))
+                    this.spill(traverser.get(), product.get());
+                return false;
+            }
+            if (!this.duplicateSet.add(product.get()))
+                return false;
+            if (this.duplicateSet.size() >= this.spillThreshold && !this.onGraphComputer && this.isSpillable()) {
+                this.pending = new SpillFile[SPILL_PARTITIONS];
+                this.seen = new SpillFile[SPILL_PARTITIONS];
+            }
+            return true;
         } else {
             final List<Object> objects = new ArrayList<>(this.dedupLabels.size());
             for (String label : dedupLabels) {
@@ -112,7 +146,101 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
             if (this.duplicateSet.add(entry.getKey()))
                 return PathProcessor.processTraverserPathLabels(entry.getValue(), this.keepLabels);
         }
-        return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
+        if (null == this.pending)
+            return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
+
+        try {
+            return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
+        } catch (NoSuchElementException ex) {
+            // the starts are exhausted so the objects that were spilled can be deduplicated
+            return PathProcessor.processTraverserPathLabels(this.nextSpilled(), this.keepLabels);
+        }
+    }
+
+    @Override
+    public void setSpill(final int threshold, final File directory) {
+        this.spillThreshold = threshold;
+        this.spillDirectory = directory;
+    }
+
+    private boolean isSpillable() {
+        if (null == this.spillable)
+            this.spillable = SpillFile.canSpill(this.traversal);
+        return this.spillable;
+    }
+
+    private void spill(final S object, final Object key) {
+        final int partition = Math.floorMod(null == key ? 0 : key.hashCode(), SPILL_PARTITIONS);
+        if (null == this.pending[partition])
+            this.pending[partition] = SpillFile.create(this.spillDirectory);
+        this.pending[partition].write(object, key);
+    }
+
+    /**
+     * Gets the next spilled object that was not seen before, reading one partition at a time along with the keys
+     * that earlier reads of that partition found.
+     */
+    private Traverser.Admin<S> nextSpilled() {
+        while (true) {
+            if (null != this.drainRecords) {
+                while (this.drainRecords.hasNext()) {
+                    final Object[] record = this.drainRecords.next();
+                    if (this.drainKeys.add(record[1]))
+                        return this.getTraversal().getTraverserGenerator().generate((S) record[0], (Step) this, 1L);
+                }
+                final SpillFile keys = SpillFile.create(this.spillDirectory);
+                try {
+                    for (final Object key : this.drainKeys) {
+                        keys.write(key);
+                    }
+                } catch (RuntimeException ex) {
+                    keys.close();
+                    throw ex;
+                }
+                this.seen[this.drainPartition] = keys;
+                this.closeDrain();
+            }
+
+            int partition = 0;
+            while (partition < SPILL_PARTITIONS && null == this.pending[partition]) {
+                partition++;
+            }
+            if (partition == SPILL_PARTITIONS)
+                throw FastNoSuchElementException.instance();
+
+            this.drainKeys = new HashSet<>();
+            if (null != this.seen[partition]) {
+                this.seen[partition].read(1, this.getTraversal().getGraph().orElse(null)).forEachRemaining(key -> this.drainKeys.add(key[0]));
+                this.seen[partition].close();
+                this.seen[partition] = null;
+            }
+            this.drainPartition = partition;
+            this.drainFile = this.pending[partition];
+            this.pending[partition] = null;
+            this.drainRecords = this.drainFile.read(2, this.getTraversal().getGraph().orElse(null));
+        }
+    }
+
+    private void closeDrain() {
+        if (null != this.drainRecords) this.drainRecords.close();
+        if (null != this.drainFile) this.drainFile.close();
+        this.drainRecords = null;
+        this.drainFile = null;
+        this.drainKeys = null;
+        this.drainPartition = -1;
+    }
+
+    @Override
+    public void close() {
+        this.closeDrain();
+        if (null != this.pending) {
+            for (int i = 0; i < SPILL_PARTITIONS; i++) {
+                if (null != this.pending[i]) this.pending[i].close();
+                if (null != this.seen[i]) this.seen[i].close();
+            }
+        }
+        this.pending = null;
+        this.seen = null;
     }
 
     @Override
@@ -135,6 +263,13 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     public DedupGlobalStep<S> clone() {
         final DedupGlobalStep<S> clone = (DedupGlobalStep<S>) super.clone();
         clone.duplicateSet = new HashSet<>();
+        clone.spillable = null;
+        clone.pending = null;
+        clone.seen = null;
+        clone.drainPartition = -1;
+        clone.drainFile = null;
+        clone.drainRecords = null;
+        clone.drainKeys = null;
         if (null != this.dedupTraversal)
             clone.dedupTraversal = this.dedupTraversal.clone();
         return clone;
@@ -162,6 +297,7 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
         this.duplicateSet.clear();
         this.barrier = null;
         this.barrierIterator = null;
+        this.close();
     }
 
     @Override
@@ -41,20 +41,42 @@ public abstract class FilterStep<S> extends AbstractStep<S, S> {
                 if (this.filter(traverser))
                     return traverser;
             } catch (GremlinTypeErrorException ex) {
-                if (this instanceof BinaryReductionStep || getTraversal().isRoot() || !(getTraversal().getParent() instanceof FilterStep)) {
-                    /*
-                     * Either we are at a known reduction point (TraversalFilterStep, WhereTraversalStep), we
-                     * are at the top level of the query, or our parent query is not a FilterStep and thus cannot handle
-                     * a GremlinTypeErrorException. In any of these cases we do a binary reduction from
-                     * ERROR -> FALSE and filter the solution quietly.
-                     */
-                } else {
-                    // not a ternary -> binary reducer, pass the ERROR on
-                    throw ex;
-                }
+                this.reduceTypeError(ex);
             }
         }
     }
 
+    /**
+     * Fills the array with the traversers from the previous step that pass the filter. A step whose filter has no
+     * side-effects can implement {@link #nextBatch(Traverser.Admin[])} with it.
+     */
+    protected int filterBatch(final Traverser.Admin<S>[] batch) {
+        int count = this.startBatch(batch);
+        while (count < batch.length && this.starts.hasNext()) {
+            try {
+                final Traverser.Admin<S> traverser = this.starts.next();
+                if (this.filter(traverser) && traverser.bulk() > 0)
+                    batch[count++] = this.prepareTraversalForNextStep(traverser);
+            } catch (GremlinTypeErrorException ex) {
+                this.reduceTypeError(ex);
+            }
+        }
+        return count;
+    }
+
+    private void reduceTypeError(final GremlinTypeErrorException ex) {
+        if (this instanceof BinaryReductionStep || getTraversal().isRoot() || !(getTraversal().getParent() instanceof FilterStep)) {
+            /*
+             * Either we are at a known reduction point (TraversalFilterStep, WhereTraversalStep), we
+             * are at the top level of the query, or our parent query is not a FilterStep and thus cannot handle
+             * a GremlinTypeErrorException. In any of these cases we do a binary reduction from
+             * ERROR -> FALSE and filter the solution quietly.
+             */
+        } else {
+            // not a ternary -> binary reducer, pass the ERROR on
+            throw ex;
+        }
+    }
+
     protected abstract boolean filter(final Traverser.Admin<S> traverser);
 }
@@ -73,6 +73,11 @@ public class HasStep<S extends Element> extends FilterStep<S> implements HasCont
                     traverser.get().getClass().getName()));
     }
 
+    @Override
+    public int nextBatch(final Traverser.Admin<S>[] batch) {
+        return this.filterBatch(batch);
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this, this.hasContainers);
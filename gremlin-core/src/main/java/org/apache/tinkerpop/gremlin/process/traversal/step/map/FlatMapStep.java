@@ -51,6 +51,28 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
         }
     }
 
+    /**
+     * Fills the array with the traversers that the flat-map produces for the traversers of the previous step. A step
+     * whose flat-map has no side-effects can implement {@link #nextBatch(Traverser.Admin[])} with it.
+     */
+    protected int flatMapBatch(final Traverser.Admin<E>[] batch) {
+        int count = this.startBatch(batch);
+        while (count < batch.length) {
+            if (this.iterator.hasNext()) {
+                final Traverser.Admin<E> traverser = this.head.split(this.iterator.next(), this);
+                if (traverser.bulk() > 0)
+                    batch[count++] = this.prepareTraversalForNextStep(traverser);
+            } else {
+                closeIterator();
+                if (!this.starts.hasNext())
+                    break;
+                this.head = this.starts.next();
+                this.iterator = this.flatMap(this.head);
+            }
+        }
+        return count;
+    }
+
     protected abstract Iterator<E> flatMap(final Traverser.Admin<S> traverser);
 
     @Override
@@ -59,6 +59,10 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
     protected GValue<?>[] ids;
     protected boolean legacyLogicForPassingNoIds = false;
     protected transient Supplier<Iterator<E>> iteratorSupplier;
+    /**
+     * Determines if the {@link #iteratorSupplier} is the one created by this step, which a clone replaces with its own.
+     */
+    private boolean defaultIteratorSupplier = true;
     protected boolean isStart;
     protected boolean done = false;
     private Traverser.Admin<S> head = null;
@@ -73,11 +77,16 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
         this.ids = GValue.ensureGValues(tryUnrollSingleCollectionArgument(ids));
 
         this.isStart = isStart;
+        this.iteratorSupplier = createIteratorSupplier();
+    }
 
-        Object[] idValues = GValue.resolveToValues(this.ids);
-        this.iteratorSupplier = () -> (Iterator<E>) (Vertex.class.isAssignableFrom(this.returnClass) ?
-                this.getTraversal().getGraph().get().vertices(idValues) :
-                this.getTraversal().getGraph().get().edges(idValues));
+    private Supplier<Iterator<E>> createIteratorSupplier() {
+        return () -> {
+            final Object[] idValues = GValue.resolveToValues(this.ids);
+            return (Iterator<E>) (Vertex.class.isAssignableFrom(this.returnClass) ?
+                    this.getTraversal().getGraph().get().vertices(idValues) :
+                    this.getTraversal().getGraph().get().edges(idValues));
+        };
     }
 
     /**
@@ -141,6 +150,7 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
 
     public void setIteratorSupplier(final Supplier<Iterator<E>> iteratorSupplier) {
         this.iteratorSupplier = iteratorSupplier;
+        this.defaultIteratorSupplier = false;
     }
 
     /**
@@ -181,6 +191,7 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
     @Override
     public void onGraphComputer() {
         this.iteratorSupplier = Collections::emptyIterator;
+        this.defaultIteratorSupplier = false;
         convertElementsToIds();
     }
 
@@ -225,6 +236,22 @@ public class GraphStep<S, E extends Element> extends AbstractStep<S, E> implemen
         this.iterator = EmptyIterator.instance();
     }
 
+    /**
+     * Gives the clone its own ids and parameters and, if this step still holds the iterator supplier it created, a
+     * supplier bound to the clone. A supplier set with {@link #setIteratorSupplier(Supplier)} is shared with the clone
+     * so steps that set one that refers to the step itself should replace it in their own {@code clone()}.
+     */
+    @Override
+    public GraphStep<S, E> clone() {
+        final GraphStep<S, E> clone = (GraphStep<S, E>) super.clone();
+        clone.parameters = this.parameters.clone();
+        if (null != this.ids)
+            clone.ids = this.ids.clone();
+        if (this.defaultIteratorSupplier && null != this.iteratorSupplier)
+            clone.iteratorSupplier = clone.createIteratorSupplier();
+        return clone;
+    }
+
     @Override
     public int hashCode() {
         int result = Objects.hash(super.hashCode(), returnClass);
@@ -26,6 +26,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.MapHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalProduct;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.HashMapSupplier;
@@ -58,6 +59,28 @@ public class GroupCountStep<S, E> extends ReducingBarrierStep<S, Map<E, Long>> i
         return map;
     }
 
+    @Override
+    protected Map<E, Long> reduceStarts(final Map<E, Long> seed) {
+        // a provider step that extends this one may override projectTraverser() which this path would skip
+        if (this.getClass() != GroupCountStep.class)
+            return super.reduceStarts(seed);
+
+        // rather than creating a map for each traverser, the counts are accumulated in place and merged into the seed
+        // once the starts are exhausted
+        final Map<E, long[]> counts = new HashMap<>();
+        while (this.starts.hasNext()) {
+            final Traverser.Admin<S> traverser = this.starts.next();
+            final TraversalProduct product = TraversalUtil.produce(traverser, this.keyTraversal);
+            if (product.isProductive())
+                counts.computeIfAbsent((E) product.get(), k -> new long[1])[0] += traverser.bulk();
+        }
+
+        for (final Map.Entry<E, long[]> entry : counts.entrySet()) {
+            MapHelper.incr(seed, entry.getKey(), entry.getValue()[0]);
+        }
+        return seed;
+    }
+
     @Override
     public void addLocalChild(final Traversal.Admin<?, ?> groupTraversal) {
         this.keyTraversal = this.integrateChild(groupTraversal);
@@ -31,6 +31,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalProduct;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.HashMapSupplier;
@@ -112,6 +113,22 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
     @Override
     public Map<K, V> projectTraverser(final Traverser.Admin<S> traverser) {
         final Map<K, V> map = new HashMap<>(1);
+        this.mergeTraverser(map, traverser);
+        return map;
+    }
+
+    @Override
+    protected Map<K, V> reduceStarts(final Map<K, V> seed) {
+        // merge each key and value directly into the seed rather than creating a map for each traverser
+        while (this.starts.hasNext())
+            this.mergeTraverser(seed, this.starts.next());
+        return seed;
+    }
+
+    /**
+     * Applies the key and value traversals to the traverser and merges the result into the map.
+     */
+    private void mergeTraverser(final Map<K, V> map, final Traverser.Admin<S> traverser) {
         this.valueTraversal.reset();
         this.valueTraversal.addStart(traverser);
 
@@ -124,16 +141,16 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
             resetBarrierForProfiling = false;
         }
 
-        TraversalUtil.produce(traverser, this.keyTraversal).ifProductive(p -> {
-            if (null == this.barrierStep) {
-                if (this.valueTraversal.hasNext()) {
-                    map.put((K) p, (V) this.valueTraversal.next());
-                }
-            } else if (this.barrierStep.hasNextBarrier())
-                map.put((K) p, (V) this.barrierStep.nextBarrier());
-        });
+        final TraversalProduct product = TraversalUtil.produce(traverser, this.keyTraversal);
+        if (!product.isProductive())
+            return;
 
-        return map;
+        final GroupBiOperator<K, V> biOperator = (GroupBiOperator<K, V>) this.reducingBiOperator;
+        if (null == this.barrierStep) {
+            if (this.valueTraversal.hasNext())
+                biOperator.merge(map, (K) product.get(), (V) this.valueTraversal.next());
+        } else if (this.barrierStep.hasNextBarrier())
+            biOperator.merge(map, (K) product.get(), (V) this.barrierStep.nextBarrier());
     }
 
     @Override
@@ -201,16 +218,24 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
 
         @Override
         public Map<K, V> apply(final Map<K, V> mapA, final Map<K, V> mapB) {
-            for (final K key : mapB.keySet()) {
-                V objectA = mapA.get(key);
-                final V objectB = mapB.get(key);
-                if (null == objectA)
-                    objectA = objectB;
-                else if (null != objectB)
-                    objectA = this.barrierAggregator.apply(objectA, objectB);
-                mapA.put(key, objectA);
+            for (final Map.Entry<K, V> entry : mapB.entrySet()) {
+                merge(mapA, entry.getKey(), entry.getValue());
             }
             return mapA;
         }
+
+        /**
+         * Merges a single key and value into the map as if it were {@link #apply(Map, Map)} with a map holding only
+         * that entry.
+         */
+        public Map<K, V> merge(final Map<K, V> map, final K key, final V value) {
+            V objectA = map.get(key);
+            if (null == objectA)
+                objectA = value;
+            else if (null != value)
+                objectA = this.barrierAggregator.apply(objectA, value);
+            map.put(key, objectA);
+            return map;
+        }
     }
 }
\ No newline at end of file
@@ -40,6 +40,11 @@ public final class IdStep<S extends Element> extends ScalarMapStep<S, Object> {
         return traverser.get().id();
     }
 
+    @Override
+    public int nextBatch(final Traverser.Admin<Object>[] batch) {
+        return this.mapBatch(batch);
+    }
+
     @Override
     public Set<TraverserRequirement> getRequirements() {
         return Collections.singleton(TraverserRequirement.OBJECT);
@@ -24,8 +24,12 @@ import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Seedable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.AndStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ConnectiveStep;
@@ -43,6 +47,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSe
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.util.PathUtil;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
@@ -53,7 +58,9 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -398,7 +405,11 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
                 if (this.connective == ConnectiveStep.Connective.AND) {
                     final Traversal.Admin<Object, Object> matchTraversal = this.getMatchAlgorithm().apply(traverser);
                     traverser.getTags().add(matchTraversal.getStartStep().getId());
-                    matchTraversal.addStart(traverser); // determine which sub-pattern the traverser should try next
+                    final Map<Object, Long> ends = this.getMatchAlgorithm().getEnds(traverser, matchTraversal);
+                    if (null == ends)
+                        matchTraversal.addStart(traverser); // determine which sub-pattern the traverser should try next
+                    else
+                        this.joinEnds(traverser, matchTraversal, ends);
                 } else {  // OR
                     for (final Traversal.Admin<?, ?> matchTraversal : this.matchTraversals) {
                         final Traverser.Admin split = traverser.split();
@@ -410,6 +421,42 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
         }
     }
 
+    /**
+     * Does what passing the traverser through the {@link MatchStartStep} and {@link MatchEndStep} of the pattern
+     * would do given the ends that the {@link MatchAlgorithm} already knows the pattern produces for it.
+     */
+    private void joinEnds(final Traverser.Admin<Object> traverser, final Traversal.Admin<Object, Object> matchTraversal,
+                          final Map<Object, Long> ends) {
+        final MatchEndStep matchEndStep = (MatchEndStep) matchTraversal.getEndStep();
+        if (null == matchEndStep.parent)
+            matchEndStep.parent = this;
+        this.matchAlgorithm.recordStart(traverser, matchTraversal);
+        final String matchKey = matchEndStep.matchKey;
+        final Path path = traverser.path();
+        if (null != matchKey && path.hasLabel(matchKey)) {
+            // the end variable is already bound so probe the ends with it
+            final Object end = path.get(Pop.last, matchKey);
+            final Long bulk = ends.get(end);
+            if (null != bulk)
+                this.standardAlgorithmBarrier.add(this.joinEnd(traverser, matchTraversal, end, bulk));
+        } else {
+            for (final Map.Entry<Object, Long> entry : ends.entrySet()) {
+                this.standardAlgorithmBarrier.add(this.joinEnd(traverser, matchTraversal, entry.getKey(), entry.getValue()));
+            }
+        }
+    }
+
+    private Traverser.Admin<Object> joinEnd(final Traverser.Admin<Object> traverser, final Traversal.Admin<Object, Object> matchTraversal,
+                                            final Object end, final long bulk) {
+        final MatchEndStep matchEndStep = (MatchEndStep) matchTraversal.getEndStep();
+        final Traverser.Admin<Object> split = traverser.split(end, matchEndStep);
+        split.setBulk(traverser.bulk() * bulk);
+        split.setStepId(this.getId());
+        split.addLabels(matchEndStep.matchKeyCollection);
+        this.matchAlgorithm.recordEnd(split, matchTraversal);
+        return matchEndStep.retractUnnecessaryLabels(split);
+    }
+
     @Override
     protected Iterator<Traverser.Admin<Map<String, E>>> computerAlgorithm() throws NoSuchElementException {
         while (true) {
@@ -712,6 +759,16 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
         public default void recordEnd(final Traverser.Admin<Object> traverser, final Traversal.Admin<Object, Object> traversal) {
 
         }
+
+        /**
+         * Gets the ends, with their bulk, that the pattern produces for the traverser if the algorithm can provide them
+         * without the traverser being passed through the pattern, which is only asked for in OLTP.
+         *
+         * @return the ends of the pattern for the traverser or {@code null} if the traverser must go through the pattern
+         */
+        public default Map<Object, Long> getEnds(final Traverser.Admin<Object> traverser, final Traversal.Admin<Object, Object> traversal) {
+            return null;
+        }
     }
 
     public static class GreedyMatchAlgorithm implements MatchAlgorithm {
@@ -815,4 +872,142 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             }
         }
     }
+
+    /**
+     * A {@link CountMatchAlgorithm} that joins the ends of a pattern to the traversers instead of passing each of
+     * them through the pattern. A pattern whose ends only depend on the object it starts from is evaluated once for
+     * each distinct start object and its ends are kept in a hash table keyed by that object. Traversers that start
+     * from the same object are then joined with the table and, when the end variable of the pattern is already bound,
+     * the table is probed with that binding. The known number of ends for the start of a traverser is used as the
+     * exact cardinality of a pattern, in place of the multiplicity observed by {@link CountMatchAlgorithm}, when
+     * choosing the next pattern. Patterns that reference labels, side-effects, sacks or lambdas are always evaluated
+     * per traverser and the algorithm behaves like {@link CountMatchAlgorithm} on a {@code GraphComputer}.
+     */
+    public static class HashJoinMatchAlgorithm extends CountMatchAlgorithm {
+
+        /**
+         * The number of start objects after which a pattern stops adding ends to its hash table.
+         */
+        public static final int MAX_HASH_TABLE_SIZE = 100000;
+
+        protected Map<Traversal.Admin<Object, Object>, HashJoin> joins;
+
+        @Override
+        public void initialize(final boolean onComputer, final List<Traversal.Admin<Object, Object>> traversals) {
+            super.initialize(onComputer, traversals);
+            this.joins = new IdentityHashMap<>();
+            if (onComputer || traversals.isEmpty())
+                return;
+            // the steps of a joined pattern neither add to a full path nor keep the traversers apart by their bulk
+            final Set<TraverserRequirement> requirements = TraversalHelper.getRootTraversal(traversals.get(0)).getTraverserRequirements();
+            if (requirements.contains(TraverserRequirement.PATH) || requirements.contains(TraverserRequirement.ONE_BULK))
+                return;
+            for (final Traversal.Admin<Object, Object> traversal : traversals) {
+                if (HashJoin.isJoinable(traversal))
+                    this.joins.put(traversal, new HashJoin(traversal));
+            }
+        }
+
+        @Override
+        public Traversal.Admin<Object, Object> apply(final Traverser.Admin<Object> traverser) {
+            if (this.onComputer)
+                return super.apply(traverser);
+
+            Bundle cheapestBundle = null;
+            double cheapestCardinality = Double.MAX_VALUE;
+            for (final Bundle bundle : this.bundles) {
+                if (!Helper.hasExecutedTraversal(traverser, bundle.traversal) && Helper.hasStartLabels(traverser, bundle.traversal)) {
+                    if (bundle.traversalType != TraversalType.MATCH_TRAVERSAL || Helper.hasEndLabel(traverser, bundle.traversal))
+                        return bundle.traversal;
+                    final HashJoin join = this.joins.get(bundle.traversal);
+                    final Map<Object, Long> ends = null == join ? null : join.getCachedEnds(traverser);
+                    final double cardinality = null == ends ? bundle.multiplicity : ends.size();
+                    if (null == cheapestBundle || cardinality < cheapestCardinality) {
+                        cheapestBundle = bundle;
+                        cheapestCardinality = cardinality;
+                    }
+                }
+            }
+            if (null != cheapestBundle) return cheapestBundle.traversal;
+            throw UNMATCHABLE_PATTERN.apply(this.bundles.stream().map(record -> record.traversal).collect(Collectors.toList()));
+        }
+
+        @Override
+        public Map<Object, Long> getEnds(final Traverser.Admin<Object> traverser, final Traversal.Admin<Object, Object> traversal) {
+            final HashJoin join = null == this.joins ? null : this.joins.get(traversal);
+            return null == join ? null : join.getEnds(traverser);
+        }
+
+        ///////////
+
+        protected static class HashJoin {
+            private final String startKey;
+            private final Traversal.Admin<Object, Object> body;
+            private final Map<Object, Map<Object, Long>> table = new HashMap<>();
+
+            protected HashJoin(final Traversal.Admin<Object, Object> traversal) {
+                this.startKey = ((MatchStartStep) traversal.getStartStep()).getSelectKey().orElse(null);
+                this.body = new DefaultTraversal<>();
+                final List<Step> steps = traversal.getSteps();
+                for (int i = 1; i < steps.size() - 1; i++) {
+                    this.body.addStep(steps.get(i).clone());
+                }
+                ((TraversalParent) traversal.getParent()).integrateChild(this.body);
+            }
+
+            /**
+             * A pattern can be joined if it goes from one variable to another with steps whose results depend only
+             * on the object they start from.
+             */
+            protected static boolean isJoinable(final Traversal.Admin<Object, Object> traversal) {
+                final List<Step> steps = traversal.getSteps();
+                if (Helper.getTraversalType(traversal) != TraversalType.MATCH_TRAVERSAL ||
+                        !(traversal.getStartStep() instanceof MatchStartStep) ||
+                        !((MatchStartStep) traversal.getStartStep()).getSelectKey().isPresent() ||
+                        !(traversal.getEndStep() instanceof MatchEndStep) || steps.size() < 3)
+                    return false;
+                for (int i = 1; i < steps.size() - 1; i++) {
+                    final Step<?, ?> step = steps.get(i);
+                    if (!step.getLabels().isEmpty() || isPerTraverser(step) ||
+                            (step instanceof TraversalParent && TraversalHelper.anyStepRecursively(HashJoin::isPerTraverser, (TraversalParent) step)))
+                        return false;
+                }
+                return true;
+            }
+
+            private static boolean isPerTraverser(final Step<?, ?> step) {
+                if (step instanceof Scoping || step instanceof PathProcessor || step instanceof LambdaHolder ||
+                        step instanceof Mutating || step instanceof SideEffectCapable || step instanceof Seedable ||
+                        step instanceof LoopsStep || step instanceof ProfileStep)
+                    return true;
+                final Set<TraverserRequirement> requirements = step.getRequirements();
+                return requirements.contains(TraverserRequirement.PATH) || requirements.contains(TraverserRequirement.LABELED_PATH) ||
+                        requirements.contains(TraverserRequirement.SACK) || requirements.contains(TraverserRequirement.SIDE_EFFECTS);
+            }
+
+            private Object getStart(final Traverser.Admin<Object> traverser) {
+                return traverser.path().get(Pop.last, this.startKey);
+            }
+
+            protected Map<Object, Long> getCachedEnds(final Traverser.Admin<Object> traverser) {
+                return this.table.get(this.getStart(traverser));
+            }
+
+            protected Map<Object, Long> getEnds(final Traverser.Admin<Object> traverser) {
+                final Object start = this.getStart(traverser);
+                Map<Object, Long> ends = this.table.get(start);
+                if (null == ends) {
+                    ends = new LinkedHashMap<>();
+                    TraversalUtil.applyAll(start, this.body);
+                    while (this.body.hasNext()) {
+                        final Traverser.Admin<Object> end = this.body.nextTraverser();
+                        ends.merge(end.get(), end.bulk(), Long::sum);
+                    }
+                    if (this.table.size() < MAX_HASH_TABLE_SIZE)
+                        this.table.put(start, ends);
+                }
+                return ends;
+            }
+        }
+    }
 }
@@ -20,30 +20,38 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.IdentityTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Seedable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spillable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTraverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalProduct;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.MultiComparator;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.javatuples.Pair;
 
+import java.io.File;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Random;
 import java.util.Set;
 import java.util.function.BinaryOperator;
@@ -52,13 +60,25 @@ import java.util.stream.Collectors;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating, Seedable {
+public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating, Seedable, Spillable, AutoCloseable {
+
+    /**
+     * The least number of traversers beyond the limit that are collected before the traversers that fall outside of
+     * the limit are dropped.
+     */
+    private static final int MIN_TRUNCATE_SIZE = 1024;
 
     private List<Pair<Traversal.Admin<S, C>, Comparator<C>>> comparators = new ArrayList<>();
     private MultiComparator<C> multiComparator = null;
     private long limit = Long.MAX_VALUE;
     private final Random random = new Random();
 
+    private int spillThreshold = Integer.MAX_VALUE;
+    private File spillDirectory;
+    private Boolean spillable = null;
+    private List<SpillFile> runs = new ArrayList<>();
+    private Merge merge = null;
+
     public OrderGlobalStep(final Traversal.Admin traversal) {
         super(traversal);
     }
@@ -68,22 +88,149 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
         this.random.setSeed(seed);
     }
 
+    @Override
+    public void setSpill(final int threshold, final File directory) {
+        this.spillThreshold = threshold;
+        this.spillDirectory = directory;
+    }
+
     @Override
     public void barrierConsumer(final TraverserSet<S> traverserSet) {
         if (null == this.multiComparator) this.multiComparator = this.createMultiComparator();
         //
-        if (this.multiComparator.isShuffle())
+        if (null != this.merge) {
+            // more traversers arrived before the last merge was read, so what is left of it is ordered with them
+            this.merge.forEachRemaining(traverserSet::add);
+            this.closeMerge();
+        }
+        if (!this.runs.isEmpty()) {
+            traverserSet.sort((Comparator) this.multiComparator);
+            this.merge = new Merge(this.runs, traverserSet);
+            this.runs = new ArrayList<>();
+        } else if (this.multiComparator.isShuffle())
             traverserSet.shuffle(random);
+        else if (isLimited())
+            truncate(traverserSet);
         else
             traverserSet.sort((Comparator) this.multiComparator);
     }
 
     @Override
     public void processAllStarts() {
+        if (null == this.multiComparator) this.multiComparator = this.createMultiComparator();
+
+        // with a limit only the top traversers need to be kept, so rather than sorting every traverser once the
+        // barrier is full, the set is sorted and truncated to the limit each time it grows past a threshold
+        final long truncateSize = isLimited() && !this.multiComparator.isShuffle() ?
+                this.limit + Math.max(this.limit, MIN_TRUNCATE_SIZE) : Long.MAX_VALUE;
+        Traverser.Admin<S> boundary = null;
         while (this.starts.hasNext()) {
             // only add the traverser if the comparator traversal was productive
-            this.createProjectedTraverser(this.starts.next()).ifPresent(traverserSet::add);
+            final Optional<ProjectedTraverser<S, Object>> projected = this.createProjectedTraverser(this.starts.next());
+            if (!projected.isPresent())
+                continue;
+
+            // once the set holds the limit, a traverser that does not sort before the last kept one can never make
+            // it into the result unless it merges its bulk with a traverser that is already kept
+            final ProjectedTraverser<S, Object> traverser = projected.get();
+            if (null != boundary && ((Comparator) this.multiComparator).compare(traverser, boundary) >= 0 && !traverserSet.contains(traverser))
+                continue;
+
+            traverserSet.add(traverser);
+            if (traverserSet.size() >= truncateSize)
+                boundary = truncate(traverserSet);
+            else if (traverserSet.size() >= this.spillThreshold && this.isSpillable())
+                spill(traverserSet);
+        }
+    }
+
+    @Override
+    protected Traverser.Admin<S> removeNext() {
+        if (null != this.merge) {
+            if (this.merge.hasNext())
+                return this.merge.next();
+            this.closeMerge();
+        }
+        return super.removeNext();
+    }
+
+    @Override
+    public boolean hasNextBarrier() {
+        // a parent that takes the traversers of the step as a barrier holds all of them anyway
+        this.spillable = false;
+        return super.hasNextBarrier();
+    }
+
+    @Override
+    public TraverserSet<S> nextBarrier() throws NoSuchElementException {
+        this.spillable = false;
+        return super.nextBarrier();
+    }
+
+    private boolean isSpillable() {
+        if (null == this.spillable)
+            this.spillable = !this.multiComparator.isShuffle() && SpillFile.canSpill(this.traversal);
+        return this.spillable;
+    }
+
+    /**
+     * Sorts the traversers and writes them to a new run on disk, leaving the set empty.
+     */
+    private void spill(final TraverserSet<S> traverserSet) {
+        traverserSet.sort((Comparator) this.multiComparator);
+        final SpillFile run = SpillFile.create(this.spillDirectory);
+        try {
+            for (final Traverser.Admin<S> traverser : traverserSet) {
+                run.write(traverser.get(), traverser.bulk(), ((ProjectedTraverser<S, Object>) traverser).getProjections());
+            }
+        } catch (RuntimeException ex) {
+            run.close();
+            throw ex;
+        }
+        this.runs.add(run);
+        traverserSet.clear();
+    }
+
+    private void closeMerge() {
+        if (null != this.merge) {
+            this.merge.close();
+            this.merge = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        this.closeMerge();
+        this.runs.forEach(SpillFile::close);
+        this.runs.clear();
+    }
+
+    /**
+     * Determines if a limit was set that is small enough to bound the number of traversers held by the step.
+     */
+    private boolean isLimited() {
+        return this.limit >= 0 && this.limit < Integer.MAX_VALUE;
+    }
+
+    /**
+     * Sorts the set and removes the traversers that fall past the limit, returning the last kept traverser when the
+     * set still holds the full limit and {@code null} otherwise.
+     */
+    private Traverser.Admin<S> truncate(final TraverserSet<S> traverserSet) {
+        traverserSet.sort((Comparator) this.multiComparator);
+        long counter = 0L;
+        Traverser.Admin<S> last = null;
+        final Iterator<Traverser.Admin<S>> traversers = traverserSet.iterator();
+        while (traversers.hasNext()) {
+            final Traverser.Admin<S> traverser = traversers.next();
+            if (counter >= this.limit)
+                traversers.remove();
+            else {
+                counter = counter + traverser.bulk();
+                last = traverser;
+            }
         }
+        return counter >= this.limit ? last : null;
     }
 
     public void setLimit(final long limit) {
@@ -155,6 +302,9 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
     public OrderGlobalStep<S, C> clone() {
         final OrderGlobalStep<S, C> clone = (OrderGlobalStep<S, C>) super.clone();
         clone.comparators = new ArrayList<>();
+        clone.spillable = null;
+        clone.runs = new ArrayList<>();
+        clone.merge = null;
         for (final Pair<Traversal.Admin<S, C>, Comparator<C>> comparator : this.comparators) {
             clone.comparators.add(new Pair<>(comparator.getValue0().clone(), comparator.getValue1()));
         }
@@ -167,6 +317,12 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
         this.comparators.stream().map(Pair::getValue0).forEach(TraversalParent.super::integrateChild);
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        this.close();
+    }
+
     @Override
     public MemoryComputeKey<TraverserSet<S>> getMemoryComputeKey() {
         if (null == this.multiComparator) this.multiComparator = this.createMultiComparator();
@@ -199,6 +355,100 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
 
     ////////////////
 
+    /**
+     * Merges the sorted runs that were spilled to disk with the sorted traversers that remained in memory. Runs are
+     * ordered before the traversers in memory and earlier runs before later ones when traversers compare equally, so
+     * that the merge keeps the order in which the traversers arrived like a sort of them all would.
+     */
+    private final class Merge implements Iterator<Traverser.Admin<S>>, AutoCloseable {
+        private final List<SpillFile> runs;
+        private final List<Source> sources = new ArrayList<>();
+        private final PriorityQueue<Source> queue;
+
+        private Merge(final List<SpillFile> runs, final TraverserSet<S> remaining) {
+            this.runs = runs;
+            this.queue = new PriorityQueue<>(runs.size() + 1, (a, b) -> {
+                final int c = ((Comparator) multiComparator).compare(a.head, b.head);
+                return 0 != c ? c : Integer.compare(a.index, b.index);
+            });
+            for (final SpillFile run : runs) {
+                this.sources.add(new Source(this.sources.size(), new RunIterator(run.read(3, getTraversal().getGraph().orElse(null)))));
+            }
+            final List<Traverser.Admin<S>> inMemory = new ArrayList<>(remaining.size());
+            IteratorUtils.removeOnNext(remaining.iterator()).forEachRemaining(inMemory::add);
+            this.sources.add(new Source(this.sources.size(), inMemory.iterator()));
+            for (final Source source : this.sources) {
+                if (source.advance()) this.queue.add(source);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.queue.isEmpty();
+        }
+
+        @Override
+        public Traverser.Admin<S> next() {
+            final Source source = this.queue.poll();
+            if (null == source)
+                throw new NoSuchElementException();
+            final Traverser.Admin<S> next = source.head;
+            if (source.advance()) this.queue.add(source);
+            return next;
+        }
+
+        @Override
+        public void close() {
+            this.queue.clear();
+            this.sources.forEach(source -> CloseableIterator.closeIterator(source.iterator));
+            this.runs.forEach(SpillFile::close);
+        }
+    }
+
+    private final class Source {
+        private final int index;
+        private final Iterator<Traverser.Admin<S>> iterator;
+        private Traverser.Admin<S> head;
+
+        private Source(final int index, final Iterator<Traverser.Admin<S>> iterator) {
+            this.index = index;
+            this.iterator = iterator;
+        }
+
+        private boolean advance() {
+            this.head = this.iterator.hasNext() ? this.iterator.next() : null;
+            return null != this.head;
+        }
+    }
+
+    /**
+     * Turns the records of a run back into traversers at this step.
+     */
+    private final class RunIterator implements CloseableIterator<Traverser.Admin<S>> {
+        private final CloseableIterator<Object[]> records;
+
+        private RunIterator(final CloseableIterator<Object[]> records) {
+            this.records = records;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.records.hasNext();
+        }
+
+        @Override
+        public Traverser.Admin<S> next() {
+            final Object[] record = this.records.next();
+            final Traverser.Admin<S> traverser = traversal.getTraverserGenerator().generate((S) record[0], (Step) OrderGlobalStep.this, (Long) record[1]);
+            return new ProjectedTraverser(traverser, (List) record[2]);
+        }
+
+        @Override
+        public void close() {
+            this.records.close();
+        }
+    }
+
     public static final class OrderBiOperator<S> implements BinaryOperator<TraverserSet<S>>, Serializable {
 
         private long limit;
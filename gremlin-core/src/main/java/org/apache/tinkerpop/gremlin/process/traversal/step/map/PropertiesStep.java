@@ -68,6 +68,11 @@ public class PropertiesStep<E> extends FlatMapStep<Element, E> implements AutoCl
                 (Iterator) traverser.get().properties(this.propertyKeys);
     }
 
+    @Override
+    public int nextBatch(final Traverser.Admin<E>[] batch) {
+        return this.flatMapBatch(batch);
+    }
+
     public PropertyType getReturnType() {
         return this.returnType;
     }
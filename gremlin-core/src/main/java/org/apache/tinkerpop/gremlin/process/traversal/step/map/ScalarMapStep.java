@@ -40,5 +40,20 @@ public abstract class ScalarMapStep<S, E> extends MapStep<S,E> {
         return traverser.split(this.map(traverser), this);
     }
 
+    /**
+     * Fills the array with the traversers mapped from the traversers of the previous step. A step whose map has no
+     * side-effects can implement {@link #nextBatch(Traverser.Admin[])} with it.
+     */
+    protected int mapBatch(final Traverser.Admin<E>[] batch) {
+        int count = this.startBatch(batch);
+        while (count < batch.length && this.starts.hasNext()) {
+            final Traverser.Admin<S> start = this.starts.next();
+            final Traverser.Admin<E> traverser = start.split(this.map(start), this);
+            if (traverser.bulk() > 0)
+                batch[count++] = this.prepareTraversalForNextStep(traverser);
+        }
+        return count;
+    }
+
     protected abstract E map(final Traverser.Admin<S> traverser);
 }
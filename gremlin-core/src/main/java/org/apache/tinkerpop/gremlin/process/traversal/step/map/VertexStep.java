@@ -87,6 +87,11 @@ public class VertexStep<E extends Element> extends FlatMapStep<Vertex, E> implem
                 (Iterator<E>) traverser.get().edges(this.direction, this.edgeLabels);
     }
 
+    @Override
+    public int nextBatch(final Traverser.Admin<E>[] batch) {
+        return this.flatMapBatch(batch);
+    }
+
     public Direction getDirection() {
         return this.direction;
     }
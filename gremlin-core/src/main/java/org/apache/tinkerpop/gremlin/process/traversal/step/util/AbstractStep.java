@@ -217,6 +217,15 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
         return this.starts;
     }
 
+    /**
+     * Replaces the iterator that the step takes its traversers from, which is how a strategy such as
+     * {@code BatchingStrategy} changes the way traversers are taken from the previous step. It should be called
+     * before the traversal is iterated.
+     */
+    public void setStarts(final ExpandableStepIterator<S> starts) {
+        this.starts = starts;
+    }
+
     public boolean isTraverserStepIdAndLabelsSetByChild() {
         return traverserStepIdAndLabelsSetByChild;
     }
@@ -228,4 +237,16 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
         }
         return traverser;
     }
+
+    /**
+     * Begins a batch for {@link #nextBatch(Traverser.Admin[])} with the traverser held back by {@link #hasNext()}, if
+     * there is one, and returns the number of traversers added to the array.
+     */
+    protected int startBatch(final Traverser.Admin<E>[] batch) {
+        if (Thread.interrupted()) throw new TraversalInterruptedException();
+        if (EmptyTraverser.instance() == this.nextEnd || 0 == batch.length)
+            return 0;
+        batch[0] = this.next();
+        return 1;
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+
+import java.util.Arrays;
+
+/**
+ * An {@link ExpandableStepIterator} that takes traversers from the previous step a batch at a time with
+ * {@link Step#nextBatch(Traverser.Admin[])} rather than one at a time. The previous step may produce more traversers
+ * than the host step ends up needing, so it should only be used where the previous steps are free of side-effects.
+ */
+public final class BatchedStepIterator<S> extends ExpandableStepIterator<S> {
+
+    private final Traverser.Admin<S>[] batch;
+    private int batchIndex;
+    private int batchCount;
+
+    public BatchedStepIterator(final Step<S, ?> hostStep, final TraverserSet<S> traverserSet, final int batchSize) {
+        super(hostStep, traverserSet);
+        if (batchSize < 1)
+            throw new IllegalArgumentException("The batchSize must be greater than zero");
+        this.batch = new Traverser.Admin[batchSize];
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !this.traverserSet.isEmpty() || this.batchIndex < this.batchCount || this.nextBatch();
+    }
+
+    @Override
+    public Traverser.Admin<S> next() {
+        if (!this.traverserSet.isEmpty())
+            return this.traverserSet.remove();
+        /////////////
+        if (this.batchIndex < this.batchCount || this.nextBatch()) {
+            final Traverser.Admin<S> traverser = this.batch[this.batchIndex];
+            this.batch[this.batchIndex++] = null;
+            return traverser;
+        }
+        /////////////
+        return this.traverserSet.remove();
+    }
+
+    public int getBatchSize() {
+        return this.batch.length;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        Arrays.fill(this.batch, null);
+        this.batchIndex = 0;
+        this.batchCount = 0;
+    }
+
+    private boolean nextBatch() {
+        this.batchIndex = 0;
+        this.batchCount = this.hostStep.getPreviousStep().nextBatch(this.batch);
+        return this.batchCount > 0;
+    }
+}
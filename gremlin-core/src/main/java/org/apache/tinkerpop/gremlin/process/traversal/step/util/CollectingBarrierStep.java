@@ -114,7 +114,14 @@ public abstract class CollectingBarrierStep<S> extends AbstractStep<S, S> implem
             this.barrierConsumer(this.traverserSet);
             this.barrierConsumed = true;
         }
-        return ProjectedTraverser.tryUnwrap(this.traverserSet.remove());
+        return ProjectedTraverser.tryUnwrap(this.removeNext());
+    }
+
+    /**
+     * Removes the next traverser to emit once the barrier has been consumed.
+     */
+    protected Traverser.Admin<S> removeNext() {
+        return this.traverserSet.remove();
     }
 
     @Override
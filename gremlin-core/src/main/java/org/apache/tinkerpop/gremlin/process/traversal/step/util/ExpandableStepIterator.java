@@ -28,10 +28,10 @@ import java.util.Iterator;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin<S>>, Serializable {
+public class ExpandableStepIterator<S> implements Iterator<Traverser.Admin<S>>, Serializable {
 
-    private TraverserSet<S> traverserSet;
-    private final Step<S, ?> hostStep;
+    protected TraverserSet<S> traverserSet;
+    protected final Step<S, ?> hostStep;
 
     public ExpandableStepIterator(final Step<S, ?> hostStep) {
         this(hostStep, new TraverserSet<>());
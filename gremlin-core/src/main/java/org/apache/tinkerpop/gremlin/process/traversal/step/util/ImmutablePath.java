@@ -24,6 +24,7 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -32,6 +33,10 @@ import java.util.Objects;
 import java.util.Set;
 
 /**
+ * A {@link Path} as a linked list of sections that point back to the section before them so that traversers split
+ * from the same parent share their common prefix. Each section records the length of the path it ends so that
+ * {@link #size()} does not need to walk the list.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class ImmutablePath implements Path, Serializable, Cloneable {
@@ -42,6 +47,7 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
     private ImmutablePath previousPath;
     private Object currentObject;
     private Set<String> currentLabels;
+    private int size;
 
     public static Path make() {
         return TAIL_PATH;
@@ -57,10 +63,11 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
         this.previousPath = previousPath;
         this.currentObject = currentObject;
         this.currentLabels = currentLabels;
+        this.size = null == previousPath ? 0 : previousPath.size + 1;
     }
 
     private final boolean isTail() {
-        return END.equals(this.currentObject);
+        return 0 == this.size;
     }
 
     @Override
@@ -70,13 +77,7 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
 
     @Override
     public int size() {
-        int counter = 0;
-        ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail()) return counter;
-            counter++;
-            currentPath = currentPath.previousPath;
-        }
+        return this.size;
     }
 
     @Override
@@ -106,35 +107,58 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
         if (labels.isEmpty())
             return this;
 
-        // get all the immutable path sections
-        final List<ImmutablePath> immutablePaths = new ArrayList<>();
+        // get all the immutable path sections and find the first one that the retraction changes
+        final ImmutablePath[] immutablePaths = new ImmutablePath[this.size];
+        int firstChanged = -1;
         ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail())
-                break;
-            immutablePaths.add(0, currentPath);
+        for (int i = this.size - 1; i >= 0; i--) {
+            immutablePaths[i] = currentPath;
+            if (currentPath.isRetractedBy(labels))
+                firstChanged = i;
             currentPath = currentPath.previousPath;
         }
-        // build a new immutable path using the respective path sections that are not to be retracted
-        Path newPath = TAIL_PATH;
-        for (final ImmutablePath immutablePath : immutablePaths) {
-            final Set<String> temp = new LinkedHashSet<>(immutablePath.currentLabels);
-            temp.removeAll(labels);
-            if (!temp.isEmpty())
-                newPath = newPath.extend(immutablePath.currentObject, temp);
+        if (-1 == firstChanged)
+            return this;
+
+        // the sections before the first changed one are kept as they are and the rest are rebuilt on top of them
+        ImmutablePath newPath = 0 == firstChanged ? TAIL_PATH : immutablePaths[firstChanged - 1];
+        for (int i = firstChanged; i < immutablePaths.length; i++) {
+            final ImmutablePath immutablePath = immutablePaths[i];
+            if (!immutablePath.isRetractedBy(labels))
+                newPath = new ImmutablePath(newPath, immutablePath.currentObject, immutablePath.currentLabels);
+            else {
+                final Set<String> temp = new LinkedHashSet<>(immutablePath.currentLabels);
+                temp.removeAll(labels);
+                if (!temp.isEmpty())
+                    newPath = new ImmutablePath(newPath, immutablePath.currentObject, temp);
+            }
         }
         return newPath;
     }
 
+    /**
+     * Determines if this section changes when the specified labels are retracted, which is also the case for a
+     * section without labels as those are always removed by a retraction.
+     */
+    private boolean isRetractedBy(final Set<String> labels) {
+        if (this.currentLabels.isEmpty())
+            return true;
+        for (final String label : this.currentLabels) {
+            if (labels.contains(label))
+                return true;
+        }
+        return false;
+    }
+
     @Override
     public <A> A get(final int index) {
-        int counter = this.size();
+        if (index < 0 || index >= this.size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
         ImmutablePath currentPath = this;
-        while (true) {
-            if (index == --counter)
-                return (A) currentPath.currentObject;
+        for (int i = this.size - 1; i > index; i--) {
             currentPath = currentPath.previousPath;
         }
+        return (A) currentPath.currentObject;
     }
 
     @Override
@@ -149,9 +173,10 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
                 if (currentPath.isTail())
                     break;
                 else if (currentPath.currentLabels.contains(label))
-                    list.add(0, currentPath.currentObject);
+                    list.add(currentPath.currentObject);
                 currentPath = currentPath.previousPath;
             }
+            Collections.reverse(list);
             return (A) list;
         } else if (Pop.last == pop) {
             ImmutablePath currentPath = this;
@@ -193,28 +218,24 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
 
     @Override
     public List<Object> objects() {
-        final List<Object> objects = new ArrayList<>();
+        final Object[] objects = new Object[this.size];
         ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail())
-                break;
-            objects.add(0, currentPath.currentObject);
+        for (int i = this.size - 1; i >= 0; i--) {
+            objects[i] = currentPath.currentObject;
             currentPath = currentPath.previousPath;
         }
-        return Collections.unmodifiableList(objects);
+        return Collections.unmodifiableList(Arrays.asList(objects));
     }
 
     @Override
     public List<Set<String>> labels() {
-        final List<Set<String>> labels = new ArrayList<>();
+        final Set<String>[] labels = new Set[this.size];
         ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail())
-                break;
-            labels.add(0, currentPath.currentLabels);
+        for (int i = this.size - 1; i >= 0; i--) {
+            labels[i] = currentPath.currentLabels;
             currentPath = currentPath.previousPath;
         }
-        return Collections.unmodifiableList(labels);
+        return Collections.unmodifiableList(Arrays.asList(labels));
     }
 
     @Override
@@ -224,22 +245,16 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
 
     @Override
     public int hashCode() {
-        // hashCode algorithm from AbstractList
-        int[] hashCodes = new int[this.size()];
-        int index = hashCodes.length - 1;
+        // hashCode algorithm from AbstractList expanded so that it can be computed from the head of the path back
+        int hashCode = 0;
+        int multiplier = 1;
         ImmutablePath currentPath = this;
-        while (true) {
-            if (currentPath.isTail())
-                break;
-            hashCodes[index] = Objects.hashCode(currentPath.currentObject);
+        while (!currentPath.isTail()) {
+            hashCode += multiplier * Objects.hashCode(currentPath.currentObject);
+            multiplier *= 31;
             currentPath = currentPath.previousPath;
-            index--;
         }
-        int hashCode = 1;
-        for (final int hash : hashCodes) {
-            hashCode = hashCode * 31 + hash;
-        }
-        return hashCode;
+        return hashCode + multiplier;
     }
 
     @Override
@@ -250,6 +265,19 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
         int size = this.size();
         if (otherPath.size() != size)
             return false;
+        if (other instanceof ImmutablePath) {
+            // walk both paths together until they reach a section they share
+            ImmutablePath currentPath = this;
+            ImmutablePath otherCurrentPath = (ImmutablePath) other;
+            while (currentPath != otherCurrentPath && !currentPath.isTail()) {
+                if (!Objects.equals(currentPath.currentObject, otherCurrentPath.currentObject) ||
+                        !currentPath.currentLabels.equals(otherCurrentPath.currentLabels))
+                    return false;
+                currentPath = currentPath.previousPath;
+                otherCurrentPath = otherCurrentPath.previousPath;
+            }
+            return true;
+        }
         if (size > 0) {
             ImmutablePath currentPath = this;
             final List<Object> otherObjects = otherPath.objects();
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Reduces the traversers of the previous step with a child traversal that ends in a {@link ReducingBarrierStep},
+ * spreading the work across a number of threads. Each thread takes traversers from the previous step in chunks and
+ * reduces each chunk with its own copy of the child traversal. The partial results are then merged, in the order
+ * that the chunks were taken, with {@link ReducingBarrierStep#addBarrier(Object)} in the same way that partial
+ * results are merged in OLAP, so that the result is the same as that of the child traversal when run on one thread.
+ * This step is added by {@link ParallelStrategy} and the child traversal must be safe to run on many threads at once.
+ */
+public final class ParallelStep<S, E> extends AbstractStep<S, E> implements TraversalParent {
+
+    /**
+     * The number of traversers that a thread takes from the previous step at a time.
+     */
+    public static final int CHUNK_SIZE = 128;
+
+    private Traversal.Admin<S, E> parallelTraversal;
+    private final int parallelism;
+    private boolean done = false;
+
+    private transient List<Object> partials;
+    private transient volatile boolean halted;
+
+    public ParallelStep(final Traversal.Admin traversal, final Traversal.Admin<S, E> parallelTraversal, final int parallelism) {
+        super(traversal);
+        if (!(parallelTraversal.getEndStep() instanceof ReducingBarrierStep))
+            throw new IllegalArgumentException("The traversal to run in parallel must end with a ReducingBarrierStep: " + parallelTraversal);
+        this.parallelTraversal = this.integrateChild(parallelTraversal);
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    @Override
+    public List<Traversal.Admin<S, E>> getGlobalChildren() {
+        return Collections.singletonList(this.parallelTraversal);
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.parallelTraversal.getTraverserRequirements();
+    }
+
+    @Override
+    protected Traverser.Admin<E> processNextStart() throws NoSuchElementException {
+        if (this.done)
+            throw FastNoSuchElementException.instance();
+        this.done = true;
+
+        this.reduceInParallel();
+        if (this.parallelTraversal.hasNext())
+            return this.parallelTraversal.nextTraverser();
+        else
+            throw FastNoSuchElementException.instance();
+    }
+
+    /**
+     * Runs a copy of the child traversal on each thread, with the calling thread taking one of them, and merges the
+     * partial results into the {@link ReducingBarrierStep} of the child traversal held by this step.
+     */
+    private void reduceInParallel() {
+        // make sure the generator is initialized before traversers are generated on other threads
+        this.getTraversal().getTraverserGenerator();
+
+        this.partials = new ArrayList<>();
+        this.halted = false;
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>(this.parallelism - 1);
+        try {
+            for (int i = 1; i < this.parallelism; i++) {
+                final Traversal.Admin<S, E> worker = this.parallelTraversal.clone();
+                tasks.add(ForkJoinPool.commonPool().submit(() -> this.reduceChunks(worker)));
+            }
+            this.reduceChunks(this.parallelTraversal.clone());
+
+            for (final ForkJoinTask<?> task : tasks) {
+                task.get();
+            }
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new TraversalInterruptedException();
+        } catch (final ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            else if (cause instanceof Error)
+                throw (Error) cause;
+            else
+                throw new IllegalStateException(cause.getMessage(), cause);
+        } finally {
+            this.halted = true;
+            tasks.forEach(task -> task.cancel(true));
+        }
+
+        final ReducingBarrierStep<?, E> reducer = (ReducingBarrierStep<?, E>) this.parallelTraversal.getEndStep();
+        boolean hasNull = false;
+        boolean hasValue = false;
+        for (final Object partial : this.partials) {
+            if (null == partial)
+                hasNull = true;
+            else if (ReducingBarrierStep.NON_EMITTING_SEED != partial) {
+                reducer.addBarrier((E) partial);
+                hasValue = true;
+            }
+        }
+
+        // a null partial is only kept when there is nothing else to merge, which matches the way that sum() skips
+        // null values unless they are all that it sees
+        if (hasNull && !hasValue)
+            reducer.addBarrier(null);
+        this.partials = null;
+    }
+
+    private void reduceChunks(final Traversal.Admin<S, E> worker) {
+        final ReducingBarrierStep<S, E> reducer = (ReducingBarrierStep<S, E>) worker.getEndStep();
+        final List<Traverser.Admin<S>> chunk = new ArrayList<>(CHUNK_SIZE);
+        try {
+            while (true) {
+                final int index;
+                synchronized (this.starts) {
+                    while (!this.halted && chunk.size() < CHUNK_SIZE && this.starts.hasNext()) {
+                        chunk.add(this.starts.next());
+                    }
+                    if (chunk.isEmpty())
+                        return;
+                    index = this.partials.size();
+                    this.partials.add(ReducingBarrierStep.NON_EMITTING_SEED);
+                }
+
+                for (final Traverser.Admin<S> traverser : chunk) {
+                    worker.addStart(traverser);
+                }
+                chunk.clear();
+
+                final Object partial = reducer.hasNextBarrier() ? reducer.nextBarrier() : ReducingBarrierStep.NON_EMITTING_SEED;
+                synchronized (this.starts) {
+                    this.partials.set(index, partial);
+                }
+            }
+        } catch (final RuntimeException | Error e) {
+            this.halted = true;
+            throw e;
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.done = false;
+        this.parallelTraversal.reset();
+    }
+
+    @Override
+    public ParallelStep<S, E> clone() {
+        final ParallelStep<S, E> clone = (ParallelStep<S, E>) super.clone();
+        clone.parallelTraversal = this.parallelTraversal.clone();
+        clone.done = false;
+        return clone;
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
+        super.setTraversal(parentTraversal);
+        this.integrateChild(this.parallelTraversal);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.parallelism, this.parallelTraversal);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.parallelTraversal.hashCode() ^ Integer.hashCode(this.parallelism);
+    }
+}
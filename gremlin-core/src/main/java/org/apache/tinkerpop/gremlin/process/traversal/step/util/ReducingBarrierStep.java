@@ -107,8 +107,20 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
             this.seed = getSeedSupplier().get();
         }
 
+        this.seed = this.reduceStarts(this.seed);
+    }
+
+    /**
+     * Reduces all of the available starts into the seed. By default, each traverser is projected with
+     * {@link #projectTraverser(Traverser.Admin)} and merged into the seed with the reducing bi-operator. Steps that
+     * can update the seed in place may override this to avoid creating an intermediate object for every traverser,
+     * but the result must be the same as that of the default implementation as the seed may be further reduced with
+     * the bi-operator, as is the case in OLAP.
+     */
+    protected E reduceStarts(E seed) {
         while (this.starts.hasNext())
-            this.seed = this.reducingBiOperator.apply(this.seed, this.projectTraverser(this.starts.next()));
+            seed = this.reducingBiOperator.apply(seed, this.projectTraverser(this.starts.next()));
+        return seed;
     }
 
     @Override
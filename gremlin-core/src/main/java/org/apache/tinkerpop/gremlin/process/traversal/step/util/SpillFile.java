@@ -0,0 +1,615 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.Buffer;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryReader;
+import org.apache.tinkerpop.gremlin.structure.io.binary.GraphBinaryWriter;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A temporary file of records that a step writes its state to when it holds more than it should in memory. Each
+ * record is a fixed number of values that are written with GraphBinary, where graph elements are written as
+ * references and attached to the {@link Graph} again when they are read back. The file is deleted when it is closed
+ * and, for a traversal that was abandoned without being iterated or closed, at the latest when the next spill file is
+ * created after the abandoned one was garbage collected.
+ */
+public final class SpillFile implements AutoCloseable {
+
+    private static final GraphBinaryWriter WRITER = new GraphBinaryWriter();
+    private static final GraphBinaryReader READER = new GraphBinaryReader();
+
+    private static final byte VALUE = 0;
+    private static final byte PROPERTY = 1;
+
+    private static final ReferenceQueue<SpillFile> ABANDONED = new ReferenceQueue<>();
+    private static final Set<Cleanup> OPEN = ConcurrentHashMap.newKeySet();
+
+    private final File file;
+    private final Cleanup cleanup;
+    private final ArrayBuffer buffer = new ArrayBuffer(1024);
+    private DataOutputStream output;
+    private long size = 0L;
+
+    private SpillFile(final File file) throws IOException {
+        this.file = file;
+        this.output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        this.cleanup = new Cleanup(this);
+        OPEN.add(this.cleanup);
+    }
+
+    /**
+     * Creates an empty file in the given directory that records can be written to.
+     */
+    public static SpillFile create(final File directory) {
+        deleteAbandoned();
+        try {
+            return new SpillFile(Files.createTempFile(directory.toPath(), "gremlin-spill-", ".bin").toFile());
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Could not create a spill file in " + directory, ioe);
+        }
+    }
+
+    /**
+     * Determines if the traversers of the traversal can be spilled, which is not the case when they carry a path, a
+     * sack or loop counters as only their object and bulk are written.
+     */
+    public static boolean canSpill(final Traversal.Admin<?, ?> traversal) {
+        final Set<TraverserRequirement> requirements = TraversalHelper.getRootTraversal(traversal).getTraverserRequirements();
+        return !requirements.contains(TraverserRequirement.PATH) &&
+                !requirements.contains(TraverserRequirement.LABELED_PATH) &&
+                !requirements.contains(TraverserRequirement.SACK) &&
+                !requirements.contains(TraverserRequirement.SINGLE_LOOP) &&
+                !requirements.contains(TraverserRequirement.NESTED_LOOP);
+    }
+
+    /**
+     * Writes the values as a single record.
+     *
+     * @throws IllegalStateException if a value can not be written with GraphBinary
+     */
+    public void write(final Object... values) {
+        if (null == this.output)
+            throw new IllegalStateException("Records can not be written to a spill file that has been read");
+
+        this.buffer.clear();
+        try {
+            for (final Object value : values) {
+                writeValue(value, this.buffer);
+            }
+        } catch (IOException ioe) {
+            throw new IllegalStateException("A traverser could not be spilled to disk as GraphBinary can not write it - " + ioe.getMessage(), ioe);
+        }
+
+        try {
+            this.output.writeInt(this.buffer.writerIndex());
+            this.output.write(this.buffer.array(), 0, this.buffer.writerIndex());
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Could not write to spill file " + this.file, ioe);
+        }
+        this.size++;
+    }
+
+    /**
+     * Gets the number of records written to the file.
+     */
+    public long size() {
+        return this.size;
+    }
+
+    /**
+     * Reads the records back in the order they were written, attaching any graph elements to the given {@link Graph}.
+     * No more records can be written once the file is read.
+     */
+    public CloseableIterator<Object[]> read(final int width, final Graph graph) {
+        final DataInputStream input;
+        try {
+            this.closeOutput();
+            input = new DataInputStream(new BufferedInputStream(new FileInputStream(this.file)));
+            this.cleanup.input = input;
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Could not read spill file " + this.file, ioe);
+        }
+
+        final CloseableIterator<Object[]> records = new CloseableIterator<Object[]>() {
+            private final ArrayBuffer recordBuffer = new ArrayBuffer(1024);
+            private long remaining = size;
+
+            @Override
+            public boolean hasNext() {
+                return this.remaining > 0L;
+            }
+
+            @Override
+            public Object[] next() {
+                if (this.remaining <= 0L)
+                    throw new NoSuchElementException();
+                try {
+                    final int length = input.readInt();
+                    this.recordBuffer.clear();
+                    this.recordBuffer.ensureWritable(length);
+                    input.readFully(this.recordBuffer.array(), 0, length);
+                    this.recordBuffer.writerIndex(length);
+                    final Object[] record = new Object[width];
+                    for (int i = 0; i < width; i++) {
+                        record[i] = readValue(this.recordBuffer, graph);
+                    }
+                    if (--this.remaining == 0L)
+                        this.close();
+                    return record;
+                } catch (EOFException eof) {
+                    throw new IllegalStateException("The spill file " + file + " ended before all of its records were read", eof);
+                } catch (IOException ioe) {
+                    throw new UncheckedIOException("Could not read spill file " + file, ioe);
+                }
+            }
+
+            @Override
+            public void close() {
+                this.remaining = 0L;
+                try {
+                    input.close();
+                } catch (IOException ignored) {
+                    // the file is deleted when the spill file is closed so there is nothing more to do with it
+                }
+            }
+        };
+        if (0L == this.size)
+            records.close();
+        return records;
+    }
+
+    /**
+     * Closes any stream still open on the file and deletes it.
+     */
+    @Override
+    public void close() {
+        try {
+            this.closeOutput();
+        } catch (IOException ignored) {
+            // the file is being removed anyway
+        }
+        OPEN.remove(this.cleanup);
+        this.cleanup.clear();
+        this.cleanup.run();
+    }
+
+    private static void deleteAbandoned() {
+        Reference<? extends SpillFile> reference;
+        while (null != (reference = ABANDONED.poll())) {
+            final Cleanup cleanup = (Cleanup) reference;
+            OPEN.remove(cleanup);
+            cleanup.run();
+        }
+    }
+
+    private void closeOutput() throws IOException {
+        if (null != this.output) {
+            this.output.close();
+            this.output = null;
+        }
+    }
+
+    private static void writeValue(final Object value, final Buffer buffer) throws IOException {
+        // GraphBinary writes a property without the element that holds it so it is written as a reference to both
+        if (value instanceof Property && ((Property<?>) value).isPresent()) {
+            final Property<?> property = (Property<?>) value;
+            buffer.writeByte(PROPERTY);
+            writeValue(property.element(), buffer);
+            WRITER.write(property instanceof VertexProperty ? ((VertexProperty<?>) property).id() : null, buffer);
+            WRITER.write(property.key(), buffer);
+        } else {
+            buffer.writeByte(VALUE);
+            WRITER.write(ReferenceFactory.detach(value), buffer);
+        }
+    }
+
+    private static Object readValue(final Buffer buffer, final Graph graph) throws IOException {
+        if (VALUE == buffer.readByte())
+            return attach(READER.read(buffer), graph);
+
+        final Element element = (Element) readValue(buffer, graph);
+        final Object id = READER.read(buffer);
+        final String key = READER.read(buffer);
+        if (element instanceof Vertex) {
+            final Iterator<VertexProperty<Object>> properties = ((Vertex) element).properties(key);
+            while (properties.hasNext()) {
+                final VertexProperty<Object> property = properties.next();
+                if (property.id().equals(id))
+                    return property;
+            }
+        } else {
+            final Property<Object> property = element.property(key);
+            if (property.isPresent())
+                return property;
+        }
+        throw new IllegalStateException(String.format("The property %s of %s that was spilled to disk could not be found in the graph", key, element));
+    }
+
+    private static Object attach(final Object object, final Graph graph) {
+        if (null == graph)
+            return object;
+        else if (object instanceof Element && object instanceof Attachable)
+            return ((Attachable) object).attach(Attachable.Method.get(graph));
+        else if (object instanceof List) {
+            final List<Object> list = new ArrayList<>(((List<?>) object).size());
+            for (final Object item : (List<?>) object) {
+                list.add(attach(item, graph));
+            }
+            return list;
+        } else if (object instanceof Set) {
+            final Set<Object> set = object instanceof LinkedHashSet ? new LinkedHashSet<>() : new HashSet<>();
+            for (final Object item : (Set<?>) object) {
+                set.add(attach(item, graph));
+            }
+            return set;
+        } else if (object instanceof Map) {
+            final Map<Object, Object> map = object instanceof LinkedHashMap ? new LinkedHashMap<>() : new HashMap<>();
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                map.put(attach(entry.getKey(), graph), attach(entry.getValue(), graph));
+            }
+            return map;
+        }
+        return object;
+    }
+
+    /**
+     * Remembers the file and the streams of a {@link SpillFile} so that they can be released once it is garbage
+     * collected without having been closed.
+     */
+    private static final class Cleanup extends PhantomReference<SpillFile> {
+        private final File file;
+        private final OutputStream output;
+        private volatile InputStream input;
+
+        private Cleanup(final SpillFile spillFile) {
+            super(spillFile, ABANDONED);
+            this.file = spillFile.file;
+            this.output = spillFile.output;
+        }
+
+        private void run() {
+            try {
+                this.output.close();
+            } catch (IOException ignored) {
+                // the file is being removed anyway
+            }
+            try {
+                if (null != this.input)
+                    this.input.close();
+            } catch (IOException ignored) {
+                // the file is being removed anyway
+            }
+            this.file.delete();
+        }
+    }
+
+    /**
+     * A {@link Buffer} over a byte array that grows as it is written to.
+     */
+    private static final class ArrayBuffer implements Buffer {
+        private byte[] array;
+        private ByteBuffer view;
+        private int readerIndex = 0;
+        private int writerIndex = 0;
+        private int markedWriterIndex = 0;
+
+        private ArrayBuffer(final int capacity) {
+            this.array = new byte[capacity];
+            this.view = ByteBuffer.wrap(this.array);
+        }
+
+        private byte[] array() {
+            return this.array;
+        }
+
+        private void clear() {
+            this.readerIndex = 0;
+            this.writerIndex = 0;
+            this.markedWriterIndex = 0;
+        }
+
+        private void ensureWritable(final int length) {
+            if (this.writerIndex + length > this.array.length) {
+                final byte[] larger = new byte[Math.max(this.array.length << 1, this.writerIndex + length)];
+                System.arraycopy(this.array, 0, larger, 0, this.writerIndex);
+                this.array = larger;
+                this.view = ByteBuffer.wrap(this.array);
+            }
+        }
+
+        private int read(final int length) {
+            if (this.readerIndex + length > this.writerIndex)
+                throw new IndexOutOfBoundsException(String.format("readerIndex(%s) + length(%s) exceeds writerIndex(%s)",
+                        this.readerIndex, length, this.writerIndex));
+            final int index = this.readerIndex;
+            this.readerIndex += length;
+            return index;
+        }
+
+        private int write(final int length) {
+            this.ensureWritable(length);
+            final int index = this.writerIndex;
+            this.writerIndex += length;
+            return index;
+        }
+
+        @Override
+        public int readableBytes() {
+            return this.writerIndex - this.readerIndex;
+        }
+
+        @Override
+        public int readerIndex() {
+            return this.readerIndex;
+        }
+
+        @Override
+        public Buffer readerIndex(final int readerIndex) {
+            if (readerIndex < 0 || readerIndex > this.writerIndex)
+                throw new IndexOutOfBoundsException("readerIndex: " + readerIndex);
+            this.readerIndex = readerIndex;
+            return this;
+        }
+
+        @Override
+        public int writerIndex() {
+            return this.writerIndex;
+        }
+
+        @Override
+        public Buffer writerIndex(final int writerIndex) {
+            if (writerIndex < this.readerIndex || writerIndex > this.array.length)
+                throw new IndexOutOfBoundsException("writerIndex: " + writerIndex);
+            this.writerIndex = writerIndex;
+            return this;
+        }
+
+        @Override
+        public Buffer markWriterIndex() {
+            this.markedWriterIndex = this.writerIndex;
+            return this;
+        }
+
+        @Override
+        public Buffer resetWriterIndex() {
+            this.writerIndex = this.markedWriterIndex;
+            return this;
+        }
+
+        @Override
+        public int capacity() {
+            return this.array.length;
+        }
+
+        @Override
+        public boolean isDirect() {
+            return false;
+        }
+
+        @Override
+        public boolean readBoolean() {
+            return this.readByte() != 0;
+        }
+
+        @Override
+        public byte readByte() {
+            return this.array[this.read(1)];
+        }
+
+        @Override
+        public short readShort() {
+            return this.view.getShort(this.read(Short.BYTES));
+        }
+
+        @Override
+        public int readInt() {
+            return this.view.getInt(this.read(Integer.BYTES));
+        }
+
+        @Override
+        public long readLong() {
+            return this.view.getLong(this.read(Long.BYTES));
+        }
+
+        @Override
+        public float readFloat() {
+            return this.view.getFloat(this.read(Float.BYTES));
+        }
+
+        @Override
+        public double readDouble() {
+            return this.view.getDouble(this.read(Double.BYTES));
+        }
+
+        @Override
+        public Buffer readBytes(final byte[] destination) {
+            return this.readBytes(destination, 0, destination.length);
+        }
+
+        @Override
+        public Buffer readBytes(final byte[] destination, final int dstIndex, final int length) {
+            System.arraycopy(this.array, this.read(length), destination, dstIndex, length);
+            return this;
+        }
+
+        @Override
+        public Buffer readBytes(final ByteBuffer dst) {
+            final int length = dst.remaining();
+            dst.put(this.array, this.read(length), length);
+            return this;
+        }
+
+        @Override
+        public Buffer readBytes(final OutputStream out, final int length) throws IOException {
+            out.write(this.array, this.read(length), length);
+            return this;
+        }
+
+        @Override
+        public Buffer writeBoolean(final boolean value) {
+            return this.writeByte(value ? 1 : 0);
+        }
+
+        @Override
+        public Buffer writeByte(final int value) {
+            this.array[this.write(1)] = (byte) value;
+            return this;
+        }
+
+        @Override
+        public Buffer writeShort(final int value) {
+            final int index = this.write(Short.BYTES);
+            this.view.putShort(index, (short) value);
+            return this;
+        }
+
+        @Override
+        public Buffer writeInt(final int value) {
+            final int index = this.write(Integer.BYTES);
+            this.view.putInt(index, value);
+            return this;
+        }
+
+        @Override
+        public Buffer writeLong(final long value) {
+            final int index = this.write(Long.BYTES);
+            this.view.putLong(index, value);
+            return this;
+        }
+
+        @Override
+        public Buffer writeFloat(final float value) {
+            final int index = this.write(Float.BYTES);
+            this.view.putFloat(index, value);
+            return this;
+        }
+
+        @Override
+        public Buffer writeDouble(final double value) {
+            final int index = this.write(Double.BYTES);
+            this.view.putDouble(index, value);
+            return this;
+        }
+
+        @Override
+        public Buffer writeBytes(final byte[] src) {
+            return this.writeBytes(src, 0, src.length);
+        }
+
+        @Override
+        public Buffer writeBytes(final ByteBuffer src) {
+            final int length = src.remaining();
+            src.get(this.array, this.write(length), length);
+            return this;
+        }
+
+        @Override
+        public Buffer writeBytes(final byte[] src, final int srcIndex, final int length) {
+            final int index = this.write(length);
+            System.arraycopy(src, srcIndex, this.array, index, length);
+            return this;
+        }
+
+        @Override
+        public boolean release() {
+            return false;
+        }
+
+        @Override
+        public Buffer retain() {
+            return this;
+        }
+
+        @Override
+        public int referenceCount() {
+            return 1;
+        }
+
+        @Override
+        public int nioBufferCount() {
+            return 1;
+        }
+
+        @Override
+        public ByteBuffer[] nioBuffers() {
+            return new ByteBuffer[]{this.nioBuffer()};
+        }
+
+        @Override
+        public ByteBuffer[] nioBuffers(final int index, final int length) {
+            return new ByteBuffer[]{this.nioBuffer(index, length)};
+        }
+
+        @Override
+        public ByteBuffer nioBuffer() {
+            return this.nioBuffer(this.readerIndex, this.readableBytes());
+        }
+
+        @Override
+        public ByteBuffer nioBuffer(final int index, final int length) {
+            return ByteBuffer.wrap(this.array, index, length).slice();
+        }
+
+        @Override
+        public Buffer getBytes(final int index, final byte[] dst) {
+            System.arraycopy(this.array, index, dst, 0, dst.length);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.decoration.VertexProgramStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spillable;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code SpillStrategy} is an OLTP-only strategy that bounds the memory held by the {@link Spillable} barrier steps
+ * of a traversal, which are {@code order()} and {@code dedup()}. Once one of those steps holds more than the
+ * {@code threshold} number of traversers, it writes them with GraphBinary to temporary files in the directory given
+ * by the {@link #SPILL_DIRECTORY} setting of the {@link Graph} and reads them back as the step is iterated, so that an occasional large query does not exhaust the heap. An
+ * {@code order()} writes sorted runs that are merged as they are read back and a {@code dedup()} writes the objects it
+ * has not yet seen to partitions by hash that are deduplicated one at a time once all its input is consumed, which
+ * means the objects that were spilled are emitted after the others. Graph elements are written as references and
+ * looked up in the graph again when they are read back. The steps do not spill if traversers carry a path, a sack or
+ * loop counters, as that state is not written to disk. The directory is not an option of the strategy so that a client
+ * that sends the strategy with a traversal cannot choose where the server writes files.
+ *
+ * @example <pre>
+ * g.withStrategies(SpillStrategy).V().order().by('name')
+ * g.withStrategies(new SpillStrategy(threshold: 1000000)).V().values('name').dedup()
+ * </pre>
+ */
+public final class SpillStrategy extends AbstractTraversalStrategy<TraversalStrategy.DecorationStrategy>
+        implements TraversalStrategy.DecorationStrategy {
+
+    public static final String THRESHOLD = "threshold";
+
+    /**
+     * The key in the {@link Graph} configuration for the directory that spill files are written to, which is
+     * {@code java.io.tmpdir} if it is not set.
+     */
+    public static final String SPILL_DIRECTORY = "gremlin.spill.directory";
+
+    /**
+     * The number of traversers that a step holds in memory before spilling if the threshold is not configured.
+     */
+    public static final int DEFAULT_THRESHOLD = 100000;
+
+    private static final SpillStrategy INSTANCE = new SpillStrategy(DEFAULT_THRESHOLD);
+
+    private final int threshold;
+
+    private SpillStrategy(final int threshold) {
+        if (threshold < 1)
+            throw new IllegalArgumentException("The threshold for SpillStrategy must be greater than zero");
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal) || traversal.getStrategies().getStrategy(VertexProgramStrategy.class).isPresent())
+            return;
+
+        final List<Spillable> steps = TraversalHelper.getStepsOfAssignableClass(Spillable.class, traversal);
+        if (steps.isEmpty())
+            return;
+
+        final File directory = getDirectory(traversal.getGraph().orElse(EmptyGraph.instance()));
+        for (final Spillable step : steps) {
+            step.setSpill(this.threshold, directory);
+        }
+    }
+
+    public int getThreshold() {
+        return this.threshold;
+    }
+
+    /**
+     * Gets the directory that spill files are written to for traversals of the graph from its {@link #SPILL_DIRECTORY}
+     * setting.
+     */
+    public static File getDirectory(final Graph graph) {
+        final String tmpdir = System.getProperty("java.io.tmpdir");
+        return new File(graph instanceof EmptyGraph ? tmpdir : graph.configuration().getString(SPILL_DIRECTORY, tmpdir));
+    }
+
+    public static SpillStrategy create(final Configuration configuration) {
+        return new SpillStrategy(configuration.getInt(THRESHOLD, DEFAULT_THRESHOLD));
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put(STRATEGY, SpillStrategy.class.getCanonicalName());
+        map.put(THRESHOLD, this.threshold);
+        return new MapConfiguration(map);
+    }
+
+    public static SpillStrategy instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Builds a {@code SpillStrategy} instance.
+     */
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private int threshold = DEFAULT_THRESHOLD;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the number of traversers that a step holds in memory before it spills them to disk.
+         */
+        public Builder threshold(final int threshold) {
+            this.threshold = threshold;
+            return this;
+        }
+
+        public SpillStrategy create() {
+            return new SpillStrategy(this.threshold);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.IdStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BatchedStepIterator;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code BatchingStrategy} is an OLTP-only strategy that has steps take traversers from the step before them a batch
+ * at a time with {@link Step#nextBatch(org.apache.tinkerpop.gremlin.process.traversal.Traverser.Admin[])} rather than
+ * one at a time, so that a provider whose steps override {@code nextBatch()} can fetch the data for many traversers at
+ * once. The previous step may be asked for more traversers than the traversal ends up needing, such as when the
+ * traversal has a {@code limit()}, so batching only applies to the steps that follow an unbroken run of steps that are
+ * free of side-effects from the {@link GraphStep} that starts the traversal. Those are {@link VertexStep},
+ * {@link EdgeVertexStep}, {@link HasStep}, {@link PropertiesStep}, {@link IdStep} and {@link NoOpBarrierStep}, while
+ * all other steps are iterated one traverser at a time as usual. The strategy only applies to the root traversal and
+ * is not applied to a traversal that is being profiled. Without the strategy no step takes traversers a batch at a
+ * time.
+ *
+ * @example <pre>
+ * g.withStrategies(BatchingStrategy).V().out().out().count()
+ * g.withStrategies(new BatchingStrategy(batchSize: 256)).V().out().out().count()
+ * </pre>
+ */
+public final class BatchingStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy>
+        implements TraversalStrategy.FinalizationStrategy {
+
+    public static final String BATCH_SIZE = "batchSize";
+
+    /**
+     * The number of traversers taken from a step at a time if the batch size is not configured.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private static final BatchingStrategy INSTANCE = new BatchingStrategy(DEFAULT_BATCH_SIZE);
+
+    // steps can be added by these strategies, so they need to be in place before deciding which steps to batch
+    private static final Set<Class<? extends FinalizationStrategy>> PRIORS = new HashSet<>(Arrays.asList(
+            ProfileStrategy.class,
+            ReferenceElementStrategy.class));
+
+    private final int batchSize;
+
+    private BatchingStrategy(final int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("The batchSize for BatchingStrategy must be greater than zero");
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        // profiling times each step as its traversers are pulled, which batching would attribute to the wrong step
+        if (!traversal.isRoot() || TraversalHelper.onGraphComputer(traversal) ||
+                TraversalHelper.hasStepOfClass(ProfileSideEffectStep.class, traversal))
+            return;
+
+        // only the steps that follow the start step and an unbroken run of steps without side-effects are batched
+        final List<Step> steps = traversal.getSteps();
+        if (steps.isEmpty() || !(steps.get(0) instanceof GraphStep) || !((GraphStep<?, ?>) steps.get(0)).isStartStep())
+            return;
+
+        for (int i = 1; i < steps.size(); i++) {
+            final Step step = steps.get(i);
+            if (!(step instanceof AbstractStep) || (i > 1 && !isFreeOfSideEffects(step.getPreviousStep())))
+                break;
+            final AbstractStep<?, ?> abstractStep = (AbstractStep) step;
+            abstractStep.setStarts(new BatchedStepIterator(abstractStep,
+                    (TraverserSet) traversal.getTraverserSetSupplier().get(), this.batchSize));
+        }
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    @Override
+    public Set<Class<? extends FinalizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    private static boolean isFreeOfSideEffects(final Step<?, ?> step) {
+        return step instanceof VertexStep ||
+                step instanceof EdgeVertexStep ||
+                step instanceof HasStep ||
+                step instanceof PropertiesStep ||
+                step instanceof IdStep ||
+                step instanceof NoOpBarrierStep;
+    }
+
+    public static BatchingStrategy create(final Configuration configuration) {
+        return new BatchingStrategy(configuration.getInt(BATCH_SIZE, DEFAULT_BATCH_SIZE));
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put(STRATEGY, BatchingStrategy.class.getCanonicalName());
+        map.put(BATCH_SIZE, this.batchSize);
+        return new MapConfiguration(map);
+    }
+
+    public static BatchingStrategy instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Builds a {@code BatchingStrategy} instance.
+     */
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the number of traversers that a step takes from the step before it at a time.
+         */
+        public Builder batchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public BatchingStrategy create() {
+            return new BatchingStrategy(this.batchSize);
+        }
+    }
+}
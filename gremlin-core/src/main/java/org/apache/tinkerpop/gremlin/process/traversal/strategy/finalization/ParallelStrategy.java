@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.ReadWriting;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Seedable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ConnectiveStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.IsStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.NotStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.TraversalFilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WherePredicateStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CallStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ConstantStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeOtherVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.FoldStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroupCountStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.IdStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.LabelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertyKeyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertyValueStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.SumGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.TraversalFlatMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.TraversalMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * {@code ParallelStrategy} is an OLTP-only strategy that spreads the work of a traversal across a number of threads
+ * where the traversal starts with {@code V()} or {@code E()}, is followed by steps that can safely run on many threads
+ * at once and then reduces the result with {@code count()}, {@code sum()}, {@code groupCount()} or {@code fold()}.
+ * Those steps are moved to a {@link ParallelStep} where each thread takes the traversers of the start step in chunks
+ * and reduces them with its own copy of the steps, after which the partial results are merged with the reducing
+ * bi-operator of the reducing step. The result is the same as it would be if the traversal was run on one thread.
+ * <p/>
+ * The steps that can run in parallel are those that traverse the graph, such as {@code out()}, {@code inV()} and
+ * {@code values()}, and those that filter without side-effects, such as {@code has()}, {@code is()},
+ * {@code where()}, {@code not()}, {@code and()} and {@code or()}. Child traversals of these steps may not contain
+ * steps with side-effects, steps that mutate the graph, lambdas or steps that use randomness. The strategy does not
+ * apply to a traversal that is being profiled or to a {@link Graph} that supports transactions, as a transaction is
+ * bound to the thread that opened it. The graph itself must allow it to be read from many threads at once.
+ *
+ * @example <pre>
+ * g.withStrategies(ParallelStrategy).V().out().out().has('name','lop').count()
+ * g.withStrategies(new ParallelStrategy(parallelism: 8)).V().out().out().groupCount().by(label)
+ * </pre>
+ */
+public final class ParallelStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy>
+        implements TraversalStrategy.FinalizationStrategy {
+
+    public static final String PARALLELISM = "parallelism";
+
+    private static final ParallelStrategy INSTANCE = new ParallelStrategy(Runtime.getRuntime().availableProcessors());
+
+    private static final Set<Class<? extends FinalizationStrategy>> PRIORS = new HashSet<>(Arrays.asList(
+            ProfileStrategy.class,
+            ReferenceElementStrategy.class));
+
+    private static final Set<Class<? extends FinalizationStrategy>> POSTS = new HashSet<>(Arrays.asList(
+            BatchingStrategy.class));
+
+    private static final List<Class<? extends Step>> PARALLEL_STEPS = Arrays.asList(
+            VertexStep.class,
+            EdgeVertexStep.class,
+            EdgeOtherVertexStep.class,
+            PropertiesStep.class,
+            PropertyKeyStep.class,
+            PropertyValueStep.class,
+            IdStep.class,
+            LabelStep.class,
+            ConstantStep.class,
+            IdentityStep.class,
+            HasStep.class,
+            IsStep.class,
+            NotStep.class,
+            ConnectiveStep.class,
+            TraversalFilterStep.class,
+            WherePredicateStep.class,
+            WhereTraversalStep.class,
+            TraversalMapStep.class,
+            TraversalFlatMapStep.class,
+            NoOpBarrierStep.class);
+
+    private final int parallelism;
+
+    private ParallelStrategy(final int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("The parallelism for ParallelStrategy must be greater than zero");
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (this.parallelism < 2 || !traversal.isRoot() || TraversalHelper.onGraphComputer(traversal) ||
+                TraversalHelper.hasStepOfClass(ProfileSideEffectStep.class, traversal))
+            return;
+
+        final Optional<Graph> graph = traversal.getGraph();
+        if (graph.isPresent() && graph.get().features().graph().supportsTransactions())
+            return;
+
+        final List<Step> steps = traversal.getSteps();
+        if (steps.size() < 3 || !(steps.get(0) instanceof GraphStep) || !((GraphStep<?, ?>) steps.get(0)).isStartStep())
+            return;
+
+        int i = 1;
+        while (i < steps.size() && isParallel(steps.get(i))) {
+            i++;
+        }
+        if (1 == i || i == steps.size() || !isMergeable(steps.get(i)))
+            return;
+
+        final Step<?, ?> reducingStep = steps.get(i);
+        final Traversal.Admin parallelTraversal = new DefaultTraversal();
+        TraversalHelper.removeToTraversal(steps.get(1), reducingStep.getNextStep(), parallelTraversal);
+        final ParallelStep<?, ?> parallelStep = new ParallelStep<>(traversal, parallelTraversal, this.parallelism);
+        TraversalHelper.copyLabels(reducingStep, parallelStep, true);
+        traversal.addStep(1, parallelStep);
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    @Override
+    public Set<Class<? extends FinalizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    @Override
+    public Set<Class<? extends FinalizationStrategy>> applyPost() {
+        return POSTS;
+    }
+
+    private static boolean isParallel(final Step<?, ?> step) {
+        if (PARALLEL_STEPS.stream().noneMatch(c -> c.isInstance(step)))
+            return false;
+
+        return !(step instanceof TraversalParent) || !hasUnsafeChildStep((TraversalParent) step);
+    }
+
+    private static boolean isMergeable(final Step<?, ?> step) {
+        return (step instanceof CountGlobalStep ||
+                step instanceof SumGlobalStep ||
+                (step instanceof FoldStep && ((FoldStep<?, ?>) step).isListFold()) ||
+                step instanceof GroupCountStep) &&
+                (!(step instanceof TraversalParent) || !hasUnsafeChildStep((TraversalParent) step));
+    }
+
+    /**
+     * Determines if a child traversal of the step has a step that must not be run on many threads at once.
+     */
+    private static boolean hasUnsafeChildStep(final TraversalParent step) {
+        return TraversalHelper.anyStepRecursively(s ->
+                s instanceof SideEffectCapable ||
+                s instanceof Mutating ||
+                s instanceof LambdaHolder ||
+                s instanceof Seedable ||
+                s instanceof ReadWriting ||
+                s instanceof CallStep, step);
+    }
+
+    public static ParallelStrategy create(final Configuration configuration) {
+        return new ParallelStrategy(configuration.getInt(PARALLELISM, Runtime.getRuntime().availableProcessors()));
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put(STRATEGY, ParallelStrategy.class.getCanonicalName());
+        map.put(PARALLELISM, this.parallelism);
+        return new MapConfiguration(map);
+    }
+
+    /**
+     * Gets an instance whose parallelism is the number of available processors.
+     */
+    public static ParallelStrategy instance() {
+        return INSTANCE;
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the number of threads to run the traversal on, including the calling thread.
+         */
+        public Builder parallelism(final int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public ParallelStrategy create() {
+            return new ParallelStrategy(this.parallelism);
+        }
+    }
+}
@@ -40,9 +40,10 @@ import java.util.List;
 import java.util.Set;
 
 /**
- * {@code OrderLimitStrategy} is an OLAP strategy that folds a {@link RangeGlobalStep} into a preceding
- * {@link OrderGlobalStep}. This helps to eliminate traversers early in the traversal and can
- * significantly reduce the amount of memory required by the OLAP execution engine.
+ * {@code OrderLimitStrategy} folds a {@link RangeGlobalStep} into a preceding {@link OrderGlobalStep}. This helps to
+ * eliminate traversers early in the traversal and can significantly reduce the amount of memory required by the OLAP
+ * execution engine. In standard traversals, the {@link OrderGlobalStep} only keeps the top traversers within the limit
+ * as it collects them rather than sorting all of them.
  *
  * It's worth noting that certain steps are allowed between {@link OrderGlobalStep} and {@link RangeGlobalStep}:
  * <p/>
@@ -57,7 +58,12 @@ import java.util.Set;
  * </ul>
  * <p/>
  *
- * These steps will be ignored by the {@code OrderLimitStrategy} and thus not affect its behavior.
+ * These steps will be ignored by the {@code OrderLimitStrategy} and thus not affect its behavior in OLAP. In standard
+ * traversals the {@link OrderGlobalStep} drops the traversers beyond the limit before the steps that follow it see
+ * them, so the limit does not pass through a step that may emit fewer traversers than it takes. Those are
+ * {@link TreeStep}, which reduces all traversers to one, {@link SelectStep} and {@link SelectOneStep}, which filter
+ * traversers that do not have the selected keys, and a {@link PathStep} with {@code by()} modulators, which filters
+ * paths that a modulator produces nothing for.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
@@ -79,9 +85,7 @@ public final class OrderLimitStrategy extends AbstractTraversalStrategy<Traversa
 
     @Override
     public void apply(final Traversal.Admin<?, ?> traversal) {
-        if (!TraversalHelper.onGraphComputer(traversal))
-            return;
-
+        final boolean onGraphComputer = TraversalHelper.onGraphComputer(traversal);
         final List<OrderGlobalStep> orders = TraversalHelper.getStepsOfClass(OrderGlobalStep.class, traversal);
         for (final OrderGlobalStep order : orders) {
             RangeGlobalStep range = null;
@@ -90,7 +94,7 @@ public final class OrderLimitStrategy extends AbstractTraversalStrategy<Traversa
                 if (currentStep instanceof RangeGlobalStep) {
                     range = (RangeGlobalStep) currentStep;
                     break;
-                } else if (!LEGAL_STEPS.contains(currentStep.getClass()))
+                } else if (!LEGAL_STEPS.contains(currentStep.getClass()) || (!onGraphComputer && mayFilter(currentStep)))
                     break;
                 else
                     currentStep = currentStep.getNextStep();
@@ -100,6 +104,13 @@ public final class OrderLimitStrategy extends AbstractTraversalStrategy<Traversa
         }
     }
 
+    private static boolean mayFilter(final Step<?, ?> step) {
+        return step instanceof TreeStep ||
+                step instanceof SelectStep ||
+                step instanceof SelectOneStep ||
+                (step instanceof PathStep && !((PathStep<?>) step).getLocalChildren().isEmpty());
+    }
+
     public static OrderLimitStrategy instance() {
         return INSTANCE;
     }
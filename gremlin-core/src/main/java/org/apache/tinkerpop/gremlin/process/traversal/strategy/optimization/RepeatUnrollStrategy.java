@@ -39,7 +39,8 @@ import java.util.Set;
 
 /**
  * {@code RepeatUnrollStrategy} is an OLTP-only strategy that unrolls any {@link RepeatStep} if it uses a constant
- * number of loops ({@code times(x)}) and doesn't emit intermittent elements. If any of the following 3 steps appears
+ * number of loops ({@code times(x)}), doesn't emit intermittent elements and doesn't prune on a visited set
+ * ({@code with('visited', true)}). If any of the following 3 steps appears
  * within the repeat-traversal, the strategy will not be applied:
  * <p/>
  * <ul>
@@ -73,7 +74,7 @@ public final class RepeatUnrollStrategy extends AbstractTraversalStrategy<Traver
         for (int i = 0; i < traversal.getSteps().size(); i++) {
             if (traversal.getSteps().get(i) instanceof RepeatStep) {
                 final RepeatStep<?> repeatStep = (RepeatStep) traversal.getSteps().get(i);
-                if (null == repeatStep.getEmitTraversal() && null != repeatStep.getRepeatTraversal() &&
+                if (null == repeatStep.getEmitTraversal() && null != repeatStep.getRepeatTraversal() && !repeatStep.isVisited() &&
                         repeatStep.getUntilTraversal() instanceof LoopTraversal && ((LoopTraversal) repeatStep.getUntilTraversal()).getMaxLoops() > 0 &&
                         !TraversalHelper.hasStepOfAssignableClassRecursively(Scope.global, DedupGlobalStep.class, repeatStep.getRepeatTraversal()) &&
                         !TraversalHelper.hasStepOfAssignableClassRecursively(INVALIDATING_STEPS, repeatStep.getRepeatTraversal())) {
@@ -25,6 +25,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.*;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.ElementStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.*;
@@ -86,6 +87,9 @@ public final class ComputerVerificationStrategy extends AbstractTraversalStrateg
             if (UNSUPPORTED_STEPS.stream().filter(c -> c.isAssignableFrom(step.getClass())).findFirst().isPresent())
                 throw new VerificationException("The following step is currently not supported on GraphComputer: " + step, traversal);
 
+            if (step instanceof RepeatStep && ((RepeatStep<?>) step).isVisited())
+                throw new VerificationException("The visited option of repeat() is currently not supported on GraphComputer: " + step, traversal);
+
             if (step instanceof SideEffectCapable) {
                 final BinaryOperator<?> sideEffectOperator = traversal.getSideEffects().getReducer(((SideEffectCapable<?, ?>) step).getSideEffectKey());
                 if (UNSUPPORTED_OPERATORS.stream().filter(o -> o == sideEffectOperator).findFirst().isPresent()) {
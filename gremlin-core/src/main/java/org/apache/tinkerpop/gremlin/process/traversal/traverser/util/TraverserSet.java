@@ -20,28 +20,89 @@ package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
-import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.AbstractSet;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.Queue;
 import java.util.Random;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
+ * A set of traversers which merges the bulk of equal traversers as they are added and which iterates, and polls as a
+ * {@link Queue}, in the order that the traversers were first added. The traversers are held in an array in insertion
+ * order which is indexed by an open-addressing hash table, so that adding a traverser does not allocate an entry as a
+ * {@code LinkedHashMap} would.
+ * <p/>
+ * A {@code TraverserSet} is not thread-safe. Standard traversals only ever access it from a single thread and where
+ * a {@link org.apache.tinkerpop.gremlin.process.computer.GraphComputer} shares one among its workers, as it does with
+ * the traversers held in its {@link org.apache.tinkerpop.gremlin.process.computer.Memory} or sent as messages, the
+ * {@code GraphComputer} is expected to guard that access. When assertions are enabled, a change to the set made while
+ * another thread is changing it fails with an {@link AssertionError}, which is how the test suites of a
+ * {@code GraphComputer} check that its workers never change the same set at once.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements Set<Traverser.Admin<S>>, Queue<Traverser.Admin<S>>, Serializable {
 
-    private final Map<Traverser.Admin<S>, Traverser.Admin<S>> map = Collections.synchronizedMap(new LinkedHashMap<>());
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * Marks a slot of the {@link #table} that has never been used and thus ends a probe.
+     */
+    private static final int FREE = 0;
+
+    /**
+     * Marks a slot of the {@link #table} whose traverser was removed and thus continues a probe.
+     */
+    private static final int REMOVED = -1;
+
+    private static final AtomicReferenceFieldUpdater<TraverserSet, Thread> WRITER =
+            AtomicReferenceFieldUpdater.newUpdater(TraverserSet.class, Thread.class, "writer");
+
+    /**
+     * The traversers in insertion order. A removed traverser leaves a {@code null} behind until the array is compacted.
+     */
+    private transient Traverser.Admin<S>[] traversers;
+
+    /**
+     * The hash code of the traverser at the same position in {@link #traversers}.
+     */
+    private transient int[] hashes;
+
+    /**
+     * The open-addressing hash table holding the position in {@link #traversers} plus one for each traverser. It is
+     * twice the length of {@link #traversers}, so it is never more than half full.
+     */
+    private transient int[] table;
+
+    /**
+     * The position of the first traverser in {@link #traversers} unless the set is empty.
+     */
+    private transient int head;
+
+    /**
+     * The position in {@link #traversers} at which the next traverser is added.
+     */
+    private transient int tail;
+
+    private transient int size;
+    private transient int modCount;
+
+    /**
+     * The thread that is changing the set, which is only tracked when assertions are enabled.
+     */
+    private transient volatile Thread writer;
 
     public TraverserSet() {
 
@@ -49,50 +110,50 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     public TraverserSet(final Traverser.Admin<S> traverser) {
         if (traverser != null)
-            this.map.put(traverser, traverser);
+            this.addTraverser(traverser);
     }
 
     @Override
     public Iterator<Traverser.Admin<S>> iterator() {
-        return this.map.values().iterator();
+        return new TraverserSetIterator();
     }
 
     public Traverser.Admin<S> get(final Traverser.Admin<S> traverser) {
-        return this.map.get(traverser);
+        final int index = this.indexOf(traverser);
+        return index < 0 ? null : this.traversers[index];
     }
 
     @Override
     public int size() {
-        return this.map.size();
+        return this.size;
     }
 
     public long bulkSize() {
         long bulk = 0L;
-        for (final Traverser.Admin<S> traverser : this.map.values()) {
-            bulk = bulk + traverser.bulk();
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i])
+                bulk = bulk + this.traversers[i].bulk();
         }
         return bulk;
     }
 
     @Override
     public boolean isEmpty() {
-        return this.map.isEmpty();
+        return 0 == this.size;
     }
 
     @Override
     public boolean contains(final Object traverser) {
-        return this.map.containsKey(traverser);
+        return this.indexOf(traverser) >= 0;
     }
 
     @Override
     public boolean add(final Traverser.Admin<S> traverser) {
-        final Traverser.Admin<S> existing = this.map.get(traverser);
-        if (null == existing) {
-            this.map.put(traverser, traverser);
-            return true;
-        } else {
-            existing.merge(traverser);
-            return false;
+        assert this.beginWrite();
+        try {
+            return this.addTraverser(traverser);
+        } finally {
+            assert this.endWrite();
         }
     }
 
@@ -103,63 +164,288 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     @Override
     public Traverser.Admin<S> remove() {  // pop, exception if empty
-        final Iterator<Traverser.Admin<S>> iterator = this.map.values().iterator();
-        if (!iterator.hasNext())
+        if (0 == this.size)
             throw FastNoSuchElementException.instance();
-        final Traverser.Admin<S> next = iterator.next();
-        iterator.remove();
-        return next;
+        assert this.beginWrite();
+        try {
+            final Traverser.Admin<S> next = this.traversers[this.head];
+            this.removeAt(this.head);
+            return next;
+        } finally {
+            assert this.endWrite();
+        }
     }
 
     @Override
     public Traverser.Admin<S> poll() {  // pop, null if empty
-        return this.map.isEmpty() ? null : this.remove();
+        return 0 == this.size ? null : this.remove();
     }
 
     @Override
     public Traverser.Admin<S> element() { // peek, exception if empty
-        return this.iterator().next();
+        if (0 == this.size)
+            throw FastNoSuchElementException.instance();
+        return this.traversers[this.head];
     }
 
     @Override
     public Traverser.Admin<S> peek() { // peek, null if empty
-        return this.map.isEmpty() ? null : this.iterator().next();
+        return 0 == this.size ? null : this.traversers[this.head];
     }
 
     @Override
     public boolean remove(final Object traverser) {
-        return this.map.remove(traverser) != null;
+        assert this.beginWrite();
+        try {
+            final int index = this.indexOf(traverser);
+            if (index < 0)
+                return false;
+            this.removeAt(index);
+            return true;
+        } finally {
+            assert this.endWrite();
+        }
     }
 
     @Override
     public void clear() {
-        this.map.clear();
+        assert this.beginWrite();
+        this.traversers = null;
+        this.hashes = null;
+        this.table = null;
+        this.head = 0;
+        this.tail = 0;
+        this.size = 0;
+        this.modCount++;
+        assert this.endWrite();
     }
 
     @Override
     public Spliterator<Traverser.Admin<S>> spliterator() {
-        return this.map.values().spliterator();
-    }
-
-    @Override
-    public String toString() {
-        return this.map.values().toString();
+        return Spliterators.spliterator(this, Spliterator.DISTINCT | Spliterator.ORDERED);
     }
 
     public void sort(final Comparator<Traverser<S>> comparator) {
-        final List<Traverser.Admin<S>> list = new ArrayList<>(this.map.size());
-        IteratorUtils.removeOnNext(this.map.values().iterator()).forEachRemaining(list::add);
-        Collections.sort(list, comparator);
-        this.map.clear();
-        list.forEach(traverser -> this.map.put(traverser, traverser));
+        assert this.beginWrite();
+        try {
+            final Traverser.Admin<S>[] sorted = this.toTraverserArray();
+            Arrays.sort(sorted, comparator);
+            this.rebuild(sorted);
+        } finally {
+            assert this.endWrite();
+        }
     }
 
     public void shuffle(final Random random) {
-        final List<Traverser.Admin<S>> list = new ArrayList<>(this.map.size());
-        IteratorUtils.removeOnNext(this.map.values().iterator()).forEachRemaining(list::add);
-        Collections.shuffle(list, random);
-        this.map.clear();
-        list.forEach(traverser -> this.map.put(traverser, traverser));
+        assert this.beginWrite();
+        try {
+            final Traverser.Admin<S>[] shuffled = this.toTraverserArray();
+            Collections.shuffle(Arrays.asList(shuffled), random);
+            this.rebuild(shuffled);
+        } finally {
+            assert this.endWrite();
+        }
+    }
+
+    private boolean beginWrite() {
+        if (!WRITER.compareAndSet(this, null, Thread.currentThread()))
+            throw new AssertionError("The TraverserSet is being changed by " + this.writer + " and can not be changed by " +
+                    Thread.currentThread() + " at the same time");
+        return true;
+    }
+
+    private boolean endWrite() {
+        this.writer = null;
+        return true;
     }
 
+    private boolean addTraverser(final Traverser.Admin<S> traverser) {
+        final int hash = traverser.hashCode();
+        final int index = this.indexOf(traverser, hash);
+        if (index >= 0) {
+            this.traversers[index].merge(traverser);
+            return false;
+        }
+
+        if (null == this.traversers)
+            this.allocate(INITIAL_CAPACITY);
+        else if (this.tail == this.traversers.length)
+            this.compact();
+
+        this.traversers[this.tail] = traverser;
+        this.hashes[this.tail] = hash;
+        this.insertIndex(hash, this.tail);
+        this.tail++;
+        this.size++;
+        this.modCount++;
+        return true;
+    }
+
+    private int indexOf(final Object traverser) {
+        return null == traverser ? -1 : this.indexOf(traverser, traverser.hashCode());
+    }
+
+    private int indexOf(final Object traverser, final int hash) {
+        if (null == this.table)
+            return -1;
+
+        final int mask = this.table.length - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            final int entry = this.table[slot];
+            if (FREE == entry)
+                return -1;
+            if (REMOVED != entry) {
+                final int index = entry - 1;
+                final Traverser.Admin<S> existing = this.traversers[index];
+                if (this.hashes[index] == hash && (existing == traverser || traverser.equals(existing)))
+                    return index;
+            }
+        }
+    }
+
+    private void insertIndex(final int hash, final int index) {
+        final int mask = this.table.length - 1;
+        int slot = spread(hash) & mask;
+        while (this.table[slot] > 0) {
+            slot = (slot + 1) & mask;
+        }
+        this.table[slot] = index + 1;
+    }
+
+    private void removeAt(final int index) {
+        final int mask = this.table.length - 1;
+        int slot = spread(this.hashes[index]) & mask;
+        while (this.table[slot] != index + 1) {
+            slot = (slot + 1) & mask;
+        }
+        this.table[slot] = REMOVED;
+        this.traversers[index] = null;
+        this.size--;
+        this.modCount++;
+
+        if (index == this.head) {
+            while (this.head < this.tail && null == this.traversers[this.head]) {
+                this.head++;
+            }
+        }
+    }
+
+    /**
+     * Moves the traversers to the front of arrays sized to leave room for at least as many traversers as are held,
+     * which also clears the removed slots from the {@link #table}.
+     */
+    private void compact() {
+        final Traverser.Admin<S>[] oldTraversers = this.traversers;
+        final int[] oldHashes = this.hashes;
+        final int oldHead = this.head;
+        final int oldTail = this.tail;
+        this.allocate(capacityFor(this.size));
+
+        int index = 0;
+        for (int i = oldHead; i < oldTail; i++) {
+            if (null != oldTraversers[i]) {
+                this.traversers[index] = oldTraversers[i];
+                this.hashes[index] = oldHashes[i];
+                this.insertIndex(oldHashes[i], index);
+                index++;
+            }
+        }
+        this.tail = index;
+    }
+
+    private void rebuild(final Traverser.Admin<S>[] ordered) {
+        this.allocate(capacityFor(ordered.length));
+        for (int i = 0; i < ordered.length; i++) {
+            this.traversers[i] = ordered[i];
+            this.hashes[i] = ordered[i].hashCode();
+            this.insertIndex(this.hashes[i], i);
+        }
+        this.tail = ordered.length;
+        this.size = ordered.length;
+        this.modCount++;
+    }
+
+    private void allocate(final int capacity) {
+        this.traversers = new Traverser.Admin[capacity];
+        this.hashes = new int[capacity];
+        this.table = new int[capacity * 2];
+        this.head = 0;
+        this.tail = 0;
+    }
+
+    private Traverser.Admin<S>[] toTraverserArray() {
+        final Traverser.Admin<S>[] array = new Traverser.Admin[this.size];
+        int index = 0;
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i])
+                array[index++] = this.traversers[i];
+        }
+        return array;
+    }
+
+    private static int capacityFor(final int size) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < size * 2) {
+            capacity = capacity << 1;
+        }
+        return capacity;
+    }
+
+    private static int spread(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void writeObject(final ObjectOutputStream outputStream) throws IOException {
+        outputStream.defaultWriteObject();
+        outputStream.writeInt(this.size);
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i])
+                outputStream.writeObject(this.traversers[i]);
+        }
+    }
+
+    private void readObject(final ObjectInputStream inputStream) throws IOException, ClassNotFoundException {
+        inputStream.defaultReadObject();
+        final int size = inputStream.readInt();
+        for (int i = 0; i < size; i++) {
+            this.addTraverser((Traverser.Admin<S>) inputStream.readObject());
+        }
+    }
+
+    private final class TraverserSetIterator implements Iterator<Traverser.Admin<S>> {
+
+        private int next = head;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            while (this.next < tail && null == traversers[this.next]) {
+                this.next++;
+            }
+            return this.next < tail;
+        }
+
+        @Override
+        public Traverser.Admin<S> next() {
+            if (modCount != this.expectedModCount)
+                throw new ConcurrentModificationException();
+            if (!this.hasNext())
+                throw FastNoSuchElementException.instance();
+            this.last = this.next++;
+            return traversers[this.last];
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0)
+                throw new IllegalStateException();
+            if (modCount != this.expectedModCount)
+                throw new ConcurrentModificationException();
+            removeAt(this.last);
+            this.last = -1;
+            this.expectedModCount = modCount;
+        }
+    }
 }
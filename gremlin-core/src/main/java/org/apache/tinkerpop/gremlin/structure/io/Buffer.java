@@ -198,6 +198,15 @@ public interface Buffer {
      */
     Buffer writeBytes(final byte[] src, final int srcIndex, final int length);
 
+    /**
+     * Transfers the specified source array's data to this buffer starting at the current writer index and advances
+     * the index. Unlike {@link #writeBytes(byte[])} the caller hands ownership of the array to the buffer, which may
+     * then reference it rather than copy it, so the array must not be modified after this call.
+     */
+    default Buffer writeBytesNoCopy(final byte[] src) {
+        return writeBytes(src);
+    }
+
     /**
      * Decreases the reference count by {@code 1} and deallocates this object if the reference count reaches at
      * {@code 0}.
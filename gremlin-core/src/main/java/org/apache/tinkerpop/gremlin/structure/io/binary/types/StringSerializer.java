@@ -41,6 +41,7 @@ public class StringSerializer extends SimpleTypeSerializer<String> {
     @Override
     protected void writeValue(final String value, final Buffer buffer, final GraphBinaryWriter context) {
         final byte[] stringBytes = value.getBytes(StandardCharsets.UTF_8);
-        buffer.writeInt(stringBytes.length).writeBytes(stringBytes);
+        // the array is private to this call so the buffer is free to keep it rather than copy large strings
+        buffer.writeInt(stringBytes.length).writeBytesNoCopy(stringBytes);
     }
 }
@@ -45,6 +45,7 @@ import java.util.Set;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -77,6 +78,63 @@ public class GremlinLangScriptEngineTest {
         assertEquals(g.V(100, 1000, 10000).asAdmin().getGremlinLang(), ((Traversal.Admin) result).getGremlinLang());
     }
 
+    @Test
+    public void shouldReuseParsedScriptWithNewParameters() throws ScriptException {
+        final GremlinLangScriptEngine engine = new GremlinLangScriptEngine();
+        final Bindings b = new SimpleBindings();
+        b.put("g", g);
+        b.put("x", 100);
+
+        final Object first = engine.eval("g.V(x).out()", b);
+        assertEquals(g.V(100).out().asAdmin().getGremlinLang(), ((Traversal.Admin) first).getGremlinLang());
+        assertEquals(0, engine.getParseCacheHitCount());
+        assertEquals(1, engine.getParseCacheMissCount());
+
+        b.put("x", 200);
+        final Object second = engine.eval("g.V(x).out()", b);
+        assertEquals(g.V(200).out().asAdmin().getGremlinLang(), ((Traversal.Admin) second).getGremlinLang());
+        assertEquals(1, engine.getParseCacheHitCount());
+        assertEquals(1, engine.getParseCacheMissCount());
+        assertEquals(1, engine.getParseCacheEstimatedSize());
+    }
+
+    @Test
+    public void shouldEvictParsedScriptsWhenCacheIsFull() throws ScriptException {
+        final GremlinLangScriptEngine engine = new GremlinLangScriptEngine(new ParseCacheCustomizer(2));
+        engine.put("g", g);
+
+        engine.eval("g.V()");
+        engine.eval("g.E()");
+        engine.eval("g.V().out()");
+
+        assertEquals(2, engine.getParseCacheEstimatedSize());
+        assertEquals(1, engine.getParseCacheEvictionCount());
+        assertEquals(3, engine.getParseCacheMissCount());
+    }
+
+    @Test
+    public void shouldEvalWithParseCacheDisabled() throws ScriptException {
+        final GremlinLangScriptEngine engine = new GremlinLangScriptEngine(new ParseCacheCustomizer(0));
+        engine.put("g", g);
+
+        final Object result = engine.eval("g.V()");
+        assertEquals(g.V().asAdmin().getGremlinLang(), ((Traversal.Admin) result).getGremlinLang());
+        assertFalse(engine.getParseCache().isPresent());
+        assertEquals(0, engine.getParseCacheMissCount());
+    }
+
+    @Test(expected = ScriptException.class)
+    public void shouldNotCacheScriptThatFailsToParse() throws ScriptException {
+        final GremlinLangScriptEngine engine = new GremlinLangScriptEngine();
+        engine.put("g", g);
+
+        try {
+            engine.eval("g.V(");
+        } finally {
+            assertEquals(0, engine.getParseCacheEstimatedSize());
+        }
+    }
+
     public static class TestStrategy<S extends TraversalStrategy> extends AbstractTraversalStrategy<S> {
         private final Configuration configuration;
 
@@ -39,6 +39,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -549,4 +550,57 @@ public class PathTest {
             }
         });
     }
+
+    @Test
+    public void shouldShareUnchangedPrefixOnImmutablePathRetract() {
+        final Path a = ImmutablePath.make().extend(1, Collections.singleton("a"));
+        final Path ab = a.extend(2, Collections.singleton("b"));
+        final Path abc = ab.extend(3, new HashSet<>(Arrays.asList("c", "d")));
+
+        assertSame(abc, abc.retract(Collections.singleton("x")));
+        assertSame(abc, abc.extend(4, Collections.singleton("e")).retract(Collections.singleton("e")));
+
+        final Path retracted = abc.retract(Collections.singleton("c"));
+        assertEquals(3, retracted.size());
+        assertEquals(Collections.singleton("d"), retracted.labels().get(2));
+        assertEquals(ab, retracted.retract(Collections.singleton("d")));
+
+        final Path unlabeled = ab.extend(3, Collections.emptySet()).extend(4, Collections.singleton("c"));
+        assertEquals(Arrays.asList(1, 2, 4), unlabeled.retract(Collections.singleton("x")).objects());
+        assertEquals(Collections.singletonList(2), unlabeled.retract(new HashSet<>(Arrays.asList("a", "c"))).objects());
+    }
+
+    @Test
+    public void shouldHaveSameEqualityAndHashCodeForImmutablePathWithSharedPrefix() {
+        final Path ab = ImmutablePath.make().extend(1, Collections.singleton("a")).extend(2, Collections.singleton("b"));
+        final Path abc1 = ab.extend(3, Collections.singleton("c"));
+        final Path abc2 = ab.extend(3, Collections.singleton("c"));
+        final Path abd = ab.extend(4, Collections.singleton("c"));
+        final Path mutable = MutablePath.make().extend(1, Collections.singleton("a")).
+                extend(2, Collections.singleton("b")).extend(3, Collections.singleton("c"));
+
+        assertEquals(abc1, abc2);
+        assertEquals(abc1.hashCode(), abc2.hashCode());
+        assertNotEquals(abc1, abd);
+        assertNotEquals(abc1, ab.extend(3, Collections.singleton("d")));
+        assertEquals(abc1, mutable);
+        assertEquals(mutable, abc1);
+        assertEquals(mutable.hashCode(), abc1.hashCode());
+        assertEquals(Arrays.asList(1, 2, 3).hashCode(), abc1.hashCode());
+    }
+
+    @Test
+    public void shouldThrowOnIndexOutOfBounds() {
+        Arrays.<Supplier<Path>>asList(MutablePath::make, ImmutablePath::make).forEach(supplier -> {
+            final Path path = supplier.get().extend(1, Collections.singleton("a")).extend(2, Collections.singleton("b"));
+            assertEquals(Integer.valueOf(1), path.get(0));
+            assertEquals(Integer.valueOf(2), path.get(1));
+            try {
+                path.get(2);
+                fail("Should have thrown an IndexOutOfBoundsException for " + path.getClass().getSimpleName());
+            } catch (IndexOutOfBoundsException ex) {
+                // expected
+            }
+        });
+    }
 }
@@ -18,15 +18,23 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.branch;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.constant;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.hasLabel;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.union;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -41,7 +49,50 @@ public class RepeatStepTest extends StepTest {
                 __.out().emit().repeat(out()).times(3),
                 __.repeat(out()).until(hasLabel("x")),
                 __.repeat("a", __.out()).times(3),
-                __.repeat(out().repeat(out()).times(1)).times(1).limit(1)
+                __.repeat(out().repeat(out()).times(1)).times(1).limit(1),
+                __.repeat(out()).times(3).with(RepeatStep.VISITED, true)
         );
     }
+
+    @Test
+    public void shouldConfigureVisited() {
+        final RepeatStep<?> step = (RepeatStep<?>) (Step) __.repeat(out()).with(RepeatStep.VISITED).asAdmin().getEndStep();
+        assertTrue(step.isVisited());
+        assertTrue(step.toString().endsWith("visited)"));
+        assertFalse(((RepeatStep<?>) (Step) __.repeat(out()).with(RepeatStep.VISITED, false).asAdmin().getEndStep()).isVisited());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotConfigureVisitedWithNonBoolean() {
+        __.repeat(out()).with(RepeatStep.VISITED, "true");
+    }
+
+    @Test
+    public void shouldPruneVisitedObjectsOnCycle() {
+        // without the visited option this cycle of 1 -> 1|2 -> 1|2 would never terminate
+        assertEquals(Collections.singletonList(2),
+                __.inject(1).repeat(union(constant(1), constant(2))).with(RepeatStep.VISITED).emit().toList());
+        assertEquals(Arrays.asList(1, 2),
+                __.inject(1).emit().repeat(union(constant(1), constant(2))).with(RepeatStep.VISITED).toList());
+        assertEquals(Collections.singletonList(2),
+                __.inject(1).repeat(union(constant(1), constant(2))).with(RepeatStep.VISITED).until(__.is(2)).toList());
+        assertEquals(Collections.singletonList(2),
+                __.inject(1).until(__.is(2)).repeat(union(constant(1), constant(2))).with(RepeatStep.VISITED).toList());
+    }
+
+    @Test
+    public void shouldPruneVisitedObjectsAcrossStarts() {
+        assertEquals(Collections.singletonList(3),
+                __.inject(1, 1, 2).repeat(constant(3)).with(RepeatStep.VISITED).emit().toList());
+        assertEquals(Collections.singletonList(3L),
+                __.inject(1, 1, 2).emit().repeat(constant(3)).with(RepeatStep.VISITED).count().toList());
+    }
+
+    @Test
+    public void shouldNotShareVisitedWithClone() {
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(1).repeat(union(constant(1), constant(2))).
+                with(RepeatStep.VISITED).emit().asAdmin();
+        assertEquals(Collections.singletonList(2), traversal.clone().toList());
+        assertEquals(Collections.singletonList(2), traversal.clone().toList());
+    }
 }
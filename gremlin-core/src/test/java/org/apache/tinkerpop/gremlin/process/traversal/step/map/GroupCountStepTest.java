@@ -20,11 +20,17 @@
 package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -39,4 +45,31 @@ public class GroupCountStepTest extends StepTest {
                 __.groupCount().by("age")
         );
     }
+
+    @Test
+    public void shouldCountWithBulk() {
+        final Map<Object, Long> expected = new HashMap<>();
+        expected.put("a", 3L);
+        expected.put("b", 1L);
+        expected.put(1, 2L);
+        assertEquals(expected, __.inject("a", "b", "a", 1, "a", 1).barrier().groupCount().next());
+    }
+
+    @Test
+    public void shouldProjectWithOverriddenProjectTraverser() {
+        final Traversal.Admin<String, String> traversal = __.inject("a", "b", "a").asAdmin();
+        traversal.addStep(new GroupCountStep<String, String>(traversal) {
+            @Override
+            public Map<String, Long> projectTraverser(final Traverser.Admin<String> traverser) {
+                final Map<String, Long> map = new HashMap<>(1);
+                map.put(traverser.get().toUpperCase(), traverser.bulk());
+                return map;
+            }
+        });
+
+        final Map<Object, Long> expected = new HashMap<>();
+        expected.put("A", 2L);
+        expected.put("B", 1L);
+        assertEquals(expected, traversal.next());
+    }
 }
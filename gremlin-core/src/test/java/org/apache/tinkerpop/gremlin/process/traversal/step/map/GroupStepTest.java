@@ -23,9 +23,14 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
 import org.apache.tinkerpop.gremlin.structure.T;
+import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -40,4 +45,20 @@ public class GroupStepTest extends StepTest {
                 __.group().by(T.label).by(__.values("name").count())
         );
     }
+
+    @Test
+    public void shouldGroupWithBulk() {
+        final Map<Object, Object> expected = new HashMap<>();
+        expected.put("a", Arrays.asList("a", "a", "a"));
+        expected.put("b", Arrays.asList("b"));
+        assertEquals(expected, __.inject("a", "b", "a", "a").barrier().group().next());
+    }
+
+    @Test
+    public void shouldGroupWithReducingValueTraversal() {
+        final Map<Object, Object> expected = new HashMap<>();
+        expected.put("a", 3L);
+        expected.put("b", 1L);
+        assertEquals(expected, __.inject("a", "b", "a", "a").barrier().group().by().by(__.count()).next());
+    }
 }
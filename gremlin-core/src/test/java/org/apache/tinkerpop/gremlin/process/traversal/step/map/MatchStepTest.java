@@ -396,6 +396,29 @@ public class MatchStepTest extends StepTest {
         traverser.addLabels(Collections.singleton("d"));
     }
 
+    @Test
+    public void testHashJoinMatchAlgorithmOnlyJoinsPatternsOfTheirStart() {
+        final Traversal.Admin<?, ?> traversal = __.match(
+                as("a").out("created").as("b"),
+                as("b").in("created").count().as("c"),
+                as("a").out().as("d").select("a").as("e"),
+                as("a").map(t -> t.get()).as("f"),
+                as("a").both().as("b").out().as("g"),
+                where("a", P.neq("b"))).asAdmin();
+        final List<Traversal.Admin<Object, Object>> patterns = ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren();
+        MatchStep.HashJoinMatchAlgorithm hashJoinMatchAlgorithm = new MatchStep.HashJoinMatchAlgorithm();
+        hashJoinMatchAlgorithm.initialize(false, patterns);
+        assertEquals(6, hashJoinMatchAlgorithm.bundles.size());
+        assertEquals(2, hashJoinMatchAlgorithm.joins.size());
+        assertTrue(hashJoinMatchAlgorithm.joins.containsKey(patterns.get(0)));
+        assertTrue(hashJoinMatchAlgorithm.joins.containsKey(patterns.get(1)));
+        ///
+        hashJoinMatchAlgorithm = new MatchStep.HashJoinMatchAlgorithm();
+        hashJoinMatchAlgorithm.initialize(true, patterns);
+        assertEquals(6, hashJoinMatchAlgorithm.bundles.size());
+        assertTrue(hashJoinMatchAlgorithm.joins.isEmpty());
+    }
+
     @Test
     public void shouldCalculateStartLabelCorrectly() {
         Traversal.Admin<?, ?> traversal = match(
@@ -26,9 +26,14 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -64,4 +69,50 @@ public class OrderGlobalStepTest extends StepTest {
             __.inject(list).unfold().order().by(__.identity(), Order.shuffle).by().iterate();
         }
     }
+
+    @Test
+    public void shouldKeepTopTraversersWithinLimit() {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            list.add(i);
+        }
+        Collections.shuffle(list, new Random(123456789L));
+
+        assertEquals(Arrays.asList(9999, 9998, 9997, 9996, 9995),
+                __.inject(list).unfold().order().by(Order.desc).limit(5).toList());
+        assertEquals(Arrays.asList(10, 11, 12),
+                __.inject(list).unfold().order().range(10, 13).toList());
+        assertEquals(list.size(), __.inject(list).unfold().order().limit(20000).toList().size());
+    }
+
+    @Test
+    public void shouldKeepTopTraversersWithinLimitHonoringTies() {
+        final List<String> list = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            list.add("b" + i);
+        }
+        list.add(2500, "y");
+        list.add(4000, "x");
+
+        // traversers that compare equally keep the order in which they arrived as they would with a full sort
+        final List<Object> expected = __.inject(list).unfold().order().by(__.length()).toList().subList(0, 20);
+        assertEquals(expected, __.inject(list).unfold().order().by(__.length()).limit(20).toList());
+        assertEquals(Arrays.asList("y", "x", "b0", "b1"),
+                __.inject(list).unfold().order().by(__.length()).limit(4).toList());
+    }
+
+    @Test
+    public void shouldKeepTopTraversersWithinLimitHonoringBulk() {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            list.add(i % 3);
+        }
+
+        assertEquals(Arrays.asList(0, 0, 0), __.inject(list).unfold().order().limit(3).toList());
+        final Map<Object, Long> counts = new HashMap<>();
+        counts.put(0, 1000L);
+        counts.put(1, 500L);
+        assertEquals(counts, __.inject(list).unfold().barrier().order().limit(1500).groupCount().next());
+        assertEquals(Arrays.asList(2, 2), __.inject(list).unfold().barrier().order().by(Order.desc).limit(2).toList());
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceVertex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class SpillFileTest {
+
+    private File directory;
+
+    @Before
+    public void setup() throws IOException {
+        this.directory = Files.createTempDirectory("spill-file-test").toFile();
+    }
+
+    @After
+    public void teardown() {
+        final File[] files = this.directory.listFiles();
+        if (null != files) Arrays.stream(files).forEach(File::delete);
+        this.directory.delete();
+    }
+
+    @Test
+    public void shouldReadRecordsInTheOrderTheyWereWritten() {
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", "marko");
+        map.put("age", 29);
+        try (final SpillFile spillFile = SpillFile.create(this.directory)) {
+            spillFile.write("marko", 1L, Arrays.asList(29, "santa fe"));
+            spillFile.write(2.5d, 10L, map);
+            spillFile.write(new ReferenceVertex(1), 3L, new ArrayList<>());
+            assertEquals(3L, spillFile.size());
+
+            final List<Object[]> records = new ArrayList<>();
+            spillFile.read(3, null).forEachRemaining(records::add);
+            assertEquals(3, records.size());
+            assertArrayEquals(new Object[]{"marko", 1L, Arrays.asList(29, "santa fe")}, records.get(0));
+            assertArrayEquals(new Object[]{2.5d, 10L, map}, records.get(1));
+            assertArrayEquals(new Object[]{new ReferenceVertex(1), 3L, new ArrayList<>()}, records.get(2));
+        }
+    }
+
+    @Test
+    public void shouldDeleteFileOnClose() {
+        final SpillFile spillFile = SpillFile.create(this.directory);
+        spillFile.write("a");
+        assertEquals(1, this.directory.listFiles().length);
+        spillFile.close();
+        assertEquals(0, this.directory.listFiles().length);
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void shouldCloseInputOnClose() {
+        final SpillFile spillFile = SpillFile.create(this.directory);
+        spillFile.write("a");
+        spillFile.write("b");
+        final CloseableIterator<Object[]> records = spillFile.read(1, null);
+        assertArrayEquals(new Object[]{"a"}, records.next());
+        spillFile.close();
+        records.next();
+    }
+
+    @Test
+    public void shouldReadEmptyFile() {
+        try (final SpillFile spillFile = SpillFile.create(this.directory)) {
+            final CloseableIterator<Object[]> records = spillFile.read(1, null);
+            assertFalse(records.hasNext());
+        }
+    }
+
+    @Test
+    public void shouldNotWriteAfterRead() {
+        try (final SpillFile spillFile = SpillFile.create(this.directory)) {
+            spillFile.write("a");
+            spillFile.read(1, null).close();
+            spillFile.write("b");
+            fail("Should not be able to write to a spill file that was read");
+        } catch (IllegalStateException ignored) {
+            // expected
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotSpillWhatGraphBinaryCanNotWrite() {
+        try (final SpillFile spillFile = SpillFile.create(this.directory)) {
+            spillFile.write(new Object());
+        }
+    }
+}
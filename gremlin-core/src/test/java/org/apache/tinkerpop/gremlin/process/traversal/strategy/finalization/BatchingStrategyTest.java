@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.LocalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BatchedStepIterator;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class BatchingStrategyTest {
+
+    private static final GraphTraversalSource g = traversal().withEmbedded(EmptyGraph.instance());
+
+    @Test
+    public void shouldBatchStepsThatFollowStepsWithoutSideEffects() {
+        final Traversal.Admin<?, ?> t = g.withStrategies(BatchingStrategy.instance()).
+                V().out().has("name", "marko").sideEffect(__.identity()).out().values("name").asAdmin();
+        t.applyStrategies();
+        // V() out() has() sideEffect() out() values()
+        assertEquals(Arrays.asList(1, 64, 64, 64, 1, 1), getBatchSizes(t));
+    }
+
+    @Test
+    public void shouldUseConfiguredBatchSize() {
+        final Traversal.Admin<?, ?> t = g.withStrategies(BatchingStrategy.build().batchSize(16).create()).
+                V().out().id().asAdmin();
+        t.applyStrategies();
+        assertEquals(Arrays.asList(1, 16, 16), getBatchSizes(t));
+    }
+
+    @Test
+    public void shouldNotBatchChildTraversals() {
+        final Traversal.Admin<?, ?> t = g.withStrategies(BatchingStrategy.instance()).
+                V().local(__.out().out()).asAdmin();
+        t.applyStrategies();
+        assertEquals(Arrays.asList(1, 1), getBatchSizes(((LocalStep<?, ?>) t.getEndStep()).getLocalChildren().get(0)));
+    }
+
+    @Test
+    public void shouldNotBatchWithoutStrategy() {
+        final Traversal.Admin<?, ?> t = g.V().out().out().asAdmin();
+        t.applyStrategies();
+        assertEquals(Arrays.asList(1, 1, 1), getBatchSizes(t));
+    }
+
+    @Test
+    public void shouldNotBatchTraversalThatDoesNotStartWithGraphStep() {
+        final Traversal.Admin<?, ?> t = g.withStrategies(BatchingStrategy.instance()).inject(1, 2, 3).map(__.identity()).asAdmin();
+        t.applyStrategies();
+        assertEquals(Arrays.asList(1, 1), getBatchSizes(t));
+    }
+
+    @Test
+    public void shouldCreateFromConfiguration() {
+        final BatchingStrategy strategy = BatchingStrategy.create(new MapConfiguration(
+                Collections.singletonMap(BatchingStrategy.BATCH_SIZE, 128)));
+        assertEquals(128, strategy.getBatchSize());
+        assertEquals(128, strategy.getConfiguration().getInt(BatchingStrategy.BATCH_SIZE));
+        assertEquals(BatchingStrategy.DEFAULT_BATCH_SIZE, BatchingStrategy.create(new MapConfiguration(Collections.emptyMap())).getBatchSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowBatchSizeLessThanOne() {
+        BatchingStrategy.build().batchSize(0).create();
+    }
+
+    @Test
+    public void shouldNotBatchWhenProfiling() {
+        final Traversal.Admin<?, ?> t = g.withStrategies(ProfileStrategy.instance(), BatchingStrategy.instance()).V().out().profile().asAdmin();
+        t.applyStrategies();
+        assertFalse(getBatchSizes(t).stream().anyMatch(s -> s > 1));
+    }
+
+    private static List<Integer> getBatchSizes(final Traversal.Admin<?, ?> traversal) {
+        return traversal.getSteps().stream().
+                filter(s -> s instanceof AbstractStep).
+                map(s -> ((AbstractStep<?, ?>) s).getStarts()).
+                map(s -> s instanceof BatchedStepIterator ? ((BatchedStepIterator<?>) s).getBatchSize() : 1).
+                collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelStrategyTest {
+
+    private static final GraphTraversalSource g = traversal().withEmbedded(EmptyGraph.instance()).
+            withStrategies(ParallelStrategy.build().parallelism(4).create());
+
+    @Test
+    public void shouldRunStepsBeforeReducingStepInParallel() {
+        final Traversal.Admin<?, ?> t = g.V().out().has("name", "marko").in().count().is(1).asAdmin();
+        t.applyStrategies();
+        assertEquals(3, t.getSteps().size());
+        assertThat(t.getStartStep(), instanceOf(GraphStep.class));
+
+        final ParallelStep<?, ?> parallelStep = (ParallelStep<?, ?>) t.getSteps().get(1);
+        assertEquals(4, parallelStep.getParallelism());
+        assertEquals(4, parallelStep.getGlobalChildren().get(0).getSteps().size());
+        assertThat(parallelStep.getGlobalChildren().get(0).getEndStep(), instanceOf(CountGlobalStep.class));
+    }
+
+    @Test
+    public void shouldMoveLabelsOfReducingStep() {
+        final Traversal.Admin<?, ?> t = g.V().out().count().as("c").select("c").asAdmin();
+        t.applyStrategies();
+        final ParallelStep<?, ?> parallelStep = (ParallelStep<?, ?>) t.getSteps().get(1);
+        assertThat(parallelStep.getLabels(), contains("c"));
+        assertTrue(parallelStep.getGlobalChildren().get(0).getEndStep().getLabels().isEmpty());
+    }
+
+    @Test
+    public void shouldRunWithReducingSteps() {
+        assertParallel(g.V().out().values("age").sum());
+        assertParallel(g.V().out().groupCount().by("name"));
+        assertParallel(g.V().out().values("name").fold());
+        assertParallel(g.V().outE().inV().where(__.out().count().is(2)).count());
+    }
+
+    @Test
+    public void shouldNotRunInParallelWhenStepsAreNotSafe() {
+        assertNotParallel(g.V().out().dedup().count());
+        assertNotParallel(g.V().out().limit(10).count());
+        assertNotParallel(g.V().out().where(__.aggregate("x")).count());
+        assertNotParallel(g.V().out().filter(t -> true).count());
+        assertNotParallel(g.V().out().where(__.coin(0.5)).count());
+        assertNotParallel(g.V().out().groupCount().by(__.sideEffect(__.aggregate("x")).values("name")));
+        assertNotParallel(g.V().out().path().count());
+    }
+
+    @Test
+    public void shouldNotRunInParallelWithoutReducingStep() {
+        assertNotParallel(g.V().out().values("name"));
+        assertNotParallel(g.V().out().values("name").fold(0, (a, b) -> a + 1));
+        assertNotParallel(g.V().count());
+        assertNotParallel(g.inject(1, 2).is(1).count());
+    }
+
+    @Test
+    public void shouldNotRunInParallelWhenProfiling() {
+        final Traversal.Admin<?, ?> t = g.withStrategies(ProfileStrategy.instance()).V().out().count().profile().asAdmin();
+        t.applyStrategies();
+        assertFalse(t.getSteps().stream().anyMatch(s -> s instanceof ParallelStep));
+    }
+
+    @Test
+    public void shouldNotRunInParallelWithParallelismOfOne() {
+        final Traversal.Admin<?, ?> t = g.withStrategies(ParallelStrategy.build().parallelism(1).create()).V().out().count().asAdmin();
+        t.applyStrategies();
+        assertFalse(t.getSteps().stream().anyMatch(s -> s instanceof ParallelStep));
+    }
+
+    @Test
+    public void shouldCreateFromConfiguration() {
+        final ParallelStrategy strategy = ParallelStrategy.create(new MapConfiguration(
+                Collections.singletonMap(ParallelStrategy.PARALLELISM, 8)));
+        assertEquals(8, strategy.getParallelism());
+        assertEquals(8, strategy.getConfiguration().getInt(ParallelStrategy.PARALLELISM));
+        assertEquals(Runtime.getRuntime().availableProcessors(), ParallelStrategy.instance().getParallelism());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowParallelismLessThanOne() {
+        ParallelStrategy.build().parallelism(0).create();
+    }
+
+    private static void assertParallel(final Traversal<?, ?> traversal) {
+        final Traversal.Admin<?, ?> t = traversal.asAdmin();
+        t.applyStrategies();
+        assertThat(t.getSteps().get(1), instanceOf(ParallelStep.class));
+    }
+
+    private static void assertNotParallel(final Traversal<?, ?> traversal) {
+        final Traversal.Admin<?, ?> t = traversal.asAdmin();
+        t.applyStrategies();
+        assertFalse(t.getSteps().stream().anyMatch(s -> s instanceof ParallelStep));
+    }
+}
@@ -50,9 +50,11 @@ public class ComputerVerificationStrategyTest {
                 // illegal
                 {__.where(__.out().values("name")), false},
                 {__.local(out().out()), false},
+                {__.repeat(out()).with("visited", true).emit(), false},
                 // legal
                 {__.values("age").union(max(), min(), sum()), true},
                 {__.count().sum(), true},
+                {__.repeat(out()).with("visited", false).emit(), true},
                 {__.where("a", P.eq("b")).out(), true},
                 {__.where(__.and(outE("knows"), outE("created"))).values("name"), true},
 
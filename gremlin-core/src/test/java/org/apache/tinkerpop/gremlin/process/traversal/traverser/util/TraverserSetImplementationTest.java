@@ -25,14 +25,21 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeThat;
 
 /**
  * @author Stephen Mallette (http://stephen.genoprime.com)
@@ -191,6 +198,91 @@ public class TraverserSetImplementationTest {
         assertEquals(3, ts.bulkSize());
     }
 
+    @Test
+    public void shouldKeepInsertionOrderAsTraversersAreAddedAndRemoved() {
+        final TraverserSet<String> ts = traverserSetMaker.get();
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            ts.add(makeTraverser("a" + i, 1));
+            expected.add("a" + i);
+            if (i % 3 == 0) {
+                assertThat(ts.remove(makeTraverser("a" + (i / 2), 1)), is(expected.remove("a" + (i / 2))));
+            }
+            if (i % 7 == 0 && !expected.isEmpty()) {
+                assertEquals(expected.remove(0), ts.remove().get());
+            }
+        }
+
+        assertEquals(expected.size(), ts.size());
+        assertEquals(expected, ts.stream().map(Traverser::get).collect(Collectors.toList()));
+        expected.forEach(s -> assertThat(ts.contains(makeTraverser(s, 1)), is(true)));
+
+        while (!expected.isEmpty()) {
+            assertEquals(expected.remove(0), ts.poll().get());
+        }
+        assertThat(ts.isEmpty(), is(true));
+        assertNull(ts.peek());
+    }
+
+    @Test
+    public void shouldRemoveTraverserWithIterator() {
+        final TraverserSet<String> ts = makeStringTraversers();
+        final Iterator<Traverser.Admin<String>> itty = ts.iterator();
+        while (itty.hasNext()) {
+            if (itty.next().get().startsWith("b"))
+                itty.remove();
+        }
+
+        assertEquals(2, ts.size());
+        assertEquals(3, ts.bulkSize());
+        assertEquals("a", ts.remove().get());
+        assertEquals("c", ts.remove().get());
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void shouldNotAllowAddWhileIterating() {
+        final TraverserSet<String> ts = makeStringTraversers();
+        final Iterator<Traverser.Admin<String>> itty = ts.iterator();
+        itty.next();
+        ts.add(makeTraverser("d", 1));
+        itty.next();
+    }
+
+    @Test
+    public void shouldNotAllowChangesFromTwoThreadsAtOnceWhenAssertionsEnabled() {
+        boolean assertionsEnabled = false;
+        assert assertionsEnabled = true;
+        assumeThat(assertionsEnabled, is(true));
+
+        final TraverserSet<String> ts = makeStringTraversers();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        // the comparator runs while the set is being sorted, so another thread changing the set there overlaps
+        ts.sort((a, b) -> {
+            if (null == error.get()) {
+                final Thread thread = new Thread(() -> {
+                    try {
+                        ts.add(makeTraverser("d", 1));
+                        error.set(new IllegalStateException("The set should not have been changed"));
+                    } catch (Throwable t) {
+                        error.set(t);
+                    }
+                });
+                thread.start();
+                try {
+                    thread.join();
+                } catch (InterruptedException ie) {
+                    throw new RuntimeException(ie);
+                }
+            }
+            return a.get().compareTo(b.get());
+        });
+
+        assertThat(error.get(), instanceOf(AssertionError.class));
+        assertEquals(4, ts.size());
+        ts.add(makeTraverser("d", 1));
+        assertEquals(5, ts.size());
+    }
+
     private TraverserSet<String> makeStringTraversers() {
         final TraverserSet<String> ts = traverserSetMaker.get();
         ts.add(makeTraverser("a", 1));
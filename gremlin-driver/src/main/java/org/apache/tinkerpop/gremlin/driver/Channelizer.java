@@ -20,12 +20,22 @@ package org.apache.tinkerpop.gremlin.driver;
 
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.ChannelPromise;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2SettingsFrame;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.IdleStateHandler;
@@ -85,6 +95,30 @@ public interface Channelizer extends ChannelHandler {
         return sslEnabled ? "https" : "http";
     }
 
+    /**
+     * Determines if many requests can be in flight on the channel at once, in which case each request is written to
+     * a stream of its own that is initialized with the handler from {@link #createStreamHandler(AtomicReference)}.
+     */
+    default boolean isMultiplexed() {
+        return false;
+    }
+
+    /**
+     * Creates the handler that initializes the pipeline of a stream for a single request where the response is
+     * written to the {@link ResultQueue} held by {@code pending}. Only called when {@link #isMultiplexed()} is
+     * {@code true}.
+     */
+    default ChannelHandler createStreamHandler(final AtomicReference<ResultQueue> pending) {
+        throw new UnsupportedOperationException(String.format("%s does not multiplex requests", getClass().getSimpleName()));
+    }
+
+    /**
+     * Gets the maximum number of requests that can be in flight on the channel at once.
+     */
+    default int getMaxConcurrentRequests(final Channel channel) {
+        return 1;
+    }
+
     /**
      * Base implementation of the client side {@link Channelizer}.
      */
@@ -103,6 +137,10 @@ public interface Channelizer extends ChannelHandler {
         protected static final String PIPELINE_HTTP_ENCODER = "gremlin-encoder";
         protected static final String PIPELINE_HTTP_DECODER = "gremlin-decoder";
         protected static final String PIPELINE_HTTP_DECOMPRESSION_HANDLER = "http-decompression-handler";
+        protected static final String PIPELINE_HTTP2_CODEC = "http2-codec";
+        protected static final String PIPELINE_HTTP2_MULTIPLEXER = "http2-multiplexer";
+        protected static final String PIPELINE_HTTP2_STREAM_CODEC = "http2-stream-codec";
+        protected static final String PIPELINE_HTTP2_SETTINGS_HANDLER = "http2-settings-handler";
         
         private static final String HANDSHAKE_ERROR = "Could not complete connection setup to the server. Ensure that SSL is correctly " +
                 "configured at both the client and the server. Ensure that client http handshake " +
@@ -247,4 +285,125 @@ public interface Channelizer extends ChannelHandler {
             pipeline.addLast(PIPELINE_HTTP_DECODER, gremlinResponseDecoder);
         }
     }
+
+    /**
+     * Sends requests over the HTTP endpoint with HTTP/2 where each request is written to its own stream so that many
+     * requests can be in flight on a single connection. Streams are flow controlled on their own so that a slow
+     * response does not hold back the others. With {@code https} the protocol is negotiated with ALPN and with
+     * {@code http} the connection starts with HTTP/2 directly (i.e. h2c with prior knowledge). The server must be
+     * configured with the {@code Http2Channelizer}.
+     */
+    final class Http2Channelizer extends AbstractChannelizer {
+
+        private HttpGremlinRequestEncoder gremlinRequestEncoder;
+        private HttpGremlinResponseDecoder gremlinResponseDecoder;
+
+        private HttpContentDecompressionHandler httpCompressionDecoder;
+        private IdleStateHandler idleStateHandler;
+        private IdleConnectionHandler idleConnectionHandler;
+
+        private ChannelPromise settingsReceived;
+
+        @Override
+        public void init(final Connection connection) {
+            super.init(connection);
+
+            httpCompressionDecoder = new HttpContentDecompressionHandler();
+            gremlinRequestEncoder = new HttpGremlinRequestEncoder(cluster.getSerializer(), cluster.getRequestInterceptors(),
+                    cluster.isUserAgentOnConnectEnabled(), cluster.isBulkResultsEnabled(), connection.getUri());
+            gremlinResponseDecoder = new HttpGremlinResponseDecoder(cluster.getSerializer());
+            if (cluster.getIdleConnectionTimeout() > 0) {
+                final int idleConnectionTimeout = (int) (cluster.getIdleConnectionTimeout() / 1000);
+                idleStateHandler = new IdleStateHandler(idleConnectionTimeout, idleConnectionTimeout, 0);
+                idleConnectionHandler = new IdleConnectionHandler();
+            }
+        }
+
+        @Override
+        public void connected() {
+            super.connected();
+
+            if (supportsSsl() && !ApplicationProtocolNames.HTTP_2.equals(sslHandler.applicationProtocol()))
+                throw new ConnectionException(connection.getUri(), "The server did not agree to use HTTP/2 - " +
+                        "ensure that it is configured with the Http2Channelizer", null);
+
+            // the stream limit isn't known until the server sends its settings and opening streams before then can
+            // exceed it
+            if (!settingsReceived.awaitUninterruptibly(cluster.connectionPoolSettings().connectionSetupTimeoutMillis)
+                    || !settingsReceived.isSuccess())
+                throw new ConnectionException(connection.getUri(), "The server did not send its HTTP/2 settings", settingsReceived.cause());
+        }
+
+        @Override
+        public boolean supportsSsl() {
+            final String scheme = connection.getUri().getScheme();
+            return "https".equalsIgnoreCase(scheme);
+        }
+
+        @Override
+        public boolean isMultiplexed() {
+            return true;
+        }
+
+        @Override
+        public int getMaxConcurrentRequests(final Channel channel) {
+            final Http2FrameCodec codec = channel.pipeline().get(Http2FrameCodec.class);
+            return null == codec ? 0 : Math.min(cluster.getMaxConcurrentStreams(), codec.connection().local().maxActiveStreams());
+        }
+
+        @Override
+        public void configure(final ChannelPipeline pipeline) {
+            final String scheme = connection.getUri().getScheme();
+            if (!"http".equalsIgnoreCase(scheme) && !"https".equalsIgnoreCase(scheme))
+                throw new IllegalStateException("Unsupported scheme (only http: or https: supported): " + scheme);
+
+            if (!supportsSsl() && "https".equalsIgnoreCase(scheme))
+                throw new IllegalStateException("To use https scheme ensure that enableSsl is set to true in configuration");
+
+            if (cluster.getIdleConnectionTimeout() > 0) {
+                // idle connection handling is enabled
+                pipeline.addLast(PIPELINE_IDLE_STATE_HANDLER, idleStateHandler);
+                pipeline.addLast(PIPELINE_IDLE_CONNECTION_HANDLER, idleConnectionHandler);
+            }
+
+            // the server does not push so streams are only ever opened by the client
+            pipeline.addLast(PIPELINE_HTTP2_CODEC, Http2FrameCodecBuilder.forClient()
+                    .initialSettings(Http2Settings.defaultSettings().pushEnabled(false)).build());
+            pipeline.addLast(PIPELINE_HTTP2_MULTIPLEXER, new Http2MultiplexHandler(new ChannelInboundHandlerAdapter()));
+
+            settingsReceived = pipeline.channel().newPromise();
+            pipeline.addLast(PIPELINE_HTTP2_SETTINGS_HANDLER, new ChannelInboundHandlerAdapter() {
+                @Override
+                public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+                    if (msg instanceof Http2SettingsFrame)
+                        settingsReceived.trySuccess();
+                    else
+                        ctx.fireChannelRead(msg);
+                }
+
+                @Override
+                public void channelInactive(final ChannelHandlerContext ctx) {
+                    settingsReceived.tryFailure(new IllegalStateException("Channel closed before HTTP/2 settings were received"));
+                    ctx.fireChannelInactive();
+                }
+            });
+        }
+
+        @Override
+        public ChannelHandler createStreamHandler(final AtomicReference<ResultQueue> pending) {
+            return new ChannelInitializer<Channel>() {
+                @Override
+                protected void initChannel(final Channel channel) {
+                    final ChannelPipeline pipeline = channel.pipeline();
+                    pipeline.addLast(PIPELINE_HTTP2_STREAM_CODEC, new Http2StreamFrameToHttpObjectCodec(false));
+                    pipeline.addLast(PIPELINE_HTTP_AGGREGATOR, new HttpObjectAggregator(cluster.getMaxResponseContentLength() > 0
+                            ? (int) cluster.getMaxResponseContentLength() : Integer.MAX_VALUE));
+                    pipeline.addLast(PIPELINE_HTTP_ENCODER, gremlinRequestEncoder);
+                    pipeline.addLast(PIPELINE_HTTP_DECOMPRESSION_HANDLER, httpCompressionDecoder);
+                    pipeline.addLast(PIPELINE_HTTP_DECODER, gremlinResponseDecoder);
+                    pipeline.addLast(PIPELINE_GREMLIN_HANDLER, new GremlinResponseHandler(pending));
+                }
+            };
+        }
+    }
 }
@@ -22,6 +22,8 @@ import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.SslProvider;
@@ -188,6 +190,8 @@ public final class Cluster {
                 .maxConnectionPoolSize(settings.connectionPool.maxSize)
                 .connectionSetupTimeoutMillis(settings.connectionPool.connectionSetupTimeoutMillis)
                 .idleConnectionTimeoutMillis(settings.connectionPool.idleConnectionTimeout)
+                .enableHttp2(settings.connectionPool.enableHttp2)
+                .maxConcurrentStreams(settings.connectionPool.maxConcurrentStreams)
                 .enableUserAgentOnConnect(settings.enableUserAgentOnConnect)
                 .bulkResults(settings.bulkResults)
                 .validationRequest(settings.connectionPool.validationRequest);
@@ -302,6 +306,20 @@ public final class Cluster {
         return manager.connectionPoolSettings.enableSsl;
     }
 
+    /**
+     * Determines if connections use HTTP/2.
+     */
+    public boolean isHttp2Enabled() {
+        return manager.connectionPoolSettings.enableHttp2;
+    }
+
+    /**
+     * Gets the maximum number of requests that can be in flight on a single connection when HTTP/2 is enabled.
+     */
+    public int getMaxConcurrentStreams() {
+        return manager.connectionPoolSettings.maxConcurrentStreams;
+    }
+
     /**
      * Gets the maximum size that the {@link ConnectionPool} can grow.
      */
@@ -461,6 +479,14 @@ public final class Cluster {
             builder.trustManager(InsecureTrustManagerFactory.INSTANCE);
         }
 
+        // http/2 over tls has to be agreed on in the handshake
+        if (connectionPoolSettings.enableHttp2) {
+            builder.applicationProtocolConfig(new ApplicationProtocolConfig(ApplicationProtocolConfig.Protocol.ALPN,
+                    ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                    ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                    ApplicationProtocolNames.HTTP_2));
+        }
+
         builder.sslProvider(provider);
 
         return builder.build();
@@ -514,6 +540,8 @@ public final class Cluster {
         private long idleConnectionTimeoutMillis = Connection.CONNECTION_IDLE_TIMEOUT_MILLIS;
         private boolean enableUserAgentOnConnect = true;
         private boolean bulkResults = false;
+        private boolean enableHttp2 = false;
+        private int maxConcurrentStreams = Connection.MAX_CONCURRENT_STREAMS;
 
         private Builder() {
             addInterceptor(SERIALIZER_INTERCEPTOR_NAME,
@@ -688,6 +716,25 @@ public final class Cluster {
             return this;
         }
 
+        /**
+         * Enables HTTP/2 so that many requests can be in flight on a single connection, each on its own stream. The
+         * server should be configured with the {@code Http2Channelizer} for this setting to work properly. With
+         * {@code https} the protocol is negotiated with ALPN and otherwise HTTP/2 is spoken without upgrade (h2c).
+         */
+        public Builder enableHttp2(final boolean enable) {
+            this.enableHttp2 = enable;
+            return this;
+        }
+
+        /**
+         * The maximum number of requests that can be in flight on a single connection when HTTP/2 is enabled, which
+         * is lowered to the limit that the server announces if that is smaller.
+         */
+        public Builder maxConcurrentStreams(final int maxConcurrentStreams) {
+            this.maxConcurrentStreams = maxConcurrentStreams;
+            return this;
+        }
+
         /**
          * Override the server setting that determines how many results are returned per batch.
          */
@@ -1001,6 +1048,8 @@ public final class Cluster {
             connectionPoolSettings.validationRequest = builder.validationRequest;
             connectionPoolSettings.connectionSetupTimeoutMillis = builder.connectionSetupTimeoutMillis;
             connectionPoolSettings.idleConnectionTimeout = builder.idleConnectionTimeoutMillis;
+            connectionPoolSettings.enableHttp2 = builder.enableHttp2;
+            connectionPoolSettings.maxConcurrentStreams = builder.maxConcurrentStreams;
 
             sslContextOptional = Optional.ofNullable(builder.sslContext);
 
@@ -1059,6 +1108,9 @@ public final class Cluster {
             if (builder.connectionSetupTimeoutMillis < 1)
                 throw new IllegalArgumentException("connectionSetupTimeoutMillis must be greater than zero");
 
+            if (builder.maxConcurrentStreams < 1)
+                throw new IllegalArgumentException("maxConcurrentStreams must be greater than zero");
+
             // zero value will disable idle connection detection
             // non-zero will be converted to seconds so any value between 1 and 999 is invalid as it will be less than 1 second
             if (builder.idleConnectionTimeoutMillis != 0 && builder.idleConnectionTimeoutMillis < 1000)
@@ -28,6 +28,9 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.util.concurrent.Future;
 
 import java.net.URI;
 import java.time.Instant;
@@ -37,6 +40,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -52,6 +56,7 @@ final class Connection {
     public static final int RESULT_ITERATION_BATCH_SIZE = 64;
     public static final long CONNECTION_SETUP_TIMEOUT_MILLIS = 15000;
     public static final long CONNECTION_IDLE_TIMEOUT_MILLIS = 180000;
+    public static final int MAX_CONCURRENT_STREAMS = 128;
     private static final Logger logger = LoggerFactory.getLogger(Connection.class);
 
     private final Channel channel;
@@ -67,6 +72,11 @@ final class Connection {
      * Is a {@code Connection} borrowed from the pool.
      */
     private final AtomicBoolean isBorrowed = new AtomicBoolean(false);
+    /**
+     * The number of requests in flight on a multiplexed {@code Connection} which can be borrowed by many requests
+     * at once.
+     */
+    private final AtomicInteger streams = new AtomicInteger(0);
     /**
      * This boolean guards the replace of the connection and ensures that it only occurs once.
      */
@@ -96,7 +106,7 @@ final class Connection {
 
         final Bootstrap b = this.cluster.getFactory().createBootstrap();
         try {
-            channelizer = new Channelizer.HttpChannelizer();
+            channelizer = cluster.isHttp2Enabled() ? new Channelizer.Http2Channelizer() : new Channelizer.HttpChannelizer();
             channelizer.init(this);
             b.channel(NioSocketChannel.class).handler(channelizer);
 
@@ -143,6 +153,53 @@ final class Connection {
         return isBorrowed;
     }
 
+    /**
+     * Determines if the {@code Connection} can have many requests in flight at once, in which case it is borrowed
+     * with {@link #borrowStream()} rather than with {@link #isBorrowed()}.
+     */
+    boolean isMultiplexed() {
+        return channelizer.isMultiplexed();
+    }
+
+    /**
+     * Takes a stream of a multiplexed {@code Connection} for a request, which fails when as many requests as the
+     * server allows are in flight already.
+     */
+    boolean borrowStream() {
+        final int max = channelizer.getMaxConcurrentRequests(channel);
+        while (true) {
+            final int inFlight = streams.get();
+            if (inFlight >= max)
+                return false;
+            if (streams.compareAndSet(inFlight, inFlight + 1))
+                return true;
+        }
+    }
+
+    /**
+     * Gives back a stream taken with {@link #borrowStream()}.
+     */
+    void returnStream() {
+        // the validation request of a reconnect is written without taking a stream so don't count below zero
+        streams.getAndUpdate(inFlight -> Math.max(0, inFlight - 1));
+    }
+
+    /**
+     * Determines if a multiplexed {@code Connection} can take another request.
+     */
+    boolean hasStreamAvailable() {
+        return streams.get() < channelizer.getMaxConcurrentRequests(channel);
+    }
+
+    /**
+     * Gets the number of requests in flight.
+     */
+    int getInFlight() {
+        if (null != channelizer && channelizer.isMultiplexed())
+            return streams.get();
+        return pending.get() == null ? 0 : 1;
+    }
+
     boolean isClosing() {
         return closeFuture.get() != null;
     }
@@ -189,6 +246,9 @@ final class Connection {
         // the promise so that the client knows that that it can start checking for results.
         final Connection thisConnection = this;
 
+        // a multiplexed connection has a stream with its own pipeline for each request
+        final AtomicReference<ResultQueue> requestPending = channelizer.isMultiplexed() ? new AtomicReference<>() : pending;
+
         final ChannelPromise requestPromise = channel.newPromise()
                 .addListener(f -> {
                     if (!f.isSuccess()) {
@@ -225,7 +285,7 @@ final class Connection {
 
                         final ResultQueue handler = new ResultQueue(resultLinkedBlockingQueue, readCompleted);
                         // pending.put(requestMessage.getRequestId(), handler);
-                        pending.set(handler);
+                        requestPending.set(handler);
 
                         // resultQueueSetup should only be completed by a worker since the application code might have sync
                         // completion stages attached to it which and we do not want the event loop threads to process those
@@ -234,11 +294,32 @@ final class Connection {
                                 new ResultSet(handler, cluster.executor(), readCompleted, requestMessage, pool.host)));
                     }
                 });
-        channel.writeAndFlush(requestMessage, requestPromise);
+        if (channelizer.isMultiplexed())
+            writeToStream(requestMessage, requestPending, requestPromise);
+        else
+            channel.writeAndFlush(requestMessage, requestPromise);
 
         return requestPromise;
     }
 
+    private void writeToStream(final RequestMessage requestMessage, final AtomicReference<ResultQueue> requestPending,
+                               final ChannelPromise requestPromise) {
+        new Http2StreamChannelBootstrap(channel).handler(channelizer.createStreamHandler(requestPending)).open()
+                .addListener((Future<Http2StreamChannel> opened) -> {
+                    if (!opened.isSuccess()) {
+                        requestPromise.tryFailure(opened.cause());
+                        return;
+                    }
+
+                    opened.getNow().writeAndFlush(requestMessage).addListener(written -> {
+                        if (written.isSuccess())
+                            requestPromise.trySuccess();
+                        else
+                            requestPromise.tryFailure(written.cause());
+                    });
+                });
+    }
+
     private void returnToPool() {
         try {
             if (pool != null) pool.returnConnection(this);
@@ -257,7 +338,7 @@ final class Connection {
     }
 
     private boolean isOkToClose() {
-        return pending.get() == null || (channel != null && !channel.isOpen()) || !pool.host.isAvailable();
+        return getInFlight() == 0 || (channel != null && !channel.isOpen()) || !pool.host.isAvailable();
     }
 
     /**
@@ -333,9 +414,9 @@ final class Connection {
     public String getConnectionInfo(final boolean showHost) {
         return showHost ?
                 String.format("Connection{channel=%s host=%s isDead=%s borrowed=%s pending=%s markedReplaced=%s closing=%s created=%s thread=%s}",
-                        getChannelId(), pool.host.toString(), isDead(), this.isBorrowed().get(), getPending().get() == null ? 0 : 1, this.isBeingReplaced, isClosing(), createdTimestamp, creatingThread) :
+                        getChannelId(), pool.host.toString(), isDead(), this.isBorrowed().get(), getInFlight(), this.isBeingReplaced, isClosing(), createdTimestamp, creatingThread) :
                 String.format("Connection{channel=%s isDead=%s borrowed=%s pending=%s markedReplaced=%s closing=%s created=%s thread=%s}",
-                        getChannelId(), isDead(), this.isBorrowed().get(), getPending().get() == null ? 0 : 1, this.isBeingReplaced, isClosing(), createdTimestamp, creatingThread);
+                        getChannelId(), isDead(), this.isBorrowed().get(), getInFlight(), this.isBeingReplaced, isClosing(), createdTimestamp, creatingThread);
     }
 
     /**
@@ -169,7 +169,10 @@ final class ConnectionPool {
         logger.debug("Attempting to return {} on {}", connection, host);
         if (isClosed()) throw new ConnectionException(host.getHostUri(), host.getAddress(), "Pool is shutdown");
 
-        connection.isBorrowed().set(false);
+        if (connection.isMultiplexed())
+            connection.returnStream();
+        else
+            connection.isBorrowed().set(false);
 
         if (connection.isDead()) {
             logger.debug("Marking {} as dead", this.host);
@@ -191,7 +194,9 @@ final class ConnectionPool {
                 destroyConnection(connection);
             } else {
                 logger.debug("Pool size is {} - returning connection to pool: {}", poolSize, connection);
-                availableConnections.add(connection);
+                // a multiplexed connection stays in the queue for as long as it has streams to spare
+                if (!connection.isMultiplexed() || !availableConnections.contains(connection))
+                    availableConnections.add(connection);
                 announceAvailableConnection();
             }
         }
@@ -356,7 +361,7 @@ final class ConnectionPool {
         }
 
         // only close the connection for good once it is done being borrowed or when it is dead
-        if (connection.isDead() || !connection.isBorrowed().get()) {
+        if (connection.isDead() || !isInUse(connection)) {
             if (bin.remove(connection)) {
                 final CompletableFuture<Void> closeFuture = connection.closeAsync();
                 closeFuture.whenComplete((v, t) ->
@@ -510,7 +515,15 @@ final class ConnectionPool {
         Connection head = availableConnections.poll();
         while (head != null) {
             // try to borrow connection
-            if (!head.isDead() && !head.isBorrowed().get() && head.isBorrowed().compareAndSet(false, true)) {
+            if (!head.isDead() && head.isMultiplexed()) {
+                if (head.borrowStream()) {
+                    // leave the connection for other requests to borrow while it has streams to spare
+                    if (head.hasStreamAvailable())
+                        availableConnections.add(head);
+                    available = head;
+                    break;
+                }
+            } else if (!head.isDead() && !head.isBorrowed().get() && head.isBorrowed().compareAndSet(false, true)) {
                 available = head;
                 break;
             }
@@ -524,6 +537,10 @@ final class ConnectionPool {
         return available;
     }
 
+    private static boolean isInUse(final Connection connection) {
+        return connection.isMultiplexed() ? connection.getInFlight() > 0 : connection.isBorrowed().get();
+    }
+
     private void awaitAvailableConnection(long timeout, TimeUnit unit) throws InterruptedException {
         logger.debug("Wait {} {} for an available connection on {} with {}", timeout, unit, host, Thread.currentThread());
 
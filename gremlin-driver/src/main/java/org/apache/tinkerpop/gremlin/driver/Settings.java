@@ -217,6 +217,12 @@ public final class Settings {
             if (connectionPoolConf.containsKey("idleConnectionTimeout"))
                 cpSettings.idleConnectionTimeout = connectionPoolConf.getLong("idleConnectionTimeout");
 
+            if (connectionPoolConf.containsKey("enableHttp2"))
+                cpSettings.enableHttp2 = connectionPoolConf.getBoolean("enableHttp2");
+
+            if (connectionPoolConf.containsKey("maxConcurrentStreams"))
+                cpSettings.maxConcurrentStreams = connectionPoolConf.getInt("maxConcurrentStreams");
+
             settings.connectionPool = cpSettings;
         }
 
@@ -355,6 +361,21 @@ public final class Settings {
          */
         public long idleConnectionTimeout = Connection.CONNECTION_IDLE_TIMEOUT_MILLIS;
 
+        /**
+         * Determines if connections use HTTP/2 so that many requests can be in flight on a single connection, each on
+         * its own stream. With {@code https} the protocol is negotiated with ALPN and with {@code http} the connection
+         * starts with HTTP/2 directly (i.e. h2c with prior knowledge). The server must be configured with the
+         * {@code Http2Channelizer} for this setting to work properly.
+         */
+        public boolean enableHttp2 = false;
+
+        /**
+         * The maximum number of requests that can be in flight on a single connection when {@link #enableHttp2} is
+         * {@code true}, which is lowered to the limit the server announces if that is smaller. The default value
+         * is 128.
+         */
+        public int maxConcurrentStreams = Connection.MAX_CONCURRENT_STREAMS;
+
     }
 
     public static class SerializerSettings {
@@ -19,6 +19,7 @@
 package org.apache.tinkerpop.gremlin.driver;
 
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.tinkerpop.gremlin.driver.exception.ConnectionException;
 import org.junit.Test;
 
 import java.util.Arrays;
@@ -32,9 +33,11 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class ConnectionPoolTest {
@@ -96,4 +99,48 @@ public class ConnectionPoolTest {
         assertNotNull(conn00);
         assertEquals(2, connectionsCreated.get());
     }
+
+    @Test
+    public void shouldBorrowMultiplexedConnectionForManyRequests() throws TimeoutException, ConnectionException {
+        final AtomicInteger connectionsCreated = new AtomicInteger(0);
+
+        final Connection mockConn0 = mock(Connection.class);
+        when(mockConn0.isBorrowed()).thenReturn(new AtomicBoolean(false));
+        when(mockConn0.isMultiplexed()).thenReturn(true);
+        when(mockConn0.borrowStream()).thenReturn(true, true, false);
+        when(mockConn0.hasStreamAvailable()).thenReturn(true, false);
+        final Connection mockConn1 = mock(Connection.class);
+        when(mockConn1.isBorrowed()).thenReturn(new AtomicBoolean(false));
+        final List<Connection> mockConns = Arrays.asList(mockConn0, mockConn1);
+
+        final ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        when(connectionFactory.create(any(ConnectionPool.class)))
+                .thenAnswer(i -> mockConns.get(connectionsCreated.getAndIncrement()));
+
+        final Cluster cluster = mock(Cluster.class);
+        when(cluster.connectionPoolSettings()).thenReturn(new Settings.ConnectionPoolSettings());
+        final ScheduledThreadPoolExecutor connectionScheduler = new ScheduledThreadPoolExecutor(2,
+                new BasicThreadFactory.Builder().namingPattern("gremlin-driver-conn-scheduler-%d").build());
+        when(cluster.connectionScheduler()).thenReturn(connectionScheduler);
+
+        final Host host = mock(Host.class);
+
+        final Client client = new Client.ClusteredClient(cluster);
+        final ConnectionPool connectionPool = new ConnectionPool(host, client, Optional.of(2), connectionFactory);
+
+        // the connection has streams to spare after the first request so it is borrowed again
+        assertSame(mockConn0, connectionPool.borrowConnection(100, TimeUnit.MILLISECONDS));
+        assertSame(mockConn0, connectionPool.borrowConnection(100, TimeUnit.MILLISECONDS));
+        assertEquals(1, connectionsCreated.get());
+
+        // all of its streams are in use so a new connection is created
+        assertSame(mockConn1, connectionPool.borrowConnection(1000, TimeUnit.MILLISECONDS));
+        assertEquals(2, connectionsCreated.get());
+
+        // giving back a stream makes the connection available again
+        connectionPool.returnConnection(mockConn0);
+        verify(mockConn0).returnStream();
+        when(mockConn0.borrowStream()).thenReturn(true);
+        assertSame(mockConn0, connectionPool.borrowConnection(100, TimeUnit.MILLISECONDS));
+    }
 }
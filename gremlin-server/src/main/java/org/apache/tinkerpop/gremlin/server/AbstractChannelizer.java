@@ -153,6 +153,15 @@ public abstract class AbstractChannelizer extends ChannelInitializer<SocketChann
         configure(pipeline);
     }
 
+    /**
+     * Called after the {@code SslContextBuilder} is configured from the {@link Settings} and just before the
+     * {@code SslContext} is built so that an implementation can add what its protocol requires of TLS. It is not
+     * called when the {@code SslContext} is supplied directly with {@link Settings.SslSettings#overrideSslContext(SslContext)}.
+     */
+    protected void configureSsl(final SslContextBuilder builder) {
+        // do nothing
+    }
+
     protected AbstractAuthenticationHandler createAuthenticationHandler(final Settings settings) {
         try {
             final Class<?> clazz = Class.forName(settings.authentication.authenticationHandler);
@@ -314,6 +323,7 @@ public abstract class AbstractChannelizer extends ChannelInitializer<SocketChann
         }
 
         builder.clientAuth(sslSettings.needClientAuth).sslProvider(provider);
+        configureSsl(builder);
 
         try {
             return builder.build();
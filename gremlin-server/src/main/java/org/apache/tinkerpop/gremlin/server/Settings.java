@@ -31,6 +31,7 @@ import org.apache.tinkerpop.gremlin.server.channel.HttpChannelizer;
 import org.apache.tinkerpop.gremlin.server.handler.AbstractAuthenticationHandler;
 import org.apache.tinkerpop.gremlin.server.util.DefaultGraphManager;
 import org.apache.tinkerpop.gremlin.server.util.LifeCycleHook;
+import org.apache.tinkerpop.gremlin.server.util.PreparedTraversalCache;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.util.MessageSerializer;
 import org.slf4j.Logger;
@@ -111,10 +112,26 @@ public class Settings {
 
     /**
      * Number of items in a particular resultset to iterate and serialize prior to pushing the data down the wire
-     * to the client.
+     * to the client. This is the upper bound on the number of items in a batch which may be made smaller by
+     * {@link #resultIterationBatchBytes} and {@link #resultIterationBatchInterval}.
      */
     public int resultIterationBatchSize = 64;
 
+    /**
+     * The approximate number of serialized bytes to send back to the client in a batch. The size of each batch after
+     * the first is adjusted from the average size of the items serialized so far, so that a response of large items
+     * is sent in smaller batches than {@link #resultIterationBatchSize} would allow. Set to zero to batch by item
+     * count alone. Defaults to 1048576.
+     */
+    public int resultIterationBatchBytes = 1048576;
+
+    /**
+     * Time in milliseconds after which a partially filled batch is sent back to the client rather than waiting for it
+     * to reach the {@link #resultIterationBatchSize}, so that items from a slow iteration are not held back on the
+     * server. Set to zero to disable. Defaults to 0.
+     */
+    public long resultIterationBatchInterval = 0;
+
     /**
      * The maximum length of the initial line (e.g. {@code "GET / HTTP/1.0"}) processed in a request, which essentially
      * controls the maximum length of the submitted URI. This setting ties to the Netty {@code HttpRequestDecoder}.
@@ -158,6 +175,12 @@ public class Settings {
      */
     public int writeBufferLowWaterMark = 1024 * 32;
 
+    /**
+     * The maximum number of requests that a client can have in flight on a single connection with the
+     * {@link org.apache.tinkerpop.gremlin.server.channel.Http2Channelizer}, each on its own HTTP/2 stream.
+     */
+    public int maxConcurrentStreams = 1024;
+
     /**
      * Time in milliseconds that the server will allow a channel to not receive requests from a client before it
      * automatically closes. If enabled, the value provided should typically exceed the amount of time given to
@@ -204,12 +227,50 @@ public class Settings {
      */
     public int maxWorkQueueSize = 8192;
 
+    /**
+     * Determines if requests are evaluated on virtual threads rather than on the fixed-size {@link #gremlinPool}, so
+     * that Gremlin which blocks on I/O, as it might with a graph backed by a remote store, doesn't hold a platform
+     * thread while it waits. When enabled, {@link #maxVirtualThreads} bounds the number of requests evaluated at once
+     * and both {@link #gremlinPool} and {@link #maxWorkQueueSize} are ignored. Requires Java 21 or later.
+     * <p/>
+     * By default this value is set to {@code false}.
+     */
+    public boolean useVirtualThreads = false;
+
+    /**
+     * The maximum number of requests that may be evaluated at once when {@link #useVirtualThreads} is enabled. Requests
+     * that arrive beyond this limit are rejected in the same way as when the {@link #maxWorkQueueSize} is exceeded.
+     * <p/>
+     * By default this value is set to 8192.
+     */
+    public int maxVirtualThreads = 8192;
+
     /**
      * Maximum number of parameters that can be passed on a request. Larger numbers may impact performance for scripts.
      * The default is 16 and this setting only applies to the {@link org.apache.tinkerpop.gremlin.server.channel.HttpChannelizer}.
      */
     public int maxParameters = 16;
 
+    /**
+     * Maximum number of strategy-applied traversals to hold in the {@link PreparedTraversalCache}. Traversals are
+     * cached per traversal source and Gremlin string and are admitted the second time they are seen. Each request
+     * that hits the cache executes a clone of the cached traversal, with its parameters bound into it, without
+     * parsing or applying strategies again. A traversal whose parameters cannot be rebound is only reused for
+     * requests with the same parameter values. Only applies to requests processed with {@code gremlin-lang}. The
+     * default is 0 which disables the cache.
+     */
+    public int preparedTraversalCacheSize = 0;
+
+    /**
+     * Fully qualified or simple class names of {@link TraversalStrategy} implementations that prevent a traversal from
+     * being stored in the {@link PreparedTraversalCache}. Strategies whose application depends on something other
+     * than the Gremlin string and its parameters, or whose result for one parameter value cannot be derived from
+     * the result for another, should be listed here. By default, traversals using
+     * {@code VertexProgramStrategy} are not cached.
+     */
+    public List<String> preparedTraversalCacheExcludedStrategies = new ArrayList<>(Collections.singletonList(
+            "org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.decoration.VertexProgramStrategy"));
+
     /**
      * Configured metrics for Gremlin Server.
      */
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.channel;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
+import io.netty.handler.codec.http2.CleartextHttp2ServerUpgradeHandler;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2SecurityUtil;
+import io.netty.handler.codec.http2.Http2ServerUpgradeCodec;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SupportedCipherSuiteFilter;
+import io.netty.util.AsciiString;
+import org.apache.tinkerpop.gremlin.server.Channelizer;
+
+/**
+ * Constructs a {@link Channelizer} that exposes the HTTP endpoint in Gremlin Server over HTTP/2 as well as HTTP/1.1.
+ * Each request is received on an HTTP/2 stream of its own so that a client can have many requests in flight on a
+ * single connection, as limited by {@link org.apache.tinkerpop.gremlin.server.Settings#maxConcurrentStreams}. The
+ * response to each request is flow controlled on its own stream, so a client that is slow to read one response does
+ * not hold back the others.
+ * <p/>
+ * With SSL enabled, HTTP/2 or HTTP/1.1 is negotiated with ALPN. Without SSL, a connection may start with HTTP/2
+ * directly (i.e. h2c with prior knowledge), upgrade to HTTP/2 from HTTP/1.1 or continue with HTTP/1.1.
+ */
+public class Http2Channelizer extends HttpChannelizer {
+
+    public static final String PIPELINE_HTTP2_CODEC = "http2-codec";
+    public static final String PIPELINE_HTTP2_MULTIPLEXER = "http2-multiplexer";
+    public static final String PIPELINE_HTTP2_STREAM_CODEC = "http2-stream-codec";
+
+    private final ChannelHandler streamInitializer = new ChannelInitializer<Channel>() {
+        @Override
+        protected void initChannel(final Channel channel) {
+            channel.pipeline().addLast(PIPELINE_HTTP2_STREAM_CODEC, new Http2StreamFrameToHttpObjectCodec(true));
+            configureHttp(channel.pipeline());
+        }
+    };
+
+    @Override
+    public void configure(final ChannelPipeline pipeline) {
+        if (sslContext.isPresent()) {
+            pipeline.addLast(new ApplicationProtocolNegotiationHandler(ApplicationProtocolNames.HTTP_1_1) {
+                @Override
+                protected void configurePipeline(final ChannelHandlerContext ctx, final String protocol) {
+                    if (ApplicationProtocolNames.HTTP_2.equals(protocol))
+                        configureHttp2(ctx.pipeline());
+                    else if (ApplicationProtocolNames.HTTP_1_1.equals(protocol))
+                        Http2Channelizer.super.configure(ctx.pipeline());
+                    else
+                        throw new IllegalStateException("Unsupported protocol: " + protocol);
+                }
+            });
+        } else {
+            // the codec and upgrade handler are removed once a connection starts with or upgrades to HTTP/2, after
+            // which requests are read from the streams and the HTTP/1.1 handlers that follow receive nothing
+            final HttpServerCodec sourceCodec = new HttpServerCodec();
+            final HttpServerUpgradeHandler upgradeHandler = new HttpServerUpgradeHandler(sourceCodec, protocol ->
+                    AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol) ?
+                            new Http2ServerUpgradeCodec(createHttp2Codec(), createHttp2Multiplexer()) : null,
+                    settings.maxRequestContentLength);
+            pipeline.addLast(new CleartextHttp2ServerUpgradeHandler(sourceCodec, upgradeHandler, new ChannelInitializer<Channel>() {
+                @Override
+                protected void initChannel(final Channel channel) {
+                    configureHttp2(channel.pipeline());
+                }
+            }));
+            configureHttp(pipeline);
+        }
+    }
+
+    /**
+     * Offers HTTP/2 ahead of HTTP/1.1 with ALPN and, where no cipher suites are configured, limits them to the ones
+     * that HTTP/2 allows.
+     */
+    @Override
+    protected void configureSsl(final SslContextBuilder builder) {
+        if (null == settings.ssl.sslCipherSuites || settings.ssl.sslCipherSuites.isEmpty())
+            builder.ciphers(Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE);
+
+        builder.applicationProtocolConfig(new ApplicationProtocolConfig(ApplicationProtocolConfig.Protocol.ALPN,
+                ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                ApplicationProtocolNames.HTTP_2, ApplicationProtocolNames.HTTP_1_1));
+    }
+
+    private void configureHttp2(final ChannelPipeline pipeline) {
+        pipeline.addLast(PIPELINE_HTTP2_CODEC, createHttp2Codec());
+        pipeline.addLast(PIPELINE_HTTP2_MULTIPLEXER, createHttp2Multiplexer());
+    }
+
+    private Http2FrameCodec createHttp2Codec() {
+        return Http2FrameCodecBuilder.forServer()
+                .initialSettings(Http2Settings.defaultSettings()
+                        .maxConcurrentStreams(settings.maxConcurrentStreams)
+                        .maxHeaderListSize(settings.maxHeaderSize))
+                .build();
+    }
+
+    private ChannelHandler createHttp2Multiplexer() {
+        return new Http2MultiplexHandler(streamInitializer);
+    }
+}
@@ -71,6 +71,14 @@ public class HttpChannelizer extends AbstractChannelizer {
 
         pipeline.addLast("http-server", new HttpServerCodec());
 
+        configureHttp(pipeline);
+    }
+
+    /**
+     * Adds the handlers that follow the HTTP codec in the pipeline, from the aggregation of the request to the
+     * processing of the {@code RequestMessage} it holds.
+     */
+    protected void configureHttp(final ChannelPipeline pipeline) {
         if (logger.isDebugEnabled())
             pipeline.addLast(new LoggingHandler("http-io", LogLevel.DEBUG));
 
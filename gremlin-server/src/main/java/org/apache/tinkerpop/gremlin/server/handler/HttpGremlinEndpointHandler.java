@@ -18,8 +18,11 @@
  */
 package org.apache.tinkerpop.gremlin.server.handler;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Histogram;
 import com.codahale.metrics.Timer;
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
@@ -29,6 +32,8 @@ import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.TimedInterruptTimeoutException;
@@ -50,6 +55,7 @@ import org.apache.tinkerpop.gremlin.server.Settings;
 import org.apache.tinkerpop.gremlin.server.auth.AuthenticatedUser;
 import org.apache.tinkerpop.gremlin.server.util.GremlinError;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
+import org.apache.tinkerpop.gremlin.server.util.PreparedTraversalCache;
 import org.apache.tinkerpop.gremlin.server.util.TraverserIterator;
 import org.apache.tinkerpop.gremlin.structure.Column;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -74,6 +80,7 @@ import java.lang.reflect.UndeclaredThrowableException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -118,6 +125,15 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
     private static final Logger auditLogger = LoggerFactory.getLogger(GremlinServer.AUDIT_LOGGER_NAME);
 
     private static final Timer evalOpTimer = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "eval"));
+    private static final Counter pausedCounter = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "eval", "paused"));
+    private static final Timer pauseTimer = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "eval", "pause"));
+    private static final Histogram chunkBytesHistogram = MetricManager.INSTANCE.getHistogram(name(GremlinServer.class, "op", "eval", "chunk-bytes"));
+    private static final Histogram chunkSizeHistogram = MetricManager.INSTANCE.getHistogram(name(GremlinServer.class, "op", "eval", "chunk-size"));
+
+    /**
+     * The key for a response whose iteration is suspended until the channel becomes writable again.
+     */
+    private static final AttributeKey<ResultIteration> PAUSED_ITERATION = AttributeKey.valueOf("pausedIteration");
 
     protected static final Set<String> INVALID_BINDINGS_KEYS = new HashSet<>();
 
@@ -155,12 +171,26 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
     private final GraphManager graphManager;
     private final Settings settings;
 
+    /**
+     * Cache of strategy-applied traversals which is {@code null} if {@link Settings#preparedTraversalCacheSize} is
+     * not greater than zero.
+     */
+    private final PreparedTraversalCache preparedTraversalCache;
+
     public HttpGremlinEndpointHandler(final GremlinExecutor gremlinExecutor,
                                       final GraphManager graphManager,
                                       final Settings settings) {
         this.gremlinExecutor = gremlinExecutor;
         this.graphManager = graphManager;
         this.settings = settings;
+
+        if (settings.preparedTraversalCacheSize > 0) {
+            this.preparedTraversalCache = new PreparedTraversalCache(settings.preparedTraversalCacheSize,
+                    settings.preparedTraversalCacheExcludedStrategies);
+            MetricManager.INSTANCE.registerPreparedTraversalCacheMetrics(preparedTraversalCache, "prepared-traversal-cache");
+        } else {
+            this.preparedTraversalCache = null;
+        }
     }
 
     @Override
@@ -172,6 +202,7 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
                 gremlinExecutor.getScheduledExecutorService(), NOT_STARTED);
 
         final Timer.Context timerContext = evalOpTimer.time();
+        final ResultIteration iteration = new ResultIteration(requestCtx, serializer.getValue1(), timerContext);
         // timeout override - handle both deprecated and newly named configuration. earlier logic should prevent
         // both configurations from being submitted at the same time
         final Long timeoutMs = requestMessage.getField(Tokens.TIMEOUT_MS);
@@ -179,6 +210,7 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
 
         final FutureTask<Void> evalFuture = new FutureTask<>(() -> {
             requestCtx.setStartedResponse();
+            boolean paused = false;
 
             try {
                 logger.debug("Processing request containing script [{}] and bindings of [{}] on {}",
@@ -207,19 +239,12 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
                 ctx.writeAndFlush(responseHeader);
                 ctx.channel().attr(StateKey.HTTP_RESPONSE_SENT).set(true);
 
-                iterateScriptEvalResult(requestCtx, serializer.getValue1(), requestMessage);
+                paused = iterateScriptEvalResult(iteration, requestMessage);
             } catch (Throwable t) {
                 writeError(requestCtx, formErrorResponseMessage(t, requestMessage), serializer.getValue1());
             } finally {
-                timerContext.stop();
-
-                // There is a race condition that this query may have finished before the timeoutFuture was created,
-                // though this is very unlikely. This is handled in the settor, if this has already been grabbed.
-                // If we passed this point and the setter hasn't been called, it will cancel the timeoutFuture inside
-                // the setter to compensate.
-                final ScheduledFuture<?> timeoutFuture = requestCtx.getTimeoutExecutor();
-                if (null != timeoutFuture)
-                    timeoutFuture.cancel(true);
+                // a paused iteration is finished by whichever worker resumes it
+                if (!paused) iteration.finish();
             }
 
             return null;
@@ -231,8 +256,14 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
                 // Schedule a timeout in the thread pool for future execution
                 requestCtx.setTimeoutExecutor(requestCtx.getScheduledExecutorService().schedule(() -> {
                     executionFuture.cancel(true);
+                    iteration.cancel();
                     if (!requestCtx.getStartedResponse()) {
                         writeError(requestCtx, GremlinError.timeout(requestMessage), serializer.getValue1());
+                    } else if (ctx.channel().attr(PAUSED_ITERATION).compareAndSet(iteration, null)) {
+                        // a paused iteration has no worker to interrupt so it has to be ended here
+                        iteration.resumed();
+                        writeError(requestCtx, GremlinError.timeout(requestMessage), serializer.getValue1());
+                        timerContext.stop();
                     }
                 }, seto, TimeUnit.MILLISECONDS));
             }
@@ -288,8 +319,10 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
         return GremlinError.general(t);
     }
 
-    private void iterateScriptEvalResult(final Context context, MessageSerializer<?> serializer, final RequestMessage message)
+    private boolean iterateScriptEvalResult(final ResultIteration iteration, final RequestMessage message)
             throws ProcessingException, InterruptedException, ScriptException {
+        final Context context = iteration.context;
+        final MessageSerializer<?> serializer = iteration.serializer;
         if (message.optionalField(Tokens.ARGS_BINDINGS).isPresent()) {
             final Map bindings = (Map) message.getFields().get(Tokens.ARGS_BINDINGS);
             if (IteratorUtils.anyMatch(bindings.keySet().iterator(), k -> null == k || !(k instanceof String))) {
@@ -312,7 +345,26 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
         final GremlinScriptEngine scriptEngine = gremlinExecutor.getScriptEngineManager().getEngineByName(language);
 
         final Bindings mergedBindings = mergeBindingsFromRequest(context, new SimpleBindings(graphManager.getAsBindings()));
-        final Object result = scriptEngine.eval(message.getGremlin(), mergedBindings);
+
+        // a prepared traversal only needs to be cloned to be executed. otherwise evaluate the script and if it is a
+        // traversal apply its strategies so that it can be prepared for future requests.
+        final Object g = mergedBindings.get(Tokens.ARGS_G);
+        final boolean usePreparedTraversals = preparedTraversalCache != null && language.equals("gremlin-lang") &&
+                g instanceof TraversalSource;
+        final String traversalSourceName = (String) args.getOrDefault(Tokens.ARGS_G, Tokens.ARGS_G);
+        final Map<String, Object> parameters = (Map<String, Object>) args.get(Tokens.ARGS_BINDINGS);
+        Object result = usePreparedTraversals ?
+                preparedTraversalCache.get(traversalSourceName, (TraversalSource) g, message.getGremlin(), parameters).orElse(null) :
+                null;
+        if (null == result) {
+            result = scriptEngine.eval(message.getGremlin(), mergedBindings);
+            if (usePreparedTraversals && result instanceof Traversal.Admin) {
+                final Traversal.Admin<?, ?> traversal = (Traversal.Admin<?, ?>) result;
+                if (!traversal.isLocked()) traversal.applyStrategies();
+                preparedTraversalCache.put(traversalSourceName, (TraversalSource) g, message.getGremlin(), parameters,
+                        traversal, params -> prepare(scriptEngine, message.getGremlin(), mergedBindings, params));
+            }
+        }
 
         final String bulkingSetting = context.getChannelHandlerContext().channel().attr(StateKey.REQUEST_HEADERS).get().get(Tokens.BULK_RESULTS);
         // bulking only applies if it's gremlin-lang, and per request token setting takes precedence over header setting.
@@ -325,13 +377,48 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
 
         if (bulking) {
             // optimization for driver requests
-            ((Traversal.Admin<?, ?>) result).applyStrategies();
-            handleIterator(context, new TraverserIterator((Traversal.Admin<?, ?>) result), serializer, true);
+            final Traversal.Admin<?, ?> traversal = (Traversal.Admin<?, ?>) result;
+            if (!traversal.isLocked()) traversal.applyStrategies();
+            return handleIterator(iteration, new TraverserIterator((Traversal.Admin<?, ?>) result), true);
         } else {
-            handleIterator(context, IteratorUtils.asIterator(result), serializer, false);
+            return handleIterator(iteration, IteratorUtils.asIterator(result), false);
+        }
+    }
+
+    /**
+     * Evaluates the Gremlin with the given parameters in place of those of the request and applies the strategies of
+     * the resulting traversal, which the {@link PreparedTraversalCache} uses to check that parameters can be rebound.
+     */
+    private static Traversal.Admin<?, ?> prepare(final GremlinScriptEngine scriptEngine, final String gremlin,
+                                                 final Bindings bindings, final Map<String, Object> parameters) {
+        final Bindings prepareBindings = new SimpleBindings(new HashMap<>(bindings));
+        prepareBindings.putAll(parameters);
+        try {
+            final Object result = scriptEngine.eval(gremlin, prepareBindings);
+            if (!(result instanceof Traversal.Admin))
+                throw new IllegalStateException("Gremlin did not evaluate to a traversal");
+            final Traversal.Admin<?, ?> traversal = (Traversal.Admin<?, ?>) result;
+            if (!traversal.isLocked()) traversal.applyStrategies();
+            return traversal;
+        } catch (final ScriptException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
         }
     }
 
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable()) resume(ctx);
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        // a paused iteration will never see the channel become writable again so let it run down and release what
+        // it holds
+        resume(ctx);
+        super.channelInactive(ctx);
+    }
+
     @Override
     public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) {
         logger.error("Error processing HTTP Request", cause);
@@ -379,17 +466,22 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
         return bindings;
     }
 
-    private void handleIterator(final Context context, final Iterator itty, final MessageSerializer<?> serializer, final boolean bulking) throws InterruptedException {
+    /**
+     * Streams the results of the iterator back to the client and returns {@code true} if that iteration was paused
+     * because the channel stopped being writable, in which case it will be finished by another worker once
+     * {@link #channelWritabilityChanged(ChannelHandlerContext)} fires.
+     */
+    private boolean handleIterator(final ResultIteration iteration, final Iterator itty, final boolean bulking) throws InterruptedException {
+        final Context context = iteration.context;
         final ChannelHandlerContext nettyContext = context.getChannelHandlerContext();
         final RequestMessage msg = context.getRequestMessage();
         final Settings settings = context.getSettings();
-        boolean warnOnce = false;
 
         // we have an empty iterator - happens on stuff like: g.V().iterate()
         if (!itty.hasNext()) {
             ByteBuf chunk = null;
             try {
-                chunk = makeChunk(context, serializer, new ArrayList<>(), false, bulking);
+                chunk = makeChunk(context, iteration.serializer, new ArrayList<>(), false, bulking);
                 nettyContext.writeAndFlush(new DefaultHttpContent(chunk));
             } catch (Exception ex) {
                 // Bytebuf is a countable release - if it does not get written downstream
@@ -397,21 +489,34 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
                 if (chunk != null) chunk.release();
             }
             sendTrailingHeaders(nettyContext, HttpResponseStatus.OK, "");
-            return;
+            return false;
         }
 
+        iteration.itty = itty;
+        iteration.bulking = bulking;
+
         // the batch size can be overridden by the request
-        final int resultIterationBatchSize = (Integer) msg.optionalField(Tokens.ARGS_BATCH_SIZE)
+        iteration.batchSize = (Integer) msg.optionalField(Tokens.ARGS_BATCH_SIZE)
                 .orElse(settings.resultIterationBatchSize);
-        List<Object> aggregate = new ArrayList<>(resultIterationBatchSize);
+        iteration.batchLimit = iteration.batchSize;
+        iteration.aggregate = new ArrayList<>(iteration.batchSize);
 
         // use an external control to manage the loop as opposed to just checking hasNext() in the while.  this
         // prevent situations where auto transactions create a new transaction after calls to commit() withing
         // the loop on calls to hasNext().
-        boolean hasMore = itty.hasNext();
+        iteration.hasMore = itty.hasNext();
 
-        while (hasMore) {
-            if (Thread.interrupted()) throw new InterruptedException();
+        return iterate(iteration);
+    }
+
+    private boolean iterate(final ResultIteration iteration) throws InterruptedException {
+        final Context context = iteration.context;
+        final ChannelHandlerContext nettyContext = context.getChannelHandlerContext();
+        final Iterator itty = iteration.itty;
+        final Settings settings = context.getSettings();
+
+        while (iteration.hasMore) {
+            if (Thread.interrupted() || iteration.cancelled) throw new InterruptedException();
 
             // have to check the aggregate size because it is possible that the channel is not writeable (below)
             // so iterating next() if the message is not written and flushed would bump the aggregate size beyond
@@ -426,13 +531,14 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
             // this could be placed inside the isWriteable() portion of the if-then below but it seems better to
             // allow iteration to continue into a batch if that is possible rather than just doing nothing at all
             // while waiting for the client to catch up
-            if (aggregate.size() < resultIterationBatchSize && itty.hasNext()) {
-                if (bulking) {
+            if (iteration.aggregate.size() < iteration.batchLimit && itty.hasNext()) {
+                if (iteration.aggregate.isEmpty()) iteration.batchStarted = System.nanoTime();
+                if (iteration.bulking) {
                     Traverser traverser = (Traverser) itty.next();
-                    aggregate.add(traverser.get());
-                    aggregate.add(traverser.bulk());
+                    iteration.aggregate.add(traverser.get());
+                    iteration.aggregate.add(traverser.bulk());
                 } else {
-                    aggregate.add(itty.next());
+                    iteration.aggregate.add(itty.next());
                 }
             }
 
@@ -450,11 +556,14 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
             // executor threads waiting for watermark to clear which will not clear in these cases since client has
             // already given up on these requests. This leads to these executors waiting for the client to consume
             // results till the timeout. checking for isActive() should help prevent that.
+            final boolean batchReady = iteration.aggregate.size() >= iteration.batchLimit || !itty.hasNext() ||
+                    (settings.resultIterationBatchInterval > 0 && !iteration.aggregate.isEmpty() &&
+                            System.nanoTime() - iteration.batchStarted >= TimeUnit.MILLISECONDS.toNanos(settings.resultIterationBatchInterval));
             if (nettyContext.channel().isActive() && nettyContext.channel().isWritable()) {
-                if (aggregate.size() == resultIterationBatchSize || !itty.hasNext()) {
+                if (batchReady) {
                     ByteBuf chunk = null;
                     try {
-                        chunk = makeChunk(context, serializer, aggregate, itty.hasNext(), bulking);
+                        chunk = makeChunk(context, iteration.serializer, iteration.aggregate, itty.hasNext(), iteration.bulking);
                     } catch (Exception ex) {
                         // Bytebuf is a countable release - if it does not get written downstream
                         // it needs to be released here
@@ -465,15 +574,17 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
                         break;
                     }
 
+                    adjustBatchLimit(iteration, chunk.readableBytes(), settings.resultIterationBatchBytes);
+
                     // track whether there is anything left in the iterator because it needs to be accessed after
                     // the transaction could be closed - in that case a call to hasNext() could open a new transaction
                     // unintentionally
-                    hasMore = itty.hasNext();
+                    iteration.hasMore = itty.hasNext();
 
                     try {
                         // only need to reset the aggregation list if there's more stuff to write
-                        if (hasMore) {
-                            aggregate = new ArrayList<>(resultIterationBatchSize);
+                        if (iteration.hasMore) {
+                            iteration.aggregate = new ArrayList<>(iteration.batchLimit);
                         }
                     } catch (Exception ex) {
                         // Bytebuf is a countable release - if it does not get written downstream
@@ -484,22 +595,92 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
 
                     nettyContext.writeAndFlush(new DefaultHttpContent(chunk));
 
-                    if (!hasMore) {
+                    if (!iteration.hasMore) {
                         sendTrailingHeaders(nettyContext, HttpResponseStatus.OK, "");
                     }
                 }
-            } else {
-                // don't keep triggering this warning over and over again for the same request
-                if (!warnOnce) {
-                    logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up", msg);
-                    warnOnce = true;
-                }
-
-                // since the client is lagging we can hold here for a period of time for the client to catch up.
-                // this isn't blocking the IO thread - just a worker.
-                TimeUnit.MILLISECONDS.sleep(10);
+            } else if (batchReady && pause(iteration)) {
+                // the client is lagging so rather than hold this worker while it catches up, the iteration is left
+                // on the channel for channelWritabilityChanged() to hand back to the gremlinPool
+                return true;
             }
         }
+
+        return false;
+    }
+
+    /**
+     * Records the size of a chunk that was just serialized and, if there is a byte budget, sizes the next batch so
+     * that it should come close to the budget given the average size of the items in this one. The batch size set by
+     * the request or {@link Settings#resultIterationBatchSize} remains the upper bound.
+     */
+    private static void adjustBatchLimit(final ResultIteration iteration, final int chunkBytes, final int batchBytes) {
+        // a traverser takes two slots in the aggregate when bulking - one for the object and one for the bulk
+        final int slotsPerItem = iteration.bulking ? 2 : 1;
+        final int items = iteration.aggregate.size() / slotsPerItem;
+        chunkBytesHistogram.update(chunkBytes);
+        chunkSizeHistogram.update(items);
+
+        if (batchBytes <= 0 || items == 0) return;
+
+        final long bytesPerItem = Math.max(1, chunkBytes / items);
+        final long itemsInBudget = Math.max(1, batchBytes / bytesPerItem);
+        iteration.batchLimit = (int) Math.min(iteration.batchSize, itemsInBudget * slotsPerItem);
+    }
+
+    /**
+     * Parks the iteration on the channel until it becomes writable and returns {@code false} if the channel turned
+     * writable (or inactive) before anything else could claim it, in which case the caller should just carry on.
+     */
+    private boolean pause(final ResultIteration iteration) {
+        final Channel channel = iteration.context.getChannelHandlerContext().channel();
+
+        // don't keep triggering this warning over and over again for the same request
+        if (!iteration.warned) {
+            logger.warn("Pausing response writing as writeBufferHighWaterMark exceeded on {} - writing will continue once client has caught up",
+                    iteration.context.getRequestMessage());
+            iteration.warned = true;
+        }
+
+        iteration.pauseContext = pauseTimer.time();
+        pausedCounter.inc();
+
+        final Attribute<ResultIteration> paused = channel.attr(PAUSED_ITERATION);
+        paused.set(iteration);
+
+        // the writability event may have fired before the iteration was set on the channel so check again and
+        // continue on this worker if nothing else has claimed it in the meantime
+        if ((channel.isWritable() || !channel.isActive()) && paused.compareAndSet(iteration, null)) {
+            iteration.resumed();
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Hands a paused iteration, if there is one on the channel, back to the gremlinPool.
+     */
+    private void resume(final ChannelHandlerContext ctx) {
+        final ResultIteration iteration = ctx.channel().attr(PAUSED_ITERATION).getAndSet(null);
+        if (null == iteration) return;
+
+        iteration.resumed();
+        try {
+            iteration.future = gremlinExecutor.getExecutorService().submit(() -> {
+                boolean paused = false;
+                try {
+                    paused = iterate(iteration);
+                } catch (Throwable t) {
+                    writeError(iteration.context, formErrorResponseMessage(t, iteration.context.getRequestMessage()), iteration.serializer);
+                } finally {
+                    if (!paused) iteration.finish();
+                }
+            });
+        } catch (RejectedExecutionException ree) {
+            writeError(iteration.context, GremlinError.rateLimiting(), iteration.serializer);
+            iteration.finish();
+        }
     }
 
     /**
@@ -580,6 +761,58 @@ public class HttpGremlinEndpointHandler extends SimpleChannelInboundHandler<Requ
         }
     }
 
+    /**
+     * The state of a response being streamed from an {@code Iterator}, held apart from the worker thread so that
+     * iteration can stop while the client catches up and continue later on another thread.
+     */
+    private static final class ResultIteration {
+        private final Context context;
+        private final MessageSerializer<?> serializer;
+        private final Timer.Context timerContext;
+
+        private volatile boolean cancelled = false;
+        private volatile Future<?> future = null;
+
+        private Iterator itty;
+        private boolean bulking;
+        private int batchSize;
+        private int batchLimit;
+        private long batchStarted;
+        private List<Object> aggregate;
+        private boolean hasMore;
+        private boolean warned = false;
+        private Timer.Context pauseContext;
+
+        private ResultIteration(final Context context, final MessageSerializer<?> serializer, final Timer.Context timerContext) {
+            this.context = context;
+            this.serializer = serializer;
+            this.timerContext = timerContext;
+        }
+
+        private void resumed() {
+            pauseContext.stop();
+            pausedCounter.dec();
+        }
+
+        private void cancel() {
+            cancelled = true;
+            final Future<?> f = future;
+            if (null != f) f.cancel(true);
+        }
+
+        private void finish() {
+            timerContext.stop();
+
+            // There is a race condition that this query may have finished before the timeoutFuture was created,
+            // though this is very unlikely. This is handled in the settor, if this has already been grabbed.
+            // If we passed this point and the setter hasn't been called, it will cancel the timeoutFuture inside
+            // the setter to compensate.
+            final ScheduledFuture<?> timeoutFuture = context.getTimeoutExecutor();
+            if (null != timeoutFuture)
+                timeoutFuture.cancel(true);
+        }
+    }
+
     public enum RequestState {
         NOT_STARTED,
         STREAMING,
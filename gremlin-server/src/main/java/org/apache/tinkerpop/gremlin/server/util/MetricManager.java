@@ -35,6 +35,7 @@ import com.codahale.metrics.graphite.GraphiteReporter;
 import info.ganglia.gmetric4j.gmetric.GMetric;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
+import org.apache.tinkerpop.gremlin.jsr223.GremlinLangScriptEngine;
 import org.apache.tinkerpop.gremlin.jsr223.GremlinScriptEngine;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.slf4j.Logger;
@@ -441,9 +442,32 @@ public enum MetricManager {
     }
 
     /**
-     * Registers metrics from a {@link GremlinScriptEngine}. At this point, this only works for the
-     * {@link GremlinGroovyScriptEngine} as it is the only one that collects metrics at this point. As the
-     * {@link GremlinScriptEngine} implementations achieve greater parity these metrics will get expanded.
+     * Registers metrics from a {@link PreparedTraversalCache}.
+     */
+    public void registerPreparedTraversalCacheMetrics(final PreparedTraversalCache cache, final String... prefix) {
+        // only register if metrics aren't already registered. typically only happens in testing where two gremlin
+        // server instances are running in the same jvm.
+        if (getRegistry().getNames().stream().noneMatch(n -> n.endsWith("prepared-traversal-cache.hit-count"))) {
+            getRegistry().register(
+                    MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "estimated-size")),
+                    (Gauge<Long>) cache::size);
+            getRegistry().register(
+                    MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "eviction-count")),
+                    (Gauge<Long>) cache::getEvictionCount);
+            getRegistry().register(
+                    MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "hit-count")),
+                    (Gauge<Long>) cache::getHitCount);
+            getRegistry().register(
+                    MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "miss-count")),
+                    (Gauge<Long>) cache::getMissCount);
+        }
+    }
+
+    /**
+     * Registers metrics from a {@link GremlinScriptEngine}. For the {@link GremlinGroovyScriptEngine} these metrics
+     * describe its cache of compiled script classes and for the {@link GremlinLangScriptEngine} they describe its cache
+     * of parsed scripts. As the {@link GremlinScriptEngine} implementations achieve greater parity these metrics will
+     * get expanded.
      */
     public void registerGremlinScriptEngineMetrics(final GremlinScriptEngine engine, final String... prefix) {
         // only register if metrics aren't already registered. typically only happens in testing where two gremlin
@@ -496,6 +520,23 @@ public enum MetricManager {
             getRegistry().register(
                     MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "total-load-time")),
                     (Gauge<Long>) gremlinGroovyScriptEngine::getClassCacheTotalLoadTime);
+        } else if (engine instanceof GremlinLangScriptEngine && getRegistry().getNames().stream().noneMatch(n -> n.endsWith("parse-cache.hit-count"))) {
+            final GremlinLangScriptEngine gremlinLangScriptEngine = (GremlinLangScriptEngine) engine;
+            getRegistry().register(
+                    MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "estimated-size")),
+                    (Gauge<Long>) gremlinLangScriptEngine::getParseCacheEstimatedSize);
+            getRegistry().register(
+                    MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "eviction-count")),
+                    (Gauge<Long>) gremlinLangScriptEngine::getParseCacheEvictionCount);
+            getRegistry().register(
+                    MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "hit-count")),
+                    (Gauge<Long>) gremlinLangScriptEngine::getParseCacheHitCount);
+            getRegistry().register(
+                    MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "hit-rate")),
+                    (Gauge<Double>) gremlinLangScriptEngine::getParseCacheHitRate);
+            getRegistry().register(
+                    MetricRegistry.name(GremlinServer.class, ArrayUtils.add(prefix, "miss-count")),
+                    (Gauge<Long>) gremlinLangScriptEngine::getParseCacheMissCount);
         }
     }
 }
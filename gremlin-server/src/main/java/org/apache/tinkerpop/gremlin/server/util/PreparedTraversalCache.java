@@ -0,0 +1,476 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.GValue;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of traversals that have already had their {@link TraversalStrategy} instances applied. Entries are
+ * keyed on the name of the {@link TraversalSource} and the Gremlin string. A cached traversal is never iterated
+ * itself. Instead, each request is given a {@link Traversal.Admin#clone()} of it which is already locked and
+ * therefore skips both parsing and strategy application, with the parameters of the request bound into the clone.
+ * <p/>
+ * Strategies fold parameter values into the steps they produce, so the cache finds where each parameter ended up
+ * when the traversal is cached. Parameter values are rebound into the ids of a {@link GraphStep} and the predicates
+ * of a {@link HasContainerHolder} such as {@code has()}. To prove that this is all that binding a new value takes,
+ * the traversal is prepared a second time from the same Gremlin with different parameter values and compared with
+ * the cached traversal bound to those values. If they differ (e.g. a parameter was used by a strategy to compute a
+ * value of its own, or it ended up in a step that cannot be rebound) the cached traversal is only used for requests
+ * with the exact parameter values it was prepared with. Requests that supply a parameter of a different type than the
+ * cached one are not served from the cache either.
+ * <p/>
+ * To keep Gremlin strings that never repeat from paying for a clone and from pushing out useful entries, a traversal
+ * is only admitted the second time its key is seen. Strategies whose application depends on something other than
+ * the Gremlin string, or on parameter values in ways that comparing two sets of values does not reveal, can be
+ * excluded by class name, in which case traversals that make use of them are never cached.
+ */
+public class PreparedTraversalCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreparedTraversalCache.class);
+
+    private final int maxSize;
+    private final Set<String> excludedStrategies;
+    private final Cache<Key, Prepared> cache;
+
+    /**
+     * Keys that have been offered once but not yet cached.
+     */
+    private final Cache<Key, Boolean> seen;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public PreparedTraversalCache(final int maxSize, final Collection<String> excludedStrategies) {
+        if (maxSize < 1)
+            throw new IllegalArgumentException("maxSize must be greater than zero");
+
+        this.maxSize = maxSize;
+        this.excludedStrategies = new HashSet<>(excludedStrategies);
+
+        // maintenance runs on the calling thread so that the size bound holds as soon as put() returns
+        this.cache = Caffeine.newBuilder().maximumSize(maxSize).executor(Runnable::run).recordStats().build();
+        this.seen = Caffeine.newBuilder().maximumSize(maxSize).executor(Runnable::run).build();
+    }
+
+    /**
+     * Gets a clone of the cached traversal for the Gremlin string with the parameters bound into it if one is present
+     * and the parameters can be bound. The cached entry is only used if it was prepared from the same
+     * {@link TraversalSource} instance as the one supplied which protects against a source being replaced in the
+     * {@code GraphManager}.
+     */
+    public Optional<Traversal.Admin<?, ?>> get(final String traversalSourceName, final TraversalSource traversalSource,
+                                               final String gremlin, final Map<String, Object> parameters) {
+        final Prepared entry = cache.getIfPresent(new Key(traversalSourceName, gremlin));
+        final Map<String, Object> params = normalize(parameters);
+        if (null == entry || entry.traversalSource != traversalSource ||
+                (!entry.parameters.equals(params) && (null == entry.slots || !entry.slots.canBind(params)))) {
+            missCount.increment();
+            return Optional.empty();
+        }
+
+        hitCount.increment();
+        final Traversal.Admin<?, ?> traversal = entry.traversal.clone();
+        if (!entry.parameters.equals(params))
+            entry.slots.bind(traversal, params);
+        return Optional.of(traversal);
+    }
+
+    /**
+     * Caches a clone of the traversal which must already have had its strategies applied. The traversal is ignored if
+     * it uses a strategy that has been excluded from caching or if this is the first time its key has been offered.
+     * As no way to prepare the traversal again is given, it is only used for requests with the same parameters.
+     *
+     * @return {@code true} if the traversal was cached and {@code false} otherwise
+     */
+    public boolean put(final String traversalSourceName, final TraversalSource traversalSource,
+                       final String gremlin, final Map<String, Object> parameters,
+                       final Traversal.Admin<?, ?> traversal) {
+        return put(traversalSourceName, traversalSource, gremlin, parameters, traversal, null);
+    }
+
+    /**
+     * Caches a clone of the traversal which must already have had its strategies applied. The traversal is ignored if
+     * it uses a strategy that has been excluded from caching or if this is the first time its key has been offered.
+     *
+     * @param preparer prepares the traversal for the Gremlin string with the given parameters and applies its
+     *                 strategies, which is used to check that other parameter values can be bound into the cached
+     *                 traversal. If {@code null}, the traversal is only used for requests with the same parameters.
+     * @return {@code true} if the traversal was cached and {@code false} otherwise
+     */
+    public boolean put(final String traversalSourceName, final TraversalSource traversalSource,
+                       final String gremlin, final Map<String, Object> parameters,
+                       final Traversal.Admin<?, ?> traversal,
+                       final Function<Map<String, Object>, Traversal.Admin<?, ?>> preparer) {
+        if (!traversal.isLocked())
+            throw new IllegalStateException("Traversal must have its strategies applied before it can be cached");
+
+        final Key key = new Key(traversalSourceName, gremlin);
+        if (null == seen.asMap().remove(key)) {
+            seen.put(key, Boolean.TRUE);
+            return false;
+        }
+
+        if (!isCacheable(traversal)) return false;
+
+        final Map<String, Object> params = normalize(parameters);
+        final Traversal.Admin<?, ?> prepared = traversal.clone();
+        Slots slots = null;
+        if (null != preparer && !params.isEmpty()) {
+            slots = Slots.find(prepared, params);
+            if (null != slots && !slots.verify(prepared, params, preparer))
+                slots = null;
+        }
+
+        cache.put(key, new Prepared(traversalSource, null == slots ? traversal.clone() : prepared,
+                new HashMap<>(params), slots));
+        return true;
+    }
+
+    /**
+     * Determines if the traversal can be cached given the strategies it uses.
+     */
+    public boolean isCacheable(final Traversal.Admin<?, ?> traversal) {
+        if (excludedStrategies.isEmpty()) return true;
+        for (final TraversalStrategy<?> strategy : traversal.getStrategies()) {
+            if (excludedStrategies.contains(strategy.getClass().getName()) ||
+                    excludedStrategies.contains(strategy.getClass().getSimpleName()))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    public void clear() {
+        cache.invalidateAll();
+        seen.invalidateAll();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the number of traversals currently held in the cache.
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Gets the number of times a prepared traversal was found in the cache.
+     */
+    public long getHitCount() {
+        return hitCount.longValue();
+    }
+
+    /**
+     * Gets the number of times a prepared traversal was not found in the cache.
+     */
+    public long getMissCount() {
+        return missCount.longValue();
+    }
+
+    /**
+     * Gets the number of prepared traversals that have been evicted from the cache because it was full.
+     */
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    private static Map<String, Object> normalize(final Map<String, Object> parameters) {
+        return null == parameters ? Collections.emptyMap() : parameters;
+    }
+
+    private static final class Prepared {
+        private final TraversalSource traversalSource;
+        private final Traversal.Admin<?, ?> traversal;
+        private final Map<String, Object> parameters;
+
+        /**
+         * Where the parameters are bound in the traversal, {@code null} if they cannot be rebound.
+         */
+        private final Slots slots;
+
+        private Prepared(final TraversalSource traversalSource, final Traversal.Admin<?, ?> traversal,
+                         final Map<String, Object> parameters, final Slots slots) {
+            this.traversalSource = traversalSource;
+            this.traversal = traversal;
+            this.parameters = parameters;
+            this.slots = slots;
+        }
+    }
+
+    /**
+     * The places in a traversal that hold a parameter value, identified by their position in the order that
+     * {@link #collect(Traversal.Admin, List)} finds them in, so that they can be found again in a clone.
+     */
+    private static final class Slots {
+        private final int[] positions;
+        private final String[] names;
+        private final Map<String, Class<?>> types;
+
+        private Slots(final int[] positions, final String[] names, final Map<String, Class<?>> types) {
+            this.positions = positions;
+            this.names = names;
+            this.types = types;
+        }
+
+        /**
+         * Finds the parameter values in the traversal, returning {@code null} if a value cannot be told apart from
+         * another value in the traversal or if its type cannot be checked with a different value.
+         */
+        private static Slots find(final Traversal.Admin<?, ?> traversal, final Map<String, Object> parameters) {
+            final Map<String, Class<?>> types = new HashMap<>();
+            final Set<Object> values = new HashSet<>();
+            for (final Map.Entry<String, Object> parameter : parameters.entrySet()) {
+                if (null == alter(parameter.getValue()) || !values.add(parameter.getValue()))
+                    return null;
+                types.put(parameter.getKey(), parameter.getValue().getClass());
+            }
+
+            final List<Site> sites = new ArrayList<>();
+            collect(traversal, sites);
+            final List<Integer> positions = new ArrayList<>();
+            final List<String> names = new ArrayList<>();
+            for (int i = 0; i < sites.size(); i++) {
+                final Object value = sites.get(i).get();
+                for (final Map.Entry<String, Object> parameter : parameters.entrySet()) {
+                    if (parameter.getValue().equals(value)) {
+                        positions.add(i);
+                        names.add(parameter.getKey());
+                        break;
+                    }
+                }
+            }
+
+            return new Slots(positions.stream().mapToInt(Integer::intValue).toArray(),
+                    names.toArray(new String[0]), types);
+        }
+
+        /**
+         * Prepares the traversal with different values for each parameter and checks that it is the same as the
+         * cached traversal with those values bound into it, and that binding did not change the cached traversal.
+         */
+        private boolean verify(final Traversal.Admin<?, ?> traversal, final Map<String, Object> parameters,
+                               final Function<Map<String, Object>, Traversal.Admin<?, ?>> preparer) {
+            final Map<String, Object> altered = new HashMap<>();
+            parameters.forEach((name, value) -> altered.put(name, alter(value)));
+
+            try {
+                final String before = traversal.toString();
+                final Traversal.Admin<?, ?> bound = traversal.clone();
+                bind(bound, altered);
+                final Traversal.Admin<?, ?> expected = preparer.apply(altered);
+                return before.equals(traversal.toString()) && expected.equals(bound) &&
+                        expected.toString().equals(bound.toString());
+            } catch (final Exception ex) {
+                logger.debug("Could not verify that parameters can be bound into {}", traversal, ex);
+                return false;
+            }
+        }
+
+        private boolean canBind(final Map<String, Object> parameters) {
+            if (!types.keySet().equals(parameters.keySet())) return false;
+            for (final Map.Entry<String, Object> parameter : parameters.entrySet()) {
+                if (null == parameter.getValue() || types.get(parameter.getKey()) != parameter.getValue().getClass())
+                    return false;
+            }
+            return true;
+        }
+
+        private void bind(final Traversal.Admin<?, ?> traversal, final Map<String, Object> parameters) {
+            final List<Site> sites = new ArrayList<>();
+            collect(traversal, sites);
+            for (int i = 0; i < positions.length; i++) {
+                sites.get(positions[i]).set(parameters.get(names[i]));
+            }
+        }
+
+        /**
+         * Gets a value of the same type that differs from the one given, {@code null} if there is no such value.
+         */
+        private static Object alter(final Object value) {
+            final Object altered;
+            if (value instanceof String)
+                altered = value + "_";
+            else if (value instanceof Integer)
+                altered = (Integer) value + 1;
+            else if (value instanceof Long)
+                altered = (Long) value + 1;
+            else if (value instanceof Short)
+                altered = (short) ((Short) value + 1);
+            else if (value instanceof Byte)
+                altered = (byte) ((Byte) value + 1);
+            else if (value instanceof Double)
+                altered = (Double) value + 1;
+            else if (value instanceof Float)
+                altered = (Float) value + 1;
+            else if (value instanceof BigInteger)
+                altered = ((BigInteger) value).add(BigInteger.ONE);
+            else if (value instanceof BigDecimal)
+                altered = ((BigDecimal) value).add(BigDecimal.ONE);
+            else if (value instanceof UUID)
+                altered = UUID.randomUUID();
+            else
+                altered = null;
+            return null == altered || altered.equals(value) ? null : altered;
+        }
+
+        private static void collect(final Traversal.Admin<?, ?> traversal, final List<Site> sites) {
+            for (final Step<?, ?> step : traversal.getSteps()) {
+                if (step instanceof GraphStep) {
+                    final GValue[] ids = ((GraphStep<?, ?>) step).getIds();
+                    for (int i = 0; null != ids && i < ids.length; i++) {
+                        sites.add(new IdSite(ids, i));
+                    }
+                }
+                if (step instanceof HasContainerHolder) {
+                    for (final HasContainer hasContainer : ((HasContainerHolder) step).getHasContainers()) {
+                        collect(hasContainer.getPredicate(), sites);
+                    }
+                }
+                if (step instanceof TraversalParent) {
+                    for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                        collect(child, sites);
+                    }
+                    for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                        collect(child, sites);
+                    }
+                }
+            }
+        }
+
+        private static void collect(final P<?> predicate, final List<Site> sites) {
+            if (predicate instanceof ConnectiveP) {
+                for (final P<?> p : ((ConnectiveP<?>) predicate).getPredicates()) {
+                    collect(p, sites);
+                }
+            } else {
+                sites.add(new PredicateSite(predicate));
+            }
+        }
+    }
+
+    /**
+     * A place in a traversal that holds a value which can be replaced.
+     */
+    private interface Site {
+        Object get();
+
+        void set(final Object value);
+    }
+
+    private static final class IdSite implements Site {
+        private final GValue[] ids;
+        private final int index;
+
+        private IdSite(final GValue[] ids, final int index) {
+            this.ids = ids;
+            this.index = index;
+        }
+
+        @Override
+        public Object get() {
+            return ids[index].get();
+        }
+
+        @Override
+        public void set(final Object value) {
+            ids[index] = GValue.of(ids[index].getName(), value);
+        }
+    }
+
+    private static final class PredicateSite implements Site {
+        private final P predicate;
+
+        private PredicateSite(final P<?> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        public Object get() {
+            return GValue.valueOf(predicate.getValue());
+        }
+
+        @Override
+        public void set(final Object value) {
+            final Object current = predicate.getValue();
+            predicate.setOriginalValue(current instanceof GValue ? GValue.of(((GValue<?>) current).getName(), value) : value);
+        }
+    }
+
+    private static final class Key {
+        private final String traversalSourceName;
+        private final String gremlin;
+        private final int hashCode;
+
+        private Key(final String traversalSourceName, final String gremlin) {
+            this.traversalSourceName = traversalSourceName;
+            this.gremlin = gremlin;
+            this.hashCode = Objects.hash(traversalSourceName, gremlin);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final Key key = (Key) o;
+            return hashCode == key.hashCode &&
+                    Objects.equals(traversalSourceName, key.traversalSourceName) &&
+                    Objects.equals(gremlin, key.gremlin);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -74,7 +74,9 @@ public class ServerGremlinExecutor {
      * Create a new object from {@link Settings} where thread pools are externally assigned. Note that if the
      * {@code scheduleExecutorServiceClass} is set to {@code null} it will be created via
      * {@link Executors#newScheduledThreadPool(int, ThreadFactory)}.  If either of the {@link ExecutorService}
-     * instances are supplied, the {@link Settings#gremlinPool} value will be ignored for the pool size.
+     * instances are supplied, the {@link Settings#gremlinPool} value will be ignored for the pool size. When
+     * {@link Settings#useVirtualThreads} is enabled and no {@code gremlinExecutorService} is supplied, requests are
+     * evaluated on virtual threads bounded by {@link Settings#maxVirtualThreads}.
      */
     public ServerGremlinExecutor(final Settings settings, final ExecutorService gremlinExecutorService,
                                  final ScheduledExecutorService scheduledExecutorService) {
@@ -97,7 +99,10 @@ public class ServerGremlinExecutor {
             throw new RuntimeException(e);
         }
 
-        if (null == gremlinExecutorService) {
+        if (null == gremlinExecutorService && settings.useVirtualThreads) {
+            this.gremlinExecutorService = ThreadPerTaskExecutorService.virtual("gremlin-server-exec-virtual-",
+                    settings.maxVirtualThreads);
+        } else if (null == gremlinExecutorService) {
             final ThreadFactory threadFactoryGremlin = ThreadFactoryUtil.create("exec-%d");
             final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(settings.maxWorkQueueSize);
             this.gremlinExecutorService = new ThreadPoolExecutor(settings.gremlinPool, settings.gremlinPool,
@@ -114,7 +119,11 @@ public class ServerGremlinExecutor {
             this.scheduledExecutorService = scheduledExecutorService;
         }
 
-        logger.info("Initialized Gremlin thread pool.  Threads in pool named with pattern gremlin-*");
+        if (this.gremlinExecutorService instanceof ThreadPerTaskExecutorService)
+            logger.info("Initialized Gremlin virtual thread executor allowing {} concurrent requests",
+                    ((ThreadPerTaskExecutorService) this.gremlinExecutorService).getMaxThreads());
+        else
+            logger.info("Initialized Gremlin thread pool.  Threads in pool named with pattern gremlin-*");
 
         final GremlinExecutor.Builder gremlinExecutorBuilder = GremlinExecutor.build()
                 .evaluationTimeout(settings.getEvaluationTimeout())
@@ -184,7 +193,8 @@ public class ServerGremlinExecutor {
 
     private void registerMetrics(final String engineName) {
         final GremlinScriptEngine engine = gremlinExecutor.getScriptEngineManager().getEngineByName(engineName);
-        MetricManager.INSTANCE.registerGremlinScriptEngineMetrics(engine, engineName, "sessionless", "class-cache");
+        final String cacheName = engine instanceof GremlinLangScriptEngine ? "parse-cache" : "class-cache";
+        MetricManager.INSTANCE.registerGremlinScriptEngineMetrics(engine, engineName, "sessionless", cacheName);
     }
 
     public void addHostOption(final String key, final Object value) {
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@code ExecutorService} that starts a new thread for each task it is given rather than queuing tasks for a fixed
+ * set of threads. The number of tasks that may run at once is bounded by a semaphore and tasks submitted beyond that
+ * bound are rejected with a {@link RejectedExecutionException}, much as a full work queue would reject them. It is
+ * meant to be used with virtual threads via {@link #virtual(String, int)}, where a thread per task is cheap and
+ * a request blocked on I/O does not hold a platform thread.
+ */
+public final class ThreadPerTaskExecutorService extends AbstractExecutorService {
+
+    private final ThreadFactory threadFactory;
+    private final int maxThreads;
+    private final Semaphore permits;
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private volatile boolean shutdown = false;
+
+    public ThreadPerTaskExecutorService(final ThreadFactory threadFactory, final int maxThreads) {
+        if (maxThreads < 1)
+            throw new IllegalArgumentException("maxThreads must be greater than zero");
+
+        this.threadFactory = threadFactory;
+        this.maxThreads = maxThreads;
+        this.permits = new Semaphore(maxThreads);
+    }
+
+    /**
+     * Creates an executor which runs each task on a new virtual thread named with the given prefix.
+     *
+     * @throws IllegalStateException if the JVM does not support virtual threads which requires Java 21 or later
+     */
+    public static ThreadPerTaskExecutorService virtual(final String namePrefix, final int maxThreads) {
+        return new ThreadPerTaskExecutorService(createVirtualThreadFactory(namePrefix), maxThreads);
+    }
+
+    /**
+     * Determines if the running JVM supports virtual threads.
+     */
+    public static boolean isVirtualThreadSupported() {
+        try {
+            createVirtualThreadFactory("probe-");
+            return true;
+        } catch (IllegalStateException ise) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the number of tasks currently running.
+     */
+    public int getActiveCount() {
+        return maxThreads - permits.availablePermits();
+    }
+
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        if (null == command) throw new NullPointerException("command");
+        if (shutdown) throw new RejectedExecutionException("Executor has been shutdown");
+        if (!permits.tryAcquire())
+            throw new RejectedExecutionException(String.format("All %s threads are busy", maxThreads));
+
+        // shutdown may have happened after the check above and before the permit was taken
+        if (shutdown) {
+            release();
+            throw new RejectedExecutionException("Executor has been shutdown");
+        }
+
+        final Thread thread;
+        try {
+            thread = threadFactory.newThread(() -> {
+                try {
+                    command.run();
+                } finally {
+                    threads.remove(Thread.currentThread());
+                    release();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        } catch (Throwable t) {
+            release();
+            throw new RejectedExecutionException(t);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        tryTerminate();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        threads.forEach(Thread::interrupt);
+
+        // tasks are never queued so there is nothing that didn't get started
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    private void release() {
+        permits.release();
+        tryTerminate();
+    }
+
+    private void tryTerminate() {
+        if (shutdown && permits.availablePermits() == maxThreads)
+            terminated.countDown();
+    }
+
+    private static ThreadFactory createVirtualThreadFactory(final String namePrefix) {
+        // Thread.ofVirtual() arrived in Java 21 and the server has to build against Java 8 so it has to be found
+        // reflectively
+        try {
+            final Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = ofVirtual.invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later - running " +
+                    System.getProperty("java.version"), ex);
+        }
+    }
+}
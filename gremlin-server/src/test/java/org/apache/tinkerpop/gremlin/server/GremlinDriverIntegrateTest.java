@@ -151,6 +151,9 @@ public class GremlinDriverIntegrateTest extends AbstractGremlinServerIntegration
                 settings.evaluationTimeout = 250;
                 settings.threadPoolWorker = 1;
                 break;
+            case "shouldExecutePreparedTraversals":
+                settings.preparedTraversalCacheSize = 100;
+                break;
             case "shouldProcessTraversalInterruption":
             case "shouldProcessEvalInterruption":
                 settings.evaluationTimeout = 1500;
@@ -599,6 +602,40 @@ public class GremlinDriverIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+    @Test
+    public void shouldExecutePreparedTraversals() throws Exception {
+        final Cluster cluster = TestClientFactory.open();
+
+        try {
+            final Client client = cluster.connect();
+            for (int i = 0; i < 3; i++) {
+                for (boolean bulked : new boolean[] {true, false}) {
+                    final RequestOptions marko = RequestOptions.build().addG("gmodern").bulkResults(bulked).
+                            addParameter("x", "marko").create();
+                    assertEquals(29, client.submit("g.V().has('name',x).values('age')", marko).one().getInt());
+
+                    final RequestOptions vadas = RequestOptions.build().addG("gmodern").bulkResults(bulked).
+                            addParameter("x", "vadas").create();
+                    assertEquals(27, client.submit("g.V().has('name',x).values('age')", vadas).one().getInt());
+
+                    // a new value is bound into the prepared traversal
+                    final RequestOptions josh = RequestOptions.build().addG("gmodern").bulkResults(bulked).
+                            addParameter("x", "josh").addParameter("y", 30).create();
+                    assertEquals(32, client.submit("g.V().has('name',x).has('age',gt(y)).values('age')", josh).one().getInt());
+                    final RequestOptions peter = RequestOptions.build().addG("gmodern").bulkResults(bulked).
+                            addParameter("x", "peter").addParameter("y", 40).create();
+                    assertEquals(0, client.submit("g.V().has('name',x).has('age',gt(y)).values('age')", peter).all().get().size());
+
+                    final RequestOptions classic = RequestOptions.build().addG("gclassic").bulkResults(bulked).
+                            addParameter("x", "marko").create();
+                    assertEquals(29, client.submit("g.V().has('name',x).values('age')", classic).one().getInt());
+                }
+            }
+        } finally {
+            cluster.close();
+        }
+    }
+
     @Test
     public void shouldIterate() {
         final Cluster cluster = TestClientFactory.open();
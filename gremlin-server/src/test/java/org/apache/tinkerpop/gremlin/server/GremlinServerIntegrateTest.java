@@ -62,6 +62,9 @@ import org.junit.Ignore;
 import org.junit.Test;
 import org.slf4j.LoggerFactory;
 
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -148,12 +151,23 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
                 settings.writeBufferHighWaterMark = 64;
                 settings.writeBufferLowWaterMark = 32;
                 break;
+            case "shouldNotHoldWorkerWhileClientIsSlow":
+                settings.gremlinPool = 1;
+                settings.writeBufferHighWaterMark = 64;
+                settings.writeBufferLowWaterMark = 32;
+                break;
             case "shouldReceiveFailureTimeOutOnScriptEval":
                 settings.evaluationTimeout = 1000;
                 break;
             case "shouldBlockRequestWhenTooBig":
                 settings.maxRequestContentLength = 1024;
                 break;
+            case "shouldBatchResultsByBytes":
+                settings.resultIterationBatchBytes = 2048;
+                break;
+            case "shouldBatchResultsByInterval":
+                settings.resultIterationBatchInterval = 100;
+                break;
             case "shouldBatchResultsByTwos":
             case "shouldBatchResultsByTwosToDriver":
                 settings.resultIterationBatchSize = 2;
@@ -508,6 +522,43 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+    @Test
+    public void shouldNotHoldWorkerWhileClientIsSlow() throws Exception {
+        final Cluster cluster = TestClientFactory.open();
+        final Client client = cluster.connect();
+
+        // a client that never reads its response will keep the channel unwritable for the life of the request
+        try (Socket slowClient = new Socket()) {
+            slowClient.setReceiveBufferSize(1024);
+            slowClient.connect(new InetSocketAddress("localhost", TestClientFactory.PORT));
+
+            final String fatty = IntStream.range(0, 175).mapToObj(String::valueOf).collect(Collectors.joining());
+            final String body = String.format("{\"gremlin\":\"g.inject('%s').repeat(union(identity(),identity())).times(17)\"}", fatty);
+            final String request = "POST /gremlin HTTP/1.1\r\n" +
+                    "Host: localhost\r\n" +
+                    "Content-Type: application/json\r\n" +
+                    "Content-Length: " + body.getBytes(StandardCharsets.UTF_8).length + "\r\n\r\n" + body;
+            slowClient.getOutputStream().write(request.getBytes(StandardCharsets.UTF_8));
+            slowClient.getOutputStream().flush();
+
+            final long start = System.currentTimeMillis();
+            while (!isPaused() && System.currentTimeMillis() - start < 10000) {
+                Thread.sleep(50);
+            }
+            assertThat(isPaused(), is(true));
+
+            // with a gremlinPool of one this request can only be served if the slow response isn't holding the worker
+            assertEquals(2, client.submit("g.inject(2)").all().get(10000, TimeUnit.MILLISECONDS).get(0).getInt());
+        } finally {
+            cluster.close();
+        }
+    }
+
+    private static boolean isPaused() {
+        return logCaptor.getLogs().stream().anyMatch(m -> m.contains(
+                "Pausing response writing as writeBufferHighWaterMark exceeded on"));
+    }
+
     @Test
     public void shouldReturnInvalidRequestArgsWhenInvalidReservedBindingKeyIsUsed() throws Exception {
         try (SimpleClient client = TestClientFactory.createSimpleHttpClient()) {
@@ -636,6 +687,44 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         }
     }
 
+    @Test
+    public void shouldBatchResultsByBytes() throws Exception {
+        try (SimpleClient client = TestClientFactory.createSimpleHttpClient()) {
+            final String fatty = IntStream.range(0, 175).mapToObj(String::valueOf).collect(Collectors.joining());
+            final RequestMessage request = RequestMessage.build(
+                    String.format("g.inject('%s').repeat(union(identity(),identity())).times(8)", fatty)).create();
+
+            final List<ResponseMessage> msgs = client.submit(request);
+            assertEquals(256, msgs.stream().mapToInt(m -> m.getResult().getData().size()).sum());
+
+            // the first batch is sized by count as nothing is known about the size of the results at that point
+            assertEquals(64, msgs.get(0).getResult().getData().size());
+
+            // each result is a bit over 400 bytes so the remaining batches should fit into the 2048 byte budget
+            for (ResponseMessage resp : msgs.subList(1, msgs.size())) {
+                assertThat(resp.getResult().getData().size() <= 5, is(true));
+            }
+        }
+    }
+
+    @Test
+    public void shouldBatchResultsByInterval() throws Exception {
+        try (SimpleClient client = TestClientFactory.createSimpleHttpClient()) {
+            final String slowIterator = "def itty = [1,2,3].iterator(); " +
+                    "[hasNext: { itty.hasNext() }, next: { Thread.sleep(200); itty.next() }] as Iterator";
+            final RequestMessage request = RequestMessage.build(slowIterator).addLanguage("gremlin-groovy").create();
+
+            // each result takes longer than the 100ms interval to produce so it is sent back on its own
+            final List<ResponseMessage> msgs = client.submit(request);
+            assertEquals(1, (int) msgs.get(0).getResult().getData().get(0));
+            assertEquals(2, (int) msgs.get(1).getResult().getData().get(0));
+            assertEquals(3, (int) msgs.get(2).getResult().getData().get(0));
+            for (ResponseMessage resp : msgs.subList(0, 3)) {
+                assertEquals(1, resp.getResult().getData().size());
+            }
+        }
+    }
+
     @Test
     public void shouldBatchResultsByTwosWithDriver() throws Exception {
         final Cluster cluster = TestClientFactory.build().create();
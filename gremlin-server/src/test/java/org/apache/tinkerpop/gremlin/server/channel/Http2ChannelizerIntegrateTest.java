@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.channel;
+
+import org.apache.tinkerpop.gremlin.driver.Client;
+import org.apache.tinkerpop.gremlin.driver.Cluster;
+import org.apache.tinkerpop.gremlin.driver.Result;
+import org.apache.tinkerpop.gremlin.driver.ResultSet;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.TestClientFactory;
+import org.apache.tinkerpop.gremlin.server.auth.SimpleAuthenticator;
+import org.apache.tinkerpop.gremlin.server.handler.HttpBasicAuthenticationHandler;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class Http2ChannelizerIntegrateTest extends AbstractGremlinServerChannelizerIntegrateTest {
+
+    @Override
+    public Settings overrideSettings(final Settings settings) {
+        super.overrideSettings(settings);
+        final String nameOfTest = name.getMethodName();
+        if (nameOfTest.equals("shouldMultiplexRequestsOverHttp2WithSSL")) {
+            settings.ssl = new Settings.SslSettings();
+            settings.ssl.enabled = true;
+            settings.ssl.keyStore = JKS_SERVER_KEY;
+            settings.ssl.keyStorePassword = KEY_PASS;
+            settings.ssl.keyStoreType = KEYSTORE_TYPE_JKS;
+        } else if (nameOfTest.equals("shouldLimitRequestsToMaxConcurrentStreams")) {
+            settings.maxConcurrentStreams = 2;
+        }
+        return settings;
+    }
+
+    @Test
+    public void shouldMultiplexRequestsOverHttp2() throws Exception {
+        final Cluster cluster = TestClientFactory.build().enableHttp2(true).maxConnectionPoolSize(1).create();
+        try {
+            assertAllRequestsReturn(cluster.connect(), 200);
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldMultiplexRequestsOverHttp2WithSSL() throws Exception {
+        final Cluster cluster = TestClientFactory.build().enableHttp2(true).maxConnectionPoolSize(1).
+                enableSsl(true).sslSkipCertValidation(true).create();
+        try {
+            assertAllRequestsReturn(cluster.connect(), 200);
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldLimitRequestsToMaxConcurrentStreams() throws Exception {
+        final Cluster cluster = TestClientFactory.build().enableHttp2(true).maxConnectionPoolSize(2).create();
+        try {
+            assertAllRequestsReturn(cluster.connect(), 50);
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    public void shouldReturnErrorOverHttp2() throws Exception {
+        final Cluster cluster = TestClientFactory.build().enableHttp2(true).create();
+        final Client client = cluster.connect();
+        try {
+            client.submit("g.inject(1).fail('stopped')").all().get();
+            fail("The request should have failed");
+        } catch (Exception ex) {
+            assertThat(ex.getMessage(), containsString("stopped"));
+        } finally {
+            cluster.close();
+        }
+    }
+
+    private static void assertAllRequestsReturn(final Client client, final int requests) throws Exception {
+        final List<CompletableFuture<List<Result>>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            final CompletableFuture<ResultSet> submitted = client.submitAsync("g.inject(" + i + ").repeat(identity()).times(2)");
+            futures.add(submitted.thenCompose(ResultSet::all));
+        }
+
+        for (int i = 0; i < requests; i++) {
+            assertEquals(i, futures.get(i).get().get(0).getInt());
+        }
+    }
+
+    @Override
+    public String getProtocol() {
+        return HTTP;
+    }
+
+    @Override
+    public String getSecureProtocol() {
+        return HTTPS;
+    }
+
+    @Override
+    public String getChannelizer() {
+        return Http2Channelizer.class.getName();
+    }
+
+    @Override
+    public Settings.AuthenticationSettings getAuthSettings() {
+        final Settings.AuthenticationSettings authSettings = new Settings.AuthenticationSettings();
+        final Map<String,Object> authConfig = new HashMap<>();
+        authSettings.authenticator = SimpleAuthenticator.class.getName();
+        authSettings.authenticationHandler = HttpBasicAuthenticationHandler.class.getName();
+        authConfig.put(SimpleAuthenticator.CONFIG_CREDENTIALS_DB, "conf/tinkergraph-credentials.properties");
+        authSettings.config = authConfig;
+
+        return authSettings;
+    }
+}
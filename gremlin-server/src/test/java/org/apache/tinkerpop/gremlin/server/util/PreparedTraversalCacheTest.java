@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReadOnlyStrategy;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class PreparedTraversalCacheTest {
+
+    private final TinkerGraph graph = TinkerFactory.createModern();
+    private final GraphTraversalSource g = graph.traversal();
+
+    @Test
+    public void shouldReturnLockedCloneOfCachedTraversal() {
+        final PreparedTraversalCache cache = new PreparedTraversalCache(10, Collections.emptyList());
+        final Map<String, Object> params = Collections.singletonMap("x", "marko");
+        final Traversal.Admin<?, ?> traversal = g.V().has("name", "marko").out("knows").values("name").asAdmin();
+        traversal.applyStrategies();
+        assertFalse(cache.put("g", g, "g.V().has('name',x).out('knows').values('name')", params, traversal));
+        assertTrue(cache.put("g", g, "g.V().has('name',x).out('knows').values('name')", params, traversal));
+
+        final Traversal.Admin<?, ?> first = cache.get("g", g, "g.V().has('name',x).out('knows').values('name')", params).get();
+        final Traversal.Admin<?, ?> second = cache.get("g", g, "g.V().has('name',x).out('knows').values('name')", params).get();
+        assertNotSame(first, second);
+        assertTrue(first.isLocked());
+
+        final List<?> expected = g.V().has("name", "marko").out("knows").values("name").toList();
+        assertEquals(expected, first.toList());
+        assertEquals(expected, second.toList());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void shouldMissOnDifferentParametersWithoutPreparer() {
+        final PreparedTraversalCache cache = new PreparedTraversalCache(10, Collections.emptyList());
+        final Traversal.Admin<?, ?> traversal = g.V(1).asAdmin();
+        traversal.applyStrategies();
+        cache.put("g", g, "g.V(x)", Collections.singletonMap("x", 1), traversal);
+        cache.put("g", g, "g.V(x)", Collections.singletonMap("x", 1), traversal);
+
+        assertFalse(cache.get("g", g, "g.V(x)", Collections.singletonMap("x", 2)).isPresent());
+        assertTrue(cache.get("g", g, "g.V(x)", Collections.singletonMap("x", 1)).isPresent());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void shouldBindParametersIntoCachedTraversal() {
+        final PreparedTraversalCache cache = new PreparedTraversalCache(10, Collections.emptyList());
+        final String gremlin = "g.V().has('name',x).out('knows').has('age',gt(y)).values('name')";
+        final Function<Map<String, Object>, Traversal.Admin<?, ?>> preparer = prepare(p ->
+                g.V().has("name", p.get("x")).out("knows").has("age", P.gt(p.get("y"))).values("name"));
+        final Map<String, Object> params = parameters("marko", 0);
+        cache.put("g", g, gremlin, params, preparer.apply(params), preparer);
+        assertTrue(cache.put("g", g, gremlin, params, preparer.apply(params), preparer));
+
+        assertEquals(Arrays.asList("vadas", "josh"), cache.get("g", g, gremlin, params).get().toList());
+        assertEquals(Collections.singletonList("josh"), cache.get("g", g, gremlin, parameters("marko", 30)).get().toList());
+        assertEquals(Collections.emptyList(), cache.get("g", g, gremlin, parameters("josh", 0)).get().toList());
+
+        // the cached traversal is left as it was
+        assertEquals(Arrays.asList("vadas", "josh"), cache.get("g", g, gremlin, params).get().toList());
+        assertEquals(4, cache.getHitCount());
+    }
+
+    @Test
+    public void shouldBindIdsIntoCachedTraversal() {
+        final PreparedTraversalCache cache = new PreparedTraversalCache(10, Collections.emptyList());
+        final Function<Map<String, Object>, Traversal.Admin<?, ?>> preparer = prepare(p -> g.V(p.get("x")).out().values("name"));
+        final Map<String, Object> params = Collections.singletonMap("x", 1);
+        cache.put("g", g, "g.V(x).out().values('name')", params, preparer.apply(params), preparer);
+        cache.put("g", g, "g.V(x).out().values('name')", params, preparer.apply(params), preparer);
+
+        assertEquals(g.V(4).out().values("name").toList(),
+                cache.get("g", g, "g.V(x).out().values('name')", Collections.singletonMap("x", 4)).get().toList());
+    }
+
+    @Test
+    public void shouldNotBindParameterThatStrategiesCannotKeepAsIs() {
+        final PreparedTraversalCache cache = new PreparedTraversalCache(10, Collections.emptyList());
+        final Function<Map<String, Object>, Traversal.Admin<?, ?>> preparer = prepare(p -> g.V().limit((long) p.get("x")));
+        final Map<String, Object> params = Collections.singletonMap("x", 1L);
+        cache.put("g", g, "g.V().limit(x)", params, preparer.apply(params), preparer);
+        assertTrue(cache.put("g", g, "g.V().limit(x)", params, preparer.apply(params), preparer));
+
+        assertFalse(cache.get("g", g, "g.V().limit(x)", Collections.singletonMap("x", 2L)).isPresent());
+        assertEquals(1, cache.get("g", g, "g.V().limit(x)", params).get().toList().size());
+    }
+
+    @Test
+    public void shouldNotBindParameterOfDifferentType() {
+        final PreparedTraversalCache cache = new PreparedTraversalCache(10, Collections.emptyList());
+        final Function<Map<String, Object>, Traversal.Admin<?, ?>> preparer = prepare(p -> g.V(p.get("x")));
+        final Map<String, Object> params = Collections.singletonMap("x", 1);
+        cache.put("g", g, "g.V(x)", params, preparer.apply(params), preparer);
+        cache.put("g", g, "g.V(x)", params, preparer.apply(params), preparer);
+
+        assertTrue(cache.get("g", g, "g.V(x)", Collections.singletonMap("x", 2)).isPresent());
+        assertFalse(cache.get("g", g, "g.V(x)", Collections.singletonMap("x", 2L)).isPresent());
+        assertFalse(cache.get("g", g, "g.V(x)", Collections.singletonMap("y", 2)).isPresent());
+    }
+
+    @Test
+    public void shouldExecuteCachedTraversalFromManyThreads() throws Exception {
+        final PreparedTraversalCache cache = new PreparedTraversalCache(10, Collections.emptyList());
+        final String gremlin = "g.V().has('age',gt(x)).values('name')";
+        final Function<Map<String, Object>, Traversal.Admin<?, ?>> preparer = prepare(p ->
+                g.V().has("age", P.gt(p.get("x"))).values("name"));
+        final Map<String, Object> params = Collections.singletonMap("x", 0);
+        cache.put("g", g, gremlin, params, preparer.apply(params), preparer);
+        cache.put("g", g, gremlin, params, preparer.apply(params), preparer);
+
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                final int age = i * 5;
+                final Set<Object> expected = g.V().has("age", P.gt(age)).values("name").toSet();
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 500; j++) {
+                        final Traversal.Admin<?, ?> traversal = cache.get("g", g, gremlin,
+                                Collections.singletonMap("x", age)).get();
+                        assertEquals(expected, new HashSet<>(traversal.toList()));
+                        traversal.close();
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * 500, cache.getHitCount());
+    }
+
+    @Test
+    public void shouldMissOnDifferentTraversalSource() {
+        final PreparedTraversalCache cache = new PreparedTraversalCache(10, Collections.emptyList());
+        final Traversal.Admin<?, ?> traversal = g.V().asAdmin();
+        traversal.applyStrategies();
+        cache.put("g", g, "g.V()", null, traversal);
+        cache.put("g", g, "g.V()", null, traversal);
+
+        assertFalse(cache.get("g", graph.traversal(), "g.V()", null).isPresent());
+        assertFalse(cache.get("h", g, "g.V()", null).isPresent());
+        assertTrue(cache.get("g", g, "g.V()", Collections.emptyMap()).isPresent());
+    }
+
+    @Test
+    public void shouldNotCacheTraversalWithExcludedStrategy() {
+        final PreparedTraversalCache cache = new PreparedTraversalCache(10,
+                Collections.singletonList(ReadOnlyStrategy.class.getSimpleName()));
+        final GraphTraversalSource readOnly = g.withStrategies(ReadOnlyStrategy.instance());
+        final Traversal.Admin<?, Vertex> traversal = readOnly.V().asAdmin();
+        traversal.applyStrategies();
+
+        assertFalse(cache.put("g", readOnly, "g.V()", null, traversal));
+        assertFalse(cache.put("g", readOnly, "g.V()", null, traversal));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldOnlyCacheTraversalSeenTwice() {
+        final PreparedTraversalCache cache = new PreparedTraversalCache(10, Collections.emptyList());
+        final Traversal.Admin<?, ?> traversal = g.V(1).asAdmin();
+        traversal.applyStrategies();
+
+        // a stream of distinct gremlin strings never gets into the cache
+        for (int i = 0; i < 100; i++) {
+            assertFalse(cache.put("g", g, "g.V(" + i + ")", null, traversal));
+        }
+        assertEquals(0, cache.size());
+
+        assertTrue(cache.put("g", g, "g.V(99)", null, traversal));
+        assertEquals(1, cache.size());
+        assertTrue(cache.get("g", g, "g.V(99)", null).isPresent());
+    }
+
+    @Test
+    public void shouldEvictWhenFull() {
+        final PreparedTraversalCache cache = new PreparedTraversalCache(2, Collections.emptyList());
+        for (String gremlin : new String[] {"g.V()", "g.E()", "g.V().count()"}) {
+            final Traversal.Admin<?, ?> traversal = g.V().asAdmin();
+            traversal.applyStrategies();
+            cache.put("g", g, gremlin, null, traversal);
+            cache.put("g", g, gremlin, null, traversal);
+        }
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotCacheTraversalWithoutStrategiesApplied() {
+        final PreparedTraversalCache cache = new PreparedTraversalCache(10, Collections.emptyList());
+        cache.put("g", g, "g.V()", null, g.V().asAdmin());
+    }
+
+    private static Map<String, Object> parameters(final String x, final int y) {
+        final Map<String, Object> params = new HashMap<>();
+        params.put("x", x);
+        params.put("y", y);
+        return params;
+    }
+
+    private static Function<Map<String, Object>, Traversal.Admin<?, ?>> prepare(
+            final Function<Map<String, Object>, Traversal<?, ?>> traversal) {
+        return params -> {
+            final Traversal.Admin<?, ?> admin = traversal.apply(params).asAdmin();
+            admin.applyStrategies();
+            return admin;
+        };
+    }
+}
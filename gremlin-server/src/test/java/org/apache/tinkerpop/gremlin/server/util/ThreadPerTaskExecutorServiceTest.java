@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+public class ThreadPerTaskExecutorServiceTest {
+
+    @Test
+    public void shouldRejectTasksBeyondMaxThreads() throws Exception {
+        final ThreadPerTaskExecutorService executor = new ThreadPerTaskExecutorService(Executors.defaultThreadFactory(), 2);
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            final Future<?> first = executor.submit(() -> { release.await(); return null; });
+            final Future<?> second = executor.submit(() -> { release.await(); return null; });
+            assertEquals(2, executor.getActiveCount());
+
+            try {
+                executor.submit(() -> {});
+                fail("Should have rejected the task as all threads are busy");
+            } catch (RejectedExecutionException ree) {
+                assertThat(ree.getMessage(), startsWith("All 2 threads"));
+            }
+
+            release.countDown();
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+
+            // the permits come back after the task finishes so wait for them
+            final long start = System.currentTimeMillis();
+            while (executor.getActiveCount() > 0 && System.currentTimeMillis() - start < 10000) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, executor.submit(() -> 1).get(10, TimeUnit.SECONDS).intValue());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldTerminateWhenRunningTasksComplete() throws Exception {
+        final ThreadPerTaskExecutorService executor = new ThreadPerTaskExecutorService(Executors.defaultThreadFactory(), 4);
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> { release.await(); return null; });
+
+        executor.shutdown();
+        assertTrue(executor.isShutdown());
+        assertFalse(executor.awaitTermination(50, TimeUnit.MILLISECONDS));
+
+        try {
+            executor.submit(() -> {});
+            fail("Should have rejected the task after shutdown");
+        } catch (RejectedExecutionException ree) {
+            assertEquals("Executor has been shutdown", ree.getMessage());
+        }
+
+        release.countDown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(executor.isTerminated());
+    }
+
+    @Test
+    public void shouldInterruptRunningTasksOnShutdownNow() throws Exception {
+        final ThreadPerTaskExecutorService executor = new ThreadPerTaskExecutorService(Executors.defaultThreadFactory(), 4);
+        final CountDownLatch started = new CountDownLatch(1);
+        final Future<?> f = executor.submit(() -> {
+            started.countDown();
+            Thread.sleep(60000);
+            return null;
+        });
+
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertTrue(executor.shutdownNow().isEmpty());
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(f.isDone());
+    }
+
+    @Test
+    public void shouldRunOnVirtualThreads() throws Exception {
+        assumeTrue(ThreadPerTaskExecutorService.isVirtualThreadSupported());
+
+        final ThreadPerTaskExecutorService executor = ThreadPerTaskExecutorService.virtual("test-virtual-", 16);
+        try {
+            final String name = executor.submit(() -> Thread.currentThread().getName()).get(10, TimeUnit.SECONDS);
+            assertThat(name, startsWith("test-virtual-"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldExplainWhenVirtualThreadsAreNotSupported() {
+        assumeTrue(!ThreadPerTaskExecutorService.isVirtualThreadSupported());
+
+        try {
+            ThreadPerTaskExecutorService.virtual("test-virtual-", 16);
+            fail("Should not be able to create virtual threads on this JVM");
+        } catch (IllegalStateException ise) {
+            assertThat(ise.getMessage(), startsWith("Virtual threads require Java 21 or later"));
+        }
+    }
+}
@@ -70,9 +70,14 @@ public abstract class AbstractBenchmarkBase {
             runnerOptions.forks(getForks());
         }
 
+        if (getThreads() > 0) {
+            runnerOptions.threads(getThreads());
+        }
+
         if (getReportDir() != null) {
             final String dtmStr = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date());
-            final String filePath = getReportDir() + className + "-" + dtmStr + ".json";
+            final String threads = getThreads() > 0 ? "-t" + getThreads() : "";
+            final String filePath = getReportDir() + className + threads + "-" + dtmStr + ".json";
             final File file = new File(filePath);
             if (file.exists()) {
                 file.delete();
@@ -100,6 +105,10 @@ public abstract class AbstractBenchmarkBase {
         return getIntProperty("forks", DEFAULT_FORKS);
     }
 
+    protected int getThreads() {
+        return getIntProperty("threads", 0);
+    }
+
     protected String getReportDir() {
         return System.getProperty("benchmarkReportDir", DEFAULT_BENCHMARK_DIRECTORY);
     }
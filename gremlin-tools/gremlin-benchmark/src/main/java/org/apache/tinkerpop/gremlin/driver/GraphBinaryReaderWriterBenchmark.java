@@ -18,9 +18,12 @@
  */
 package org.apache.tinkerpop.gremlin.driver;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.UnpooledByteBufAllocator;
 import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
 import org.apache.tinkerpop.gremlin.process.traversal.GremlinLang;
+import org.apache.tinkerpop.gremlin.util.ser.GraphBinaryMessageSerializerV4;
 import org.apache.tinkerpop.gremlin.util.ser.NettyBufferFactory;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -40,6 +43,11 @@ import java.io.IOException;
 import java.math.BigInteger;
 import java.net.InetAddress;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -50,6 +58,7 @@ public class GraphBinaryReaderWriterBenchmark extends AbstractBenchmarkBase {
     private static GraphBinaryWriter writer = new GraphBinaryWriter();
     private static UnpooledByteBufAllocator allocator = new UnpooledByteBufAllocator(false);
     private static NettyBufferFactory bufferFactory = new NettyBufferFactory();
+    private static GraphBinaryMessageSerializerV4 serializer = new GraphBinaryMessageSerializerV4();
 
     @State(Scope.Thread)
     public static class BenchmarkState {
@@ -102,6 +111,29 @@ public class GraphBinaryReaderWriterBenchmark extends AbstractBenchmarkBase {
         }
     }
 
+    @State(Scope.Thread)
+    public static class ResponseState {
+        public final List<Object> smallResults = new ArrayList<>();
+        public final List<Object> largeResults = new ArrayList<>();
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            // a typical batch of valueMap() style results and a batch carrying documents in string properties
+            for (int i = 0; i < 64; i++) {
+                final Map<String, Object> m = new LinkedHashMap<>();
+                m.put("id", (long) i);
+                m.put("name", "person" + i);
+                m.put("age", i % 90);
+                m.put("uuid", UUID.randomUUID());
+                smallResults.add(m);
+            }
+            final String document = String.join("", Collections.nCopies(256 * 1024, "x"));
+            for (int i = 0; i < 8; i++) {
+                largeResults.add(document);
+            }
+        }
+    }
+
     @Benchmark
     public void writeBytecode1(BenchmarkState state) throws IOException {
         writer.writeValue(state.gremlinLang1, state.bufferWrite, false);
@@ -112,6 +144,42 @@ public class GraphBinaryReaderWriterBenchmark extends AbstractBenchmarkBase {
         writer.writeValue(state.gremlinLang2, state.bufferWrite, false);
     }
 
+    @Benchmark
+    public void writeSmallResponseChunkUnpooled(final ResponseState state) throws IOException {
+        writeUnpooled(state.smallResults);
+    }
+
+    @Benchmark
+    public void writeSmallResponseChunkPooled(final ResponseState state) throws Exception {
+        serializer.writeChunk(state.smallResults, PooledByteBufAllocator.DEFAULT).release();
+    }
+
+    @Benchmark
+    public void writeLargeResponseChunkUnpooled(final ResponseState state) throws IOException {
+        writeUnpooled(state.largeResults);
+    }
+
+    @Benchmark
+    public void writeLargeResponseChunkPooled(final ResponseState state) throws Exception {
+        serializer.writeChunk(state.largeResults, PooledByteBufAllocator.DEFAULT).release();
+    }
+
+    /**
+     * Writes a response chunk the way it was done before buffers were sized from previous chunks, with a default
+     * sized buffer that grows as needed and copies every value into it.
+     */
+    private static void writeUnpooled(final List<Object> results) throws IOException {
+        final ByteBuf byteBuf = allocator.buffer();
+        final Buffer buffer = bufferFactory.create(byteBuf);
+        try {
+            for (Object item : results) {
+                writer.write(item, buffer);
+            }
+        } finally {
+            byteBuf.release();
+        }
+    }
+
     @Benchmark
     public void readBytecode1(BenchmarkState state) throws IOException {
         reader.readValue(state.bytecodeBuffer1, GremlinLang.class, false);
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process;
+
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.TransactionException;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerTransactionGraph;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.junit.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code TinkerTransactionGraphCommitBenchmark} measures commit throughput and the rate of aborted commits of
+ * {@link TinkerTransactionGraph} when concurrent writers contend for a small number of vertices. The benchmark is run
+ * once for each of 1, 2, 4, 8, 16 and 32 writer threads unless the {@code threads} system property selects a single
+ * thread count. The {@code commits} and {@code aborts} secondary results give the abort rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TinkerTransactionGraphCommitBenchmark extends AbstractBenchmarkBase {
+
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32};
+
+    /**
+     * Time in milliseconds that a commit waits for a locked element, zero fails the commit immediately.
+     */
+    @Param({"0", "10"})
+    public long txLockTimeout;
+
+    /**
+     * Number of vertices that all writers add edges to or update.
+     */
+    @Param({"4"})
+    public int hubs;
+
+    private TinkerTransactionGraph graph;
+    private Object[] hubIds;
+    private int threads;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcome {
+        public long commits;
+        public long aborts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            commits = 0;
+            aborts = 0;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void prepare() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_TX_LOCK_TIMEOUT, txLockTimeout);
+        graph = TinkerTransactionGraph.open(conf);
+
+        hubIds = new Object[hubs];
+        for (int i = 0; i < hubs; i++) {
+            hubIds[i] = graph.addVertex("hub").id();
+        }
+        graph.tx().commit();
+    }
+
+    @TearDown(Level.Iteration)
+    public void close() throws Exception {
+        graph.close();
+    }
+
+    @Benchmark
+    public void addEdgeToHub(final Outcome outcome) {
+        final Vertex hub = graph.vertex(hubIds[ThreadLocalRandom.current().nextInt(hubs)]);
+        graph.addVertex("person").addEdge("knows", hub);
+        commit(outcome);
+    }
+
+    @Benchmark
+    public void updateHubProperty(final Outcome outcome) {
+        final Vertex hub = graph.vertex(hubIds[ThreadLocalRandom.current().nextInt(hubs)]);
+        hub.property("updated", System.nanoTime());
+        commit(outcome);
+    }
+
+    private void commit(final Outcome outcome) {
+        try {
+            graph.tx().commit();
+            outcome.commits++;
+        } catch (TransactionException te) {
+            outcome.aborts++;
+        }
+    }
+
+    @Test
+    @Override
+    public void run() throws Exception {
+        final int threadsProperty = super.getThreads();
+        for (int t : threadsProperty > 0 ? new int[]{threadsProperty} : THREAD_COUNTS) {
+            threads = t;
+            super.run();
+        }
+    }
+
+    @Override
+    protected int getThreads() {
+        return threads;
+    }
+}
@@ -59,6 +59,20 @@ public class GraphBinaryMessageSerializerV4 extends AbstractMessageSerializer<Gr
     private static final NettyBufferFactory bufferFactory = new NettyBufferFactory();
     private static final String MIME_TYPE = SerTokens.MIME_GRAPHBINARY_V4;
 
+    /**
+     * Strings at least this large are added to a response as a component of a composite buffer rather than copied.
+     */
+    static final int WRAP_THRESHOLD = 64 * 1024;
+
+    static final int MIN_CHUNK_CAPACITY = 256;
+    static final int MAX_CHUNK_CAPACITY = 1024 * 1024;
+
+    /**
+     * Initial capacity of buffers that hold result data, which follows the size of recently written chunks so that
+     * buffers taken from the allocator are rarely grown, and therefore copied, while they are written.
+     */
+    private volatile int chunkCapacity = MIN_CHUNK_CAPACITY;
+
     /**
      * Creates a new instance of the message serializer using the default type serializers.
      */
@@ -214,8 +228,10 @@ public class GraphBinaryMessageSerializerV4 extends AbstractMessageSerializer<Gr
 
     private ByteBuf write(final ResponseMessage responseMessage, final Object aggregate,
                           final ByteBufAllocator allocator, final EnumSet<MessageParts> parts) throws SerializationException {
-        final ByteBuf byteBuf = allocator.buffer();
-        final Buffer buffer = bufferFactory.create(byteBuf);
+        final boolean hasData = parts.contains(MessageParts.DATA);
+        final NettyBuffer buffer = hasData
+                ? new NettyBuffer(allocator.buffer(chunkCapacity), WRAP_THRESHOLD)
+                : new NettyBuffer(allocator.buffer());
 
         try {
             if (parts.contains(MessageParts.HEADER)) {
@@ -228,7 +244,7 @@ public class GraphBinaryMessageSerializerV4 extends AbstractMessageSerializer<Gr
                 }
             }
 
-            if (parts.contains(MessageParts.DATA)) {
+            if (hasData) {
                 final Object data = aggregate == null && responseMessage.getResult() != null
                         ? responseMessage.getResult().getData()
                         : aggregate;
@@ -252,9 +268,26 @@ public class GraphBinaryMessageSerializerV4 extends AbstractMessageSerializer<Gr
                 writer.writeValue(status.getException(), buffer, true);
             }
         } catch (IOException e) {
+            buffer.release();
             throw new SerializationException(e);
+        } catch (RuntimeException e) {
+            buffer.release();
+            throw e;
         }
-        return byteBuf;
+
+        if (hasData) updateChunkCapacity(buffer.writerIndex() - buffer.wrappedBytes());
+
+        return buffer.getUnderlyingBuffer();
+    }
+
+    /**
+     * Grows the capacity estimate straight away when a chunk needed more room and lets it decay slowly otherwise so
+     * that a run of similar chunks is written without resizing.
+     */
+    private void updateChunkCapacity(final int copiedBytes) {
+        final int current = chunkCapacity;
+        final int next = copiedBytes >= current ? copiedBytes : current - ((current - copiedBytes) >> 3);
+        chunkCapacity = Math.max(MIN_CHUNK_CAPACITY, Math.min(MAX_CHUNK_CAPACITY, next));
     }
 
     //////////////// read message methods
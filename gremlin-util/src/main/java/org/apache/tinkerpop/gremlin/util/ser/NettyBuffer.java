@@ -19,6 +19,8 @@
 package org.apache.tinkerpop.gremlin.util.ser;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
 import org.apache.tinkerpop.gremlin.structure.io.Buffer;
 
 import java.io.IOException;
@@ -29,18 +31,32 @@ import java.nio.ByteBuffer;
  * Represents a {@link Buffer} backed by Netty's {@link ByteBuf}.
  */
 final class NettyBuffer implements Buffer {
-    private final ByteBuf buffer;
+    private ByteBuf buffer;
+    private final int wrapThreshold;
+    private int wrappedBytes = 0;
 
     /**
      * Creates a new instance.
      * @param buffer The buffer to wrap.
      */
     NettyBuffer(ByteBuf buffer) {
+        this(buffer, 0);
+    }
+
+    /**
+     * Creates a new instance that turns {@link #writeBytesNoCopy(byte[])} calls of at least {@code wrapThreshold}
+     * bytes into components of a {@link CompositeByteBuf} rather than copying them, in which case the underlying
+     * buffer is replaced by that composite.
+     * @param buffer The buffer to wrap.
+     * @param wrapThreshold The minimum size of an array to add as a component or zero to always copy.
+     */
+    NettyBuffer(ByteBuf buffer, final int wrapThreshold) {
         if (buffer == null) {
             throw new IllegalArgumentException("buffer can't be null");
         }
 
         this.buffer = buffer;
+        this.wrapThreshold = wrapThreshold;
     }
 
     @Override
@@ -211,6 +227,29 @@ final class NettyBuffer implements Buffer {
         return this;
     }
 
+    @Override
+    public Buffer writeBytesNoCopy(final byte[] src) {
+        // only buffers written from the start can be turned into a composite without shifting the indices
+        if (wrapThreshold <= 0 || src.length < wrapThreshold || this.buffer.readerIndex() != 0) {
+            return writeBytes(src);
+        }
+
+        final CompositeByteBuf composite;
+        if (this.buffer instanceof CompositeByteBuf) {
+            // components are appended after the capacity so drop any space that was allocated but not written
+            composite = (CompositeByteBuf) this.buffer;
+            composite.capacity(composite.writerIndex());
+        } else {
+            composite = this.buffer.alloc().compositeBuffer(Integer.MAX_VALUE);
+            composite.addComponent(true, this.buffer);
+            this.buffer = composite;
+        }
+
+        composite.addComponent(true, Unpooled.wrappedBuffer(src));
+        wrappedBytes += src.length;
+        return this;
+    }
+
     @Override
     public boolean release() {
         return this.buffer.release();
@@ -259,7 +298,16 @@ final class NettyBuffer implements Buffer {
     }
 
     /**
-     * Returns the underlying buffer.
+     * Returns the number of bytes that were added by reference through {@link #writeBytesNoCopy(byte[])} rather than
+     * copied into the buffer.
+     */
+    int wrappedBytes() {
+        return this.wrappedBytes;
+    }
+
+    /**
+     * Returns the underlying buffer, which may have been replaced by a {@link CompositeByteBuf} if arrays were added
+     * through {@link #writeBytesNoCopy(byte[])}.
      */
     public ByteBuf getUnderlyingBuffer() {
         return this.buffer;
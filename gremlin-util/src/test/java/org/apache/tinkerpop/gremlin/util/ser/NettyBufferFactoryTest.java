@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.util.ser;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.UnpooledByteBufAllocator;
 import io.netty.util.ReferenceCounted;
 import org.apache.tinkerpop.gremlin.structure.io.Buffer;
@@ -30,9 +31,12 @@ import org.junit.Test;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -170,6 +174,57 @@ public class NettyBufferFactoryTest {
         assertEquals(1, wrapperBuffer.referenceCount());
     }
 
+    @Test
+    public void writeBytesNoCopyShouldAddLargeArraysAsComponents() {
+        final NettyBuffer wrapperBuffer = new NettyBuffer(allocator.buffer(16), 32);
+        final byte[] small = new byte[31];
+        final byte[] large1 = new byte[100];
+        final byte[] large2 = new byte[200];
+        Arrays.fill(small, (byte) 1);
+        Arrays.fill(large1, (byte) 2);
+        Arrays.fill(large2, (byte) 3);
+
+        wrapperBuffer.writeInt(1).writeBytesNoCopy(small);
+        assertFalse(wrapperBuffer.getUnderlyingBuffer() instanceof CompositeByteBuf);
+
+        wrapperBuffer.writeBytesNoCopy(large1).writeInt(2).writeBytesNoCopy(large2).writeLong(3L);
+        assertTrue(wrapperBuffer.getUnderlyingBuffer() instanceof CompositeByteBuf);
+        assertEquals(300, wrapperBuffer.wrappedBytes());
+        assertEquals(4 + 31 + 100 + 4 + 200 + 8, wrapperBuffer.writerIndex());
+        assertEquals(wrapperBuffer.writerIndex(), wrapperBuffer.readableBytes());
+
+        final byte[] read1 = new byte[31];
+        final byte[] read2 = new byte[100];
+        final byte[] read3 = new byte[200];
+        assertEquals(1, wrapperBuffer.readInt());
+        wrapperBuffer.readBytes(read1);
+        wrapperBuffer.readBytes(read2);
+        assertEquals(2, wrapperBuffer.readInt());
+        wrapperBuffer.readBytes(read3);
+        assertEquals(3L, wrapperBuffer.readLong());
+        assertArrayEquals(small, read1);
+        assertArrayEquals(large1, read2);
+        assertArrayEquals(large2, read3);
+        assertEquals(0, wrapperBuffer.readableBytes());
+
+        assertTrue(wrapperBuffer.release());
+    }
+
+    @Test
+    public void writeBytesNoCopyShouldCopyWithoutThreshold() {
+        final NettyBuffer wrapperBuffer = new NettyBuffer(allocator.buffer(16));
+        final byte[] large = new byte[1000];
+        large[999] = 9;
+
+        wrapperBuffer.writeBytesNoCopy(large);
+        large[999] = 0;
+
+        assertFalse(wrapperBuffer.getUnderlyingBuffer() instanceof CompositeByteBuf);
+        assertEquals(0, wrapperBuffer.wrappedBytes());
+        assertEquals(9, wrapperBuffer.getUnderlyingBuffer().getByte(999));
+        assertTrue(wrapperBuffer.release());
+    }
+
     /** An incomplete implementation that allows testing */
     class FakeBuffer implements Buffer {
         private final ByteBuf buffer = getRaw();
@@ -18,8 +18,11 @@
  */
 package org.apache.tinkerpop.gremlin.util.ser.binary;
 
+import io.netty.buffer.AbstractByteBufAllocator;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import org.apache.tinkerpop.gremlin.structure.io.binary.TypeSerializerRegistry;
 import org.apache.tinkerpop.gremlin.util.message.ResponseMessage;
@@ -29,6 +32,7 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +40,11 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 
 public class GraphBinaryMessageSerializerV4Test {
 
@@ -181,6 +190,87 @@ public class GraphBinaryMessageSerializerV4Test {
         assertEquals(combinedData, deserialized.getResult().getData());
     }
 
+    @Test
+    public void shouldSerializeAndDeserializeLargeStringsWithoutCopying() throws SerializationException {
+        final String large = String.join("", Collections.nCopies(100_000, "x"));
+        final List data = Arrays.asList(1, large, "small", large, 2);
+        final ByteBuf buffer = serializer.writeChunk(data, allocator);
+        try {
+            assertTrue(buffer instanceof CompositeByteBuf);
+            assertEquals(data, serializer.readChunk(buffer, false).getResult().getData());
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    public void shouldNotUseCompositeBufferForSmallResults() throws SerializationException {
+        final List data = Arrays.asList(1, "small", 2);
+        final ByteBuf buffer = serializer.writeChunk(data, allocator);
+        try {
+            assertFalse(buffer instanceof CompositeByteBuf);
+            assertEquals(data, serializer.readChunk(buffer, false).getResult().getData());
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    public void shouldSizeBuffersFromPreviousChunks() throws SerializationException {
+        final List<Integer> data = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            data.add(i);
+        }
+
+        final ByteBuf first = serializer.writeChunk(data, allocator);
+        final int size = first.readableBytes();
+        first.release();
+
+        // the next chunk starts out large enough to take the same amount of data without growing
+        final ByteBuf second = serializer.writeChunk(data, allocator);
+        try {
+            assertThat(second.capacity(), greaterThanOrEqualTo(size));
+            assertEquals(data, serializer.readChunk(second, false).getResult().getData());
+        } finally {
+            second.release();
+        }
+    }
+
+    @Test
+    public void shouldReleaseBufferWhenSerializationFails() {
+        final List<ByteBuf> allocated = new ArrayList<>();
+        final ByteBufAllocator tracking = new AbstractByteBufAllocator() {
+            @Override
+            protected ByteBuf newHeapBuffer(final int initialCapacity, final int maxCapacity) {
+                final ByteBuf buffer = Unpooled.buffer(initialCapacity, maxCapacity);
+                allocated.add(buffer);
+                return buffer;
+            }
+
+            @Override
+            protected ByteBuf newDirectBuffer(final int initialCapacity, final int maxCapacity) {
+                final ByteBuf buffer = Unpooled.directBuffer(initialCapacity, maxCapacity);
+                allocated.add(buffer);
+                return buffer;
+            }
+
+            @Override
+            public boolean isDirectBufferPooled() {
+                return false;
+            }
+        };
+
+        try {
+            serializer.writeChunk(Arrays.asList(1, new Object()), tracking);
+            fail("Should have failed to serialize an unregistered type");
+        } catch (SerializationException ignored) {
+            // expected
+        }
+
+        assertEquals(1, allocated.size());
+        assertEquals(0, allocated.get(0).refCnt());
+    }
+
     @Test
     public void shouldSupportConfigurationOfRegistryBuilder() {
         final Map<String, Object> config = new HashMap<>();
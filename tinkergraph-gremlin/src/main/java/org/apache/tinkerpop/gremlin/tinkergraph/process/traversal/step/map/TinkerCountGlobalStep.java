@@ -30,8 +30,13 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerIndexHelper;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -39,11 +44,25 @@ import java.util.NoSuchElementException;
 public final class TinkerCountGlobalStep<S extends Element> extends AbstractStep<S, Long> {
 
     private final Class<S> elementClass;
+    private final Set<String> labels;
     private boolean done = false;
 
     public TinkerCountGlobalStep(final Traversal.Admin traversal, final Class<S> elementClass) {
+        this(traversal, elementClass, null);
+    }
+
+    /**
+     * Creates a step that counts the elements with any of the specified labels or all elements if the labels are
+     * {@code null}.
+     */
+    public TinkerCountGlobalStep(final Traversal.Admin traversal, final Class<S> elementClass, final Set<String> labels) {
         super(traversal);
         this.elementClass = elementClass;
+        this.labels = labels;
+    }
+
+    public Set<String> getLabelsToCount() {
+        return labels;
     }
 
     @Override
@@ -51,22 +70,42 @@ public final class TinkerCountGlobalStep<S extends Element> extends AbstractStep
         if (!this.done) {
             this.done = true;
             final AbstractTinkerGraph graph = (AbstractTinkerGraph) this.getTraversal().getGraph().get();
-            return this.getTraversal().getTraverserGenerator().generate(Vertex.class.isAssignableFrom(this.elementClass) ?
-                            (long) graph.getVerticesCount() :
-                            (long) graph.getEdgesCount(),
+            return this.getTraversal().getTraverserGenerator().generate(null == this.labels ?
+                            Vertex.class.isAssignableFrom(this.elementClass) ?
+                                    (long) graph.getVerticesCount() :
+                                    (long) graph.getEdgesCount() :
+                            countLabels(graph),
                     (Step) this, 1L);
         } else
             throw FastNoSuchElementException.instance();
     }
 
+    private long countLabels(final AbstractTinkerGraph graph) {
+        final boolean vertex = Vertex.class.isAssignableFrom(this.elementClass);
+        if (!graph.isLabelIndexEnabled()) {
+            final Iterator<? extends Element> elements = vertex ? graph.vertices() : graph.edges();
+            return IteratorUtils.count(IteratorUtils.filter(elements, e -> this.labels.contains(e.label())));
+        }
+
+        long count = 0;
+        for (final String label : this.labels) {
+            count += vertex ?
+                    TinkerIndexHelper.countVertexLabelIndex(graph, label) :
+                    TinkerIndexHelper.countEdgeLabelIndex(graph, label);
+        }
+        return count;
+    }
+
     @Override
     public String toString() {
-        return StringFactory.stepString(this, this.elementClass.getSimpleName().toLowerCase());
+        return null == this.labels ?
+                StringFactory.stepString(this, this.elementClass.getSimpleName().toLowerCase()) :
+                StringFactory.stepString(this, this.elementClass.getSimpleName().toLowerCase(), this.labels);
     }
 
     @Override
     public int hashCode() {
-        return super.hashCode() ^ this.elementClass.hashCode();
+        return super.hashCode() ^ this.elementClass.hashCode() ^ Objects.hashCode(this.labels);
     }
 
     @Override
@@ -19,8 +19,10 @@
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
 import org.apache.tinkerpop.gremlin.process.traversal.GremlinTypeErrorException;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.step.GValue;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
@@ -28,20 +30,31 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerIndex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerEdge;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraphIterator;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerIndexHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerIndexType;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -50,11 +63,22 @@ import java.util.stream.Collectors;
  */
 public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E> implements HasContainerHolder, AutoCloseable {
 
-    private final List<HasContainer> hasContainers = new ArrayList<>();
+    private static final String LABEL_KEY = T.label.getAccessor();
+
+    private List<HasContainer> hasContainers = new ArrayList<>();
     /**
      * List of iterators opened by this step.
      */
-    private final List<Iterator> iterators = new ArrayList<>();
+    private List<Iterator> iterators = new ArrayList<>();
+
+    /**
+     * When set, the property key by which the results of this step are ordered by a following
+     * {@code order().by(key).limit(n)} which allows a {@link TinkerIndexType#RANGE} index on that key to be walked in
+     * order rather than scanning all elements.
+     */
+    private String orderKey = null;
+    private boolean orderDescending = false;
+    private long orderLimit = -1;
 
     public TinkerGraphStep(final GraphStep<S, E> originalGraphStep) {
         super(originalGraphStep.getTraversal(), originalGraphStep.getReturnClass(), originalGraphStep.isStartStep(), originalGraphStep.getIds());
@@ -64,12 +88,17 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
         // but that allowed the filter in g.V(v).has('k','v') to be ignored.  this created problems for
         // PartitionStrategy which wants to prevent someone from passing "v" from one TraversalSource to
         // another TraversalSource using a different partition
-        this.setIteratorSupplier(() -> (Iterator<E>) (Vertex.class.isAssignableFrom(this.returnClass) ? this.vertices() : this.edges()));
+        this.setIteratorSupplier(createIteratorSupplier());
+    }
+
+    private Supplier<Iterator<E>> createIteratorSupplier() {
+        return () -> (Iterator<E>) (Vertex.class.isAssignableFrom(this.returnClass) ? this.vertices() : this.edges());
     }
 
     private Iterator<? extends Edge> edges() {
         final AbstractTinkerGraph graph = (AbstractTinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Edge.class);
+        final Map<String, Object> equalities = getEqualities();
+        final List<String> indexKeys = getIndexKeys(graph, Edge.class, equalities);
         Iterator<Edge> iterator;
         final Object[] resolvedIds = this.getIdsAsValues();
         // ids are present, filter on them first
@@ -77,12 +106,25 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
             iterator = Collections.emptyIterator();
         else if (resolvedIds.length > 0)
             iterator = this.iteratorList(graph.edges(resolvedIds));
-        else
-            iterator = null == indexedContainer ?
-                    this.iteratorList(graph.edges()) :
-                    TinkerIndexHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
+        else if (null != indexKeys)
+            iterator = queryEdgeIndex(graph, indexKeys, equalities).stream()
                                 .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
                                 .collect(Collectors.<Edge>toList()).iterator();
+        else if (isOrderedIndex(graph, Edge.class))
+            iterator = new TinkerGraphIterator<>(TinkerIndexHelper.queryEdgeIndexOrdered(graph, orderKey,
+                    getRange(orderKey), orderDescending, this::test, orderLimit).stream()
+                    .collect(Collectors.<Edge>toList()).iterator());
+        else {
+            final String rangeKey = getRangeIndexKey(graph, Edge.class);
+            final Collection<String> labels = null == rangeKey ? getLabels(graph) : null;
+            if (null != rangeKey)
+                iterator = this.<Edge>iteratorList(TinkerIndexHelper.queryEdgeIndex(graph, rangeKey, getRange(rangeKey)).iterator());
+            else if (null != labels)
+                iterator = this.<Edge>iteratorList(IteratorUtils.flatMap(labels.iterator(),
+                        label -> TinkerIndexHelper.queryEdgeLabelIndex(graph, label).iterator()));
+            else
+                iterator = this.iteratorList(graph.edges());
+        }
 
 
         iterators.add(iterator);
@@ -92,7 +134,8 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
 
     private Iterator<? extends Vertex> vertices() {
         final AbstractTinkerGraph graph = (AbstractTinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Vertex.class);
+        final Map<String, Object> equalities = getEqualities();
+        final List<String> indexKeys = getIndexKeys(graph, Vertex.class, equalities);
         Iterator<? extends Vertex> iterator;
         final Object[] resolvedIds = this.getIdsAsValues();
         // ids are present, filter on them first
@@ -100,24 +143,185 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
             iterator = Collections.emptyIterator();
         else if (resolvedIds.length > 0)
             iterator = this.iteratorList(graph.vertices(resolvedIds));
-        else
-            iterator = (null == indexedContainer ?
-                    this.iteratorList(graph.vertices()) :
-                    IteratorUtils.filter(TinkerIndexHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).iterator(),
-                                         vertex -> HasContainer.testAll(vertex, this.hasContainers)));
+        else if (null != indexKeys)
+            iterator = IteratorUtils.filter(queryVertexIndex(graph, indexKeys, equalities).iterator(),
+                                         vertex -> HasContainer.testAll(vertex, this.hasContainers));
+        else if (isOrderedIndex(graph, Vertex.class))
+            iterator = new TinkerGraphIterator<>(TinkerIndexHelper.queryVertexIndexOrdered(graph, orderKey,
+                    getRange(orderKey), orderDescending, this::test, orderLimit).iterator());
+        else {
+            final String rangeKey = getRangeIndexKey(graph, Vertex.class);
+            final Collection<String> labels = null == rangeKey ? getLabels(graph) : null;
+            if (null != rangeKey)
+                iterator = this.iteratorList(TinkerIndexHelper.queryVertexIndex(graph, rangeKey, getRange(rangeKey)).iterator());
+            else if (null != labels)
+                iterator = this.<Vertex>iteratorList(IteratorUtils.flatMap(labels.iterator(),
+                        label -> TinkerIndexHelper.queryVertexLabelIndex(graph, label).iterator()));
+            else
+                iterator = this.iteratorList(graph.vertices());
+        }
 
         iterators.add(iterator);
 
         return iterator;
     }
 
-    private HasContainer getIndexKey(final Class<? extends Element> indexedClass) {
-        final Set<String> indexedKeys = ((AbstractTinkerGraph) this.getTraversal().getGraph().get()).getIndexedKeys(indexedClass);
+    /**
+     * Gets the value of the first equality predicate for each key.
+     */
+    private Map<String, Object> getEqualities() {
+        final Map<String, Object> equalities = new LinkedHashMap<>();
+        for (final HasContainer hasContainer : hasContainers) {
+            if (hasContainer.getPredicate().getBiPredicate() == Compare.eq && !equalities.containsKey(hasContainer.getKey()))
+                equalities.put(hasContainer.getKey(), GValue.valueOf(hasContainer.getPredicate().getValue()));
+        }
+        return equalities;
+    }
+
+    /**
+     * Gets the keys of the index that can answer the equality predicates of this step. When more than one index
+     * applies, the one holding the fewest elements for the values being looked up is chosen. A single key refers to
+     * a property index and more than one to a composite index.
+     */
+    private List<String> getIndexKeys(final AbstractTinkerGraph graph, final Class<? extends Element> indexedClass,
+                                      final Map<String, Object> equalities) {
+        if (equalities.isEmpty())
+            return null;
+
+        final List<List<String>> candidates = new ArrayList<>();
+        for (final String key : equalities.keySet()) {
+            if (graph.getIndexedKeys(indexedClass).contains(key))
+                candidates.add(Collections.singletonList(key));
+        }
+        for (final List<String> keys : graph.getCompositeIndexedKeys(indexedClass)) {
+            if (equalities.keySet().containsAll(keys))
+                candidates.add(keys);
+        }
+        if (equalities.containsKey(LABEL_KEY) && isLabelIndex(graph, indexedClass, Collections.singletonList(LABEL_KEY)))
+            candidates.add(Collections.singletonList(LABEL_KEY));
+
+        if (candidates.size() <= 1)
+            return candidates.isEmpty() ? null : candidates.get(0);
+
+        final boolean vertex = Vertex.class.isAssignableFrom(indexedClass);
+        return candidates.stream().min(Comparator.comparingLong(keys -> {
+            if (isLabelIndex(graph, indexedClass, keys))
+                return vertex ?
+                        TinkerIndexHelper.countVertexLabelIndex(graph, String.valueOf(equalities.get(LABEL_KEY))) :
+                        TinkerIndexHelper.countEdgeLabelIndex(graph, String.valueOf(equalities.get(LABEL_KEY)));
+            else if (keys.size() == 1)
+                return vertex ?
+                        TinkerIndexHelper.countVertexIndex(graph, keys.get(0), equalities.get(keys.get(0))) :
+                        TinkerIndexHelper.countEdgeIndex(graph, keys.get(0), equalities.get(keys.get(0)));
+            else
+                return vertex ?
+                        TinkerIndexHelper.countVertexCompositeIndex(graph, keys, getValues(keys, equalities)) :
+                        TinkerIndexHelper.countEdgeCompositeIndex(graph, keys, getValues(keys, equalities));
+        })).get();
+    }
+
+    /**
+     * Determines if the keys refer to the label index rather than to a property index on the label.
+     */
+    private static boolean isLabelIndex(final AbstractTinkerGraph graph, final Class<? extends Element> indexedClass,
+                                        final List<String> keys) {
+        return keys.size() == 1 && LABEL_KEY.equals(keys.get(0)) && graph.isLabelIndexEnabled() &&
+                !graph.getIndexedKeys(indexedClass).contains(LABEL_KEY);
+    }
+
+    /**
+     * Gets the labels of the first {@code hasLabel()} with more than one label if the graph has a label index.
+     */
+    private Collection<String> getLabels(final AbstractTinkerGraph graph) {
+        if (!graph.isLabelIndexEnabled())
+            return null;
+
+        for (final HasContainer hasContainer : hasContainers) {
+            final Object value = hasContainer.getPredicate().getValue();
+            if (LABEL_KEY.equals(hasContainer.getKey()) && hasContainer.getBiPredicate() == Contains.within &&
+                    value instanceof Collection) {
+                final Set<String> labels = new LinkedHashSet<>();
+                for (final Object label : (Collection<?>) value) {
+                    labels.add(String.valueOf(GValue.valueOf(label)));
+                }
+                return labels;
+            }
+        }
+        return null;
+    }
+
+    private static List<TinkerVertex> queryVertexIndex(final AbstractTinkerGraph graph, final List<String> keys,
+                                                       final Map<String, Object> equalities) {
+        if (isLabelIndex(graph, Vertex.class, keys))
+            return TinkerIndexHelper.queryVertexLabelIndex(graph, String.valueOf(equalities.get(LABEL_KEY)));
+        return keys.size() == 1 ?
+                TinkerIndexHelper.queryVertexIndex(graph, keys.get(0), equalities.get(keys.get(0))) :
+                TinkerIndexHelper.queryVertexCompositeIndex(graph, keys, getValues(keys, equalities));
+    }
 
-        final Iterator<HasContainer> itty = IteratorUtils.filter(hasContainers.iterator(),
-                c -> c.getPredicate().getBiPredicate() == Compare.eq && indexedKeys.contains(c.getKey()));
-        return itty.hasNext() ? itty.next() : null;
+    private static List<TinkerEdge> queryEdgeIndex(final AbstractTinkerGraph graph, final List<String> keys,
+                                                   final Map<String, Object> equalities) {
+        if (isLabelIndex(graph, Edge.class, keys))
+            return TinkerIndexHelper.queryEdgeLabelIndex(graph, String.valueOf(equalities.get(LABEL_KEY)));
+        return keys.size() == 1 ?
+                TinkerIndexHelper.queryEdgeIndex(graph, keys.get(0), equalities.get(keys.get(0))) :
+                TinkerIndexHelper.queryEdgeCompositeIndex(graph, keys, getValues(keys, equalities));
+    }
+
+    private static List<Object> getValues(final List<String> keys, final Map<String, Object> equalities) {
+        return keys.stream().map(equalities::get).collect(Collectors.toList());
+    }
+
+    private boolean isOrderedIndex(final AbstractTinkerGraph graph, final Class<? extends Element> indexedClass) {
+        return null != orderKey && graph.getIndexType(orderKey, indexedClass) == TinkerIndexType.RANGE;
+    }
+
+    /**
+     * Gets the first key with a {@link TinkerIndexType#RANGE} index that has a predicate that can be answered by it.
+     */
+    private String getRangeIndexKey(final AbstractTinkerGraph graph, final Class<? extends Element> indexedClass) {
+        for (final HasContainer hasContainer : hasContainers) {
+            if (graph.getIndexType(hasContainer.getKey(), indexedClass) == TinkerIndexType.RANGE &&
+                    AbstractTinkerIndex.ValueRange.isRangePredicate(hasContainer.getPredicate()))
+                return hasContainer.getKey();
+        }
+        return null;
+    }
 
+    /**
+     * Gets the tightest range of values for the key formed by all of the predicates on that key.
+     */
+    private AbstractTinkerIndex.ValueRange getRange(final String key) {
+        AbstractTinkerIndex.ValueRange range = AbstractTinkerIndex.ValueRange.all();
+        for (final HasContainer hasContainer : hasContainers) {
+            if (key.equals(hasContainer.getKey()))
+                range = range.restrict(hasContainer.getPredicate());
+        }
+        return range;
+    }
+
+    /**
+     * Sets the property key and limit of an {@code order().by(key).limit(n)} that directly follows this step. The
+     * hint is only used if the key has a {@link TinkerIndexType#RANGE} index in which case this step returns at
+     * least the first {@code limit} elements in that order. The ordering and limit must still be applied by the
+     * steps that follow.
+     */
+    public void setOrderedLimit(final String key, final boolean descending, final long limit) {
+        this.orderKey = key;
+        this.orderDescending = descending;
+        this.orderLimit = limit;
+    }
+
+    public String getOrderKey() {
+        return orderKey;
+    }
+
+    public boolean isOrderDescending() {
+        return orderDescending;
+    }
+
+    public long getOrderLimit() {
+        return orderLimit;
     }
 
     @Override
@@ -130,27 +334,14 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
                     StringFactory.stepString(this, this.returnClass.getSimpleName().toLowerCase(), Arrays.toString(this.ids), this.hasContainers);
     }
 
-    private <E extends Element> Iterator<E> iteratorList(final Iterator<E> iterator) {
+    private <E extends Element> Iterator<E> iteratorList(final Iterator<? extends E> iterator) {
         final List<E> list = new ArrayList<>();
 
         try {
             while (iterator.hasNext()) {
                 final E e = iterator.next();
-                try {
-                    if (HasContainer.testAll(e, this.hasContainers))
-                        list.add(e);
-                } catch (GremlinTypeErrorException ex) {
-                    if (getTraversal().isRoot() || !(getTraversal().getParent() instanceof FilterStep)) {
-                        /*
-                         * Either we are at the top level of the query, or our parent query is not a FilterStep and thus
-                         * cannot handle a GremlinTypeErrorException. In any of these cases we do a binary reduction
-                         * from ERROR -> FALSE and filter the solution quietly.
-                         */
-                    } else {
-                        // not a ternary -> binary reducer, pass the ERROR on
-                        throw ex;
-                    }
-                }
+                if (test(e))
+                    list.add(e);
             }
         } finally {
             // close the old iterator to release resources since we are returning a new iterator (over list)
@@ -161,6 +352,24 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
         return new TinkerGraphIterator<>(list.iterator());
     }
 
+    private boolean test(final Element e) {
+        try {
+            return HasContainer.testAll(e, this.hasContainers);
+        } catch (GremlinTypeErrorException ex) {
+            if (getTraversal().isRoot() || !(getTraversal().getParent() instanceof FilterStep)) {
+                /*
+                 * Either we are at the top level of the query, or our parent query is not a FilterStep and thus
+                 * cannot handle a GremlinTypeErrorException. In any of these cases we do a binary reduction
+                 * from ERROR -> FALSE and filter the solution quietly.
+                 */
+                return false;
+            } else {
+                // not a ternary -> binary reducer, pass the ERROR on
+                throw ex;
+            }
+        }
+    }
+
     @Override
     public List<HasContainer> getHasContainers() {
         return Collections.unmodifiableList(this.hasContainers);
@@ -181,8 +390,21 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
         return super.hashCode() ^ this.hasContainers.hashCode();
     }
 
+    @Override
+    public TinkerGraphStep<S, E> clone() {
+        final TinkerGraphStep<S, E> clone = (TinkerGraphStep<S, E>) super.clone();
+        clone.hasContainers = new ArrayList<>();
+        for (final HasContainer hasContainer : this.hasContainers) {
+            clone.hasContainers.add(hasContainer.clone());
+        }
+        clone.iterators = new ArrayList<>();
+        clone.setIteratorSupplier(clone.createIteratorSupplier());
+        return clone;
+    }
+
     @Override
     public void close() {
         iterators.forEach(CloseableIterator::closeIterator);
+        iterators.clear();
     }
 }
@@ -19,22 +19,30 @@
 
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.GValue;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.AggregateGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerCountGlobalStep;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -47,6 +55,8 @@ import java.util.Set;
  * g.V().count()               // is replaced by TinkerCountGlobalStep
  * g.V().map(out()).count()    // is replaced by TinkerCountGlobalStep
  * g.E().label().count()       // is replaced by TinkerCountGlobalStep
+ * g.V().hasLabel('person').count()           // is replaced by TinkerCountGlobalStep
+ * g.V().hasLabel('person','software').count() // is replaced by TinkerCountGlobalStep
  * </pre>
  */
 public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
@@ -67,8 +77,18 @@ public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<Tr
                 !(steps.get(steps.size() - 1) instanceof CountGlobalStep))
             return;
 
+        Set<String> labels = null;
         for (int i = 1; i < steps.size() - 1; i++) {
             final Step current = steps.get(i);
+
+            // hasLabel() can be answered by the count of elements with the label
+            if (current instanceof HasStep) {
+                labels = getLabels((HasStep<?>) current, labels);
+                if (null == labels)
+                    return;
+                continue;
+            }
+
             // used to include "current instanceof MapStep" but they will not necessarily emit an element as
             // demonstrated in https://issues.apache.org/jira/browse/TINKERPOP-1958
             //
@@ -82,7 +102,39 @@ public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<Tr
         }
         final Class<? extends Element> elementClass = ((GraphStep<?, ?>) steps.get(0)).getReturnClass();
         TraversalHelper.removeAllSteps(traversal);
-        traversal.addStep(new TinkerCountGlobalStep<>(traversal, elementClass));
+        traversal.addStep(new TinkerCountGlobalStep<>(traversal, elementClass, labels));
+    }
+
+    /**
+     * Gets the labels an element must have to satisfy all of the {@link HasContainer} objects of the step, narrowing
+     * any labels already required, or {@code null} if a container does not filter on labels alone.
+     */
+    private static Set<String> getLabels(final HasStep<?> step, final Set<String> required) {
+        Set<String> labels = required;
+        for (final HasContainer hasContainer : step.getHasContainers()) {
+            if (!T.label.getAccessor().equals(hasContainer.getKey()))
+                return null;
+
+            final Object value = GValue.valueOf(hasContainer.getPredicate().getValue());
+            final Set<String> allowed = new LinkedHashSet<>();
+            if (hasContainer.getBiPredicate() == Compare.eq && value instanceof String)
+                allowed.add((String) value);
+            else if (hasContainer.getBiPredicate() == Contains.within && value instanceof Collection) {
+                for (final Object v : (Collection<?>) value) {
+                    final Object label = GValue.valueOf(v);
+                    if (!(label instanceof String))
+                        return null;
+                    allowed.add((String) label);
+                }
+            } else
+                return null;
+
+            if (null == labels)
+                labels = allowed;
+            else
+                labels.retainAll(allowed);
+        }
+        return labels;
     }
 
     @Override
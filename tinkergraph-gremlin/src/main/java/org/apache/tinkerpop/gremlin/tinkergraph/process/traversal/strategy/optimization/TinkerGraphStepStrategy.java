@@ -18,17 +18,25 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.ValueTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect.TinkerGraphStep;
+import org.javatuples.Pair;
+
+import java.util.Comparator;
+import java.util.List;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -60,6 +68,18 @@ public final class TinkerGraphStepStrategy extends AbstractTraversalStrategy<Tra
                 }
                 currentStep = currentStep.getNextStep();
             }
+
+            // an order().by(key).limit(n) directly after the step can be answered by walking a range index in order
+            if (currentStep instanceof OrderGlobalStep && currentStep.getNextStep() instanceof RangeGlobalStep) {
+                final List<Pair<Traversal.Admin, Comparator>> comparators = ((OrderGlobalStep) currentStep).getComparators();
+                final long high = ((RangeGlobalStep) currentStep.getNextStep()).getHighRange();
+                if (comparators.size() == 1 && high != -1 && comparators.get(0).getValue0() instanceof ValueTraversal) {
+                    final ValueTraversal<?, ?> valueTraversal = (ValueTraversal<?, ?>) comparators.get(0).getValue0();
+                    final Comparator comparator = comparators.get(0).getValue1();
+                    if (null == valueTraversal.getBypassTraversal() && (comparator == Order.asc || comparator == Order.desc))
+                        tinkerGraphStep.setOrderedLimit(valueTraversal.getPropertyKey(), comparator == Order.desc, high);
+                }
+            }
         }
     }
 
@@ -0,0 +1,311 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.services;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.MutablePath;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.service.Service;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.AbstractTinkerGraph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.apache.tinkerpop.gremlin.util.CollectionUtil.asMap;
+
+/**
+ * Finds a shortest path from the incoming vertex to a target vertex without the need for a
+ * {@code GraphComputer}. Paths are counted in hops with a bidirectional breadth-first search that visits each vertex
+ * at most once from either end, or, when a weight property is given, by total edge weight with Dijkstra's algorithm.
+ * Demonstrates a {@link Service.Type#Streaming} service.
+ */
+public class TinkerShortestPathFactory extends TinkerServiceRegistry.TinkerServiceFactory<Vertex, Path> implements Service<Vertex, Path> {
+
+    public static final String NAME = "tinker.shortest.path";
+
+    public interface Params {
+        /**
+         * Specify the target vertex or its id
+         */
+        String TARGET = "target";
+        /**
+         * Specify the direction of the edges to traverse (optional), default is Direction.BOTH
+         */
+        String DIRECTION = "direction";
+        /**
+         * Specify the edge label or list of edge labels to traverse (optional), default is all labels
+         */
+        String EDGE_LABELS = "edgeLabels";
+        /**
+         * Specify the numeric edge property to use as the edge weight (optional)
+         */
+        String WEIGHT = "weight";
+        /**
+         * Specify the maximum number of hops, or the maximum total weight if a weight is specified (optional)
+         */
+        String MAX_DISTANCE = "maxDistance";
+        /**
+         * Specify whether to include edges in the path (optional), default is false
+         */
+        String INCLUDE_EDGES = "includeEdges";
+
+        Map DESCRIBE = asMap(
+                TARGET, "Specify the target vertex or its id",
+                DIRECTION, "Specify the direction of the edges to traverse (optional), default is Direction.BOTH",
+                EDGE_LABELS, "Specify the edge label or list of edge labels to traverse (optional), default is all labels",
+                WEIGHT, "Specify the numeric edge property to use as the edge weight (optional), edges without it are not traversed",
+                MAX_DISTANCE, "Specify the maximum number of hops, or the maximum total weight if a weight is specified (optional)",
+                INCLUDE_EDGES, "Specify whether to include edges in the path (optional), default is false"
+        );
+    }
+
+    public TinkerShortestPathFactory(final AbstractTinkerGraph graph) {
+        super(graph, NAME);
+    }
+
+    @Override
+    public Type getType() {
+        return Type.Streaming;
+    }
+
+    @Override
+    public Map describeParams() {
+        return Params.DESCRIBE;
+    }
+
+    @Override
+    public Set<Type> getSupportedTypes() {
+        return Collections.singleton(Type.Streaming);
+    }
+
+    @Override
+    public Service<Vertex, Path> createService(final boolean isStart, final Map params) {
+        if (isStart) {
+            throw new UnsupportedOperationException(Service.Exceptions.cannotStartTraversal);
+        }
+        return this;
+    }
+
+    @Override
+    public CloseableIterator<Path> execute(final ServiceCallContext ctx, final Traverser.Admin<Vertex> in, final Map params) {
+        final Vertex target = target(params.get(Params.TARGET));
+        if (null == target)
+            return CloseableIterator.empty();
+
+        final Direction direction = direction(params.getOrDefault(Params.DIRECTION, Direction.BOTH));
+        final String[] edgeLabels = edgeLabels(params.get(Params.EDGE_LABELS));
+        final String weight = (String) params.get(Params.WEIGHT);
+        final Number maxDistance = (Number) params.get(Params.MAX_DISTANCE);
+
+        final List<Element> elements = null == weight ?
+                shortestPathByHops(in.get(), target, direction, edgeLabels,
+                        null == maxDistance ? Long.MAX_VALUE : maxDistance.longValue()) :
+                shortestPathByWeight(in.get(), target, direction, edgeLabels, weight,
+                        null == maxDistance ? Double.POSITIVE_INFINITY : maxDistance.doubleValue());
+        if (null == elements)
+            return CloseableIterator.empty();
+
+        final boolean includeEdges = (boolean) params.getOrDefault(Params.INCLUDE_EDGES, false);
+        final Path path = MutablePath.make();
+        for (final Element element : elements) {
+            if (includeEdges || element instanceof Vertex)
+                path.extend(element, Collections.emptySet());
+        }
+
+        return CloseableIterator.of(LongStream.range(0, in.bulk()).mapToObj(i -> path.clone()).iterator());
+    }
+
+    private Vertex target(final Object target) {
+        if (null == target)
+            throw new IllegalStateException("Missing target parameter");
+        if (target instanceof Vertex)
+            return (Vertex) target;
+
+        final Iterator<Vertex> vertices = graph.vertices(target);
+        return vertices.hasNext() ? vertices.next() : null;
+    }
+
+    private static Direction direction(final Object direction) {
+        return direction instanceof Direction ? (Direction) direction : Direction.valueOf(direction.toString());
+    }
+
+    private static String[] edgeLabels(final Object edgeLabels) {
+        if (null == edgeLabels)
+            return new String[0];
+        else if (edgeLabels instanceof Collection)
+            return ((Collection<?>) edgeLabels).stream().map(Object::toString).toArray(String[]::new);
+        else
+            return new String[]{edgeLabels.toString()};
+    }
+
+    /**
+     * Searches from both ends at once, always expanding the smaller frontier by one hop. As the frontiers are expanded
+     * a full hop at a time, the first vertex reached from one end that has already been reached from the other end
+     * joins a path with the fewest hops.
+     */
+    private static List<Element> shortestPathByHops(final Vertex source, final Vertex target, final Direction direction,
+                                                    final String[] edgeLabels, final long maxHops) {
+        if (source.equals(target))
+            return Collections.singletonList(source);
+
+        // the edge by which each vertex was first reached, from the source and from the target respectively
+        final Map<Vertex, Edge> forward = new HashMap<>();
+        final Map<Vertex, Edge> backward = new HashMap<>();
+        forward.put(source, null);
+        backward.put(target, null);
+
+        List<Vertex> forwardFrontier = Collections.singletonList(source);
+        List<Vertex> backwardFrontier = Collections.singletonList(target);
+        for (long hops = 0; hops < maxHops && !forwardFrontier.isEmpty() && !backwardFrontier.isEmpty(); hops++) {
+            final boolean expandForward = forwardFrontier.size() <= backwardFrontier.size();
+            final Map<Vertex, Edge> reached = expandForward ? forward : backward;
+            final Map<Vertex, Edge> other = expandForward ? backward : forward;
+            final Direction expandDirection = expandForward ? direction : direction.opposite();
+
+            final List<Vertex> nextFrontier = new ArrayList<>();
+            for (final Vertex vertex : expandForward ? forwardFrontier : backwardFrontier) {
+                final Iterator<Edge> edges = vertex.edges(expandDirection, edgeLabels);
+                while (edges.hasNext()) {
+                    final Edge edge = edges.next();
+                    final Vertex adjacent = adjacent(edge, vertex);
+                    if (reached.containsKey(adjacent))
+                        continue;
+
+                    reached.put(adjacent, edge);
+                    if (other.containsKey(adjacent)) {
+                        final List<Element> path = walk(forward, adjacent);
+                        Collections.reverse(path);
+                        path.remove(path.size() - 1);
+                        path.addAll(walk(backward, adjacent));
+                        return path;
+                    }
+                    nextFrontier.add(adjacent);
+                }
+            }
+
+            if (expandForward)
+                forwardFrontier = nextFrontier;
+            else
+                backwardFrontier = nextFrontier;
+        }
+
+        return null;
+    }
+
+    private static List<Element> shortestPathByWeight(final Vertex source, final Vertex target, final Direction direction,
+                                                      final String[] edgeLabels, final String weight,
+                                                      final double maxDistance) {
+        final Map<Vertex, Double> distances = new HashMap<>();
+        final Map<Vertex, Edge> reached = new HashMap<>();
+        final Set<Vertex> settled = new HashSet<>();
+        final PriorityQueue<Candidate> queue = new PriorityQueue<>();
+        distances.put(source, 0d);
+        reached.put(source, null);
+        queue.add(new Candidate(source, 0d));
+
+        while (!queue.isEmpty()) {
+            final Candidate candidate = queue.poll();
+            if (!settled.add(candidate.vertex))
+                continue;
+
+            if (candidate.vertex.equals(target)) {
+                final List<Element> path = walk(reached, target);
+                Collections.reverse(path);
+                return path;
+            }
+
+            final Iterator<Edge> edges = candidate.vertex.edges(direction, edgeLabels);
+            while (edges.hasNext()) {
+                final Edge edge = edges.next();
+                final Property<Object> property = edge.property(weight);
+                if (!property.isPresent())
+                    continue;
+                if (!(property.value() instanceof Number) || ((Number) property.value()).doubleValue() < 0)
+                    throw new IllegalArgumentException(String.format(
+                            "The weight of an edge must be a number that is not negative: %s[%s]", edge, property.value()));
+
+                final Vertex adjacent = adjacent(edge, candidate.vertex);
+                final double distance = candidate.distance + ((Number) property.value()).doubleValue();
+                if (distance <= maxDistance && !settled.contains(adjacent) &&
+                        distance < distances.getOrDefault(adjacent, Double.POSITIVE_INFINITY)) {
+                    distances.put(adjacent, distance);
+                    reached.put(adjacent, edge);
+                    queue.add(new Candidate(adjacent, distance));
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Walks the edges by which vertices were reached from the given vertex back to the vertex that the search
+     * started from, returning the vertices and edges along the way.
+     */
+    private static List<Element> walk(final Map<Vertex, Edge> reached, final Vertex from) {
+        final List<Element> elements = new ArrayList<>();
+        Vertex vertex = from;
+        elements.add(vertex);
+        Edge edge;
+        while (null != (edge = reached.get(vertex))) {
+            vertex = adjacent(edge, vertex);
+            elements.add(edge);
+            elements.add(vertex);
+        }
+        return elements;
+    }
+
+    private static Vertex adjacent(final Edge edge, final Vertex vertex) {
+        final Vertex outVertex = edge.outVertex();
+        return outVertex.equals(vertex) ? edge.inVertex() : outVertex;
+    }
+
+    @Override
+    public void close() {}
+
+    private static final class Candidate implements Comparable<Candidate> {
+        private final Vertex vertex;
+        private final double distance;
+
+        private Candidate(final Vertex vertex, final double distance) {
+            this.vertex = vertex;
+            this.distance = distance;
+        }
+
+        @Override
+        public int compareTo(final Candidate other) {
+            return Double.compare(this.distance, other.distance);
+        }
+    }
+}
@@ -39,6 +39,8 @@ import java.io.File;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -62,6 +64,12 @@ public abstract class AbstractTinkerGraph implements Graph {
     public static final String GREMLIN_TINKERGRAPH_GRAPH_FORMAT = "gremlin.tinkergraph.graphFormat";
     public static final String GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES = "gremlin.tinkergraph.allowNullPropertyValues";
     public static final String GREMLIN_TINKERGRAPH_SERVICE = "gremlin.tinkergraph.service";
+    public static final String GREMLIN_TINKERGRAPH_LABEL_INDEX = "gremlin.tinkergraph.labelIndex";
+    public static final String GREMLIN_TINKERGRAPH_COMPACT_STORAGE = "gremlin.tinkergraph.compactStorage";
+    public static final String GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG = "gremlin.tinkergraph.writeAheadLog";
+    public static final String GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC_INTERVAL = "gremlin.tinkergraph.writeAheadLogSyncInterval";
+    public static final String GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL = "gremlin.tinkergraph.checkpointInterval";
+    public static final String GREMLIN_TINKERGRAPH_TX_LOCK_TIMEOUT = "gremlin.tinkergraph.txLockTimeout";
 
 
     protected AtomicLong currentId = new AtomicLong(-1L);
@@ -70,18 +78,22 @@ public abstract class AbstractTinkerGraph implements Graph {
     protected TinkerGraphComputerView graphComputerView = null;
     protected AbstractTinkerIndex<TinkerVertex> vertexIndex = null;
     protected AbstractTinkerIndex<TinkerEdge> edgeIndex = null;
+    protected AbstractTinkerLabelIndex<TinkerVertex> vertexLabelIndex = null;
+    protected AbstractTinkerLabelIndex<TinkerEdge> edgeLabelIndex = null;
 
     protected IdManager<Vertex> vertexIdManager;
     protected IdManager<Edge> edgeIdManager;
     protected IdManager<VertexProperty> vertexPropertyIdManager;
     protected VertexProperty.Cardinality defaultVertexPropertyCardinality;
     protected boolean allowNullPropertyValues;
+    protected boolean compactStorage = false;
 
     protected TinkerServiceRegistry serviceRegistry;
 
     protected Configuration configuration;
     protected String graphLocation;
     protected String graphFormat;
+    protected TinkerWriteAheadLog writeAheadLog = null;
 
     /**
      * {@inheritDoc}
@@ -180,6 +192,8 @@ public abstract class AbstractTinkerGraph implements Graph {
                     io(IoCore.graphson()).readGraph(graphLocation);
                 } else if (graphFormat.equals("gryo")) {
                     io(IoCore.gryo()).readGraph(graphLocation);
+                } else if (graphFormat.equals(TinkerGraphSnapshot.FORMAT)) {
+                    TinkerGraphSnapshot.read(this, f);
                 } else {
                     io(IoCore.createIoBuilder(graphFormat)).readGraph(graphLocation);
                 }
@@ -187,6 +201,16 @@ public abstract class AbstractTinkerGraph implements Graph {
                 throw new RuntimeException(String.format("Could not load graph at %s with %s", graphLocation, graphFormat), ex);
             }
         }
+
+        if (configuration.getBoolean(GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, false)) {
+            try {
+                writeAheadLog = TinkerWriteAheadLog.open(this,
+                        configuration.getLong(GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC_INTERVAL, 100L),
+                        configuration.getLong(GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL, 300000L));
+            } catch (Exception ex) {
+                throw new RuntimeException(String.format("Could not recover graph at %s from its write-ahead log", graphLocation), ex);
+            }
+        }
     }
 
     protected void saveGraph() {
@@ -202,21 +226,52 @@ public abstract class AbstractTinkerGraph implements Graph {
             }
         }
 
+        writeGraph(f);
+    }
+
+    /**
+     * Writes the graph to the file in the {@link #GREMLIN_TINKERGRAPH_GRAPH_FORMAT}.
+     */
+    protected void writeGraph(final File f) {
         try {
             if (graphFormat.equals("graphml")) {
-                io(IoCore.graphml()).writeGraph(graphLocation);
+                io(IoCore.graphml()).writeGraph(f.getPath());
             } else if (graphFormat.equals("graphson")) {
-                io(IoCore.graphson()).writeGraph(graphLocation);
+                io(IoCore.graphson()).writeGraph(f.getPath());
             } else if (graphFormat.equals("gryo")) {
-                io(IoCore.gryo()).writeGraph(graphLocation);
+                io(IoCore.gryo()).writeGraph(f.getPath());
+            } else if (graphFormat.equals(TinkerGraphSnapshot.FORMAT)) {
+                TinkerGraphSnapshot.write(this, f);
             } else {
-                io(IoCore.createIoBuilder(graphFormat)).writeGraph(graphLocation);
+                io(IoCore.createIoBuilder(graphFormat)).writeGraph(f.getPath());
             }
         } catch (Exception ex) {
-            throw new RuntimeException(String.format("Could not save graph at %s with %s", graphLocation, graphFormat), ex);
+            throw new RuntimeException(String.format("Could not save graph at %s with %s", f.getPath(), graphFormat), ex);
         }
     }
 
+    /**
+     * Validates the settings that control where and how the graph is persisted.
+     */
+    protected void validatePersistence() {
+        if ((graphLocation != null && null == graphFormat) || (null == graphLocation && graphFormat != null))
+            throw new IllegalStateException(String.format("The %s and %s must both be specified if either is present",
+                    GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_FORMAT));
+
+        if (null == graphLocation && configuration.getBoolean(GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, false))
+            throw new IllegalStateException(String.format("The %s and %s must be specified if %s is enabled",
+                    GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_FORMAT, GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG));
+    }
+
+    /**
+     * Gets the write-ahead log that a change to the element should be appended to as it is made or {@code null} if
+     * it should not be. Only {@link TinkerGraph} logs changes as they are made as {@link TinkerTransactionGraph} logs
+     * the changes of a transaction when it commits.
+     */
+    TinkerWriteAheadLog mutationLog(final TinkerElement element) {
+        return null;
+    }
+
 
     @Override
     public <I extends Io> I io(final Io.Builder<I> builder) {
@@ -258,17 +313,28 @@ public abstract class AbstractTinkerGraph implements Graph {
         this.currentId.set(-1L);
         this.vertexIndex = null;
         this.edgeIndex = null;
+        if (null != this.vertexLabelIndex) this.vertexLabelIndex.clear();
+        if (null != this.edgeLabelIndex) this.edgeLabelIndex.clear();
         this.graphComputerView = null;
     }
 
     /**
      * This method only has an effect if the {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_LOCATION} is set, in which case the
      * data in the graph is persisted to that location. This method may be called multiple times and does not release
-     * resources.
+     * resources. If the {@link #GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG} is enabled, a final checkpoint is written and the
+     * log is closed, after which further changes are only persisted by calling this method again.
      */
     @Override
     public void close() {
-        if (graphLocation != null) saveGraph();
+        if (writeAheadLog != null) {
+            try {
+                writeAheadLog.close();
+            } catch (Exception ex) {
+                throw new RuntimeException(String.format("Could not checkpoint graph at %s", graphLocation), ex);
+            } finally {
+                writeAheadLog = null;
+            }
+        } else if (graphLocation != null) saveGraph();
         // shutdown services
         serviceRegistry.close();
     }
@@ -284,7 +350,7 @@ public abstract class AbstractTinkerGraph implements Graph {
     protected abstract void addInEdge(final TinkerVertex vertex, final String label, final Edge edge);
 
     protected TinkerVertex createTinkerVertex(final Object id, final String label, final AbstractTinkerGraph graph) {
-        return new TinkerVertex(id, label, graph);
+        return new TinkerVertex(id, intern(label), graph);
     }
 
     protected TinkerVertex createTinkerVertex(final Object id, final String label, final AbstractTinkerGraph graph, final long currentVersion) {
@@ -292,7 +358,7 @@ public abstract class AbstractTinkerGraph implements Graph {
     }
 
     protected TinkerEdge createTinkerEdge(final Object id, final Vertex outVertex, final String label, final Vertex inVertex) {
-        return new TinkerEdge(id, outVertex, label, inVertex);
+        return new TinkerEdge(id, outVertex, intern(label), inVertex);
     }
 
     protected TinkerEdge createTinkerEdge(final Object id, final Vertex outVertex, final String label, final Vertex inVertex, final long currentVersion) {
@@ -395,6 +461,72 @@ public abstract class AbstractTinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Determines if the graph maintains an index of elements by label which is controlled by the
+     * {@link #GREMLIN_TINKERGRAPH_LABEL_INDEX} setting.
+     */
+    public boolean isLabelIndexEnabled() {
+        return null != this.vertexLabelIndex;
+    }
+
+    /**
+     * Determines if elements hold their properties and adjacent edges in compact array based structures which is
+     * controlled by the {@link #GREMLIN_TINKERGRAPH_COMPACT_STORAGE} setting.
+     */
+    public boolean isCompactStorage() {
+        return this.compactStorage;
+    }
+
+    /**
+     * Creates the map that an element uses to hold its properties by key.
+     */
+    protected <V> Map<String, V> createPropertyMap() {
+        return compactStorage ? new TinkerCompactMap<>() : new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets the instance of a property key or label that elements should hold which, with compact storage, is the
+     * interned string so that all elements share it.
+     */
+    protected String intern(final String keyOrLabel) {
+        return compactStorage ? keyOrLabel.intern() : keyOrLabel;
+    }
+
+    /**
+     * Return the ordered keys of all the composite indexes for said element class ({@link Vertex} or {@link Edge}).
+     *
+     * @param elementClass the element class to get the composite index keys for
+     * @param <E>          The type of the element class
+     * @return the set of ordered keys of each composite index
+     */
+    public <E extends Element> Set<List<String>> getCompositeIndexedKeys(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? Collections.emptySet() : this.vertexIndex.getCompositeKeys();
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? Collections.emptySet() : this.edgeIndex.getCompositeKeys();
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Return the type of index on the key for said element class ({@link Vertex} or {@link Edge}).
+     *
+     * @param key          the property key
+     * @param elementClass the element class of the index
+     * @param <E>          The type of the element class
+     * @return the type of index or {@code null} if the key is not indexed
+     */
+    public <E extends Element> TinkerIndexType getIndexType(final String key, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? null : this.vertexIndex.getIndexType(key);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? null : this.edgeIndex.getIndexType(key);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
     ///////////// Id manager ///////////////
     /**
      * Construct an {@link IdManager} from the TinkerGraph {@code Configuration}.
@@ -19,11 +19,27 @@
 
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.step.GValue;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.util.GremlinValueComparator;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 
 /**
  * Storage for indexes that can be used by different implementations of {@link AbstractTinkerGraph}.
@@ -37,6 +53,16 @@ public abstract class AbstractTinkerIndex<T extends Element> {
     protected final Class<T> indexClass;
     protected final AbstractTinkerGraph graph;
     protected final Set<String> indexedKeys = new HashSet<>();
+    protected final Map<String, TinkerIndexType> indexTypes = new ConcurrentHashMap<>();
+    protected final Set<List<String>> compositeKeys = ConcurrentHashMap.newKeySet();
+
+    private static final String LABEL_KEY = org.apache.tinkerpop.gremlin.structure.T.label.getAccessor();
+
+    /**
+     * Orders the values held by a {@link TinkerIndexType#RANGE} index using Gremlin's orderability semantics.
+     */
+    public static final Comparator<Object> RANGE_ORDER = (a, b) ->
+            GremlinValueComparator.ORDERABILITY.compare(a instanceof IndexedNull ? null : a, b instanceof IndexedNull ? null : b);
 
     protected AbstractTinkerIndex(final AbstractTinkerGraph graph, final Class<T> indexClass) {
         this.graph = graph;
@@ -59,6 +85,48 @@ public abstract class AbstractTinkerIndex<T extends Element> {
      */
     public abstract long count(final String key, final Object value);
 
+    /**
+     * Get list of elements which have a property with a value in the specified range. The key must be indexed with
+     * {@link TinkerIndexType#RANGE}. The returned elements are candidates and may include elements whose values are
+     * of a different type than the bounds of the range, so they should still be tested against the predicates that
+     * formed the range.
+     * @param key property key
+     * @param range bounds of the property value
+     * @return list of elements
+     */
+    public abstract List<T> getRange(final String key, final ValueRange range);
+
+    /**
+     * Get list of elements which have a property with a value in the specified range in the order of that value. The
+     * key must be indexed with {@link TinkerIndexType#RANGE}. The index is walked in order until {@code limit}
+     * elements have passed the {@code filter} and all elements tied in value with the last one have been included,
+     * so that the result always contains the first {@code limit} elements of a complete sort.
+     * @param key property key
+     * @param range bounds of the property value
+     * @param descending walk from the highest value to the lowest
+     * @param filter test for elements to include
+     * @param limit the number of elements required
+     * @return list of elements
+     */
+    public abstract List<T> getOrdered(final String key, final ValueRange range, final boolean descending,
+                                       final Predicate<T> filter, final long limit);
+
+    /**
+     * Get list of elements which have the desired values for all of the keys of a composite index.
+     * @param keys the ordered keys of the composite index
+     * @param values the values for each of the keys in the same order
+     * @return list of elements
+     */
+    public abstract List<T> getComposite(final List<String> keys, final List<Object> values);
+
+    /**
+     * Get count of elements which have the desired values for all of the keys of a composite index.
+     * @param keys the ordered keys of the composite index
+     * @param values the values for each of the keys in the same order
+     * @return count of elements
+     */
+    public abstract long countComposite(final List<String> keys, final List<Object> values);
+
     /**
      * Remove elements with some property from index.
      * Convenient to use when removed only one property of an element.
@@ -85,10 +153,20 @@ public abstract class AbstractTinkerIndex<T extends Element> {
     public abstract void autoUpdate(final String key, final Object newValue, final Object oldValue, final T element);
 
     /**
-     * Create new index
+     * Create new {@link TinkerIndexType#HASH} index
      * @param key property key
      */
-    public abstract void createKeyIndex(final String key);
+    public void createKeyIndex(final String key) {
+        createKeyIndex(key, TinkerIndexType.HASH);
+    }
+
+    /**
+     * Create new index of the specified type. If the key is already indexed with a different type then the index is
+     * rebuilt with the new type.
+     * @param key property key
+     * @param type the kind of index to create
+     */
+    public abstract void createKeyIndex(final String key, final TinkerIndexType type);
 
     /**
      * Drop index
@@ -96,6 +174,27 @@ public abstract class AbstractTinkerIndex<T extends Element> {
      */
     public abstract void dropKeyIndex(final String key);
 
+    /**
+     * Create new composite index over the ordered list of keys. A key may be {@link org.apache.tinkerpop.gremlin.structure.T#label} by way of its
+     * accessor to include the element label in the index.
+     * @param keys the keys to index together
+     */
+    public abstract void createCompositeKeyIndex(final List<String> keys);
+
+    /**
+     * Drop composite index
+     * @param keys the ordered keys of the composite index
+     */
+    public abstract void dropCompositeKeyIndex(final List<String> keys);
+
+    /**
+     * Get the ordered keys of all composite indexes
+     * @return set of composite index keys
+     */
+    public Set<List<String>> getCompositeKeys() {
+        return Collections.unmodifiableSet(compositeKeys);
+    }
+
     /**
      * Get all index keys for Graph
      * @return set of index keys
@@ -104,6 +203,89 @@ public abstract class AbstractTinkerIndex<T extends Element> {
         return indexedKeys;
     }
 
+    /**
+     * Get the type of index for the key
+     * @param key property key
+     * @return the index type or {@code null} if the key is not indexed
+     */
+    public TinkerIndexType getIndexType(final String key) {
+        return indexTypes.get(key);
+    }
+
+    /**
+     * Creates the map of values to elements for a key appropriate to the type of index on that key.
+     */
+    protected <V> Map<Object, V> createValueMap(final String key) {
+        return indexTypes.get(key) == TinkerIndexType.RANGE ?
+                new ConcurrentSkipListMap<>(RANGE_ORDER) : new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Validates the keys for a composite index and makes an immutable copy of them.
+     */
+    protected static List<String> validateCompositeKeys(final List<String> keys) {
+        if (null == keys)
+            throw Graph.Exceptions.argumentCanNotBeNull("keys");
+        if (keys.size() < 2)
+            throw new IllegalArgumentException("A composite index requires at least two keys");
+        if (new HashSet<>(keys).size() != keys.size())
+            throw new IllegalArgumentException("The keys for a composite index must be unique: " + keys);
+        for (final String key : keys) {
+            if (null == key)
+                throw Graph.Exceptions.argumentCanNotBeNull("key");
+            if (key.isEmpty())
+                throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        }
+        if (keys.stream().allMatch(LABEL_KEY::equals))
+            throw new IllegalArgumentException("A composite index requires at least one property key");
+        return Collections.unmodifiableList(new ArrayList<>(keys));
+    }
+
+    /**
+     * Gets the values that an element is indexed by in a composite index. An element without a value for one of the
+     * keys is not indexed and an empty set is returned. A vertex with multiple values for a key is indexed by every
+     * combination of its values.
+     */
+    protected static Set<List<Object>> compositeValues(final Element element, final List<String> keys) {
+        Set<List<Object>> combinations = Collections.singleton(Collections.emptyList());
+        for (final String key : keys) {
+            final List<Object> values = new ArrayList<>();
+            if (LABEL_KEY.equals(key))
+                values.add(element.label());
+            else
+                element.properties(key).forEachRemaining(p -> values.add(indexable(p.value())));
+            if (values.isEmpty())
+                return Collections.emptySet();
+
+            final Set<List<Object>> next = new HashSet<>();
+            for (final List<Object> combination : combinations) {
+                for (final Object value : values) {
+                    final List<Object> extended = new ArrayList<>(combination);
+                    extended.add(value);
+                    next.add(extended);
+                }
+            }
+            combinations = next;
+        }
+        return combinations;
+    }
+
+    /**
+     * Walks the sorted buckets of an index collecting the elements that pass the filter until the limit is reached,
+     * always completing the bucket of the last element so that ties are included.
+     */
+    protected static <T> List<T> walkOrdered(final NavigableMap<Object, ? extends Collection<T>> buckets,
+                                             final boolean descending, final Predicate<T> filter, final long limit) {
+        final Set<T> elements = new LinkedHashSet<>();
+        for (final Collection<T> bucket : (descending ? buckets.descendingMap() : buckets).values()) {
+            if (elements.size() >= limit) break;
+            for (final T element : bucket) {
+                if (filter.test(element)) elements.add(element);
+            }
+        }
+        return new ArrayList<>(elements);
+    }
+
     /**
      * Provides a way for an index to have a {@code null} value as {@code ConcurrentHashMap} will not allow a
      * {@code null} key.
@@ -112,6 +294,123 @@ public abstract class AbstractTinkerIndex<T extends Element> {
         return null == obj ? IndexedNull.instance() : obj;
     }
 
+    /**
+     * The bounds of a property value for a lookup on a {@link TinkerIndexType#RANGE} index. A {@code null} bound
+     * means that the range is unbounded on that side.
+     */
+    public static final class ValueRange {
+        private static final ValueRange ALL = new ValueRange(null, false, null, false);
+
+        private final Object from;
+        private final boolean fromInclusive;
+        private final Object to;
+        private final boolean toInclusive;
+
+        private ValueRange(final Object from, final boolean fromInclusive, final Object to, final boolean toInclusive) {
+            this.from = from;
+            this.fromInclusive = fromInclusive;
+            this.to = to;
+            this.toInclusive = toInclusive;
+        }
+
+        /**
+         * A range that covers all values.
+         */
+        public static ValueRange all() {
+            return ALL;
+        }
+
+        /**
+         * Determines if the {@link P} can be used to restrict a range. Only {@link Compare#eq}, {@link Compare#gt},
+         * {@link Compare#gte}, {@link Compare#lt} and {@link Compare#lte} with a non-null, single value qualify.
+         */
+        public static boolean isRangePredicate(final P<?> predicate) {
+            final BiPredicate<?, ?> biPredicate = predicate.getBiPredicate();
+            final Object value = GValue.valueOf(predicate.getValue());
+            return (biPredicate == Compare.eq || biPredicate == Compare.gt || biPredicate == Compare.gte ||
+                    biPredicate == Compare.lt || biPredicate == Compare.lte) &&
+                    null != value && !(value instanceof Collection);
+        }
+
+        /**
+         * Narrows this range by the predicate. Predicates for which {@link #isRangePredicate(P)} is {@code false}
+         * leave the range unchanged.
+         */
+        public ValueRange restrict(final P<?> predicate) {
+            if (!isRangePredicate(predicate)) return this;
+
+            final BiPredicate<?, ?> biPredicate = predicate.getBiPredicate();
+            final Object value = GValue.valueOf(predicate.getValue());
+            ValueRange range = this;
+            if (biPredicate == Compare.eq || biPredicate == Compare.gt || biPredicate == Compare.gte)
+                range = range.lower(value, biPredicate != Compare.gt);
+            if (biPredicate == Compare.eq || biPredicate == Compare.lt || biPredicate == Compare.lte)
+                range = range.upper(value, biPredicate != Compare.lt);
+            return range;
+        }
+
+        private ValueRange lower(final Object value, final boolean inclusive) {
+            if (null != from) {
+                final int c = RANGE_ORDER.compare(value, from);
+                if (c < 0 || (c == 0 && (inclusive || !fromInclusive))) return this;
+            }
+            return new ValueRange(value, inclusive, to, toInclusive);
+        }
+
+        private ValueRange upper(final Object value, final boolean inclusive) {
+            if (null != to) {
+                final int c = RANGE_ORDER.compare(value, to);
+                if (c > 0 || (c == 0 && (inclusive || !toInclusive))) return this;
+            }
+            return new ValueRange(from, fromInclusive, value, inclusive);
+        }
+
+        /**
+         * Determines if the range has a bound on either side.
+         */
+        public boolean isBounded() {
+            return null != from || null != to;
+        }
+
+        /**
+         * Determines if the value falls within the range.
+         */
+        public boolean contains(final Object value) {
+            if (null != from) {
+                final int c = RANGE_ORDER.compare(value, from);
+                if (c < 0 || (c == 0 && !fromInclusive)) return false;
+            }
+            if (null != to) {
+                final int c = RANGE_ORDER.compare(value, to);
+                if (c > 0 || (c == 0 && !toInclusive)) return false;
+            }
+            return true;
+        }
+
+        /**
+         * Gets the view of the sorted map that falls within the range.
+         */
+        public <V> NavigableMap<Object, V> subMap(final NavigableMap<Object, V> map) {
+            if (null != from && null != to) {
+                final int c = RANGE_ORDER.compare(from, to);
+                if (c > 0 || (c == 0 && !(fromInclusive && toInclusive)))
+                    return Collections.emptyNavigableMap();
+                return map.subMap(from, fromInclusive, to, toInclusive);
+            } else if (null != from) {
+                return map.tailMap(from, fromInclusive);
+            } else if (null != to) {
+                return map.headMap(to, toInclusive);
+            }
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            return (fromInclusive ? "[" : "(") + (null == from ? "" : from) + ".." +
+                    (null == to ? "" : to) + (toInclusive ? "]" : ")");
+        }
+    }
+
     public static final class IndexedNull {
         private static final IndexedNull inst = new IndexedNull();
 
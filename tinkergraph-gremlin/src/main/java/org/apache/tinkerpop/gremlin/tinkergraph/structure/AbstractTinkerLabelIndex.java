@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import java.util.List;
+
+/**
+ * Base class for the index of elements by label that every {@link AbstractTinkerGraph} maintains unless it is
+ * disabled with {@link AbstractTinkerGraph#GREMLIN_TINKERGRAPH_LABEL_INDEX}. Element labels cannot change, so the
+ * index only needs to be updated when elements are added or removed.
+ *
+ * @param <T> type of {@link TinkerElement} to be indexed
+ */
+public abstract class AbstractTinkerLabelIndex<T extends TinkerElement> {
+
+    protected final AbstractTinkerGraph graph;
+    protected final Class<T> indexClass;
+
+    protected AbstractTinkerLabelIndex(final AbstractTinkerGraph graph, final Class<T> indexClass) {
+        this.graph = graph;
+        this.indexClass = indexClass;
+    }
+
+    /**
+     * Get list of elements which have the label.
+     * @param label element label
+     * @return list of elements
+     */
+    public abstract List<T> get(final String label);
+
+    /**
+     * Get count of elements which have the label.
+     * @param label element label
+     * @return count of elements
+     */
+    public abstract long count(final String label);
+
+    /**
+     * Remove all elements from the index.
+     */
+    public abstract void clear();
+}
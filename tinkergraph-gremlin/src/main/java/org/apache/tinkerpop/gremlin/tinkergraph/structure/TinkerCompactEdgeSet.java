@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The edges of a single label incident to a {@link TinkerVertex} held in a growable array, used by
+ * {@link TinkerGraph} in place of a {@code HashSet} when compact storage is enabled. An array costs a single reference
+ * per edge and keeps the edges of a vertex together for iteration at the price of linear time removal. As
+ * {@link TinkerGraph} only ever adds an edge once, {@link #add(Edge)} does not check for duplicates. This set is not
+ * thread-safe.
+ */
+final class TinkerCompactEdgeSet extends AbstractSet<Edge> {
+
+    private static final Edge[] EMPTY = new Edge[0];
+
+    private Edge[] edges = EMPTY;
+    private int size = 0;
+
+    @Override
+    public boolean add(final Edge edge) {
+        if (size == edges.length)
+            edges = Arrays.copyOf(edges, size == 0 ? 2 : size + (size >> 1));
+        edges[size++] = edge;
+        return true;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        final int i = indexOf(o);
+        if (i < 0) return false;
+        removeAt(i);
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        edges = EMPTY;
+        size = 0;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(edges, size, Object[].class);
+    }
+
+    @Override
+    public Iterator<Edge> iterator() {
+        return new Iterator<Edge>() {
+            private int next = 0;
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Edge next() {
+                if (next >= size) throw new NoSuchElementException();
+                last = next++;
+                return edges[last];
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) throw new IllegalStateException();
+                removeAt(last);
+                next = last;
+                last = -1;
+            }
+        };
+    }
+
+    private int indexOf(final Object o) {
+        for (int i = 0; i < size; i++) {
+            if (edges[i] == o || edges[i].equals(o)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the edge at the index by moving the last edge into its place so that removal does not shift the array.
+     */
+    private void removeAt(final int i) {
+        size--;
+        edges[i] = edges[size];
+        edges[size] = null;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@code Map} keyed by property keys or edge labels that is used by {@link TinkerGraph} when compact storage is
+ * enabled. Keys and values are held in flat arrays that are searched linearly, which is smaller and faster than a
+ * hash table for the handful of keys an element usually has. The graph interns the keys so that elements share a
+ * single copy of each key which also allows most lookups to succeed on reference equality. This map is not
+ * thread-safe.
+ */
+final class TinkerCompactMap<V> extends AbstractMap<String, V> {
+
+    private static final String[] EMPTY_KEYS = new String[0];
+    private static final Object[] EMPTY_VALUES = new Object[0];
+
+    private String[] keys = EMPTY_KEYS;
+    private Object[] values = EMPTY_VALUES;
+    private int size = 0;
+
+    private int indexOf(final Object key) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == key || keys[i].equals(key)) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public V get(final Object key) {
+        final int i = indexOf(key);
+        return i < 0 ? null : (V) values[i];
+    }
+
+    @Override
+    public V getOrDefault(final Object key, final V defaultValue) {
+        final int i = indexOf(key);
+        return i < 0 ? defaultValue : (V) values[i];
+    }
+
+    @Override
+    public V put(final String key, final V value) {
+        final int i = indexOf(key);
+        if (i >= 0) {
+            final V old = (V) values[i];
+            values[i] = value;
+            return old;
+        }
+
+        if (size == keys.length) {
+            final int capacity = size == 0 ? 1 : size + (size >> 1) + 1;
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        return null;
+    }
+
+    @Override
+    public V remove(final Object key) {
+        final int i = indexOf(key);
+        if (i < 0) return null;
+
+        final V old = (V) values[i];
+        removeAt(i);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        keys = EMPTY_KEYS;
+        values = EMPTY_VALUES;
+        size = 0;
+    }
+
+    private void removeAt(final int i) {
+        final int moved = size - i - 1;
+        if (moved > 0) {
+            System.arraycopy(keys, i + 1, keys, i, moved);
+            System.arraycopy(values, i + 1, values, i, moved);
+        }
+        size--;
+        keys[size] = null;
+        values[size] = null;
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        return new AbstractSet<Entry<String, V>>() {
+            @Override
+            public Iterator<Entry<String, V>> iterator() {
+                return new Iterator<Entry<String, V>>() {
+                    private int next = 0;
+                    private int last = -1;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < size;
+                    }
+
+                    @Override
+                    public Entry<String, V> next() {
+                        if (next >= size) throw new NoSuchElementException();
+                        last = next++;
+                        return new SimpleEntry<String, V>(keys[last], (V) values[last]) {
+                            private final int index = last;
+
+                            @Override
+                            public V setValue(final V value) {
+                                if (index >= size || !keys[index].equals(getKey()))
+                                    throw new ConcurrentModificationException();
+                                values[index] = value;
+                                return super.setValue(value);
+                            }
+                        };
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last < 0) throw new IllegalStateException();
+                        removeAt(last);
+                        next = last;
+                        last = -1;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
@@ -88,10 +88,13 @@ public class TinkerEdge extends TinkerElement implements Edge {
         }
 
         final Property oldProperty = super.property(key);
-        final Property<V> newProperty = new TinkerProperty<>(this, key, value);
-        if (null == this.properties) this.properties = new ConcurrentHashMap<>();
-        this.properties.put(key, newProperty);
+        final String internedKey = graph.intern(key);
+        final Property<V> newProperty = new TinkerProperty<>(this, internedKey, value);
+        if (null == this.properties) this.properties = graph.createPropertyMap();
+        this.properties.put(internedKey, newProperty);
         TinkerIndexHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
+        final TinkerWriteAheadLog log = graph.mutationLog(this);
+        if (null != log) log.setEdgeProperty(this, internedKey, value);
         return newProperty;
     }
 
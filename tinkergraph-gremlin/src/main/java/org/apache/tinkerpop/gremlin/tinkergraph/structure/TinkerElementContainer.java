@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -30,7 +31,7 @@ final class TinkerElementContainer<T extends TinkerElement> {
     /**
      * Committed value of element.
      */
-    private T element;
+    private volatile T element;
     /**
      * Id of element. Used if element is removed or set to {@code null}.
      */
@@ -38,7 +39,13 @@ final class TinkerElementContainer<T extends TinkerElement> {
     /**
      * Used to separate deleted elements from {@code null} ones.
      */
-    private boolean isDeleted = false;
+    private volatile boolean isDeleted = false;
+    /**
+     * Committed values of element, newest first, with the version of the commit that set each of them. Read-only
+     * transactions resolve the element against the version they started at, so older values are kept for as long as
+     * such a transaction is open.
+     */
+    private volatile Version<T> committed;
     /**
      * Value of elements updated in current transaction.
      */
@@ -104,6 +111,27 @@ final class TinkerElementContainer<T extends TinkerElement> {
         return cloned;
     }
 
+    /**
+     * Get value of stored element committed at or before the specified version without regard to the current
+     * transaction, {@code null} if it did not exist or was deleted at that version. Used by read-only transactions
+     * which never change the element, so it is neither copied nor tracked.
+     * @param readVersion version of the commit the read-only transaction started at.
+     */
+    public T getCommitted(final long readVersion) {
+        Version<T> version = committed;
+        while (null != version && version.commitVersion > readVersion)
+            version = version.previous;
+        return null == version ? null : version.element;
+    }
+
+    /**
+     * Get version of the last commit of stored element, {@code -1} if it was never committed.
+     */
+    public long getCommitVersion() {
+        final Version<T> version = committed;
+        return null == version ? -1 : version.commitVersion;
+    }
+
     /**
      * Get current committed value of stored element.
      */
@@ -188,12 +216,16 @@ final class TinkerElementContainer<T extends TinkerElement> {
     /**
      * Commit changes for the stored element.
      * @param txVersion version of transaction
+     * @param commitVersion version the changes are visible at to read-only transactions
+     * @param oldestReadVersion oldest version read by an open read-only transaction, equal to {@code commitVersion}
+     *                          if there is none.
      */
-    public void commit(final long txVersion) {
+    public void commit(final long txVersion, final long commitVersion, final long oldestReadVersion) {
         updateUsesCount();
         if (isDeletedInTx.get()) {
             // created and deleted in same tx
-            if (null != element)
+            // an element still read by a read-only transaction is marked as removed once that transaction is closed
+            if (null != element && oldestReadVersion >= commitVersion)
                 element.removed = true;
             element = null;
             isDeleted = true;
@@ -201,9 +233,22 @@ final class TinkerElementContainer<T extends TinkerElement> {
             element = transactionUpdatedValue.get();
             element.currentVersion = txVersion;
         }
+        addVersion(element, commitVersion, oldestReadVersion);
         reset();
     }
 
+    /**
+     * Adds committed value of element and drops the older values which no open read-only transaction can resolve to.
+     */
+    private void addVersion(final T value, final long commitVersion, final long oldestReadVersion) {
+        final Version<T> version = new Version<>(value, commitVersion, committed);
+        Version<T> oldest = version;
+        while (oldest.commitVersion > oldestReadVersion && null != oldest.previous)
+            oldest = oldest.previous;
+        oldest.previous = null;
+        committed = version;
+    }
+
     /**
      * Rollback changes for the stored element.
      */
@@ -250,6 +295,23 @@ final class TinkerElementContainer<T extends TinkerElement> {
         return lock.tryLock();
     }
 
+    /**
+     * Try to lock container to apply changes to stored element, waiting up to the specified time if the lock is held
+     * by another transaction.
+     * @param timeout maximum time to wait in milliseconds, a value less than or equal to zero does not wait.
+     * @return True if lock was successful.
+     */
+    public boolean tryLock(final long timeout) {
+        if (timeout <= 0) return lock.tryLock();
+
+        try {
+            return lock.tryLock(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
     /**
      * Release lock after applying changes.
      */
@@ -257,4 +319,19 @@ final class TinkerElementContainer<T extends TinkerElement> {
         if (lock.isHeldByCurrentThread())
             lock.unlock();
     }
+
+    /**
+     * Value of element committed at a specific version.
+     */
+    private static final class Version<T> {
+        private final T element;
+        private final long commitVersion;
+        private Version<T> previous;
+
+        private Version(final T element, final long commitVersion, final Version<T> previous) {
+            this.element = element;
+            this.commitVersion = commitVersion;
+            this.previous = previous;
+        }
+    }
 }
@@ -24,6 +24,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
@@ -87,13 +88,17 @@ public class TinkerGraph extends AbstractTinkerGraph {
         defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
         allowNullPropertyValues = configuration.getBoolean(GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES, false);
+        compactStorage = configuration.getBoolean(GREMLIN_TINKERGRAPH_COMPACT_STORAGE, false);
 
         graphLocation = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_LOCATION, null);
         graphFormat = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_FORMAT, null);
 
-        if ((graphLocation != null && null == graphFormat) || (null == graphLocation && graphFormat != null))
-            throw new IllegalStateException(String.format("The %s and %s must both be specified if either is present",
-                    GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_FORMAT));
+        validatePersistence();
+
+        if (configuration.getBoolean(GREMLIN_TINKERGRAPH_LABEL_INDEX, true)) {
+            vertexLabelIndex = new TinkerLabelIndex<>(this, TinkerVertex.class);
+            edgeLabelIndex = new TinkerLabelIndex<>(this, TinkerEdge.class);
+        }
 
         if (graphLocation != null) loadGraph();
 
@@ -149,6 +154,11 @@ public class TinkerGraph extends AbstractTinkerGraph {
         final Vertex vertex = createTinkerVertex(idValue, label, this);
         ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
         this.vertices.put(vertex.id(), vertex);
+        if (null != vertexLabelIndex) ((TinkerLabelIndex<TinkerVertex>) vertexLabelIndex).add((TinkerVertex) vertex);
+
+        // the vertex is logged along with its properties once it is in the graph
+        final TinkerWriteAheadLog log = mutationLog((TinkerVertex) vertex);
+        if (null != log) log.setVertex((TinkerVertex) vertex);
 
         return vertex;
     }
@@ -156,7 +166,9 @@ public class TinkerGraph extends AbstractTinkerGraph {
     @Override
     public void removeVertex(final Object vertexId)
     {
-        this.vertices.remove(vertexId);
+        final Vertex vertex = this.vertices.remove(vertexId);
+        if (null != vertex && null != vertexLabelIndex) ((TinkerLabelIndex<TinkerVertex>) vertexLabelIndex).remove((TinkerVertex) vertex);
+        if (null != vertex && null != writeAheadLog) writeAheadLog.removeVertex(vertexId);
     }
 
     @Override
@@ -177,8 +189,12 @@ public class TinkerGraph extends AbstractTinkerGraph {
         edge = new TinkerEdge(idValue, outVertex, label, inVertex);
         ElementHelper.attachProperties(edge, keyValues);
         edges.put(edge.id(), edge);
+        if (null != edgeLabelIndex) ((TinkerLabelIndex<TinkerEdge>) edgeLabelIndex).add((TinkerEdge) edge);
         addOutEdge(outVertex, label, edge);
         addInEdge(inVertex, label, edge);
+
+        final TinkerWriteAheadLog log = mutationLog((TinkerEdge) edge);
+        if (null != log) log.setEdge((TinkerEdge) edge);
         return edge;
     }
 
@@ -203,6 +219,8 @@ public class TinkerGraph extends AbstractTinkerGraph {
         }
 
         this.edges.remove(edgeId);
+        if (null != edgeLabelIndex) ((TinkerLabelIndex<TinkerEdge>) edgeLabelIndex).remove((TinkerEdge) edge);
+        if (null != writeAheadLog) writeAheadLog.removeEdge(edgeId);
     }
 
     @Override
@@ -210,6 +228,18 @@ public class TinkerGraph extends AbstractTinkerGraph {
         super.clear();
         this.vertices.clear();
         this.edges.clear();
+        if (null != writeAheadLog) writeAheadLog.clear();
+    }
+
+    /**
+     * Changes are only logged for elements that are in the graph as an element is logged in full when it is added
+     * and changes made while in computer mode apply to the {@link TinkerGraphComputerView} rather than the graph.
+     */
+    @Override
+    TinkerWriteAheadLog mutationLog(final TinkerElement element) {
+        if (null == writeAheadLog || TinkerHelper.inComputerMode(this)) return null;
+        final Map<Object, ?> elements = element instanceof Vertex ? this.vertices : this.edges;
+        return elements.get(element.id()) == element ? writeAheadLog : null;
     }
 
     @Override
@@ -284,10 +314,10 @@ public class TinkerGraph extends AbstractTinkerGraph {
 
     @Override
     protected void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        if (null == vertex.outEdges) vertex.outEdges = new HashMap<>();
+        if (null == vertex.outEdges) vertex.outEdges = compactStorage ? new TinkerCompactMap<>() : new HashMap<>();
         Set<Edge> edges = vertex.outEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = compactStorage ? new TinkerCompactEdgeSet() : new HashSet<>();
             vertex.outEdges.put(label, edges);
         }
         edges.add(edge);
@@ -295,10 +325,10 @@ public class TinkerGraph extends AbstractTinkerGraph {
 
     @Override
     protected void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        if (null == vertex.inEdges) vertex.inEdges = new HashMap<>();
+        if (null == vertex.inEdges) vertex.inEdges = compactStorage ? new TinkerCompactMap<>() : new HashMap<>();
         Set<Edge> edges = vertex.inEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = compactStorage ? new TinkerCompactEdgeSet() : new HashSet<>();
             vertex.inEdges.put(label, edges);
         }
         edges.add(edge);
@@ -386,12 +416,65 @@ public class TinkerGraph extends AbstractTinkerGraph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        createIndex(key, elementClass, TinkerIndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified type for said element class ({@link Vertex} or {@link Edge}) and said
+     * property key. A {@link TinkerIndexType#RANGE} index can additionally answer range predicates and ordered
+     * lookups. If the key is already indexed with a different type, the index is rebuilt with the new type.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param type         the type of index to create
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final TinkerIndexType type) {
         if (Vertex.class.isAssignableFrom(elementClass)) {
             if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
+            this.vertexIndex.createKeyIndex(key, type);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
             if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
+            this.edgeIndex.createKeyIndex(key, type);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over the ordered list of
+     * property keys. The element label may be included in the index by using the accessor of {@link T#label} as one
+     * of the keys. The index is used when a traversal has equality predicates for all of its keys and it is expected
+     * to return fewer elements than any other applicable index.
+     *
+     * @param keys         the property keys to index together
+     * @param elementClass the element class to index
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createCompositeIndex(final List<String> keys, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
+            this.vertexIndex.createCompositeKeyIndex(keys);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+            this.edgeIndex.createCompositeKeyIndex(keys);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}) and ordered keys.
+     *
+     * @param keys         the property keys of the composite index to drop
+     * @param elementClass the element class of the index to drop
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropCompositeIndex(final List<String> keys, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null != this.vertexIndex) this.vertexIndex.dropCompositeKeyIndex(keys);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null != this.edgeIndex) this.edgeIndex.dropCompositeKeyIndex(keys);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
@@ -0,0 +1,486 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads and writes the {@code snapshot} format that TinkerGraph can be configured to persist to with the
+ * {@link AbstractTinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_FORMAT} setting. Rather than a stream of serialized elements,
+ * a snapshot is a columnar binary layout of the graph: a table of the strings used as labels and keys, the vertex and
+ * edge identifiers, the element labels and edge endpoints as fixed width arrays of integers and the properties grouped
+ * by key. Edges refer to their vertices by position so that loading does not look up vertices by identifier, and the
+ * file is read through {@link FileChannel#map} so that the integer arrays are read straight from the page cache.
+ * Property values of the common primitive types and {@code String} are written natively while other values fall back
+ * to Gryo.
+ */
+public final class TinkerGraphSnapshot {
+
+    /**
+     * The value of {@link AbstractTinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_FORMAT} that selects the snapshot format.
+     */
+    public static final String FORMAT = "snapshot";
+
+    private static final int MAGIC = 0x54475331;
+    private static final int VERSION = 1;
+    private static final long BATCH_SIZE = 10000;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_INTEGER = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_DOUBLE = 4;
+    private static final byte TYPE_FLOAT = 5;
+    private static final byte TYPE_BOOLEAN = 6;
+    private static final byte TYPE_SHORT = 7;
+    private static final byte TYPE_BYTE = 8;
+    private static final byte TYPE_UUID = 9;
+    private static final byte TYPE_GRYO = 10;
+
+    private TinkerGraphSnapshot() {}
+
+    /**
+     * Writes the graph to the file as a snapshot.
+     */
+    public static void write(final AbstractTinkerGraph graph, final File file) throws IOException {
+        final List<Vertex> vertices = IteratorUtils.list(graph.vertices());
+        final List<Edge> edges = IteratorUtils.list(graph.edges());
+
+        // a first pass gathers the string table and groups properties by key so that the file can be written in order
+        final Map<String, Integer> strings = new LinkedHashMap<>();
+        final Map<Object, Integer> ordinals = new HashMap<>();
+        final Map<String, Column<VertexProperty<?>>> vertexColumns = new LinkedHashMap<>();
+        for (int i = 0; i < vertices.size(); i++) {
+            final Vertex vertex = vertices.get(i);
+            ordinals.put(vertex.id(), i);
+            stringId(strings, vertex.label());
+            final int ordinal = i;
+            vertex.properties().forEachRemaining(vp -> {
+                stringId(strings, vp.key());
+                vp.properties().forEachRemaining(p -> stringId(strings, p.key()));
+                vertexColumns.computeIfAbsent(vp.key(), k -> new Column<>()).add(ordinal, vp);
+            });
+        }
+
+        final Map<String, Column<Property<?>>> edgeColumns = new LinkedHashMap<>();
+        for (int i = 0; i < edges.size(); i++) {
+            final Edge edge = edges.get(i);
+            stringId(strings, edge.label());
+            final int ordinal = i;
+            edge.properties().forEachRemaining(p -> {
+                stringId(strings, p.key());
+                edgeColumns.computeIfAbsent(p.key(), k -> new Column<>()).add(ordinal, p);
+            });
+        }
+
+        final Codec codec = new Codec();
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            out.writeInt(strings.size());
+            for (final String s : strings.keySet()) {
+                codec.writeString(out, s);
+            }
+
+            out.writeInt(vertices.size());
+            for (final Vertex vertex : vertices) {
+                codec.writeValue(out, vertex.id());
+            }
+            for (final Vertex vertex : vertices) {
+                out.writeInt(strings.get(vertex.label()));
+            }
+
+            out.writeInt(edges.size());
+            for (final Edge edge : edges) {
+                codec.writeValue(out, edge.id());
+            }
+            for (final Edge edge : edges) {
+                out.writeInt(strings.get(edge.label()));
+            }
+            for (final Edge edge : edges) {
+                out.writeInt(ordinals.get(edge.outVertex().id()));
+            }
+            for (final Edge edge : edges) {
+                out.writeInt(ordinals.get(edge.inVertex().id()));
+            }
+
+            out.writeInt(vertexColumns.size());
+            for (final Map.Entry<String, Column<VertexProperty<?>>> column : vertexColumns.entrySet()) {
+                out.writeInt(strings.get(column.getKey()));
+                out.writeInt(column.getValue().size);
+                for (int i = 0; i < column.getValue().size; i++) {
+                    final VertexProperty<?> vp = column.getValue().properties.get(i);
+                    out.writeInt(column.getValue().ordinals[i]);
+                    codec.writeValue(out, vp.id());
+                    codec.writeValue(out, vp.value());
+                    final List<Property<Object>> metaProperties = IteratorUtils.list(vp.properties());
+                    out.writeInt(metaProperties.size());
+                    for (final Property<Object> p : metaProperties) {
+                        out.writeInt(strings.get(p.key()));
+                        codec.writeValue(out, p.value());
+                    }
+                }
+            }
+
+            out.writeInt(edgeColumns.size());
+            for (final Map.Entry<String, Column<Property<?>>> column : edgeColumns.entrySet()) {
+                out.writeInt(strings.get(column.getKey()));
+                out.writeInt(column.getValue().size);
+                for (int i = 0; i < column.getValue().size; i++) {
+                    out.writeInt(column.getValue().ordinals[i]);
+                    codec.writeValue(out, column.getValue().properties.get(i).value());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a snapshot from the file into the graph.
+     */
+    public static void read(final AbstractTinkerGraph graph, final File file) throws IOException {
+        final Graph.Features features = graph.features();
+        final boolean supportsTx = features.graph().supportsTransactions();
+        final Codec codec = new Codec();
+        long counter = 0;
+
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final MappedInput in = new MappedInput(channel);
+            if (in.readInt() != MAGIC)
+                throw new IOException(String.format("%s is not a TinkerGraph snapshot", file));
+            final int version = in.readInt();
+            if (version != VERSION)
+                throw new IOException(String.format("Unsupported TinkerGraph snapshot version %s in %s", version, file));
+
+            final String[] strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = codec.readString(in);
+            }
+
+            final Vertex[] vertices = new Vertex[in.readInt()];
+            final Object[] vertexIds = new Object[vertices.length];
+            for (int i = 0; i < vertices.length; i++) {
+                vertexIds[i] = codec.readValue(in);
+            }
+            for (int i = 0; i < vertices.length; i++) {
+                final String label = strings[in.readInt()];
+                vertices[i] = features.vertex().willAllowId(vertexIds[i]) ?
+                        graph.addVertex(T.id, vertexIds[i], T.label, label) :
+                        graph.addVertex(T.label, label);
+                if (supportsTx && ++counter % BATCH_SIZE == 0)
+                    graph.tx().commit();
+            }
+
+            final Edge[] edges = new Edge[in.readInt()];
+            final Object[] edgeIds = new Object[edges.length];
+            for (int i = 0; i < edges.length; i++) {
+                edgeIds[i] = codec.readValue(in);
+            }
+            final int[] labels = in.readInts(edges.length);
+            final int[] outVertices = in.readInts(edges.length);
+            final int[] inVertices = in.readInts(edges.length);
+            for (int i = 0; i < edges.length; i++) {
+                final String label = strings[labels[i]];
+                final Vertex inVertex = vertices[inVertices[i]];
+                edges[i] = features.edge().willAllowId(edgeIds[i]) ?
+                        vertices[outVertices[i]].addEdge(label, inVertex, T.id, edgeIds[i]) :
+                        vertices[outVertices[i]].addEdge(label, inVertex);
+                if (supportsTx && ++counter % BATCH_SIZE == 0)
+                    graph.tx().commit();
+            }
+
+            final int vertexColumns = in.readInt();
+            for (int c = 0; c < vertexColumns; c++) {
+                final String key = strings[in.readInt()];
+                final int size = in.readInt();
+                for (int i = 0; i < size; i++) {
+                    final Vertex vertex = vertices[in.readInt()];
+                    final Object id = codec.readValue(in);
+                    final Object value = codec.readValue(in);
+                    final Object[] keyValues = new Object[in.readInt() * 2 + 2];
+                    keyValues[0] = T.id;
+                    keyValues[1] = id;
+                    for (int j = 2; j < keyValues.length; j += 2) {
+                        keyValues[j] = strings[in.readInt()];
+                        keyValues[j + 1] = codec.readValue(in);
+                    }
+                    if (features.vertex().properties().willAllowId(id))
+                        vertex.property(VertexProperty.Cardinality.list, key, value, keyValues);
+                    else
+                        vertex.property(VertexProperty.Cardinality.list, key, value, Arrays.copyOfRange(keyValues, 2, keyValues.length));
+                    if (supportsTx && ++counter % BATCH_SIZE == 0)
+                        graph.tx().commit();
+                }
+            }
+
+            final int edgeColumns = in.readInt();
+            for (int c = 0; c < edgeColumns; c++) {
+                final String key = strings[in.readInt()];
+                final int size = in.readInt();
+                for (int i = 0; i < size; i++) {
+                    final Edge edge = edges[in.readInt()];
+                    edge.property(key, codec.readValue(in));
+                    if (supportsTx && ++counter % BATCH_SIZE == 0)
+                        graph.tx().commit();
+                }
+            }
+        }
+
+        if (supportsTx) graph.tx().commit();
+    }
+
+    private static int stringId(final Map<String, Integer> strings, final String s) {
+        return strings.computeIfAbsent(s, k -> strings.size());
+    }
+
+    /**
+     * The properties for a single key along with the position of the element each belongs to.
+     */
+    private static final class Column<P> {
+        private final List<P> properties = new ArrayList<>();
+        private int[] ordinals = new int[16];
+        private int size = 0;
+
+        private void add(final int ordinal, final P property) {
+            if (size == ordinals.length)
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            ordinals[size++] = ordinal;
+            properties.add(property);
+        }
+    }
+
+    /**
+     * Reads a file through a sliding window of memory mapped regions as a single {@code MappedByteBuffer} cannot
+     * address more than 2GB. It may also wrap a buffer that is already in memory.
+     */
+    static final class MappedInput {
+        private static final long WINDOW = 1L << 30;
+
+        private final FileChannel channel;
+        private final long size;
+        private long offset;
+        private ByteBuffer buffer;
+
+        MappedInput(final FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            map(0);
+        }
+
+        MappedInput(final ByteBuffer buffer) {
+            this.channel = null;
+            this.size = buffer.remaining();
+            this.offset = 0;
+            this.buffer = buffer;
+        }
+
+        private void map(final long at) throws IOException {
+            this.offset = at;
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, at, Math.min(WINDOW, size - at));
+        }
+
+        private void ensure(final int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                final long at = offset + buffer.position();
+                if (null == channel || size - at < bytes) throw new EOFException();
+                map(at);
+            }
+        }
+
+        long remaining() {
+            return size - offset - buffer.position();
+        }
+
+        byte readByte() throws IOException {
+            ensure(Byte.BYTES);
+            return buffer.get();
+        }
+
+        short readShort() throws IOException {
+            ensure(Short.BYTES);
+            return buffer.getShort();
+        }
+
+        int readInt() throws IOException {
+            ensure(Integer.BYTES);
+            return buffer.getInt();
+        }
+
+        long readLong() throws IOException {
+            ensure(Long.BYTES);
+            return buffer.getLong();
+        }
+
+        float readFloat() throws IOException {
+            ensure(Float.BYTES);
+            return buffer.getFloat();
+        }
+
+        double readDouble() throws IOException {
+            ensure(Double.BYTES);
+            return buffer.getDouble();
+        }
+
+        int[] readInts(final int length) throws IOException {
+            final int[] ints = new int[length];
+            int read = 0;
+            while (read < length) {
+                ensure(Integer.BYTES);
+                final int n = Math.min(length - read, buffer.remaining() / Integer.BYTES);
+                buffer.asIntBuffer().get(ints, read, n);
+                buffer.position(buffer.position() + n * Integer.BYTES);
+                read += n;
+            }
+            return ints;
+        }
+
+        byte[] readBytes(final int length) throws IOException {
+            final byte[] bytes = new byte[length];
+            int read = 0;
+            while (read < length) {
+                ensure(Byte.BYTES);
+                final int n = Math.min(length - read, buffer.remaining());
+                buffer.get(bytes, read, n);
+                read += n;
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Writes and reads identifiers and property values, creating the Gryo mapper only if a value requires it.
+     */
+    static final class Codec {
+        private Kryo kryo;
+
+        private Kryo kryo() {
+            if (null == kryo)
+                kryo = GryoMapper.build().addRegistry(TinkerIoRegistryV3.instance()).create().createMapper();
+            return kryo;
+        }
+
+        void writeString(final DataOutputStream out, final String s) throws IOException {
+            final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        String readString(final MappedInput in) throws IOException {
+            return new String(in.readBytes(in.readInt()), StandardCharsets.UTF_8);
+        }
+
+        void writeValue(final DataOutputStream out, final Object value) throws IOException {
+            if (null == value) {
+                out.writeByte(TYPE_NULL);
+            } else if (value instanceof String) {
+                out.writeByte(TYPE_STRING);
+                writeString(out, (String) value);
+            } else if (value instanceof Integer) {
+                out.writeByte(TYPE_INTEGER);
+                out.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                out.writeByte(TYPE_LONG);
+                out.writeLong((Long) value);
+            } else if (value instanceof Double) {
+                out.writeByte(TYPE_DOUBLE);
+                out.writeDouble((Double) value);
+            } else if (value instanceof Float) {
+                out.writeByte(TYPE_FLOAT);
+                out.writeFloat((Float) value);
+            } else if (value instanceof Boolean) {
+                out.writeByte(TYPE_BOOLEAN);
+                out.writeBoolean((Boolean) value);
+            } else if (value instanceof Short) {
+                out.writeByte(TYPE_SHORT);
+                out.writeShort((Short) value);
+            } else if (value instanceof Byte) {
+                out.writeByte(TYPE_BYTE);
+                out.writeByte((Byte) value);
+            } else if (value instanceof UUID) {
+                out.writeByte(TYPE_UUID);
+                out.writeLong(((UUID) value).getMostSignificantBits());
+                out.writeLong(((UUID) value).getLeastSignificantBits());
+            } else {
+                final Output output = new Output(256, -1);
+                kryo().writeClassAndObject(output, value);
+                out.writeByte(TYPE_GRYO);
+                out.writeInt(output.position());
+                out.write(output.getBuffer(), 0, output.position());
+            }
+        }
+
+        Object readValue(final MappedInput in) throws IOException {
+            final byte type = in.readByte();
+            switch (type) {
+                case TYPE_NULL:
+                    return null;
+                case TYPE_STRING:
+                    return readString(in);
+                case TYPE_INTEGER:
+                    return in.readInt();
+                case TYPE_LONG:
+                    return in.readLong();
+                case TYPE_DOUBLE:
+                    return in.readDouble();
+                case TYPE_FLOAT:
+                    return in.readFloat();
+                case TYPE_BOOLEAN:
+                    return in.readByte() != 0;
+                case TYPE_SHORT:
+                    return in.readShort();
+                case TYPE_BYTE:
+                    return in.readByte();
+                case TYPE_UUID:
+                    return new UUID(in.readLong(), in.readLong());
+                case TYPE_GRYO:
+                    return kryo().readClassAndObject(new Input(in.readBytes(in.readInt())));
+                default:
+                    throw new IOException(String.format("Unknown value type %s in TinkerGraph data", type));
+            }
+        }
+    }
+}
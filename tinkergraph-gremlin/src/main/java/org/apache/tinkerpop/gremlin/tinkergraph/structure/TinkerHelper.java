@@ -30,6 +30,8 @@ import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComp
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -106,6 +108,7 @@ public final class TinkerHelper {
                 else
                     Stream.of(edgeLabels).map(vertex.outEdgesId::get).filter(Objects::nonNull).forEach(outEdgeIds::addAll);
             }
+            addEdgeIdsFromTx(vertex, Direction.OUT, outEdgeIds, edgeLabels);
         }
 
         final List<Object> inEdgeIds = new ArrayList<>();
@@ -118,6 +121,7 @@ public final class TinkerHelper {
                 else
                     Stream.of(edgeLabels).map(vertex.inEdgesId::get).filter(Objects::nonNull).forEach(inEdgeIds::addAll);
             }
+            addEdgeIdsFromTx(vertex, Direction.IN, inEdgeIds, edgeLabels);
         }
 
         return outEdgeIds.size() == 0 && inEdgeIds.size() == 0
@@ -128,6 +132,21 @@ public final class TinkerHelper {
                     .map(v -> (TinkerEdge) v).iterator();
     }
 
+    /**
+     * The adjacency of a vertex only holds committed edges, so edges added to it in the current transaction are
+     * collected from the transaction itself.
+     */
+    private static void addEdgeIdsFromTx(final TinkerVertex vertex, final Direction direction, final Collection<Object> edgeIds, final String... edgeLabels) {
+        final Set<TinkerEdge> addedEdges = ((TinkerTransaction) vertex.graph().tx()).getAddedEdges(vertex.id());
+        if (addedEdges.isEmpty()) return;
+
+        for (TinkerEdge edge : addedEdges) {
+            final Object vertexId = direction == Direction.OUT ? edge.outVertexId : edge.inVertexId;
+            if (vertex.id().equals(vertexId) && (edgeLabels.length == 0 || Arrays.asList(edgeLabels).contains(edge.label())))
+                edgeIds.add(edge.id());
+        }
+    }
+
     public static Iterator<TinkerVertex> getVertices(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
         final List<Vertex> vertices = new ArrayList<>();
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
@@ -164,6 +183,7 @@ public final class TinkerHelper {
                 else
                     Stream.of(edgeLabels).map(vertex.outEdgesId::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> inEdgesIds.add(edge));
             }
+            addEdgeIdsFromTx(vertex, Direction.OUT, inEdgesIds, edgeLabels);
         }
         final Set<Object> outEdgesIds = new HashSet<>();
         if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) {
@@ -175,6 +195,7 @@ public final class TinkerHelper {
                 else
                     Stream.of(edgeLabels).map(vertex.inEdgesId::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> outEdgesIds.add(edge));
             }
+            addEdgeIdsFromTx(vertex, Direction.IN, outEdgesIds, edgeLabels);
         }
 
         final List<Vertex> vertices = new ArrayList<>();
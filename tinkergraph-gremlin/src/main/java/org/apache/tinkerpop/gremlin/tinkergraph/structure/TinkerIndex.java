@@ -26,9 +26,12 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -37,6 +40,17 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
 
     protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
 
+    /**
+     * Composite indexes keyed by their ordered keys, each holding the elements for a combination of values.
+     */
+    protected Map<List<String>, Map<List<Object>, Set<T>>> compositeIndex = new ConcurrentHashMap<>();
+
+    /**
+     * The combinations of values by which each element is currently held in a composite index so that they can be
+     * removed when a value changes.
+     */
+    protected Map<List<String>, Map<T, Set<List<Object>>>> compositeEntries = new ConcurrentHashMap<>();
+
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
         super(graph, indexClass);
     }
@@ -44,7 +58,7 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
     protected void put(final String key, final Object value, final T element) {
         Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null == keyMap) {
-            this.index.putIfAbsent(key, new ConcurrentHashMap<>());
+            this.index.putIfAbsent(key, createValueMap(key));
             keyMap = this.index.get(key);
         }
         final Object indexableValue = indexable(value);
@@ -84,15 +98,63 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
         }
     }
 
+    @Override
+    public List<T> getRange(final String key, final ValueRange range) {
+        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        if (!(keyMap instanceof NavigableMap))
+            return Collections.emptyList();
+
+        final Set<T> elements = new LinkedHashSet<>();
+        for (final Set<T> set : range.subMap((NavigableMap<Object, Set<T>>) keyMap).values()) {
+            elements.addAll(set);
+        }
+        return new ArrayList<>(elements);
+    }
+
+    @Override
+    public List<T> getOrdered(final String key, final ValueRange range, final boolean descending,
+                              final Predicate<T> filter, final long limit) {
+        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        if (!(keyMap instanceof NavigableMap))
+            return Collections.emptyList();
+
+        return walkOrdered(range.subMap((NavigableMap<Object, Set<T>>) keyMap), descending, filter, limit);
+    }
+
+    @Override
+    public List<T> getComposite(final List<String> keys, final List<Object> values) {
+        final Map<List<Object>, Set<T>> valueMap = this.compositeIndex.get(keys);
+        if (null == valueMap)
+            return Collections.emptyList();
+
+        final Set<T> set = valueMap.get(indexable(values));
+        return null == set ? Collections.emptyList() : new ArrayList<>(set);
+    }
+
+    @Override
+    public long countComposite(final List<String> keys, final List<Object> values) {
+        final Map<List<Object>, Set<T>> valueMap = this.compositeIndex.get(keys);
+        if (null == valueMap)
+            return 0;
+
+        final Set<T> set = valueMap.get(indexable(values));
+        return null == set ? 0 : set.size();
+    }
+
     @Override
     public void remove(final String key, final Object value, final T element) {
+        this.removeValue(key, value, element);
+        this.updateComposites(key, element);
+    }
+
+    private void removeValue(final String key, final Object value, final T element) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null != keyMap) {
             final Set<T> objects = keyMap.get(indexable(value));
             if (null != objects) {
                 objects.remove(element);
                 if (objects.size() == 0) {
-                    keyMap.remove(value);
+                    keyMap.remove(indexable(value));
                 }
             }
         }
@@ -106,26 +168,87 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
                     set.remove(element);
                 }
             }
+            for (List<String> keys : compositeKeys) {
+                removeComposite(keys, element);
+            }
+        }
+    }
+
+    private void updateComposites(final String key, final T element) {
+        for (List<String> keys : compositeKeys) {
+            if (keys.contains(key)) {
+                removeComposite(keys, element);
+                putComposite(keys, element);
+            }
         }
     }
 
+    private void putComposite(final List<String> keys, final T element) {
+        final Map<List<Object>, Set<T>> valueMap = this.compositeIndex.get(keys);
+        final Map<T, Set<List<Object>>> entries = this.compositeEntries.get(keys);
+        if (null == valueMap || null == entries)
+            return;
+
+        final Set<List<Object>> combinations = compositeValues(element, keys);
+        if (combinations.isEmpty())
+            return;
+
+        entries.put(element, combinations);
+        for (List<Object> values : combinations) {
+            valueMap.computeIfAbsent(values, v -> ConcurrentHashMap.newKeySet()).add(element);
+        }
+    }
+
+    private void removeComposite(final List<String> keys, final T element) {
+        final Map<List<Object>, Set<T>> valueMap = this.compositeIndex.get(keys);
+        final Map<T, Set<List<Object>>> entries = this.compositeEntries.get(keys);
+        if (null == valueMap || null == entries)
+            return;
+
+        final Set<List<Object>> combinations = entries.remove(element);
+        if (null == combinations)
+            return;
+
+        for (List<Object> values : combinations) {
+            valueMap.computeIfPresent(values, (v, set) -> {
+                set.remove(element);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    private static List<Object> indexable(final List<Object> values) {
+        final List<Object> indexable = new ArrayList<>(values.size());
+        for (Object value : values) {
+            indexable.add(indexable(value));
+        }
+        return indexable;
+    }
+
     @Override
     public void autoUpdate(final String key, final Object newValue, final Object oldValue, final T element) {
         if (this.indexedKeys.contains(key)) {
-            this.remove(key, oldValue, element);
+            this.removeValue(key, oldValue, element);
             this.put(key, newValue, element);
         }
+        this.updateComposites(key, element);
     }
 
     @Override
-    public void createKeyIndex(final String key) {
+    public void createKeyIndex(final String key, final TinkerIndexType type) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
             throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        if (null == type)
+            throw Graph.Exceptions.argumentCanNotBeNull("type");
 
-        if (this.indexedKeys.contains(key))
-            return;
+        if (this.indexedKeys.contains(key)) {
+            if (this.indexTypes.get(key) == type)
+                return;
+            dropKeyIndex(key);
+        }
+        this.indexTypes.put(key, type);
         this.indexedKeys.add(key);
 
         (Vertex.class.isAssignableFrom(this.indexClass) ?
@@ -143,5 +266,31 @@ final class TinkerIndex<T extends Element> extends AbstractTinkerIndex<T> {
             this.index.remove(key).clear();
 
         this.indexedKeys.remove(key);
+        this.indexTypes.remove(key);
+    }
+
+    @Override
+    public void createCompositeKeyIndex(final List<String> keys) {
+        final List<String> compositeKey = validateCompositeKeys(keys);
+        if (this.compositeKeys.contains(compositeKey))
+            return;
+
+        this.compositeIndex.put(compositeKey, new ConcurrentHashMap<>());
+        this.compositeEntries.put(compositeKey, new ConcurrentHashMap<>());
+        this.compositeKeys.add(compositeKey);
+
+        (Vertex.class.isAssignableFrom(this.indexClass) ?
+                ((TinkerGraph)this.graph).vertices.values().parallelStream() :
+                ((TinkerGraph)this.graph).edges.values().parallelStream())
+                .forEach(e -> this.putComposite(compositeKey, (T) e));
+    }
+
+    @Override
+    public void dropCompositeKeyIndex(final List<String> keys) {
+        this.compositeKeys.remove(keys);
+        if (this.compositeIndex.containsKey(keys))
+            this.compositeIndex.remove(keys).clear();
+        if (this.compositeEntries.containsKey(keys))
+            this.compositeEntries.remove(keys).clear();
     }
 }
@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Predicate;
 
 public final class TinkerIndexHelper {
 
@@ -34,6 +35,72 @@ public final class TinkerIndexHelper {
         return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.get(key, value);
     }
 
+    public static long countVertexIndex(final AbstractTinkerGraph graph, final String key, final Object value) {
+        return null == graph.vertexIndex ? 0 : graph.vertexIndex.count(key, value);
+    }
+
+    public static long countEdgeIndex(final AbstractTinkerGraph graph, final String key, final Object value) {
+        return null == graph.edgeIndex ? 0 : graph.edgeIndex.count(key, value);
+    }
+
+    public static List<TinkerVertex> queryVertexCompositeIndex(final AbstractTinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return null == graph.vertexIndex ? Collections.emptyList() : graph.vertexIndex.getComposite(keys, values);
+    }
+
+    public static List<TinkerEdge> queryEdgeCompositeIndex(final AbstractTinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.getComposite(keys, values);
+    }
+
+    public static long countVertexCompositeIndex(final AbstractTinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return null == graph.vertexIndex ? 0 : graph.vertexIndex.countComposite(keys, values);
+    }
+
+    public static long countEdgeCompositeIndex(final AbstractTinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return null == graph.edgeIndex ? 0 : graph.edgeIndex.countComposite(keys, values);
+    }
+
+    public static List<TinkerVertex> queryVertexIndex(final AbstractTinkerGraph graph, final String key,
+                                                      final AbstractTinkerIndex.ValueRange range) {
+        return null == graph.vertexIndex ? Collections.emptyList() : graph.vertexIndex.getRange(key, range);
+    }
+
+    public static List<TinkerEdge> queryEdgeIndex(final AbstractTinkerGraph graph, final String key,
+                                                  final AbstractTinkerIndex.ValueRange range) {
+        return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.getRange(key, range);
+    }
+
+    public static List<TinkerVertex> queryVertexIndexOrdered(final AbstractTinkerGraph graph, final String key,
+                                                             final AbstractTinkerIndex.ValueRange range,
+                                                             final boolean descending,
+                                                             final Predicate<TinkerVertex> filter, final long limit) {
+        return null == graph.vertexIndex ? Collections.emptyList() :
+                graph.vertexIndex.getOrdered(key, range, descending, filter, limit);
+    }
+
+    public static List<TinkerEdge> queryEdgeIndexOrdered(final AbstractTinkerGraph graph, final String key,
+                                                         final AbstractTinkerIndex.ValueRange range,
+                                                         final boolean descending,
+                                                         final Predicate<TinkerEdge> filter, final long limit) {
+        return null == graph.edgeIndex ? Collections.emptyList() :
+                graph.edgeIndex.getOrdered(key, range, descending, filter, limit);
+    }
+
+    public static List<TinkerVertex> queryVertexLabelIndex(final AbstractTinkerGraph graph, final String label) {
+        return null == graph.vertexLabelIndex ? Collections.emptyList() : graph.vertexLabelIndex.get(label);
+    }
+
+    public static List<TinkerEdge> queryEdgeLabelIndex(final AbstractTinkerGraph graph, final String label) {
+        return null == graph.edgeLabelIndex ? Collections.emptyList() : graph.edgeLabelIndex.get(label);
+    }
+
+    public static long countVertexLabelIndex(final AbstractTinkerGraph graph, final String label) {
+        return null == graph.vertexLabelIndex ? 0 : graph.vertexLabelIndex.count(label);
+    }
+
+    public static long countEdgeLabelIndex(final AbstractTinkerGraph graph, final String label) {
+        return null == graph.edgeLabelIndex ? 0 : graph.edgeLabelIndex.count(label);
+    }
+
     public static void autoUpdateIndex(final TinkerEdge edge, final String key, final Object newValue, final Object oldValue) {
         final AbstractTinkerGraph graph = (AbstractTinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
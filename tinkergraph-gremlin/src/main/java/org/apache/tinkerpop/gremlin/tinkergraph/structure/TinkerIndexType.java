@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+/**
+ * The kinds of property indexes that can be created on an {@link AbstractTinkerGraph}.
+ */
+public enum TinkerIndexType {
+
+    /**
+     * A hash-based index that can only answer equality lookups. This is the default index type.
+     */
+    HASH,
+
+    /**
+     * A sorted index that can answer equality lookups as well as range predicates like {@code gt()}, {@code lte()}
+     * and {@code between()} and can provide elements in order of their property value for patterns like
+     * {@code order().by(key).limit(n)}. Values are ordered using Gremlin's orderability semantics.
+     */
+    RANGE
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The label index of a {@link TinkerGraph}.
+ */
+final class TinkerLabelIndex<T extends TinkerElement> extends AbstractTinkerLabelIndex<T> {
+
+    private final Map<String, Set<T>> index = new ConcurrentHashMap<>();
+
+    public TinkerLabelIndex(final TinkerGraph graph, final Class<T> indexClass) {
+        super(graph, indexClass);
+    }
+
+    public void add(final T element) {
+        index.computeIfAbsent(element.label(), k -> ConcurrentHashMap.newKeySet()).add(element);
+    }
+
+    public void remove(final T element) {
+        index.computeIfPresent(element.label(), (k, elements) -> {
+            elements.remove(element);
+            return elements.isEmpty() ? null : elements;
+        });
+    }
+
+    @Override
+    public List<T> get(final String label) {
+        final Set<T> elements = index.get(label);
+        return null == elements ? Collections.emptyList() : new ArrayList<>(elements);
+    }
+
+    @Override
+    public long count(final String label) {
+        final Set<T> elements = index.get(label);
+        return null == elements ? 0 : elements.size();
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+    }
+}
@@ -83,10 +83,14 @@ public final class TinkerProperty<V> implements Property<V> {
             ((AbstractTinkerGraph) this.element.graph()).touch((TinkerEdge) this.element);
             ((TinkerEdge) this.element).properties.remove(this.key);
             TinkerIndexHelper.removeIndex((TinkerEdge) this.element, this.key, this.value);
+            final TinkerWriteAheadLog log = ((AbstractTinkerGraph) this.element.graph()).mutationLog((TinkerEdge) this.element);
+            if (null != log) log.removeEdgeProperty((TinkerEdge) this.element, this.key);
         } else {
             final TinkerVertex vertex = (TinkerVertex) ((TinkerVertexProperty) this.element).element();
             ((AbstractTinkerGraph) vertex.graph()).touch(vertex);
             ((TinkerVertexProperty) this.element).properties.remove(this.key);
+            final TinkerWriteAheadLog log = ((AbstractTinkerGraph) vertex.graph()).mutationLog(vertex);
+            if (null != log) log.removeMetaProperty((TinkerVertexProperty) this.element, this.key);
         }
     }
 
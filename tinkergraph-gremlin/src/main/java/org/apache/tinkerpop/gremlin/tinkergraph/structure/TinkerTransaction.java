@@ -23,10 +23,28 @@ import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.util.AbstractThreadLocalTransaction;
 import org.apache.tinkerpop.gremlin.structure.util.TransactionException;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of {@link AbstractThreadLocalTransaction} for {@link TinkerTransactionGraph}
@@ -65,6 +83,50 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
      */
     private final ThreadLocal<Set<TinkerElementContainer>> txReadElements = new ThreadLocal<>();
 
+    /**
+     * Edges added in current transaction by the identifier of their vertices. The adjacency of those vertices is
+     * updated from these edges on commit rather than by changing a copy of the vertex.
+     */
+    private final ThreadLocal<Map<Object, Set<TinkerEdge>>> txAddedEdges = new ThreadLocal<>();
+
+    /**
+     * Version of the commit a read-only transaction reads committed elements at, {@link #NOT_STARTED} for other
+     * transactions.
+     */
+    private final ThreadLocal<Long> readVersion = ThreadLocal.withInitial(() -> NOT_STARTED);
+
+    /**
+     * Guards the versions commits are made visible at, the versions read by open read-only transactions and the
+     * removals deferred for them.
+     */
+    private final ReentrantLock versionLock = new ReentrantLock();
+
+    /**
+     * Version of the last commit which is completely visible, so a read-only transaction may start reading at it.
+     */
+    private volatile long committedVersion = 0;
+
+    /**
+     * Version of the last commit which started to change the graph. Ahead of {@link #committedVersion} while the
+     * changes of that commit are applied.
+     */
+    private volatile long changingVersion = 0;
+
+    /**
+     * Versions read by open read-only transactions with the number of transactions reading at each of them.
+     */
+    private final NavigableMap<Long, Integer> readVersions = new TreeMap<>();
+
+    /**
+     * Removals of containers and adjacent edges which are deferred until no read-only transaction can read them.
+     */
+    private final Queue<DeferredRemoval> deferredRemovals = new ArrayDeque<>();
+
+    /**
+     * Orders containers for locking so that concurrent commits acquire shared locks in the same order.
+     */
+    private static final Comparator<TinkerElementContainer<?>> LOCK_ORDER = Comparator.comparingInt(System::identityHashCode);
+
     private final TinkerTransactionGraph graph;
 
     static {
@@ -87,6 +149,90 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
         return super.begin();
     }
 
+    /**
+     * Opens a read-only transaction. The version of the last commit is taken once and elements are read as they were
+     * committed at that version without copying them or tracking them in the transaction, so the transaction does
+     * not see changes committed after it was opened. Any attempt to change the graph fails until the transaction is
+     * closed by a commit or rollback.
+     */
+    protected <T extends TraversalSource> T beginReadOnly(final Class<T> traversalSourceClass) {
+        if (isOpen()) throw Transaction.Exceptions.transactionAlreadyOpen();
+
+        versionLock.lock();
+        try {
+            readVersions.merge(committedVersion, 1, Integer::sum);
+            readVersion.set(committedVersion);
+        } finally {
+            versionLock.unlock();
+        }
+        doOpen();
+        return super.begin(traversalSourceClass);
+    }
+
+    /**
+     * Determines if current transaction is read-only.
+     */
+    protected boolean isReadOnly() {
+        return readVersion.get() != NOT_STARTED;
+    }
+
+    /**
+     * Gets the version a read-only transaction reads committed elements at.
+     */
+    protected long getReadVersion() {
+        return readVersion.get();
+    }
+
+    /**
+     * Determines if no commit has changed the graph since the version read by current read-only transaction, in
+     * which case indices, that hold committed elements only, can be used by it. Reads from an index should be
+     * followed by another check as a commit may start while the index is read.
+     */
+    protected boolean isReadVersionLatest() {
+        return changingVersion == readVersion.get();
+    }
+
+    /**
+     * Reads vertices or edges for current read-only transaction from an index if no commit changed the graph since
+     * the version the transaction reads at, otherwise selects them from all vertices or edges at that version.
+     * @param fromIndex reads the elements from the index.
+     * @param filter selects the elements the index would hold.
+     */
+    protected <T extends TinkerElement> List<T> readIndexed(final Class<T> elementClass, final Supplier<List<T>> fromIndex,
+                                                            final Predicate<T> filter) {
+        if (isReadVersionLatest()) {
+            final List<T> elements = fromIndex.get();
+            if (isReadVersionLatest()) return elements;
+        }
+        return readAll(elementClass).filter(filter).collect(Collectors.toList());
+    }
+
+    /**
+     * Throws an exception if current transaction is read-only. Must be called before an element is changed.
+     */
+    protected void assertWritable() {
+        if (isReadOnly())
+            throw new IllegalStateException("The graph cannot be changed in a read-only transaction");
+    }
+
+    /**
+     * Gets the element of the container as it is seen by current transaction.
+     */
+    protected <T extends TinkerElement> T read(final TinkerElementContainer<T> container) {
+        final long version = readVersion.get();
+        return version != NOT_STARTED ? container.getCommitted(version) : container.getWithClone(this);
+    }
+
+    /**
+     * Gets all vertices or edges as they are seen by current read-only transaction.
+     */
+    protected <T extends TinkerElement> Stream<T> readAll(final Class<T> elementClass) {
+        final long version = readVersion.get();
+        final Map<Object, ? extends TinkerElementContainer<?>> elements =
+                TinkerVertex.class.isAssignableFrom(elementClass) ? graph.getVertices() : graph.getEdges();
+        return elements.values().stream().map(c -> (T) c.getCommitted(version)).filter(Objects::nonNull);
+    }
+
     @Override
     protected void doOpen() {
         txNumber.set(openedTx.getAndIncrement());
@@ -116,6 +262,43 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
         }
     }
 
+    /**
+     * Gets the containers of vertices changed in current transaction.
+     */
+    protected Set<TinkerElementContainer<TinkerVertex>> getChangedVertices() {
+        final Set<TinkerElementContainer<TinkerVertex>> changedVertices = txChangedVertices.get();
+        return null == changedVertices ? Collections.emptySet() : changedVertices;
+    }
+
+    /**
+     * Gets the containers of edges changed in current transaction.
+     */
+    protected Set<TinkerElementContainer<TinkerEdge>> getChangedEdges() {
+        final Set<TinkerElementContainer<TinkerEdge>> changedEdges = txChangedEdges.get();
+        return null == changedEdges ? Collections.emptySet() : changedEdges;
+    }
+
+    /**
+     * Adds edge to the pending adjacency of the vertex in current transaction.
+     */
+    protected void markEdgeAdded(final TinkerVertex vertex, final TinkerEdge edge) {
+        if (!isOpen()) txNumber.set(openedTx.getAndIncrement());
+
+        if (null == txAddedEdges.get())
+            txAddedEdges.set(new HashMap<>());
+
+        txAddedEdges.get().computeIfAbsent(vertex.id(), k -> new LinkedHashSet<>()).add(edge);
+    }
+
+    /**
+     * Gets the edges added to the vertex in current transaction which are not yet part of its adjacency.
+     */
+    protected Set<TinkerEdge> getAddedEdges(final Object vertexId) {
+        final Map<Object, Set<TinkerEdge>> addedEdges = txAddedEdges.get();
+        if (null == addedEdges) return Collections.emptySet();
+        return addedEdges.getOrDefault(vertexId, Collections.emptySet());
+    }
+
     /**
      * Adds element to list of read in current transaction.
      */
@@ -131,21 +314,33 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
     /**
      * Try to commit all changes made in current transaction.
      * Workflow:
-     * 1. collect all changes
+     * 1. collect all changes, including the vertices whose adjacency changes because of added edges
      * 2. verify if any elements already changed, throw {@link TransactionException} if any
-     * 3. try to lock all containers to prevent other tx from making changes
-     * 4. one more time verify elements versions
-     * 5. update indices
-     * 6. commit all changes
+     * 3. try to lock all containers to prevent other tx from making changes, waiting up to the configured lock
+     *    timeout for containers locked by other tx
+     * 4. one more time verify elements versions and that removed vertices have no edges committed by other tx
+     * 5. append changes to the write-ahead log if it is enabled
+     * 6. take the next commit version, update indices, commit all changes at that version and apply added and
+     *    removed edges to the adjacency of committed vertices, then make that version visible to read-only
+     *    transactions. Edges and elements which open read-only transactions may still read are removed once those
+     *    transactions are closed.
      * On {@link TransactionException}:
      *  rollback all changes
      * Lastly:
-     *  cleanup transaction intermediate variables.
+     *  cleanup transaction intermediate variables and sync the write-ahead log.
+     * <p/>
+     * Vertices whose only change is an added or removed edge are not versioned, so concurrent transactions adding
+     * edges to the same vertex do not conflict.
      *
      * @throws TransactionException
      */
     @Override
     protected void doCommit() throws TransactionException {
+        if (isReadOnly()) {
+            closeReadOnly();
+            return;
+        }
+
         final long txVersion = txNumber.get();
 
         // collect all changes
@@ -154,36 +349,129 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
         Set<TinkerElementContainer<TinkerEdge>> changedEdges = txChangedEdges.get();
         if (null == changedEdges) changedEdges = Collections.emptySet();
 
+        final List<TinkerEdge> addedEdges = new ArrayList<>();
+        final List<TinkerEdge> removedEdges = new ArrayList<>();
+        final List<TinkerElement> removedElements = new ArrayList<>();
+        for (TinkerElementContainer<TinkerEdge> container : changedEdges) {
+            final TinkerEdge committed = container.getUnmodified();
+            if (container.isDeleted()) {
+                if (null != committed) removedEdges.add(committed);
+            } else if (null == committed && null != container.getModified()) {
+                addedEdges.add(container.getModified());
+            }
+        }
+        removedElements.addAll(removedEdges);
+        for (TinkerElementContainer<TinkerVertex> container : changedVertices) {
+            if (container.isDeleted() && null != container.getUnmodified())
+                removedElements.add(container.getUnmodified());
+        }
+
+        // vertices which only get new edges are locked but not changed
+        final Set<TinkerElementContainer<TinkerVertex>> adjacentVertices = new HashSet<>();
+        boolean missingVertex = false;
+        for (TinkerEdge edge : addedEdges) {
+            for (Object vertexId : new Object[]{edge.outVertexId, edge.inVertexId}) {
+                final TinkerElementContainer<TinkerVertex> container = graph.getVertices().get(vertexId);
+                if (null == container)
+                    missingVertex = true;
+                else if (!changedVertices.contains(container))
+                    adjacentVertices.add(container);
+            }
+        }
+
+        final List<TinkerElementContainer<TinkerVertex>> lockedVertices = new ArrayList<>(changedVertices.size() + adjacentVertices.size());
+        lockedVertices.addAll(changedVertices);
+        lockedVertices.addAll(adjacentVertices);
+        lockedVertices.sort(LOCK_ORDER);
+        final List<TinkerElementContainer<TinkerEdge>> lockedEdges = new ArrayList<>(changedEdges);
+        lockedEdges.sort(LOCK_ORDER);
+
+        final long lockTimeout = graph.getTxLockTimeout();
+        final TinkerWriteAheadLog log = graph.writeAheadLog;
+        boolean logged = false;
+        long logPosition = 0;
+
         try {
             // Double-checked locking to reduce lock time
-            if (changedVertices.stream().anyMatch(v -> v.updatedOutsideTransaction()) ||
-                    changedEdges.stream().anyMatch(v -> v.updatedOutsideTransaction()))
+            if (missingVertex ||
+                    changedVertices.stream().anyMatch(v -> v.updatedOutsideTransaction()) ||
+                    changedEdges.stream().anyMatch(v -> v.updatedOutsideTransaction()) ||
+                    adjacentVertices.stream().anyMatch(v -> v.isDeleted()))
                 throw new TransactionException(TX_CONFLICT);
 
-            // try to lock all element containers, throw exception if any element already locked by other tx
-            changedVertices.forEach(v -> {
-                if (!v.tryLock())
+            // try to lock all element containers, throw exception if any element stays locked by other tx
+            lockedVertices.forEach(v -> {
+                if (!v.tryLock(lockTimeout))
                     throw new TransactionException(TX_CONFLICT);
             });
-            changedEdges.forEach(e -> {
-                if (!e.tryLock())
+            lockedEdges.forEach(e -> {
+                if (!e.tryLock(lockTimeout))
                     throw new TransactionException(TX_CONFLICT);
             });
 
             // verify versions of all elements to be sure no element changes during setting lock
             if (changedVertices.stream().anyMatch(v -> v.updatedOutsideTransaction()) ||
-                    changedEdges.stream().anyMatch(e -> e.updatedOutsideTransaction()))
+                    changedEdges.stream().anyMatch(e -> e.updatedOutsideTransaction()) ||
+                    adjacentVertices.stream().anyMatch(v -> v.isDeleted()) ||
+                    changedVertices.stream().anyMatch(this::hasEdgesCommittedOutsideTransaction))
                 throw new TransactionException(TX_CONFLICT);
 
-            // update indices
-            final TinkerTransactionalIndex vertexIndex = (TinkerTransactionalIndex) graph.vertexIndex;
-            if (vertexIndex != null) vertexIndex.commit(changedVertices);
-            final TinkerTransactionalIndex edgeIndex = (TinkerTransactionalIndex) graph.edgeIndex;
-            if (edgeIndex != null) edgeIndex.commit(changedEdges);
-
-            // commit all changes
-            changedVertices.forEach(v -> v.commit(txVersion));
-            changedEdges.forEach(e -> e.commit(txVersion));
+            // log the changes before they become visible, they are synced once locks are released
+            if (null != log && !(changedVertices.isEmpty() && changedEdges.isEmpty())) {
+                logged = true;
+                logPosition = log.commit(changedVertices, changedEdges);
+            }
+
+            // commits change the graph one at a time so that each of them becomes visible to read-only
+            // transactions as a whole at its own version
+            versionLock.lock();
+            try {
+                final long commitVersion = changingVersion + 1;
+                changingVersion = commitVersion;
+                final long oldestReadVersion = readVersions.isEmpty() ? commitVersion : readVersions.firstKey();
+
+                // update indices
+                final TinkerTransactionalIndex vertexIndex = (TinkerTransactionalIndex) graph.vertexIndex;
+                if (vertexIndex != null) vertexIndex.commit(changedVertices);
+                final TinkerTransactionalIndex edgeIndex = (TinkerTransactionalIndex) graph.edgeIndex;
+                if (edgeIndex != null) edgeIndex.commit(changedEdges);
+                final TinkerTransactionalLabelIndex vertexLabelIndex = (TinkerTransactionalLabelIndex) graph.vertexLabelIndex;
+                if (vertexLabelIndex != null) vertexLabelIndex.commit(changedVertices);
+                final TinkerTransactionalLabelIndex edgeLabelIndex = (TinkerTransactionalLabelIndex) graph.edgeLabelIndex;
+                if (edgeLabelIndex != null) edgeLabelIndex.commit(changedEdges);
+
+                // the copy of a changed vertex has to carry the adjacency of the committed vertex as it replaces it
+                changedVertices.forEach(v -> {
+                    final TinkerVertex committed = v.getUnmodified();
+                    final TinkerVertex modified = v.getModified();
+                    if (null != committed && null != modified && committed != modified) {
+                        modified.outEdgesId = committed.outEdgesId;
+                        modified.inEdgesId = committed.inEdgesId;
+                    }
+                });
+
+                // commit all changes
+                changedVertices.forEach(v -> v.commit(txVersion, commitVersion, oldestReadVersion));
+                changedEdges.forEach(e -> e.commit(txVersion, commitVersion, oldestReadVersion));
+
+                // apply adjacency changes to committed vertices, removed edges stay in the adjacency while an open
+                // read-only transaction may read them
+                addedEdges.forEach(e -> {
+                    addAdjacentEdge(e.outVertexId, true, e);
+                    addAdjacentEdge(e.inVertexId, false, e);
+                });
+                if (oldestReadVersion >= commitVersion) {
+                    removedEdges.forEach(this::removeAdjacentEdges);
+                } else if (!removedElements.isEmpty()) {
+                    deferredRemovals.add(new DeferredRemoval(commitVersion, () -> {
+                        removedEdges.forEach(this::removeAdjacentEdgesIfRemoved);
+                        removedElements.forEach(e -> e.removed = true);
+                    }));
+                }
+            } finally {
+                committedVersion = changingVersion;
+                versionLock.unlock();
+            }
         } catch (TransactionException ex) {
             // rollback on error
             changedVertices.forEach(v -> v.rollback());
@@ -197,9 +485,12 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
 
             throw ex;
         } finally {
+            // the changes are visible now so a checkpoint may proceed
+            if (logged) log.endCommit();
+
             // remove elements from graph if not used in other tx's
-            changedVertices.stream().filter(v -> v.canBeRemoved()).forEach(v -> graph.getVertices().remove(v.getElementId()));
-            changedEdges.stream().filter(e -> e.canBeRemoved()).forEach(e -> graph.getEdges().remove(e.getElementId()));
+            removeUnused(changedVertices, graph.getVertices());
+            removeUnused(changedEdges, graph.getEdges());
 
             final Set<TinkerElementContainer> readElements = txReadElements.get();
             if (readElements != null)
@@ -208,12 +499,82 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
             txChangedVertices.remove();
             txChangedEdges.remove();
             txReadElements.remove();
+            txAddedEdges.remove();
 
-            changedVertices.forEach(v -> v.releaseLock());
-            changedEdges.forEach(e -> e.releaseLock());
+            lockedVertices.forEach(v -> v.releaseLock());
+            lockedEdges.forEach(e -> e.releaseLock());
 
             txNumber.set(NOT_STARTED);
         }
+
+        if (logPosition > 0) log.sync(logPosition);
+    }
+
+    /**
+     * A vertex removed in current transaction conflicts with any edge that another transaction committed to it.
+     */
+    private boolean hasEdgesCommittedOutsideTransaction(final TinkerElementContainer<TinkerVertex> container) {
+        if (!container.isDeleted()) return false;
+
+        final TinkerVertex vertex = container.getUnmodified();
+        if (null == vertex) return false;
+
+        return hasLiveEdges(vertex.outEdgesId) || hasLiveEdges(vertex.inEdgesId);
+    }
+
+    private boolean hasLiveEdges(final Map<String, Set<Object>> edgesId) {
+        if (null == edgesId) return false;
+
+        for (Set<Object> ids : edgesId.values()) {
+            for (Object id : ids) {
+                final TinkerElementContainer<TinkerEdge> container = graph.getEdges().get(id);
+                if (null != container && null != container.getUnmodified() && !container.isDeleted())
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    private void addAdjacentEdge(final Object vertexId, final boolean out, final TinkerEdge edge) {
+        final TinkerElementContainer<TinkerVertex> container = graph.getVertices().get(vertexId);
+        final TinkerVertex vertex = null == container ? null : container.getUnmodified();
+        if (null == vertex) return;
+
+        // the container lock is held so the adjacency can be created safely
+        Map<String, Set<Object>> edgesId = out ? vertex.outEdgesId : vertex.inEdgesId;
+        if (null == edgesId) {
+            edgesId = new ConcurrentHashMap<>();
+            if (out) vertex.outEdgesId = edgesId;
+            else vertex.inEdgesId = edgesId;
+        }
+        edgesId.computeIfAbsent(edge.label(), k -> ConcurrentHashMap.newKeySet()).add(edge.id());
+    }
+
+    private void removeAdjacentEdges(final TinkerEdge edge) {
+        removeAdjacentEdge(edge.outVertexId, true, edge);
+        removeAdjacentEdge(edge.inVertexId, false, edge);
+    }
+
+    /**
+     * Removes an edge whose removal was deferred from the adjacency of its vertices unless an edge with the same
+     * identifier was added again in the meantime.
+     */
+    private void removeAdjacentEdgesIfRemoved(final TinkerEdge edge) {
+        final TinkerElementContainer<TinkerEdge> container = graph.getEdges().get(edge.id());
+        if (null == container || null == container.getUnmodified() || container.isDeleted())
+            removeAdjacentEdges(edge);
+    }
+
+    private void removeAdjacentEdge(final Object vertexId, final boolean out, final TinkerEdge edge) {
+        final TinkerElementContainer<TinkerVertex> container = graph.getVertices().get(vertexId);
+        final TinkerVertex vertex = null == container ? null : container.getUnmodified();
+        if (null == vertex) return;
+
+        final Map<String, Set<Object>> edgesId = out ? vertex.outEdgesId : vertex.inEdgesId;
+        if (null == edgesId) return;
+
+        final Set<Object> ids = edgesId.get(edge.label());
+        if (null != ids) ids.remove(edge.id());
     }
 
     /**
@@ -227,6 +588,11 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
      */
     @Override
     protected void doRollback() throws TransactionException {
+        if (isReadOnly()) {
+            closeReadOnly();
+            return;
+        }
+
         // rollback for all changed elements
         Set<TinkerElementContainer<TinkerVertex>> changedVertices = txChangedVertices.get();
         if (null != changedVertices) changedVertices.forEach(v -> v.rollback());
@@ -240,10 +606,8 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
         if (vertexIndex != null) edgeIndex.rollback();
 
         // cleanup unused containers
-        if (null != changedVertices)
-            changedVertices.stream().filter(v -> v.canBeRemoved()).forEach(v -> graph.getVertices().remove(v.getElementId()));
-        if (null != changedEdges)
-            changedEdges.stream().filter(e -> e.canBeRemoved()).forEach(e -> graph.getEdges().remove(e.getElementId()));
+        if (null != changedVertices) removeUnused(changedVertices, graph.getVertices());
+        if (null != changedEdges) removeUnused(changedEdges, graph.getEdges());
 
         final Set<TinkerElementContainer> readElements = txReadElements.get();
         if (readElements != null)
@@ -252,7 +616,68 @@ final class TinkerTransaction extends AbstractThreadLocalTransaction {
         txChangedVertices.remove();
         txChangedEdges.remove();
         txReadElements.remove();
+        txAddedEdges.remove();
+
+        txNumber.set(NOT_STARTED);
+    }
+
+    /**
+     * Removes containers which are not used by other transactions from the graph. A container whose deletion may
+     * still be read by an open read-only transaction is removed once that transaction is closed.
+     */
+    private <T extends TinkerElement> void removeUnused(final Collection<TinkerElementContainer<T>> containers,
+                                                        final Map<Object, TinkerElementContainer<T>> elements) {
+        if (containers.stream().noneMatch(TinkerElementContainer::canBeRemoved)) return;
 
+        versionLock.lock();
+        try {
+            final long oldestReadVersion = readVersions.isEmpty() ? committedVersion : readVersions.firstKey();
+            for (TinkerElementContainer<T> container : containers) {
+                if (!container.canBeRemoved()) continue;
+
+                final long commitVersion = container.getCommitVersion();
+                if (commitVersion <= oldestReadVersion)
+                    elements.remove(container.getElementId(), container);
+                else
+                    deferredRemovals.add(new DeferredRemoval(commitVersion, () -> {
+                        if (container.canBeRemoved()) elements.remove(container.getElementId(), container);
+                    }));
+            }
+        } finally {
+            versionLock.unlock();
+        }
+    }
+
+    /**
+     * A read-only transaction has nothing to commit or rollback, so it only has to be reset and release the version
+     * it reads at, which completes the removals that were deferred for it.
+     */
+    private void closeReadOnly() {
+        final long version = readVersion.get();
+        readVersion.remove();
         txNumber.set(NOT_STARTED);
+
+        versionLock.lock();
+        try {
+            readVersions.computeIfPresent(version, (v, count) -> count == 1 ? null : count - 1);
+            final long oldestReadVersion = readVersions.isEmpty() ? committedVersion : readVersions.firstKey();
+            while (!deferredRemovals.isEmpty() && deferredRemovals.peek().version <= oldestReadVersion)
+                deferredRemovals.poll().removal.run();
+        } finally {
+            versionLock.unlock();
+        }
+    }
+
+    /**
+     * Removal which is made once no open read-only transaction reads at a version before the one it was deferred at.
+     */
+    private static final class DeferredRemoval {
+        private final long version;
+        private final Runnable removal;
+
+        private DeferredRemoval(final long version, final Runnable removal) {
+            this.version = version;
+            this.removal = removal;
+        }
     }
 }
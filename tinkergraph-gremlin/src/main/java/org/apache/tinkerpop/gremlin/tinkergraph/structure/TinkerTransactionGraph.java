@@ -20,10 +20,13 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.commons.configuration2.BaseConfiguration;
 import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
@@ -41,8 +44,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * An in-memory (with optional persistence on calls to {@link #close()}), reference implementation of the property
@@ -75,6 +78,11 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
     private final Map<Object, TinkerElementContainer<TinkerVertex>> vertices = new ConcurrentHashMap<>();
     private final Map<Object, TinkerElementContainer<TinkerEdge>> edges = new ConcurrentHashMap<>();
 
+    /**
+     * Time in milliseconds that a commit waits for an element locked by another transaction.
+     */
+    private final long txLockTimeout;
+
     /**
      * An empty private constructor that initializes {@link TinkerTransactionGraph}.
      */
@@ -86,13 +94,17 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
         defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
         allowNullPropertyValues = configuration.getBoolean(GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES, false);
+        txLockTimeout = configuration.getLong(GREMLIN_TINKERGRAPH_TX_LOCK_TIMEOUT, 0L);
 
         graphLocation = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_LOCATION, null);
         graphFormat = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_FORMAT, null);
 
-        if ((graphLocation != null && null == graphFormat) || (null == graphLocation && graphFormat != null))
-            throw new IllegalStateException(String.format("The %s and %s must both be specified if either is present",
-                    GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_FORMAT));
+        validatePersistence();
+
+        if (configuration.getBoolean(GREMLIN_TINKERGRAPH_LABEL_INDEX, true)) {
+            vertexLabelIndex = new TinkerTransactionalLabelIndex<>(this, TinkerVertex.class);
+            edgeLabelIndex = new TinkerTransactionalLabelIndex<>(this, TinkerEdge.class);
+        }
 
         if (graphLocation != null) loadGraph();
 
@@ -134,6 +146,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public Vertex addVertex(final Object... keyValues) {
+        transaction.assertWritable();
         ElementHelper.legalPropertyKeyValueArray(keyValues);
 
         Object idValue = vertexIdManager.convert(ElementHelper.getIdValue(keyValues).orElse(null));
@@ -165,6 +178,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public void removeVertex(final Object vertexId) {
+        transaction.assertWritable();
         if (!vertices.containsKey(vertexId)) return;
 
         // vertex can be deleted in other thread, so need to double-check
@@ -175,6 +189,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public void touch(final TinkerVertex vertex) {
+        transaction.assertWritable();
         // already removed, so skip
         if (null == vertex || !vertices.containsKey(vertex.id())) return;
 
@@ -188,6 +203,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public void touch(final TinkerEdge edge) {
+        transaction.assertWritable();
         // already removed, so skip
         if (null == edge || !edges.containsKey(edge.id())) return;
 
@@ -201,6 +217,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public Edge addEdge(final TinkerVertex outVertex, final TinkerVertex inVertex, final String label, final Object... keyValues) {
+        transaction.assertWritable();
         ElementHelper.validateLabel(label);
         ElementHelper.legalPropertyKeyValueArray(keyValues);
 
@@ -235,6 +252,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public void removeEdge(final Object edgeId) {
+        transaction.assertWritable();
         if (!edges.containsKey(edgeId)) return;
 
         final TinkerElementContainer<TinkerEdge> container = edges.get(edgeId);
@@ -245,24 +263,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
         if (edge == null) return;
 
-        final TinkerVertex outVertex = (TinkerVertex) edge.outVertex();
-        touch(outVertex);
-        final TinkerVertex inVertex = (TinkerVertex) edge.inVertex();
-        touch(inVertex);
-
-        if (null != outVertex && null != outVertex.outEdgesId) {
-            final Set<Object> edges = outVertex.outEdgesId.get(edge.label());
-            if (null != edges) {
-                edges.removeIf(e -> e == edge.id());
-            }
-        }
-        if (null != inVertex && null != inVertex.inEdgesId) {
-            final Set<Object> edges = inVertex.inEdgesId.get(edge.label());
-            if (null != edges) {
-                edges.removeIf(e -> e == edge.id());
-            }
-        }
-
+        // the adjacency of the vertices is updated on commit so they don't need to be changed here
         container.markDeleted((TinkerTransaction) tx());
     }
 
@@ -271,6 +272,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
         super.clear();
         this.vertices.clear();
         this.edges.clear();
+        if (null != writeAheadLog) writeAheadLog.clear();
     }
 
     @Override
@@ -278,8 +280,32 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
         return transaction;
     }
 
+    /**
+     * Opens a read-only transaction on the current thread and returns a {@link GraphTraversalSource} bound to it.
+     * A read-only transaction reads the graph as it was committed when the transaction was opened and does not see
+     * changes committed after that. It reads committed elements directly rather than copies of them which avoids the
+     * cost of tracking the elements in the transaction, but any attempt to change the graph throws an
+     * {@code IllegalStateException}. The transaction is closed as usual with a commit or rollback and should be
+     * closed promptly as the graph keeps the elements it may read until then.
+     */
+    public GraphTraversalSource beginReadOnly() {
+        return beginReadOnly(GraphTraversalSource.class);
+    }
+
+    /**
+     * Opens a read-only transaction on the current thread and returns a {@link TraversalSource} of the specified
+     * type bound to it.
+     *
+     * @see #beginReadOnly()
+     */
+    public <T extends TraversalSource> T beginReadOnly(final Class<T> traversalSourceClass) {
+        return transaction.beginReadOnly(traversalSourceClass);
+    }
+
     @Override
     public int getVerticesCount() {
+        if (transaction.isReadOnly())
+            return (int) transaction.readAll(TinkerVertex.class).count();
         return (int) vertices.entrySet().stream().filter(v -> v.getValue().get() != null).count();
     }
 
@@ -292,6 +318,8 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     @Override
     public int getEdgesCount() {
+        if (transaction.isReadOnly())
+            return (int) transaction.readAll(TinkerEdge.class).count();
         return (int) edges.entrySet().stream().filter(v -> v.getValue().get() != null).count();
     }
 
@@ -302,6 +330,8 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
     Map<Object, TinkerElementContainer<TinkerEdge>> getEdges () { return edges; }
 
+    long getTxLockTimeout() { return txLockTimeout; }
+
     @Override
     public TinkerServiceRegistry getServiceRegistry() {
         return serviceRegistry;
@@ -310,7 +340,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
     @Override
     public Vertex vertex(final Object vertexId) {
         final TinkerElementContainer<TinkerVertex> container = vertices.get(vertexIdManager.convert(vertexId));
-        return container == null ? null : container.getWithClone((TinkerTransaction) tx());
+        return container == null ? null : transaction.read(container);
     }
 
     @Override
@@ -321,7 +351,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
     @Override
     public Edge edge(final Object edgeId) {
         final TinkerElementContainer<TinkerEdge> container = edges.get(edgeIdManager.convert(edgeId));
-        return container == null ? null : container.getWithClone((TinkerTransaction) tx());
+        return container == null ? null : transaction.read(container);
     }
 
     @Override
@@ -338,9 +368,12 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
 
         final Iterator<T> iterator;
         if (0 == ids.length) {
+            // todo: clone only if traversal contains mutating steps
+            final long readVersion = transaction.getReadVersion();
+            final Function<TinkerElementContainer<C>, C> read = transaction.isReadOnly() ?
+                    c -> c.getCommitted(readVersion) : c -> c.getWithClone(transaction);
             iterator = new TinkerGraphIterator<>(
-                    // todo: clone only if traversal contains mutating steps
-                    elements.values().stream().map(c -> (T) c.getWithClone((TinkerTransaction) tx())).filter(e -> e != null).iterator());
+                    elements.values().stream().map(c -> (T) read.apply(c)).filter(e -> e != null).iterator());
         } else {
             final List<Object> idList = Arrays.asList(ids);
 
@@ -353,7 +386,7 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
                 if (null == id) return null;
                 final Object iid = clazz.isAssignableFrom(id.getClass()) ? clazz.cast(id).id() : idManager.convert(id);
                 final TinkerElementContainer<C> container = elements.get(iid);
-                return container == null ? null : (T) container.getWithClone((TinkerTransaction) tx());
+                return container == null ? null : (T) transaction.read(container);
             }).iterator(), Objects::nonNull));
         }
         return TinkerHelper.inComputerMode(this) ?
@@ -364,26 +397,12 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
     }
     @Override
     protected void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        touch(vertex);
-        if (null == vertex.outEdgesId) vertex.outEdgesId = new ConcurrentHashMap<>();
-        Set<Object> edges = vertex.outEdgesId.get(label);
-        if (null == edges) {
-            edges = ConcurrentHashMap.newKeySet();
-            vertex.outEdgesId.put(label, edges);
-        }
-        edges.add(edge.id());
+        transaction.markEdgeAdded(vertex, (TinkerEdge) edge);
     }
 
     @Override
     protected void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        touch(vertex);
-        if (null == vertex.inEdgesId) vertex.inEdgesId = new ConcurrentHashMap<>();
-        Set<Object> edges = vertex.inEdgesId.get(label);
-        if (null == edges) {
-            edges = ConcurrentHashMap.newKeySet();
-            vertex.inEdgesId.put(label, edges);
-        }
-        edges.add(edge.id());
+        transaction.markEdgeAdded(vertex, (TinkerEdge) edge);
     }
 
     /**
@@ -468,12 +487,65 @@ public final class TinkerTransactionGraph extends AbstractTinkerGraph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        createIndex(key, elementClass, TinkerIndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified type for said element class ({@link Vertex} or {@link Edge}) and said
+     * property key. A {@link TinkerIndexType#RANGE} index can additionally answer range predicates and ordered
+     * lookups. If the key is already indexed with a different type, the index is rebuilt with the new type.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param type         the type of index to create
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final TinkerIndexType type) {
         if (Vertex.class.isAssignableFrom(elementClass)) {
             if (null == this.vertexIndex) this.vertexIndex = new TinkerTransactionalIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
+            this.vertexIndex.createKeyIndex(key, type);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
             if (null == this.edgeIndex) this.edgeIndex = new TinkerTransactionalIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
+            this.edgeIndex.createKeyIndex(key, type);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over the ordered list of
+     * property keys. The element label may be included in the index by using the accessor of {@link T#label} as one
+     * of the keys. The index is used when a traversal has equality predicates for all of its keys and it is expected
+     * to return fewer elements than any other applicable index.
+     *
+     * @param keys         the property keys to index together
+     * @param elementClass the element class to index
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createCompositeIndex(final List<String> keys, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexIndex) this.vertexIndex = new TinkerTransactionalIndex<>(this, TinkerVertex.class);
+            this.vertexIndex.createCompositeKeyIndex(keys);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeIndex) this.edgeIndex = new TinkerTransactionalIndex<>(this, TinkerEdge.class);
+            this.edgeIndex.createCompositeKeyIndex(keys);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}) and ordered keys.
+     *
+     * @param keys         the property keys of the composite index to drop
+     * @param elementClass the element class of the index to drop
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropCompositeIndex(final List<String> keys, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null != this.vertexIndex) this.vertexIndex.dropCompositeKeyIndex(keys);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null != this.edgeIndex) this.edgeIndex.dropCompositeKeyIndex(keys);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
@@ -20,13 +20,21 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -38,6 +46,12 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
     protected ThreadLocal<Map<String, Map<Object, Set<T>>>> txIndex =
             ThreadLocal.withInitial(() -> new ConcurrentHashMap<>());
 
+    /**
+     * Composite indexes of committed elements keyed by their ordered keys. Elements changed in the current
+     * transaction are few, so rather than maintaining a transaction local composite index they are tested directly.
+     */
+    protected Map<List<String>, Map<List<Object>, Set<TinkerElementContainer<T>>>> compositeIndex = new ConcurrentHashMap<>();
+
     public TinkerTransactionalIndex(final TinkerTransactionGraph graph, final Class<T> indexClass) {
         super(graph, indexClass);
     }
@@ -72,9 +86,13 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
         if (null == set)
             return new ArrayList<>();
 
+        final TinkerTransaction tx = (TinkerTransaction) graph.tx();
+        if (tx.isReadOnly())
+            return set.stream().map(tx::read).filter(Objects::nonNull).collect(Collectors.toList());
+
         return set.stream().
-                filter(e -> !e.isChanged() && e.get() != null).
-                map(e -> e.get()).collect(Collectors.toList());
+                filter(e -> !e.isChanged()).
+                map(e -> e.getWithClone(tx)).filter(Objects::nonNull).collect(Collectors.toList());
     }
 
     private Set<T> getModifiedElements(final String key, final Object value) {
@@ -91,6 +109,14 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
 
     @Override
     public List<T> get(final String key, final Object value) {
+        final TinkerTransaction tx = (TinkerTransaction) graph.tx();
+        if (tx.isReadOnly()) {
+            final Map<Object, Set<TinkerElementContainer<T>>> keyMap = index.get(key);
+            final Object indexableValue = indexable(value);
+            return tx.readIndexed(indexClass, () -> getNotModifiedElements(key, value),
+                    e -> IteratorUtils.anyMatch(e.properties(key), p -> isEqual(keyMap, indexable(p.value()), indexableValue)));
+        }
+
         final List<T> notModifiedElements = getNotModifiedElements(key, value);
         final Set<T> modifiedElements = getModifiedElements(key, value);
         if (modifiedElements != null)
@@ -106,6 +132,129 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
         return get(key, value).size();
     }
 
+    @Override
+    public List<T> getComposite(final List<String> keys, final List<Object> values) {
+        final Map<List<Object>, Set<TinkerElementContainer<T>>> valueMap = compositeIndex.get(keys);
+        if (null == valueMap)
+            return new ArrayList<>();
+
+        final List<Object> indexableValues = values.stream().map(AbstractTinkerIndex::indexable).collect(Collectors.toList());
+        final List<T> elements = new ArrayList<>();
+        final Set<TinkerElementContainer<T>> set = valueMap.get(indexableValues);
+        final TinkerTransaction tx = (TinkerTransaction) graph.tx();
+        if (tx.isReadOnly()) {
+            return tx.readIndexed(indexClass, () -> {
+                if (null != set)
+                    set.stream().map(tx::read).filter(Objects::nonNull).forEach(elements::add);
+                return elements;
+            }, e -> compositeValues(e, keys).contains(indexableValues));
+        }
+
+        if (null != set)
+            set.stream().filter(e -> !e.isChanged()).map(e -> e.getWithClone(tx)).filter(Objects::nonNull).forEach(elements::add);
+
+        final Set<? extends TinkerElementContainer<?>> changed = Vertex.class.isAssignableFrom(indexClass) ?
+                tx.getChangedVertices() : tx.getChangedEdges();
+        for (final TinkerElementContainer<?> container : changed) {
+            final T element = (T) container.get();
+            if (element != null && compositeValues(element, keys).contains(indexableValues) && !elements.contains(element))
+                elements.add(element);
+        }
+
+        return elements;
+    }
+
+    @Override
+    public long countComposite(final List<String> keys, final List<Object> values) {
+        return getComposite(keys, values).size();
+    }
+
+    @Override
+    public List<T> getRange(final String key, final ValueRange range) {
+        return getOrdered(key, range, false, e -> true, Long.MAX_VALUE);
+    }
+
+    @Override
+    public List<T> getOrdered(final String key, final ValueRange range, final boolean descending,
+                              final Predicate<T> filter, final long limit) {
+        final Map<Object, Set<TinkerElementContainer<T>>> keyMap = index.get(key);
+        if (!(keyMap instanceof NavigableMap))
+            return Collections.emptyList();
+
+        final TinkerTransaction tx = (TinkerTransaction) graph.tx();
+        if (tx.isReadOnly()) {
+            // the index only holds the latest committed elements, so if a commit changed them since the version the
+            // transaction reads at, all elements at that version are sorted instead
+            if (tx.isReadVersionLatest()) {
+                final List<T> elements = getOrdered(tx, (NavigableMap) keyMap, key, range, descending, filter, limit, false);
+                if (tx.isReadVersionLatest()) return elements;
+            }
+            return getOrdered(tx, Collections.emptyNavigableMap(), key, range, descending, filter, limit, true);
+        }
+
+        return getOrdered(tx, (NavigableMap) keyMap, key, range, descending, filter, limit, false);
+    }
+
+    private List<T> getOrdered(final TinkerTransaction tx, final NavigableMap<Object, Set<TinkerElementContainer<T>>> keyMap,
+                               final String key, final ValueRange range, final boolean descending,
+                               final Predicate<T> filter, final long limit, final boolean readAll) {
+        // elements modified in this transaction are few so they are sorted here and merged with the committed index
+        final boolean readOnly = tx.isReadOnly();
+        final NavigableMap<Object, Set<T>> modified = new TreeMap<>(RANGE_ORDER);
+        final Map<String, Map<Object, Set<T>>> txKeyMaps = readOnly ? null : txIndex.get();
+        if (null != txKeyMaps && txKeyMaps.containsKey(key)) {
+            txKeyMaps.get(key).forEach((value, elements) -> {
+                if (range.contains(value))
+                    modified.computeIfAbsent(value, v -> new LinkedHashSet<>()).addAll(elements);
+            });
+        }
+        if (readAll) {
+            tx.readAll(indexClass).forEach(element -> element.properties(key).forEachRemaining(p -> {
+                final Object value = indexable(p.value());
+                if (range.contains(value))
+                    modified.computeIfAbsent(value, v -> new LinkedHashSet<>()).add(element);
+            }));
+        }
+
+        final NavigableMap<Object, Set<TinkerElementContainer<T>>> committed = range.subMap(keyMap);
+        final Iterator<Map.Entry<Object, Set<TinkerElementContainer<T>>>> committedIterator =
+                (descending ? committed.descendingMap() : committed).entrySet().iterator();
+        final Iterator<Map.Entry<Object, Set<T>>> modifiedIterator =
+                (descending ? modified.descendingMap() : modified).entrySet().iterator();
+
+        final Set<T> elements = new LinkedHashSet<>();
+        Map.Entry<Object, Set<TinkerElementContainer<T>>> nextCommitted = committedIterator.hasNext() ? committedIterator.next() : null;
+        Map.Entry<Object, Set<T>> nextModified = modifiedIterator.hasNext() ? modifiedIterator.next() : null;
+        while (elements.size() < limit && (null != nextCommitted || null != nextModified)) {
+            int c = null == nextCommitted ? 1 : null == nextModified ? -1 :
+                    RANGE_ORDER.compare(nextCommitted.getKey(), nextModified.getKey());
+            if (descending && null != nextCommitted && null != nextModified) c = -c;
+
+            if (c <= 0) {
+                for (final TinkerElementContainer<T> container : nextCommitted.getValue()) {
+                    if (!readOnly && container.isChanged()) continue;
+                    final T element = tx.read(container);
+                    if (element != null && filter.test(element)) elements.add(element);
+                }
+                nextCommitted = committedIterator.hasNext() ? committedIterator.next() : null;
+            }
+            if (c >= 0) {
+                for (final T element : nextModified.getValue()) {
+                    if (filter.test(element)) elements.add(element);
+                }
+                nextModified = modifiedIterator.hasNext() ? modifiedIterator.next() : null;
+            }
+        }
+        return new ArrayList<>(elements);
+    }
+
+    /**
+     * Compares values the way the committed index of the key does.
+     */
+    private static boolean isEqual(final Map<Object, ?> keyMap, final Object a, final Object b) {
+        return keyMap instanceof NavigableMap ? RANGE_ORDER.compare(a, b) == 0 : a.equals(b);
+    }
+
     @Override
     public void remove(final String key, final Object value, final T element) {
         final Map<String, Map<Object, Set<T>>> index = txIndex.get();
@@ -137,7 +286,7 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
     private void put(final String key, final Object value, final TinkerElementContainer<T> container) {
         Map<Object, Set<TinkerElementContainer<T>>> keyMap = index.get(key);
         if (null == keyMap) {
-            index.putIfAbsent(key, new ConcurrentHashMap<>());
+            index.putIfAbsent(key, createValueMap(key));
             keyMap = index.get(key);
         }
         final Object indexableValue = indexable(value);
@@ -160,6 +309,19 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
                     }
                 }
         );
+
+        for (final List<String> keys : compositeKeys) {
+            putComposite(keys, element, container);
+        }
+    }
+
+    private void putComposite(final List<String> keys, final T element, final TinkerElementContainer<T> container) {
+        final Map<List<Object>, Set<TinkerElementContainer<T>>> valueMap = compositeIndex.get(keys);
+        if (null == valueMap) return;
+
+        for (final List<Object> values : compositeValues(element, keys)) {
+            valueMap.computeIfAbsent(values, v -> ConcurrentHashMap.newKeySet()).add(container);
+        }
     }
 
     @Override
@@ -171,14 +333,20 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
     }
 
     @Override
-    public void createKeyIndex(final String key) {
+    public void createKeyIndex(final String key, final TinkerIndexType type) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
             throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        if (null == type)
+            throw Graph.Exceptions.argumentCanNotBeNull("type");
 
-        if (indexedKeys.contains(key))
-            return;
+        if (indexedKeys.contains(key)) {
+            if (indexTypes.get(key) == type)
+                return;
+            dropKeyIndex(key);
+        }
+        indexTypes.put(key, type);
         indexedKeys.add(key);
 
         final Map elements =
@@ -201,6 +369,36 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
             index.remove(key).clear();
 
         indexedKeys.remove(key);
+        indexTypes.remove(key);
+    }
+
+    @Override
+    public void createCompositeKeyIndex(final List<String> keys) {
+        final List<String> compositeKey = validateCompositeKeys(keys);
+        if (compositeKeys.contains(compositeKey))
+            return;
+
+        compositeIndex.put(compositeKey, new ConcurrentHashMap<>());
+        compositeKeys.add(compositeKey);
+
+        final Map elements =
+                Vertex.class.isAssignableFrom(indexClass) ?
+                        ((TinkerTransactionGraph) graph).getVertices() :
+                        ((TinkerTransactionGraph) graph).getEdges();
+
+        for (Object element : elements.values()) {
+            final TinkerElementContainer<T> container = (TinkerElementContainer<T>) element;
+            final T value = container.get();
+            if (null != value && indexClass.isAssignableFrom(value.getClass()))
+                putComposite(compositeKey, value, container);
+        }
+    }
+
+    @Override
+    public void dropCompositeKeyIndex(final List<String> keys) {
+        compositeKeys.remove(keys);
+        if (compositeIndex.containsKey(keys))
+            compositeIndex.remove(keys).clear();
     }
 
     private void removeContainer(TinkerElementContainer<T> container) {
@@ -220,6 +418,18 @@ final class TinkerTransactionalIndex<T extends TinkerElement> extends AbstractTi
                 }
             }
         });
+
+        for (final List<String> keys : compositeKeys) {
+            final Map<List<Object>, Set<TinkerElementContainer<T>>> valueMap = compositeIndex.get(keys);
+            if (null == valueMap) continue;
+
+            for (final List<Object> values : compositeValues(element, keys)) {
+                valueMap.computeIfPresent(values, (v, objects) -> {
+                    objects.remove(container);
+                    return objects.isEmpty() ? null : objects;
+                });
+            }
+        }
     }
 
     public void commit(final Set<TinkerElementContainer<T>> updatedElements) {
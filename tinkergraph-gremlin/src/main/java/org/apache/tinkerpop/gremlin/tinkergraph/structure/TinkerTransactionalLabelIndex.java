@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The label index of a {@link TinkerTransactionGraph}. The index holds committed elements only and is updated when a
+ * transaction commits. Elements changed in the current transaction are few, so they are accounted for when the index
+ * is read rather than being held in a transaction local index.
+ */
+final class TinkerTransactionalLabelIndex<T extends TinkerElement> extends AbstractTinkerLabelIndex<T> {
+
+    private final Map<String, Set<TinkerElementContainer<T>>> index = new ConcurrentHashMap<>();
+
+    public TinkerTransactionalLabelIndex(final TinkerTransactionGraph graph, final Class<T> indexClass) {
+        super(graph, indexClass);
+    }
+
+    @Override
+    public List<T> get(final String label) {
+        final List<T> elements = new ArrayList<>();
+        final Set<TinkerElementContainer<T>> containers = index.get(label);
+        final TinkerTransaction tx = (TinkerTransaction) graph.tx();
+        if (tx.isReadOnly()) {
+            return tx.readIndexed(indexClass, () -> {
+                if (null != containers)
+                    containers.stream().map(tx::read).filter(Objects::nonNull).forEach(elements::add);
+                return elements;
+            }, e -> label.equals(e.label()));
+        }
+
+        if (null != containers)
+            containers.stream().filter(c -> !c.isChanged()).map(c -> c.getWithClone(tx)).filter(Objects::nonNull).forEach(elements::add);
+
+        for (final TinkerElementContainer<T> container : getChanged()) {
+            final T element = container.get();
+            if (null != element && label.equals(element.label()) && !elements.contains(element))
+                elements.add(element);
+        }
+        return elements;
+    }
+
+    @Override
+    public long count(final String label) {
+        if (((TinkerTransaction) graph.tx()).isReadOnly())
+            return get(label).size();
+
+        final Set<TinkerElementContainer<T>> containers = index.get(label);
+        long count = null == containers ? 0 : containers.size();
+        for (final TinkerElementContainer<T> container : getChanged()) {
+            if (null != containers && containers.contains(container)) count--;
+            final T element = container.get();
+            if (null != element && label.equals(element.label())) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+    }
+
+    public void commit(final Set<TinkerElementContainer<T>> updatedElements) {
+        for (final TinkerElementContainer<T> container : updatedElements) {
+            final T unmodified = container.getUnmodified();
+            if (null != unmodified)
+                remove(unmodified.label(), container);
+
+            final T element = container.get();
+            if (!container.isDeleted() && null != element)
+                index.computeIfAbsent(element.label(), k -> ConcurrentHashMap.newKeySet()).add(container);
+        }
+    }
+
+    private void remove(final String label, final TinkerElementContainer<T> container) {
+        index.computeIfPresent(label, (k, containers) -> {
+            containers.remove(container);
+            return containers.isEmpty() ? null : containers;
+        });
+    }
+
+    private Set<TinkerElementContainer<T>> getChanged() {
+        final TinkerTransaction tx = (TinkerTransaction) graph.tx();
+        return (Set) (Vertex.class.isAssignableFrom(indexClass) ? tx.getChangedVertices() : tx.getChangedEdges());
+    }
+}
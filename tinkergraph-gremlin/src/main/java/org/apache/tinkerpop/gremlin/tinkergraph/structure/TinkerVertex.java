@@ -25,7 +25,6 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
-import org.apache.tinkerpop.gremlin.util.CollectionUtil;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
@@ -79,11 +78,10 @@ public class TinkerVertex extends TinkerElement implements Vertex {
         }
 
         final TinkerVertex vertex = new TinkerVertex(id, label, graph, currentVersion);
-        if (inEdgesId != null)
-            vertex.inEdgesId = CollectionUtil.clone((ConcurrentHashMap<String, Set<Object>>) inEdgesId);
 
-        if (outEdgesId != null)
-            vertex.outEdgesId = CollectionUtil.clone((ConcurrentHashMap<String, Set<Object>>) outEdgesId);
+        // adjacency is shared by all versions of the vertex as transactions apply edge changes to it in place on commit
+        vertex.inEdgesId = inEdgesId;
+        vertex.outEdgesId = outEdgesId;
 
         if (properties != null) {
             final ConcurrentHashMap<String, List<VertexProperty>> result = new ConcurrentHashMap<>(properties.size());
@@ -160,13 +158,20 @@ public class TinkerVertex extends TinkerElement implements Vertex {
                     graph.vertexPropertyIdManager.convert(optionalId.get()) :
                     graph.vertexPropertyIdManager.getNextId(graph);
 
-            final VertexProperty<V> vertexProperty = createTinkerVertexProperty(idValue, this, key, value);
+            final String internedKey = graph.intern(key);
+            final VertexProperty<V> vertexProperty = createTinkerVertexProperty(idValue, this, internedKey, value);
 
-            if (null == this.properties) this.properties = new ConcurrentHashMap<>();
-            final List<VertexProperty> list = this.properties.getOrDefault(key, new ArrayList<>());
+            if (null == this.properties) this.properties = graph.createPropertyMap();
+            List<VertexProperty> list = this.properties.get(internedKey);
+            if (null == list) {
+                // most keys have a single value so compact storage avoids the default capacity of an ArrayList
+                list = graph.isCompactStorage() ? new ArrayList<>(1) : new ArrayList<>();
+                this.properties.put(internedKey, list);
+            }
             list.add(vertexProperty);
-            this.properties.put(key, list);
             TinkerIndexHelper.autoUpdateIndex(this, key, value, null);
+            final TinkerWriteAheadLog log = graph.mutationLog(this);
+            if (null != log) log.addVertexProperty((TinkerVertexProperty<V>) vertexProperty);
             ElementHelper.attachProperties(vertexProperty, keyValues);
             return vertexProperty;
         }
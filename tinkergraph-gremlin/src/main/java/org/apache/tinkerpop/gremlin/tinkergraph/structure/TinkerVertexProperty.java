@@ -149,6 +149,8 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
         final Property<U> property = new TinkerProperty<>(this, key, value);
         if (this.properties == null) this.properties = new HashMap<>();
         this.properties.put(key, property);
+        final TinkerWriteAheadLog log = ((AbstractTinkerGraph) vertex.graph()).mutationLog(vertex);
+        if (null != log) log.setMetaProperty(this, key, value);
         return property;
     }
 
@@ -174,6 +176,8 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
                     delete.set(false);
             });
             if (delete.get()) TinkerIndexHelper.removeIndex(this.vertex, this.key, this.value);
+            final TinkerWriteAheadLog log = ((AbstractTinkerGraph) vertex.graph()).mutationLog(vertex);
+            if (null != log) log.removeVertexProperty(this);
             this.properties = null;
             this.removed = true;
         }
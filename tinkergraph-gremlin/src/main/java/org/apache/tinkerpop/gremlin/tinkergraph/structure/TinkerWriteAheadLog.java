@@ -0,0 +1,696 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.TransactionException;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * A write-ahead log of the changes made to a graph that is persisted to the
+ * {@link AbstractTinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_LOCATION}. Changes are appended to segment files alongside the
+ * graph as they are made to {@link TinkerGraph} or as transactions commit on {@link TinkerTransactionGraph}, so that a
+ * graph which is not closed cleanly can be recovered by loading the last checkpoint and replaying the segments over
+ * it. A checkpoint writes the graph to the graph location in the configured format and deletes the segments that it
+ * covers, which keeps both the log and the time to recover bounded.
+ * <p/>
+ * {@link TinkerTransactionGraph} is checkpointed in the background from a read-only transaction, which reads a
+ * consistent version of the graph while other transactions commit. {@link TinkerGraph} cannot be read safely while it
+ * is changed by another thread, so it is checkpointed by the thread that logs the first change after the checkpoint
+ * interval has elapsed.
+ * <p/>
+ * Each record is framed by its length and a CRC32 of its content so that replay stops cleanly at a record that was
+ * only partially written. Records set the complete state of an element or property by identifier so that replaying a
+ * record whose change is already reflected in the checkpoint is harmless.
+ */
+final class TinkerWriteAheadLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(TinkerWriteAheadLog.class);
+
+    private static final String SEGMENT = ".wal.";
+
+    private static final byte SET_VERTEX = 1;
+    private static final byte REMOVE_VERTEX = 2;
+    private static final byte SET_EDGE = 3;
+    private static final byte REMOVE_EDGE = 4;
+    private static final byte ADD_VERTEX_PROPERTY = 5;
+    private static final byte REMOVE_VERTEX_PROPERTY = 6;
+    private static final byte SET_META_PROPERTY = 7;
+    private static final byte REMOVE_META_PROPERTY = 8;
+    private static final byte SET_EDGE_PROPERTY = 9;
+    private static final byte REMOVE_EDGE_PROPERTY = 10;
+    private static final byte CLEAR = 11;
+    private static final byte COMMIT = 12;
+
+    private final AbstractTinkerGraph graph;
+    private final File location;
+    private final TinkerGraphSnapshot.Codec codec = new TinkerGraphSnapshot.Codec();
+    private final RecordBuffer record = new RecordBuffer();
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Held for reading by a commit from the time its changes are appended until they are visible in the graph and for
+     * writing when starting a checkpoint, so that a checkpoint never misses a change from a segment that it deletes.
+     */
+    private final ReadWriteLock commitLock = new ReentrantReadWriteLock();
+    private final Object syncLock = new Object();
+    private final Object checkpointLock = new Object();
+    private final boolean syncEachChange;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Interval in nanoseconds between checkpoints made by the thread that changes a {@link TinkerGraph}, zero if they
+     * are made in the background or disabled.
+     */
+    private final long checkpointOnChangeInterval;
+    private long nextCheckpoint;
+
+    private long segment;
+    private long segmentStart;
+    private FileChannel channel;
+    private DataOutputStream out;
+    private long appended = 0;
+    private long synced = 0;
+    private boolean closed = false;
+
+    private TinkerWriteAheadLog(final AbstractTinkerGraph graph, final long segment, final long syncInterval,
+                                final long checkpointInterval) throws IOException {
+        this.graph = graph;
+        this.location = new File(graph.graphLocation);
+        this.syncEachChange = syncInterval <= 0;
+        openSegment(segment);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread t = new Thread(r, "tinkergraph-wal-" + location.getName());
+            t.setDaemon(true);
+            return t;
+        });
+        if (!syncEachChange)
+            scheduler.scheduleWithFixedDelay(this::backgroundSync, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+        if (checkpointInterval > 0 && graph instanceof TinkerTransactionGraph)
+            scheduler.scheduleWithFixedDelay(this::periodicCheckpoint, checkpointInterval, checkpointInterval, TimeUnit.MILLISECONDS);
+
+        this.checkpointOnChangeInterval = checkpointInterval > 0 && !(graph instanceof TinkerTransactionGraph) ?
+                TimeUnit.MILLISECONDS.toNanos(checkpointInterval) : 0;
+        this.nextCheckpoint = System.nanoTime() + checkpointOnChangeInterval;
+    }
+
+    /**
+     * Replays any segments left by a graph that was not closed cleanly into the graph, which should already hold the
+     * last checkpoint, and then starts logging to a new segment.
+     */
+    static TinkerWriteAheadLog open(final AbstractTinkerGraph graph, final long syncInterval,
+                                    final long checkpointInterval) throws IOException {
+        final File location = new File(graph.graphLocation);
+        final File parent = location.getAbsoluteFile().getParentFile();
+        if (null != parent && !parent.exists()) parent.mkdirs();
+
+        final TreeMap<Long, File> segments = segments(location);
+        for (final File segment : segments.values()) {
+            replay(graph, segment);
+        }
+        final long next = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+        final TinkerWriteAheadLog log = new TinkerWriteAheadLog(graph, next, syncInterval, checkpointInterval);
+
+        // checkpoint what was recovered so that it does not have to be replayed again
+        if (!segments.isEmpty()) log.checkpoint();
+        return log;
+    }
+
+    ///////////// Appending ///////////////
+
+    /**
+     * Logs the complete state of a vertex that was added to the graph.
+     */
+    void setVertex(final TinkerVertex vertex) {
+        appendChange(SET_VERTEX, out -> writeVertex(out, vertex));
+    }
+
+    void removeVertex(final Object id) {
+        appendChange(REMOVE_VERTEX, out -> codec.writeValue(out, id));
+    }
+
+    /**
+     * Logs the complete state of an edge that was added to the graph.
+     */
+    void setEdge(final TinkerEdge edge) {
+        appendChange(SET_EDGE, out -> writeEdge(out, edge));
+    }
+
+    void removeEdge(final Object id) {
+        appendChange(REMOVE_EDGE, out -> codec.writeValue(out, id));
+    }
+
+    void addVertexProperty(final TinkerVertexProperty<?> vertexProperty) {
+        appendChange(ADD_VERTEX_PROPERTY, out -> {
+            codec.writeValue(out, vertexProperty.element().id());
+            writeVertexProperty(out, vertexProperty);
+        });
+    }
+
+    void removeVertexProperty(final TinkerVertexProperty<?> vertexProperty) {
+        appendChange(REMOVE_VERTEX_PROPERTY, out -> writeVertexPropertyReference(out, vertexProperty));
+    }
+
+    void setMetaProperty(final TinkerVertexProperty<?> vertexProperty, final String key, final Object value) {
+        appendChange(SET_META_PROPERTY, out -> {
+            writeVertexPropertyReference(out, vertexProperty);
+            codec.writeString(out, key);
+            codec.writeValue(out, value);
+        });
+    }
+
+    void removeMetaProperty(final TinkerVertexProperty<?> vertexProperty, final String key) {
+        appendChange(REMOVE_META_PROPERTY, out -> {
+            writeVertexPropertyReference(out, vertexProperty);
+            codec.writeString(out, key);
+        });
+    }
+
+    void setEdgeProperty(final TinkerEdge edge, final String key, final Object value) {
+        appendChange(SET_EDGE_PROPERTY, out -> {
+            codec.writeValue(out, edge.id());
+            codec.writeString(out, key);
+            codec.writeValue(out, value);
+        });
+    }
+
+    void removeEdgeProperty(final TinkerEdge edge, final String key) {
+        appendChange(REMOVE_EDGE_PROPERTY, out -> {
+            codec.writeValue(out, edge.id());
+            codec.writeString(out, key);
+        });
+    }
+
+    void clear() {
+        appendChange(CLEAR, out -> {});
+    }
+
+    /**
+     * Appends the changes of a transaction followed by a commit marker. This must be called while the elements are
+     * locked and the caller must call {@link #endCommit()} once the changes are visible in the graph, whether or not
+     * this method succeeds. The changes are not durable until {@link #sync(long)} is called with the returned position.
+     */
+    long commit(final Set<TinkerElementContainer<TinkerVertex>> vertices,
+                final Set<TinkerElementContainer<TinkerEdge>> edges) {
+        commitLock.readLock().lock();
+        try {
+            synchronized (this) {
+                // vertices are logged before edges that may be attached to them and edges are removed before the
+                // vertices they are attached to
+                for (final TinkerElementContainer<TinkerVertex> container : vertices) {
+                    if (!container.isDeleted() && null != container.get())
+                        append(SET_VERTEX, out -> writeVertex(out, container.get()));
+                }
+                for (final TinkerElementContainer<TinkerEdge> container : edges) {
+                    if (container.isDeleted())
+                        append(REMOVE_EDGE, out -> codec.writeValue(out, container.getElementId()));
+                    else if (null != container.get())
+                        append(SET_EDGE, out -> writeEdge(out, container.get()));
+                }
+                for (final TinkerElementContainer<TinkerVertex> container : vertices) {
+                    if (container.isDeleted())
+                        append(REMOVE_VERTEX, out -> codec.writeValue(out, container.getElementId()));
+                }
+                append(COMMIT, out -> {});
+                return appended;
+            }
+        } catch (IOException ex) {
+            throw new TransactionException(String.format("Could not write to the write-ahead log for %s", location), ex);
+        }
+    }
+
+    /**
+     * Releases the hold that {@link #commit(Set, Set)} places on checkpoints.
+     */
+    void endCommit() {
+        commitLock.readLock().unlock();
+    }
+
+    /**
+     * Forces everything appended up to the position to disk. Callers that arrive while another is syncing will
+     * usually find that their changes were forced along with it, so concurrent commits share the cost of a sync.
+     */
+    void sync(final long position) {
+        synchronized (syncLock) {
+            if (synced >= position) return;
+            try {
+                final long target;
+                final FileChannel current;
+                synchronized (this) {
+                    if (closed) return;
+                    out.flush();
+                    target = appended;
+                    current = channel;
+                }
+                // appends may continue while the channel is forced
+                current.force(false);
+                synced = target;
+            } catch (IOException ex) {
+                throw new IllegalStateException(String.format("Could not sync the write-ahead log for %s", location), ex);
+            }
+        }
+    }
+
+    /**
+     * Forces everything appended so far to disk.
+     */
+    void sync() {
+        final long position;
+        synchronized (this) {
+            position = appended;
+        }
+        sync(position);
+    }
+
+    /**
+     * Appends a change made to a {@link TinkerGraph}. The change is complete when it is logged, so if a checkpoint is
+     * due the graph is consistent and, as the calling thread is the one changing it, not changing while it is written.
+     */
+    private void appendChange(final byte op, final RecordWriter writer) {
+        final long position;
+        boolean checkpointDue = false;
+        synchronized (this) {
+            try {
+                append(op, writer);
+            } catch (IOException ex) {
+                throw new IllegalStateException(String.format("Could not write to the write-ahead log for %s", location), ex);
+            }
+            position = appended;
+
+            if (checkpointOnChangeInterval > 0 && System.nanoTime() - nextCheckpoint >= 0) {
+                nextCheckpoint = System.nanoTime() + checkpointOnChangeInterval;
+                checkpointDue = true;
+            }
+        }
+        if (syncEachChange) sync(position);
+        if (checkpointDue) periodicCheckpoint();
+    }
+
+    private void append(final byte op, final RecordWriter writer) throws IOException {
+        if (closed) return;
+        record.reset();
+        recordOut.writeByte(op);
+        writer.write(recordOut);
+
+        crc.reset();
+        crc.update(record.buffer(), 0, record.size());
+        out.writeInt(record.size());
+        out.writeInt((int) crc.getValue());
+        record.writeTo(out);
+        appended += Integer.BYTES * 2 + record.size();
+    }
+
+    private void writeVertex(final DataOutputStream out, final TinkerVertex vertex) throws IOException {
+        codec.writeValue(out, vertex.id());
+        codec.writeString(out, vertex.label());
+        final List<VertexProperty<?>> properties = new ArrayList<>();
+        vertex.properties().forEachRemaining(properties::add);
+        out.writeInt(properties.size());
+        for (final VertexProperty<?> vp : properties) {
+            writeVertexProperty(out, (TinkerVertexProperty<?>) vp);
+        }
+    }
+
+    private void writeVertexProperty(final DataOutputStream out, final TinkerVertexProperty<?> vertexProperty) throws IOException {
+        codec.writeValue(out, vertexProperty.id());
+        codec.writeString(out, vertexProperty.key());
+        codec.writeValue(out, vertexProperty.value());
+        final Map<String, Property> metaProperties = vertexProperty.properties;
+        out.writeInt(null == metaProperties ? 0 : metaProperties.size());
+        if (null != metaProperties) {
+            for (final Property<?> p : metaProperties.values()) {
+                codec.writeString(out, p.key());
+                codec.writeValue(out, p.value());
+            }
+        }
+    }
+
+    /**
+     * Identifiers of vertex properties are not necessarily unique so a vertex property is referred to by its vertex,
+     * identifier, key and value.
+     */
+    private void writeVertexPropertyReference(final DataOutputStream out, final TinkerVertexProperty<?> vertexProperty) throws IOException {
+        codec.writeValue(out, vertexProperty.element().id());
+        codec.writeValue(out, vertexProperty.id());
+        codec.writeString(out, vertexProperty.key());
+        codec.writeValue(out, vertexProperty.value());
+    }
+
+    private void writeEdge(final DataOutputStream out, final TinkerEdge edge) throws IOException {
+        codec.writeValue(out, edge.id());
+        codec.writeString(out, edge.label());
+        codec.writeValue(out, null == edge.outVertex ? edge.outVertexId : edge.outVertex.id());
+        codec.writeValue(out, null == edge.inVertex ? edge.inVertexId : edge.inVertex.id());
+        final Map<String, Property> properties = edge.properties;
+        out.writeInt(null == properties ? 0 : properties.size());
+        if (null != properties) {
+            for (final Property<?> p : properties.values()) {
+                codec.writeString(out, p.key());
+                codec.writeValue(out, p.value());
+            }
+        }
+    }
+
+    ///////////// Checkpoints ///////////////
+
+    /**
+     * Writes the graph to its location and deletes the segments that precede it. Changes continue to be logged to a
+     * new segment while the checkpoint is written, and as replaying a change that is already in the checkpoint is
+     * harmless, the checkpoint does not need to stop writes to a {@link TinkerTransactionGraph}, which it reads from a
+     * read-only transaction. A {@link TinkerGraph} must not be changed by another thread while it is checkpointed.
+     */
+    void checkpoint() throws IOException {
+        synchronized (checkpointLock) {
+            final long covered;
+            commitLock.writeLock().lock();
+            try {
+                synchronized (syncLock) {
+                    synchronized (this) {
+                        if (closed) return;
+                        out.flush();
+                        channel.force(false);
+                        synced = appended;
+                        out.close();
+                        covered = segment;
+                        openSegment(segment + 1);
+                    }
+                }
+            } finally {
+                commitLock.writeLock().unlock();
+            }
+
+            final File temp = new File(location.getPath() + ".checkpoint");
+            if (graph instanceof TinkerTransactionGraph && !graph.tx().isOpen())
+                ((TinkerTransactionGraph) graph).beginReadOnly();
+            try {
+                graph.writeGraph(temp);
+            } catch (RuntimeException ex) {
+                Files.deleteIfExists(temp.toPath());
+                throw ex;
+            } finally {
+                if (graph.features().graph().supportsTransactions() && graph.tx().isOpen())
+                    graph.tx().rollback();
+            }
+            Files.move(temp.toPath(), location.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            for (final Map.Entry<Long, File> old : segments(location).entrySet()) {
+                if (old.getKey() <= covered) Files.deleteIfExists(old.getValue().toPath());
+            }
+        }
+    }
+
+    /**
+     * Writes a final checkpoint, stops the background work and closes the segment. Changes made after the log is
+     * closed are not logged.
+     */
+    void close() throws IOException {
+        scheduler.shutdownNow();
+        try {
+            checkpoint();
+        } finally {
+            synchronized (syncLock) {
+                synchronized (this) {
+                    if (!closed) {
+                        closed = true;
+                        out.close();
+                        // the final checkpoint covers the last segment unless something was written while closing
+                        if (appended == segmentStart)
+                            Files.deleteIfExists(segmentFile(location, segment).toPath());
+                    }
+                }
+            }
+        }
+    }
+
+    private void backgroundSync() {
+        try {
+            sync();
+        } catch (Exception ex) {
+            logger.warn(String.format("Could not sync the write-ahead log for %s", location), ex);
+        }
+    }
+
+    private void periodicCheckpoint() {
+        try {
+            checkpoint();
+        } catch (Exception ex) {
+            // the segments are kept so nothing is lost and the next checkpoint will try again
+            logger.warn(String.format("Could not checkpoint the graph at %s", location), ex);
+        }
+    }
+
+    private void openSegment(final long segment) throws IOException {
+        this.segment = segment;
+        this.segmentStart = appended;
+        this.channel = FileChannel.open(segmentFile(location, segment).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+    }
+
+    private static File segmentFile(final File location, final long segment) {
+        return new File(location.getPath() + SEGMENT + segment);
+    }
+
+    private static TreeMap<Long, File> segments(final File location) {
+        final TreeMap<Long, File> segments = new TreeMap<>();
+        final File parent = location.getAbsoluteFile().getParentFile();
+        final String prefix = location.getName() + SEGMENT;
+        final File[] files = null == parent ? null : parent.listFiles((dir, name) -> name.startsWith(prefix));
+        if (null == files) return segments;
+        for (final File f : files) {
+            try {
+                segments.put(Long.parseLong(f.getName().substring(prefix.length())), f);
+            } catch (NumberFormatException ignored) {
+                // not a segment
+            }
+        }
+        return segments;
+    }
+
+    ///////////// Replay ///////////////
+
+    private static void replay(final AbstractTinkerGraph graph, final File segment) throws IOException {
+        final boolean supportsTx = graph.features().graph().supportsTransactions();
+        final TinkerGraphSnapshot.Codec codec = new TinkerGraphSnapshot.Codec();
+        final CRC32 crc = new CRC32();
+        try (final FileChannel channel = FileChannel.open(segment.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() == 0) return;
+            final TinkerGraphSnapshot.MappedInput in = new TinkerGraphSnapshot.MappedInput(channel);
+            while (in.remaining() >= Integer.BYTES * 2) {
+                final int length = in.readInt();
+                final int checksum = in.readInt();
+                if (length <= 0 || length > in.remaining()) break;
+                final byte[] bytes = in.readBytes(length);
+                crc.reset();
+                crc.update(bytes, 0, length);
+                if ((int) crc.getValue() != checksum) break;
+
+                final TinkerGraphSnapshot.MappedInput record = new TinkerGraphSnapshot.MappedInput(ByteBuffer.wrap(bytes));
+                final byte op = record.readByte();
+                if (COMMIT == op)
+                    graph.tx().commit();
+                else
+                    apply(graph, codec, op, record);
+            }
+        } finally {
+            // a transaction without its commit marker did not complete before the graph stopped
+            if (supportsTx && graph.tx().isOpen()) graph.tx().rollback();
+        }
+    }
+
+    private static void apply(final AbstractTinkerGraph graph, final TinkerGraphSnapshot.Codec codec, final byte op,
+                              final TinkerGraphSnapshot.MappedInput in) throws IOException {
+        switch (op) {
+            case SET_VERTEX: {
+                final Object id = codec.readValue(in);
+                final String label = codec.readString(in);
+                Vertex vertex = find(graph.vertices(id));
+                if (null == vertex)
+                    vertex = graph.addVertex(T.id, id, T.label, label);
+                else
+                    IteratorUtils.list(vertex.properties()).forEach(Property::remove);
+                final int properties = in.readInt();
+                for (int i = 0; i < properties; i++) {
+                    readVertexProperty(codec, in, vertex);
+                }
+                break;
+            }
+            case REMOVE_VERTEX: {
+                final Vertex vertex = find(graph.vertices(codec.readValue(in)));
+                if (null != vertex) vertex.remove();
+                break;
+            }
+            case SET_EDGE: {
+                final Object id = codec.readValue(in);
+                final String label = codec.readString(in);
+                final Vertex outVertex = find(graph.vertices(codec.readValue(in)));
+                final Vertex inVertex = find(graph.vertices(codec.readValue(in)));
+                Edge edge = find(graph.edges(id));
+                if (null != edge)
+                    IteratorUtils.list(edge.properties()).forEach(Property::remove);
+                else if (null != outVertex && null != inVertex)
+                    edge = outVertex.addEdge(label, inVertex, T.id, id);
+                final int properties = in.readInt();
+                for (int i = 0; i < properties; i++) {
+                    final String key = codec.readString(in);
+                    final Object value = codec.readValue(in);
+                    if (null != edge) edge.property(key, value);
+                }
+                break;
+            }
+            case REMOVE_EDGE: {
+                final Edge edge = find(graph.edges(codec.readValue(in)));
+                if (null != edge) edge.remove();
+                break;
+            }
+            case ADD_VERTEX_PROPERTY: {
+                final Vertex vertex = find(graph.vertices(codec.readValue(in)));
+                readVertexProperty(codec, in, vertex);
+                break;
+            }
+            case REMOVE_VERTEX_PROPERTY: {
+                final VertexProperty<?> vp = readVertexPropertyReference(graph, codec, in);
+                if (null != vp) vp.remove();
+                break;
+            }
+            case SET_META_PROPERTY: {
+                final VertexProperty<?> vp = readVertexPropertyReference(graph, codec, in);
+                final String key = codec.readString(in);
+                final Object value = codec.readValue(in);
+                if (null != vp) vp.property(key, value);
+                break;
+            }
+            case REMOVE_META_PROPERTY: {
+                final VertexProperty<?> vp = readVertexPropertyReference(graph, codec, in);
+                final String key = codec.readString(in);
+                if (null != vp) vp.property(key).remove();
+                break;
+            }
+            case SET_EDGE_PROPERTY: {
+                final Edge edge = find(graph.edges(codec.readValue(in)));
+                final String key = codec.readString(in);
+                final Object value = codec.readValue(in);
+                if (null != edge) edge.property(key, value);
+                break;
+            }
+            case REMOVE_EDGE_PROPERTY: {
+                final Edge edge = find(graph.edges(codec.readValue(in)));
+                final String key = codec.readString(in);
+                if (null != edge) edge.property(key).remove();
+                break;
+            }
+            case CLEAR:
+                graph.clear();
+                break;
+            default:
+                throw new IOException(String.format("Unknown operation %s in TinkerGraph write-ahead log", op));
+        }
+    }
+
+    private static void readVertexProperty(final TinkerGraphSnapshot.Codec codec, final TinkerGraphSnapshot.MappedInput in,
+                                           final Vertex vertex) throws IOException {
+        final Object id = codec.readValue(in);
+        final String key = codec.readString(in);
+        final Object value = codec.readValue(in);
+        final Object[] keyValues = new Object[in.readInt() * 2 + 2];
+        keyValues[0] = T.id;
+        keyValues[1] = id;
+        for (int j = 2; j < keyValues.length; j += 2) {
+            keyValues[j] = codec.readString(in);
+            keyValues[j + 1] = codec.readValue(in);
+        }
+        if (null != vertex && null == findVertexProperty(vertex, id, key, value))
+            vertex.property(VertexProperty.Cardinality.list, key, value, keyValues);
+    }
+
+    private static VertexProperty<?> readVertexPropertyReference(final AbstractTinkerGraph graph,
+                                                                 final TinkerGraphSnapshot.Codec codec,
+                                                                 final TinkerGraphSnapshot.MappedInput in) throws IOException {
+        final Vertex vertex = find(graph.vertices(codec.readValue(in)));
+        final Object id = codec.readValue(in);
+        final String key = codec.readString(in);
+        final Object value = codec.readValue(in);
+        return null == vertex ? null : findVertexProperty(vertex, id, key, value);
+    }
+
+    private static VertexProperty<?> findVertexProperty(final Vertex vertex, final Object id, final String key,
+                                                        final Object value) {
+        final Iterator<VertexProperty<Object>> properties = vertex.properties(key);
+        while (properties.hasNext()) {
+            final VertexProperty<?> vp = properties.next();
+            if (vp.id().equals(id) && Objects.equals(vp.value(), value)) return vp;
+        }
+        return null;
+    }
+
+    private static <E> E find(final Iterator<E> elements) {
+        return elements.hasNext() ? elements.next() : null;
+    }
+
+    /**
+     * Exposes the buffer so that a record can be checksummed and written without copying it.
+     */
+    private static final class RecordBuffer extends ByteArrayOutputStream {
+        private RecordBuffer() {
+            super(256);
+        }
+
+        private byte[] buffer() {
+            return buf;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(final DataOutputStream out) throws IOException;
+    }
+}
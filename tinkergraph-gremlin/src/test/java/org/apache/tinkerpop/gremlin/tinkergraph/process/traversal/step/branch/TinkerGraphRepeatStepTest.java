@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.branch;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.junit.Assert.assertEquals;
+
+public class TinkerGraphRepeatStepTest {
+
+    @Test
+    public void shouldEmitEachReachableVertexOnceWhenVisited() {
+        final GraphTraversalSource g = TinkerFactory.createGratefulDead().traversal();
+        final List<Vertex> starts = g.V().limit(20).toList();
+        for (Vertex start : starts) {
+            final List<Vertex> reached = g.V(start).repeat(out()).with(RepeatStep.VISITED).emit().toList();
+            assertEquals(reachable(start), new HashSet<>(reached));
+            assertEquals(reached.size(), new HashSet<>(reached).size());
+        }
+    }
+
+    @Test
+    public void shouldTerminateOnCycleWhenVisited() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final GraphTraversalSource g = graph.traversal();
+        g.addV().property("name", "a").as("a").
+          addV().property("name", "b").as("b").
+          addV().property("name", "c").as("c").
+          addE("next").from("a").to("b").
+          addE("next").from("b").to("c").
+          addE("next").from("c").to("a").
+          addE("next").from("a").to("c").iterate();
+
+        assertEquals(new HashSet<>(Arrays.asList("b", "c")),
+                new HashSet<>(g.V().has("name", "a").repeat(out()).with(RepeatStep.VISITED).emit().values("name").toList()));
+        assertEquals(3L, g.V().has("name", "a").emit().repeat(out()).with(RepeatStep.VISITED).count().next().longValue());
+        assertEquals(3L, g.V().emit().repeat(__.both()).with(RepeatStep.VISITED).count().next().longValue());
+        assertEquals(Arrays.asList("c"),
+                g.V().has("name", "a").repeat(out()).with(RepeatStep.VISITED).until(__.has("name", "c")).values("name").toList());
+    }
+
+    private static Set<Vertex> reachable(final Vertex start) {
+        final Set<Vertex> visited = new HashSet<>();
+        final Set<Vertex> reached = new HashSet<>();
+        final Deque<Vertex> queue = new ArrayDeque<>();
+        visited.add(start);
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            queue.poll().vertices(Direction.OUT).forEachRemaining(v -> {
+                if (visited.add(v)) {
+                    reached.add(v);
+                    queue.add(v);
+                }
+            });
+        }
+        return reached;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.as;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.where;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TinkerGraphMatchStepTest {
+
+    @Test
+    public void shouldMatchTheSameAsCountMatchAlgorithmOnModern() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        assertSameMatches(g, s -> s.V().match(
+                as("a").out("created").as("b"),
+                as("b").in("created").as("c"),
+                as("c").out("knows").as("a")).select("a", "b", "c"));
+        assertSameMatches(g, s -> s.V().match(
+                as("a").out("knows").as("b"),
+                as("b").out("created").has("name", "lop").as("c"),
+                as("a").out("created").as("c")).select("a", "b", "c").by("name"));
+        assertSameMatches(g, s -> s.V().match(
+                as("a").out("created").as("b"),
+                as("b").in("created").count().as("c"),
+                as("c").is(P.gt(1L))).select("a", "b"));
+        assertSameMatches(g, s -> s.V().match(
+                as("a").both().as("b"),
+                as("b").both().as("c"),
+                where("a", P.neq("c"))).path());
+    }
+
+    @Test
+    public void shouldMatchTheSameAsCountMatchAlgorithmOnGratefulDead() {
+        final GraphTraversalSource g = TinkerFactory.createGratefulDead().traversal();
+        assertSameMatches(g, s -> s.V().match(
+                as("a").has("name", "Garcia"),
+                as("a").in("writtenBy").as("b"),
+                as("a").in("sungBy").as("b")).select("b").values("name"));
+        assertSameMatches(g, s -> s.V().match(
+                as("a").in("sungBy").as("b"),
+                as("a").in("writtenBy").as("c"),
+                as("b").out("writtenBy").as("d"),
+                as("c").out("sungBy").as("d"),
+                as("d").has("name", "Garcia")).select("a", "b", "c").by("name"));
+        assertSameMatches(g, s -> s.V().hasLabel("song").match(
+                as("a").out("followedBy").as("b"),
+                as("b").out("followedBy").as("c"),
+                as("c").out("followedBy").as("a")).count());
+        assertSameMatches(g, s -> s.V().hasLabel("song").limit(50).match(
+                as("a").out("followedBy").as("b"),
+                as("b").out("sungBy").as("c"),
+                as("a").out("sungBy").as("c")).dedup("a", "c").select("a", "c").by("name"));
+    }
+
+    @Test
+    public void shouldJoinPatternsWithBulk() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        final GraphTraversalSource h = g.withStrategies(MatchAlgorithmStrategy.build().algorithm(MatchStep.HashJoinMatchAlgorithm.class).create());
+        assertEquals(g.V().both().both().match(
+                as("a").out().as("b"),
+                as("b").in().as("c")).count().next(),
+                h.V().both().both().match(
+                        as("a").out().as("b"),
+                        as("b").in().as("c")).count().next());
+        assertTrue(h.V().both().both().match(as("a").out().as("b"), as("b").in().as("c")).count().next() > 0);
+    }
+
+    private static void assertSameMatches(final GraphTraversalSource g, final Function<GraphTraversalSource, Traversal<?, ?>> traversal) {
+        final Map<Object, Long> expected = bag(traversal.apply(g.withStrategies(MatchAlgorithmStrategy.build().algorithm(MatchStep.CountMatchAlgorithm.class).create())).toList());
+        final Map<Object, Long> actual = bag(traversal.apply(g.withStrategies(MatchAlgorithmStrategy.build().algorithm(MatchStep.HashJoinMatchAlgorithm.class).create())).toList());
+        assertTrue(!expected.isEmpty());
+        assertEquals(expected, actual);
+    }
+
+    private static Map<Object, Long> bag(final List<?> results) {
+        final Map<Object, Long> bag = new HashMap<>();
+        results.forEach(r -> bag.merge(r, 1L, Long::sum));
+        return bag;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.decoration;
+
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SpillStrategy;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TinkerGraphSpillStrategyTest {
+
+    private File directory;
+    private GraphTraversalSource g;
+    private GraphTraversalSource spilling;
+
+    @Before
+    public void setup() throws IOException {
+        this.directory = Files.createTempDirectory("spill-strategy-test").toFile();
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(SpillStrategy.SPILL_DIRECTORY, this.directory.getAbsolutePath());
+        final TinkerGraph graph = TinkerGraph.open(configuration);
+        TinkerFactory.generateGratefulDead(graph);
+        this.g = graph.traversal();
+        this.spilling = this.g.withStrategies(SpillStrategy.build().threshold(50).create());
+    }
+
+    @After
+    public void teardown() {
+        final File[] files = this.directory.listFiles();
+        if (null != files) Arrays.stream(files).forEach(File::delete);
+        this.directory.delete();
+    }
+
+    @Test
+    public void shouldOrderTheSameWhenSpilled() {
+        assertSameList(s -> s.V().order().by("name").values("name"));
+        assertSameList(s -> s.V().hasLabel("song").order().by("performances", Order.desc).by(T.id).id());
+        assertSameList(s -> s.V().out().order().by(T.id).id());
+        assertSameList(s -> s.E().order().by("weight").by(T.id));
+        assertSameList(s -> s.V().hasLabel("song").order().by(__.out("followedBy").count(), Order.desc).by("name").valueMap("name", "performances"));
+        assertSameList(s -> s.V().hasLabel("song").values("performances").order());
+        assertSameList(s -> s.V().hasLabel("song").order().by("name").limit(3).values("name"));
+        assertSameList(s -> s.V().local(__.out().order().by("name").limit(2)).values("name"));
+    }
+
+    @Test
+    public void shouldDedupTheSameWhenSpilled() {
+        assertSameBag(s -> s.V().out().out().dedup());
+        assertSameBag(s -> s.V().both().values("name").dedup());
+        assertSameBag(s -> s.V().both().dedup().by("name").values("name"));
+        assertSameBag(s -> s.V().outE().dedup().by(__.inV()).inV());
+        assertSameBag(s -> s.V().repeat(__.out("followedBy").dedup()).times(3).id());
+        assertSameBag(s -> s.V().out().out().dedup().order().by(T.id).id());
+    }
+
+    @Test
+    public void shouldSpillToDiskAndRemoveFilesWhenIterated() throws Exception {
+        final Traversal<?, ?> order = this.spilling.V().order().by("name");
+        order.next();
+        assertTrue(this.directory.listFiles().length > 0);
+        order.iterate();
+        assertEquals(0, this.directory.listFiles().length);
+
+        final Traversal<?, ?> dedup = this.spilling.V().both().both().dedup().id();
+        dedup.next(51);
+        assertTrue(this.directory.listFiles().length > 0);
+        dedup.iterate();
+        assertEquals(0, this.directory.listFiles().length);
+
+        final Traversal<?, ?> closed = this.spilling.V().order().by("name");
+        closed.next();
+        assertTrue(this.directory.listFiles().length > 0);
+        closed.close();
+        assertEquals(0, this.directory.listFiles().length);
+    }
+
+    @Test
+    public void shouldNotSpillTraversersWithPaths() {
+        final Traversal<?, ?> traversal = this.spilling.V().as("a").out().order().by("name").select("a");
+        traversal.next();
+        assertEquals(0, this.directory.listFiles().length);
+        assertSameList(s -> s.V().as("a").out().order().by("name").by(T.id).select("a").id());
+        assertSameBag(s -> s.V().as("a").out().dedup().select("a").id());
+    }
+
+    @Test
+    public void shouldNotTakeDirectoryFromStrategyConfiguration() throws Exception {
+        final File other = Files.createTempDirectory("spill-strategy-test-other").toFile();
+        try {
+            final Map<String, Object> configuration = new HashMap<>();
+            configuration.put(SpillStrategy.THRESHOLD, 50);
+            configuration.put("directory", other.getAbsolutePath());
+            final SpillStrategy strategy = SpillStrategy.create(new MapConfiguration(configuration));
+            assertFalse(strategy.getConfiguration().containsKey("directory"));
+
+            final Traversal<?, ?> traversal = this.g.withStrategies(strategy).V().order().by("name");
+            traversal.next();
+            assertTrue(this.directory.listFiles().length > 0);
+            assertEquals(0, other.listFiles().length);
+            traversal.close();
+        } finally {
+            other.delete();
+        }
+    }
+
+    private void assertSameList(final Function<GraphTraversalSource, Traversal<?, ?>> traversal) {
+        final List<?> expected = traversal.apply(this.g).toList();
+        assertTrue(!expected.isEmpty());
+        assertEquals(expected, traversal.apply(this.spilling).toList());
+    }
+
+    private void assertSameBag(final Function<GraphTraversalSource, Traversal<?, ?>> traversal) {
+        final List<?> expected = traversal.apply(this.g).toList();
+        final List<?> actual = traversal.apply(this.spilling).toList();
+        assertTrue(!expected.isEmpty());
+        assertEquals(bag(expected), bag(actual));
+        assertEquals(new HashSet<>(expected).size() == expected.size(), new HashSet<>(actual).size() == actual.size());
+    }
+
+    private static Map<Object, Long> bag(final List<?> results) {
+        final Map<Object, Long> bag = new HashMap<>();
+        results.forEach(r -> bag.merge(r, 1L, Long::sum));
+        return bag;
+    }
+}
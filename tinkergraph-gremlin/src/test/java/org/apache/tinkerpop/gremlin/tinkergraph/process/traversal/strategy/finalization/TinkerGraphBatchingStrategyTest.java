@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.IdStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BatchingStrategy;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.P.gt;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+
+public class TinkerGraphBatchingStrategyTest {
+
+    private static final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+
+    @Test
+    public void shouldReturnSameResultsWhenBatched() {
+        final List<Function<GraphTraversalSource, Traversal<?, ?>>> traversals = Arrays.asList(
+                s -> s.V().out().out().values("name"),
+                s -> s.V().outE().inV().has("name", "lop").id(),
+                s -> s.V().both().both().dedup().values("name"),
+                s -> s.V().out().limit(2).path(),
+                s -> s.V().as("a").out().in().where(out().count().is(3)).select("a").values("name"),
+                s -> s.V().hasLabel("person").properties("age").order().value());
+
+        for (int size : new int[]{2, 3, BatchingStrategy.DEFAULT_BATCH_SIZE}) {
+            final GraphTraversalSource batched = g.withStrategies(BatchingStrategy.build().batchSize(size).create());
+            traversals.forEach(t -> assertEquals(t.apply(g).toList(), t.apply(batched).toList()));
+        }
+    }
+
+    @Test
+    public void shouldNotPullMoreTraversersThroughSideEffectsWhenBatched() {
+        final AtomicInteger unbatched = new AtomicInteger();
+        g.V().sideEffect(t -> unbatched.incrementAndGet()).out().limit(1).toList();
+
+        final AtomicInteger batched = new AtomicInteger();
+        g.withStrategies(BatchingStrategy.instance()).V().sideEffect(t -> batched.incrementAndGet()).out().limit(1).toList();
+
+        assertEquals(unbatched.get(), batched.get());
+    }
+
+    @Test
+    public void shouldReturnSameResultsFromNextBatchAsFromNext() {
+        final List<Function<GraphTraversalSource, Traversal<?, ?>>> traversals = Arrays.asList(
+                s -> s.V().out(),
+                s -> s.V().bothE(),
+                s -> s.V().both().barrier().in(),
+                s -> s.V().out().has("name", "lop"),
+                s -> s.V().both().has("age", gt(28)),
+                s -> s.V().values("name"),
+                s -> s.V().properties(),
+                s -> s.V().both().barrier().values("age"),
+                s -> s.V().out().id(),
+                s -> s.E().id());
+        final List<Class<? extends Step>> endSteps = Arrays.asList(
+                VertexStep.class, VertexStep.class, VertexStep.class, HasStep.class, HasStep.class,
+                PropertiesStep.class, PropertiesStep.class, PropertiesStep.class, IdStep.class, IdStep.class);
+
+        for (int i = 0; i < traversals.size(); i++) {
+            final Function<GraphTraversalSource, Traversal<?, ?>> t = traversals.get(i);
+            final List<?> expected = t.apply(g).toList();
+            for (int size : new int[]{1, 2, 3, BatchingStrategy.DEFAULT_BATCH_SIZE}) {
+                final GraphTraversalSource batched = g.withStrategies(BatchingStrategy.build().batchSize(size).create());
+                for (GraphTraversalSource source : Arrays.asList(g, batched)) {
+                    final Traversal.Admin<?, ?> traversal = t.apply(source).asAdmin();
+                    traversal.applyStrategies();
+                    assertThat(traversal.getEndStep(), instanceOf(endSteps.get(i)));
+                    assertEquals(expected, drainBatches(traversal.getEndStep(), size, false));
+
+                    final Traversal.Admin<?, ?> started = t.apply(source).asAdmin();
+                    started.applyStrategies();
+                    assertEquals(expected, drainBatches(started.getEndStep(), size, true));
+                }
+            }
+        }
+    }
+
+    private static List<Object> drainBatches(final Step<?, ?> step, final int size, final boolean callHasNextFirst) {
+        final List<Object> results = new ArrayList<>();
+        if (callHasNextFirst && !step.hasNext())
+            return results;
+
+        final Traverser.Admin[] batch = new Traverser.Admin[size];
+        int count;
+        while ((count = step.nextBatch(batch)) > 0) {
+            for (int i = 0; i < count; i++) {
+                for (long j = 0; j < batch[i].bulk(); j++) {
+                    results.add(batch[i].get());
+                }
+            }
+        }
+        return results;
+    }
+}
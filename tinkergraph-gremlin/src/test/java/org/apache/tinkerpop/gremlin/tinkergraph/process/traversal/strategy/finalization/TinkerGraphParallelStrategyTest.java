@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TinkerGraphParallelStrategyTest {
+
+    private static final GraphTraversalSource g = TinkerFactory.createGratefulDead().traversal();
+    private static final GraphTraversalSource parallel = g.withStrategies(ParallelStrategy.build().parallelism(4).create());
+
+    @Test
+    public void shouldReturnSameResultsWhenRunInParallel() {
+        final List<Function<GraphTraversalSource, Traversal<?, ?>>> traversals = Arrays.asList(
+                s -> s.V().out().out().count(),
+                s -> s.V().out().out().has("name", "PLAYING IN THE BAND").count(),
+                s -> s.V().both().both().values("performances").sum(),
+                s -> s.V().out().values("missing").sum(),
+                s -> s.V().out().out().groupCount().by(T.label),
+                s -> s.V().out().out().groupCount().by("name"),
+                s -> s.V().has("name").values("name").fold(),
+                s -> s.V().as("a").out().where(P.neq("a")).out().count(),
+                s -> s.V().out().where(out().count().is(P.gt(10))).count(),
+                s -> s.V().has("name", "missing").out().count(),
+                s -> s.V().out().out().count().as("c").select("c"));
+
+        for (Function<GraphTraversalSource, Traversal<?, ?>> traversal : traversals) {
+            final Traversal.Admin<?, ?> t = traversal.apply(parallel).asAdmin();
+            t.applyStrategies();
+            assertTrue(t.toString(), t.getSteps().stream().anyMatch(s -> s instanceof ParallelStep));
+
+            final List<?> expected = traversal.apply(g).toList();
+            for (int i = 0; i < 10; i++) {
+                assertEquals(expected, traversal.apply(parallel).toList());
+            }
+        }
+    }
+
+    @Test
+    public void shouldReturnSameResultsWhenReused() {
+        final Traversal.Admin<?, Long> t = parallel.V().out().out().count().asAdmin();
+        final Long expected = g.V().out().out().count().next();
+        assertEquals(expected, t.clone().next());
+        assertEquals(expected, t.clone().next());
+    }
+
+    @Test
+    public void shouldThrowExceptionOfParallelStep() {
+        try {
+            parallel.V().out().values("name").sum().iterate();
+            fail("Should have failed as the names are not numbers");
+        } catch (IllegalArgumentException | ClassCastException ex) {
+            try {
+                g.V().out().values("name").sum().iterate();
+                fail("Should have failed as the names are not numbers");
+            } catch (Exception sequential) {
+                assertEquals(sequential.getClass(), ex.getClass());
+            }
+        }
+    }
+}
@@ -28,6 +28,7 @@ import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerDegreeCentralityFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerServiceRegistry;
+import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerShortestPathFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.services.TinkerTextSearchFactory;
 import org.apache.tinkerpop.gremlin.util.function.TriFunction;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
@@ -199,6 +200,65 @@ public class TinkerGraphServiceTest {
         checkResult(0l, g.V().where(__.call("tinker.degree.centrality").is(100)).count());
     }
 
+    /**
+     * Demonstrate / test the shortest path service, which finds a shortest path from each incoming vertex to a target.
+     */
+    @Test
+    public void g_V_call_shortest_path() {
+        graph.getServiceRegistry().registerService(new TinkerShortestPathFactory(graph));
+
+        assertEquals("[path[v[1], v[4], v[5]]]", toResultString(
+                g.V(1).call("tinker.shortest.path", asMap("target", 5))));
+
+        assertEquals("[path[v[1], e[8][1-knows->4], v[4], e[10][4-created->5], v[5]]]", toResultString(
+                g.V(1).call("tinker.shortest.path", asMap("target", 5)).with("includeEdges", true)));
+
+        assertEquals("[path[v[6], v[3], v[1], v[2]]]", toResultString(
+                g.V(6).call("tinker.shortest.path", asMap("target", 2))));
+
+        assertEquals("[path[v[5]]]", toResultString(
+                g.V(5).call("tinker.shortest.path", asMap("target", 5))));
+
+        /*
+         * Target via .with(String, Traversal) (dynamic parameters)
+         */
+        assertEquals("[path[v[2], v[1], v[3]]]", toResultString(
+                g.V(2).call("tinker.shortest.path").with("target", __.V().has("name", "lop"))));
+
+        /*
+         * Only traverse edges in the given direction and with the given labels.
+         */
+        assertEquals("[]", toResultString(
+                g.V(5).call("tinker.shortest.path", asMap("target", 1, "direction", Direction.OUT))));
+        assertEquals("[path[v[5], v[4], v[1]]]", toResultString(
+                g.V(5).call("tinker.shortest.path", asMap("target", 1, "direction", Direction.IN))));
+        assertEquals("[]", toResultString(
+                g.V(1).call("tinker.shortest.path", asMap("target", 5, "edgeLabels", "knows"))));
+        assertEquals("[path[v[2], v[1], v[4]]]", toResultString(
+                g.V(2).call("tinker.shortest.path", asMap("target", 4, "edgeLabels", Arrays.asList("knows")))));
+
+        /*
+         * Limit the number of hops.
+         */
+        assertEquals("[]", toResultString(
+                g.V(1).call("tinker.shortest.path", asMap("target", 5, "maxDistance", 1))));
+        checkResult(2l, g.V(1, 6).call("tinker.shortest.path", asMap("target", 3, "maxDistance", 1)).count());
+
+        /*
+         * Use the edge weight, which prefers the lighter edges through v[3] over the direct v[1]-v[4]-v[5] path.
+         */
+        assertEquals("[path[v[1], v[3], v[4], v[5]]]", toResultString(
+                g.V(1).call("tinker.shortest.path", asMap("target", 5, "weight", "weight"))));
+        assertEquals("[]", toResultString(
+                g.V(1).call("tinker.shortest.path", asMap("target", 5, "weight", "weight", "maxDistance", 1.5))));
+
+        /*
+         * Unknown targets have no path.
+         */
+        assertEquals("[]", toResultString(
+                g.V(1).call("tinker.shortest.path", asMap("target", 100))));
+    }
+
     /**
      * Demonstrates registration and usage of a Starting lambda service. Start services take no input and are run
      * via GraphTraversalSource. Text search above is another example of a Start service.
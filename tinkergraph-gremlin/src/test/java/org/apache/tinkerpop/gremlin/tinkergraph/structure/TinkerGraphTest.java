@@ -23,6 +23,7 @@ import org.apache.commons.configuration2.Configuration;
 import org.apache.tinkerpop.gremlin.GraphHelper;
 import org.apache.tinkerpop.gremlin.TestHelper;
 import org.apache.tinkerpop.gremlin.process.computer.Computer;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
@@ -32,6 +33,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.Iden
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReservedKeysVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -67,8 +69,10 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.InputStream;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -83,10 +87,13 @@ import java.util.function.Supplier;
 import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.core.StringContains.containsString;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeThat;
@@ -265,6 +272,281 @@ public class TinkerGraphTest {
         }, 0.5)).has("oid", "1").count().next());
     }
 
+    @Test
+    public void shouldUseCompositeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        for (int i = 0; i < 100; i++) {
+            g.addVertex(T.label, i % 2 == 0 ? "person" : "software", "tenant", "t" + (i % 2), "type", "x" + (i % 10), "name", "v" + i);
+        }
+
+        g.createCompositeIndex(Arrays.asList("tenant", "type"), Vertex.class);
+        g.createCompositeIndex(Arrays.asList(T.label.getAccessor(), "type"), Vertex.class);
+        assertEquals(2, g.getCompositeIndexedKeys(Vertex.class).size());
+        assertEquals(0, g.getIndexedKeys(Vertex.class).size());
+
+        // spy on the pipeline to see that only the vertices in the composite bucket are being evaluated
+        final Set<Object> seen = new HashSet<>();
+        assertEquals(10, g.traversal().V().has("tenant", "t0").has("type", "x2").has("name", P.test((t, u) -> {
+            seen.add(t);
+            return true;
+        }, "x")).count().next().intValue());
+        assertEquals(10, seen.size());
+        assertEquals(0, g.traversal().V().has("tenant", "t1").has("type", "x2").count().next().intValue());
+        assertEquals(10, g.traversal().V().hasLabel("person").has("type", "x4").count().next().intValue());
+
+        // values are updated in the composite index as properties change
+        g.traversal().V().has("name", "v2").property("type", "x3").iterate();
+        assertEquals(9, g.traversal().V().has("tenant", "t0").has("type", "x2").count().next().intValue());
+        assertEquals(1, g.traversal().V().has("tenant", "t0").has("type", "x3").count().next().intValue());
+        g.traversal().V().has("name", "v2").properties("tenant").drop().iterate();
+        assertEquals(0, g.traversal().V().has("tenant", "t0").has("type", "x3").count().next().intValue());
+        g.traversal().V().has("tenant", "t0").has("type", "x4").drop().iterate();
+        assertEquals(0, g.traversal().V().has("tenant", "t0").has("type", "x4").count().next().intValue());
+        assertEquals(90, g.traversal().V().count().next().intValue());
+
+        // vertices with multiple values for a key are indexed by each combination of values
+        g.addVertex("tenant", "t0", "type", "x5").property(VertexProperty.Cardinality.list, "tenant", "t9");
+        assertEquals(1, g.traversal().V().has("tenant", "t9").has("type", "x5").count().next().intValue());
+        assertEquals(1, g.traversal().V().has("tenant", "t0").has("type", "x5").count().next().intValue());
+
+        g.dropCompositeIndex(Arrays.asList("tenant", "type"), Vertex.class);
+        assertEquals(1, g.getCompositeIndexedKeys(Vertex.class).size());
+        assertEquals(1, g.traversal().V().has("tenant", "t0").has("type", "x5").count().next().intValue());
+    }
+
+    @Test
+    public void shouldChooseMostSelectiveIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex v = g.addVertex();
+        for (int i = 0; i < 100; i++) {
+            v.addEdge("self", v, "tenant", "t0", "type", i < 5 ? "rare" : "common", "oid", i);
+        }
+
+        g.createIndex("tenant", Edge.class);
+        g.createIndex("type", Edge.class);
+
+        final Set<Object> seen = new HashSet<>();
+        assertEquals(5, g.traversal().E().has("tenant", "t0").has("type", "rare").has("oid", P.test((t, u) -> {
+            seen.add(t);
+            return true;
+        }, 0)).count().next().intValue());
+        assertEquals(5, seen.size());
+
+        g.createCompositeIndex(Arrays.asList("tenant", "oid"), Edge.class);
+        seen.clear();
+        assertEquals(1, g.traversal().E().has("tenant", "t0").has("type", "common").has("oid", 50).has("type", P.test((t, u) -> {
+            seen.add(t);
+            return true;
+        }, 0)).count().next().intValue());
+        assertEquals(1, seen.size());
+    }
+
+    @Test
+    public void shouldUseLabelIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        for (int i = 0; i < 100; i++) {
+            g.addVertex(T.label, i < 10 ? "rare" : "common", "oid", i);
+        }
+
+        final Set<Object> seen = new HashSet<>();
+        assertEquals(10, g.traversal().V().hasLabel("rare").has("oid", P.test((t, u) -> {
+            seen.add(t);
+            return true;
+        }, 0)).count().next().intValue());
+        assertEquals(10, seen.size());
+
+        seen.clear();
+        assertEquals(100, g.traversal().V().hasLabel("rare", "common", "missing").has("oid", P.test((t, u) -> {
+            seen.add(t);
+            return true;
+        }, 0)).count().next().intValue());
+        assertEquals(100, seen.size());
+
+        assertEquals(10, g.traversal().V().hasLabel("rare").count().next().intValue());
+        assertEquals(100, g.traversal().V().hasLabel("rare", "common").count().next().intValue());
+        assertEquals(0, g.traversal().V().hasLabel("missing").count().next().intValue());
+
+        g.traversal().V().hasLabel("rare").limit(5).drop().iterate();
+        assertEquals(5, g.traversal().V().hasLabel("rare").count().next().intValue());
+        assertEquals(5, IteratorUtils.count(g.traversal().V().hasLabel("rare")));
+
+        g.clear();
+        assertEquals(0, g.traversal().V().hasLabel("common").count().next().intValue());
+    }
+
+    @Test
+    public void shouldCountEdgesByLabel() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex v = g.addVertex();
+        for (int i = 0; i < 20; i++) {
+            v.addEdge(i % 4 == 0 ? "knows" : "created", v);
+        }
+
+        assertEquals(5, g.traversal().E().hasLabel("knows").count().next().intValue());
+        assertEquals(15, g.traversal().E().hasLabel("created").count().next().intValue());
+
+        v.remove();
+        assertEquals(0, g.traversal().E().hasLabel("knows").count().next().intValue());
+        assertEquals(0, IteratorUtils.count(g.traversal().E().hasLabel("created")));
+    }
+
+    @Test
+    public void shouldCountByLabelWithoutLabelIndex() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_LABEL_INDEX, false);
+        final TinkerGraph g = TinkerGraph.open(conf);
+        assertThat(g.isLabelIndexEnabled(), is(false));
+
+        for (int i = 0; i < 10; i++) {
+            g.addVertex(i < 3 ? "person" : "software");
+        }
+
+        assertEquals(3, g.traversal().V().hasLabel("person").count().next().intValue());
+        assertEquals(10, g.traversal().V().hasLabel("person", "software").count().next().intValue());
+        assertEquals(7, IteratorUtils.count(g.traversal().V().hasLabel("software")));
+    }
+
+    @Test
+    public void shouldUseCompactStorage() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_STORAGE, true);
+        final TinkerGraph g = TinkerGraph.open(conf);
+        assertThat(g.isCompactStorage(), is(true));
+
+        final TinkerVertex a = (TinkerVertex) g.addVertex(T.label, "person", new String("name"), "a");
+        final TinkerVertex b = (TinkerVertex) g.addVertex(T.label, "person", new String("name"), "b");
+        for (int i = 0; i < 10; i++) {
+            a.addEdge(i % 2 == 0 ? "knows" : "likes", b, new String("weight"), i);
+        }
+
+        assertThat(a.properties, instanceOf(TinkerCompactMap.class));
+        assertThat(a.outEdges, instanceOf(TinkerCompactMap.class));
+        assertThat(a.outEdges.get("knows"), instanceOf(TinkerCompactEdgeSet.class));
+        assertSame(a.properties.keySet().iterator().next(), b.properties.keySet().iterator().next());
+
+        assertEquals(5, IteratorUtils.count(a.edges(Direction.OUT, "knows")));
+        assertEquals(10, IteratorUtils.count(b.edges(Direction.IN)));
+        assertEquals(Arrays.asList(0, 2, 4, 6, 8), g.traversal().V(a).outE("knows").values("weight").order().toList());
+
+        g.traversal().E().has("weight", P.lt(4)).drop().iterate();
+        assertEquals(3, IteratorUtils.count(a.edges(Direction.OUT, "knows")));
+        assertEquals(6, IteratorUtils.count(b.vertices(Direction.IN)));
+
+        a.property("name").remove();
+        a.property("age", 29);
+        assertEquals(Collections.singleton("age"), a.keys());
+
+        b.remove();
+        assertEquals(0, IteratorUtils.count(a.edges(Direction.BOTH)));
+        assertEquals(0, g.traversal().E().count().next().intValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateCompositeIndexWithOneKey() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Collections.singletonList("name"), Vertex.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateCompositeIndexWithOnlyLabel() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Arrays.asList(T.label.getAccessor(), T.label.getAccessor()), Vertex.class);
+    }
+
+    @Test
+    public void shouldRebuildIndexWhenIndexTypeChanges() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.addVertex("age", 10);
+        g.addVertex("age", 20);
+
+        g.createIndex("age", Vertex.class);
+        assertEquals(TinkerIndexType.HASH, g.getIndexType("age", Vertex.class));
+        assertEquals(1, g.traversal().V().has("age", 20).count().next().intValue());
+
+        g.createIndex("age", Vertex.class, TinkerIndexType.RANGE);
+        assertEquals(TinkerIndexType.RANGE, g.getIndexType("age", Vertex.class));
+        assertEquals(1, g.getIndexedKeys(Vertex.class).size());
+        assertEquals(1, g.traversal().V().has("age", 20).count().next().intValue());
+        assertEquals(2, g.traversal().V().has("age", P.gte(10)).count().next().intValue());
+
+        g.dropIndex("age", Vertex.class);
+        assertEquals(null, g.getIndexType("age", Vertex.class));
+    }
+
+    @Test
+    public void shouldUseRangeIndexForRangePredicates() {
+        final TinkerGraph g = TinkerGraph.open();
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("age", i, "name", "v" + i);
+        }
+        g.addVertex("age", "unknown", "name", "s");
+        g.addVertex("age", null, "name", "n");
+        g.addVertex("name", "none");
+
+        g.createIndex("age", Vertex.class, TinkerIndexType.RANGE);
+
+        // spy on the pipeline to see that only the vertices within the range are being evaluated
+        final Set<Object> seen = new HashSet<>();
+        assertEquals(10, g.traversal().V().has("age", P.gte(45).and(P.lt(55))).has("name", P.test((t, u) -> {
+            seen.add(t);
+            return true;
+        }, "x")).count().next().intValue());
+        assertEquals(10, seen.size());
+
+        assertEquals(5, g.traversal().V().has("age", P.gt(94)).count().next().intValue());
+        assertEquals(3, g.traversal().V().has("age", P.lte(2L)).count().next().intValue());
+        assertEquals(10, g.traversal().V().has("age", P.between(10.5d, 21.0d)).count().next().intValue());
+        assertEquals(0, g.traversal().V().has("age", P.between(50, 40)).count().next().intValue());
+        assertEquals(1, g.traversal().V().has("age", P.gt(98)).has("age", P.gt(50)).count().next().intValue());
+        assertEquals(1, g.traversal().V().has("age", 42).count().next().intValue());
+
+        // values are updated in the index as properties change
+        g.traversal().V().has("age", 42).property("age", 1000).iterate();
+        assertEquals(1, g.traversal().V().has("age", P.gt(99)).count().next().intValue());
+        g.traversal().V().has("age", P.gt(99)).drop().iterate();
+        assertEquals(0, g.traversal().V().has("age", P.gt(99)).count().next().intValue());
+
+        final TinkerGraph e = TinkerGraph.open();
+        final Vertex v = e.addVertex();
+        for (int i = 0; i < 20; i++) {
+            v.addEdge("self", v, "weight", i / 10d);
+        }
+        e.createIndex("weight", Edge.class, TinkerIndexType.RANGE);
+        assertEquals(5, e.traversal().E().has("weight", P.inside(0.2d, 0.8d)).count().next().intValue());
+    }
+
+    @Test
+    public void shouldUseRangeIndexForOrderedLimit() {
+        final TinkerGraph g = TinkerGraph.open();
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("age", i % 50, "name", "v" + i);
+        }
+        g.addVertex("name", "none");
+
+        final List<Object> expectedAsc = g.traversal().V().order().by("age").limit(3).values("age").toList();
+        final List<Object> expectedDesc = g.traversal().V().order().by("age", Order.desc).
+                range(1, 4).values("age").toList();
+
+        g.createIndex("age", Vertex.class, TinkerIndexType.RANGE);
+
+        // spy on the pipeline to see that the index is walked in order and stops once ties are complete
+        final Set<Object> seen = new HashSet<>();
+        assertEquals(expectedAsc, g.traversal().V().has("name", P.test((t, u) -> {
+            seen.add(t);
+            return true;
+        }, "x")).order().by("age").limit(3).values("age").toList());
+        assertEquals(Arrays.asList(0, 0, 1), expectedAsc);
+        assertEquals(4, seen.size());
+
+        assertEquals(expectedDesc, g.traversal().V().order().by("age", Order.desc).
+                range(1, 4).values("age").toList());
+        assertEquals(Arrays.asList(49, 48, 48), expectedDesc);
+
+        assertEquals(Arrays.asList(10, 10, 11), g.traversal().V().has("age", P.gte(10)).order().by("age").limit(3).values("age").toList());
+        assertEquals(Arrays.asList("v11", "v12"), g.traversal().V().has("name", P.within("v11", "v12", "v13")).
+                order().by("age").limit(2).values("name").toList());
+    }
+
     @Test
     public void shouldRemoveEdgeFromAnIndex() {
         final TinkerGraph g = TinkerGraph.open();
@@ -506,6 +788,191 @@ public class TinkerGraphTest {
         reloadedGraph.close();
     }
 
+    @Test
+    public void shouldPersistToSnapshot() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistToSnapshot.tgs");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, TinkerGraphSnapshot.FORMAT);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistToSnapshotAndHandleMultiProperties() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistToSnapshotMulti.tgs");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, TinkerGraphSnapshot.FORMAT);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+        graph.close();
+
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.list.toString());
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertCrewGraph(reloadedGraph, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistToSnapshotWithAnyValueType() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldPersistToSnapshotAnyValue.tgs");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, TinkerGraphSnapshot.FORMAT);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_ALLOW_NULL_PROPERTY_VALUES, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final UUID uuid = UUID.randomUUID();
+        final Vertex a = graph.addVertex(T.id, "a", T.label, "thing", "uuid", uuid, "list", Arrays.asList(1, "two", 3.0d),
+                "short", (short) 1, "byte", (byte) 2, "float", 3.5f, "bool", true, "nothing", null);
+        final Vertex b = graph.addVertex(T.id, uuid, "map", Collections.singletonMap("k", 1L));
+        a.addEdge("link", b, T.id, 100L, "duration", Duration.ofSeconds(5), "nothing", null);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        final Vertex ra = reloadedGraph.vertices("a").next();
+        assertEquals("thing", ra.label());
+        assertEquals(uuid, ra.value("uuid"));
+        assertEquals(Arrays.asList(1, "two", 3.0d), ra.value("list"));
+        assertEquals((short) 1, (short) ra.value("short"));
+        assertEquals((byte) 2, (byte) ra.value("byte"));
+        assertEquals(3.5f, ra.value("float"), 0.0f);
+        assertEquals(true, ra.value("bool"));
+        assertTrue(ra.property("nothing").isPresent());
+        assertEquals(Collections.singletonMap("k", 1L), reloadedGraph.vertices(uuid).next().value("map"));
+
+        final Edge e = reloadedGraph.edges(100L).next();
+        assertEquals(Duration.ofSeconds(5), e.value("duration"));
+        assertEquals(uuid, e.inVertex().id());
+        assertTrue(e.property("nothing").isPresent());
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldRecoverFromWriteAheadLog() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldRecoverFromWriteAheadLog.tgs");
+        deleteGraphFiles(graphLocation);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, TinkerGraphSnapshot.FORMAT);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC_INTERVAL, 0);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL, 0);
+
+        // the graph is never closed, as if the process had stopped
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        final Vertex marko = graph.vertices(1).next();
+        marko.property("age", 30);
+        marko.property("name").property("since", 2010);
+        graph.vertices(6).next().remove();
+        graph.edges(7).next().property("weight").remove();
+        graph.vertices(4).next().property(VertexProperty.Cardinality.list, "name", "josh2");
+        assertEquals(1, countWriteAheadLogSegments(graphLocation));
+
+        final TinkerGraph recoveredGraph = TinkerGraph.open(conf);
+        assertEquals(5, recoveredGraph.getVerticesCount());
+        assertEquals(5, recoveredGraph.getEdgesCount());
+        final Vertex recoveredMarko = recoveredGraph.vertices(1).next();
+        assertEquals(30, (int) recoveredMarko.value("age"));
+        assertEquals(2010, (int) recoveredMarko.property("name").value("since"));
+        assertFalse(recoveredGraph.edges(7).next().property("weight").isPresent());
+        assertEquals(2, IteratorUtils.count(recoveredGraph.vertices(4).next().properties("name")));
+        assertEquals(Arrays.asList("lop", "ripple"), recoveredGraph.traversal().V(4).out("created").values("name").order().toList());
+
+        // recovery writes a checkpoint and closing writes another so nothing is left to replay
+        assertEquals(1, countWriteAheadLogSegments(graphLocation));
+        recoveredGraph.close();
+        assertEquals(0, countWriteAheadLogSegments(graphLocation));
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertEquals(5, reloadedGraph.getVerticesCount());
+        assertEquals(30, (int) reloadedGraph.vertices(1).next().value("age"));
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldCheckpointWriteAheadLog() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldCheckpointWriteAheadLog.kryo");
+        deleteGraphFiles(graphLocation);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL, 0);
+
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.writeAheadLog.checkpoint();
+        assertTrue(new File(graphLocation).exists());
+        assertEquals(1, countWriteAheadLogSegments(graphLocation));
+
+        graph.addVertex(T.id, 100, "name", "after");
+        graph.vertices(1).next().remove();
+        graph.writeAheadLog.sync();
+
+        final TinkerGraph recoveredGraph = TinkerGraph.open(conf);
+        assertEquals(6, recoveredGraph.getVerticesCount());
+        assertEquals(3, recoveredGraph.getEdgesCount());
+        assertEquals("after", recoveredGraph.vertices(100).next().value("name"));
+        assertFalse(recoveredGraph.vertices(1).hasNext());
+        recoveredGraph.close();
+    }
+
+    @Test
+    public void shouldCheckpointWriteAheadLogOnChangingThread() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerGraphTest.class, "shouldCheckpointWriteAheadLogOnChangingThread.tgs");
+        deleteGraphFiles(graphLocation);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, TinkerGraphSnapshot.FORMAT);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL, 10);
+
+        // the checkpoints are written by this thread as it changes the graph, so they never see a change in progress
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final Vertex hub = graph.addVertex(T.id, 0);
+        for (int i = 1; i <= 200; i++) {
+            final Vertex v = graph.addVertex(T.id, i, "value", i);
+            hub.addEdge("link", v, "value", i);
+            if (i % 2 == 0) graph.vertices(i - 1).next().remove();
+            if (i % 20 == 0) Thread.sleep(15);
+        }
+        assertTrue(new File(graphLocation).exists());
+        assertEquals(1, countWriteAheadLogSegments(graphLocation));
+        graph.writeAheadLog.sync();
+
+        final TinkerGraph recoveredGraph = TinkerGraph.open(conf);
+        assertEquals(101, recoveredGraph.getVerticesCount());
+        assertEquals(100, recoveredGraph.getEdgesCount());
+        assertEquals(100, (long) recoveredGraph.traversal().V(0).out("link").count().next());
+        recoveredGraph.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRequireGraphLocationForWriteAheadLog() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        TinkerGraph.open(conf);
+    }
+
     @Test
     public void shouldPersistWithRelativePath() {
         final String graphLocation = TestHelper.convertToRelative(TinkerGraphTest.class,
@@ -1034,4 +1501,16 @@ public class TinkerGraphTest {
             return false;
         }
     }
+
+    private static void deleteGraphFiles(final String graphLocation) {
+        final File f = new File(graphLocation);
+        final File[] files = f.getParentFile().listFiles((dir, name) -> name.startsWith(f.getName()));
+        if (files != null) Arrays.stream(files).forEach(File::delete);
+    }
+
+    private static int countWriteAheadLogSegments(final String graphLocation) {
+        final File f = new File(graphLocation);
+        final File[] files = f.getParentFile().listFiles((dir, name) -> name.startsWith(f.getName() + ".wal."));
+        return null == files ? 0 : files.length;
+    }
 }
@@ -18,22 +18,35 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.io.IoTest;
 import org.apache.tinkerpop.gremlin.structure.util.TransactionException;
 import org.junit.Test;
 
+import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -41,6 +54,134 @@ public class TinkerTransactionGraphTest {
 
     final Object vid = 100;
 
+    @Test
+    public void shouldPersistToSnapshot() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerTransactionGraphTest.class, "shouldPersistToSnapshot.tgs");
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, TinkerGraphSnapshot.FORMAT);
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerTransactionGraph graph = TinkerTransactionGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.tx().commit();
+        graph.close();
+
+        final TinkerTransactionGraph reloadedGraph = TinkerTransactionGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldRecoverCommittedTransactionsFromWriteAheadLog() {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerTransactionGraphTest.class, "shouldRecoverFromWriteAheadLog.tgs");
+        final File f = new File(graphLocation);
+        final File[] existing = f.getParentFile().listFiles((dir, name) -> name.startsWith(f.getName()));
+        if (existing != null) Arrays.stream(existing).forEach(File::delete);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, TinkerGraphSnapshot.FORMAT);
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL, 0);
+
+        // the graph is never closed, as if the process had stopped
+        final TinkerTransactionGraph graph = TinkerTransactionGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.tx().commit();
+
+        final GraphTraversalSource gtx = graph.tx().begin();
+        gtx.V(1).property("age", 30).iterate();
+        gtx.V(6).drop().iterate();
+        gtx.tx().commit();
+
+        // left open so it should not be recovered
+        graph.addVertex(T.id, 100);
+        graph.vertices(2).next().property("age", 100);
+
+        final TinkerTransactionGraph recoveredGraph = TinkerTransactionGraph.open(conf);
+        assertEquals(5, recoveredGraph.getVerticesCount());
+        assertEquals(5, recoveredGraph.getEdgesCount());
+        assertEquals(30, (int) recoveredGraph.vertices(1).next().value("age"));
+        assertEquals(27, (int) recoveredGraph.vertices(2).next().value("age"));
+        assertEquals(0.4d, recoveredGraph.edges(9).next().value("weight"), 0.0d);
+        recoveredGraph.tx().rollback();
+        recoveredGraph.close();
+
+        final TinkerTransactionGraph reloadedGraph = TinkerTransactionGraph.open(conf);
+        assertEquals(5, reloadedGraph.getVerticesCount());
+        assertEquals(30, (int) reloadedGraph.vertices(1).next().value("age"));
+        reloadedGraph.tx().rollback();
+        reloadedGraph.close();
+
+        graph.tx().rollback();
+    }
+
+    @Test
+    public void shouldCheckpointWriteAheadLogWhileTransactionsCommit() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataFile(TinkerTransactionGraphTest.class, "shouldCheckpointWhileTransactionsCommit.tgs");
+        final File f = new File(graphLocation);
+        final File[] existing = f.getParentFile().listFiles((dir, name) -> name.startsWith(f.getName()));
+        if (existing != null) Arrays.stream(existing).forEach(File::delete);
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, TinkerGraphSnapshot.FORMAT);
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL, 0);
+
+        final TinkerTransactionGraph graph = TinkerTransactionGraph.open(conf);
+        graph.addVertex(T.id, 0);
+        graph.tx().commit();
+
+        // each commit adds a vertex linked to the hub and removes the vertex added by the previous commit
+        final int writers = 4;
+        final CountDownLatch done = new CountDownLatch(writers);
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        for (int i = 0; i < writers; i++) {
+            final int writer = i;
+            new Thread(() -> {
+                try {
+                    final GraphTraversalSource gtx = graph.tx().begin();
+                    for (int j = 1; j <= 250; j++) {
+                        final int id = writer * 1000 + j;
+                        try {
+                            gtx.addV().property(T.id, id).property("value", j).as("v").V(0).addE("link").to("v").iterate();
+                            if (j > 1) gtx.V(id - 1).drop().iterate();
+                            gtx.tx().commit();
+                        } catch (TransactionException ex) {
+                            // removing a vertex with an edge from the hub may conflict with another writer, so retry
+                            gtx.tx().rollback();
+                            j--;
+                        }
+                    }
+                } catch (Exception ex) {
+                    failure.set(ex);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        // checkpoints fail with an exception if they read the graph while it changes
+        int checkpoints = 0;
+        while (done.getCount() > 0) {
+            graph.writeAheadLog.checkpoint();
+            checkpoints++;
+        }
+        graph.writeAheadLog.checkpoint();
+        assertNull(failure.get());
+        assertTrue(checkpoints > 0);
+        assertEquals(1, f.getParentFile().listFiles((dir, name) -> name.startsWith(f.getName() + ".wal.")).length);
+
+        final TinkerTransactionGraph recoveredGraph = TinkerTransactionGraph.open(conf);
+        assertEquals(writers + 1, recoveredGraph.getVerticesCount());
+        assertEquals(writers, recoveredGraph.getEdgesCount());
+        recoveredGraph.tx().rollback();
+        recoveredGraph.close();
+    }
+
     ///// vertex tests
 
     @Test
@@ -393,6 +534,111 @@ public class TinkerTransactionGraphTest {
         assertEquals(vid, index.get(1).iterator().next().get().id());
     }
 
+    @Test
+    public void shouldUseCompositeIndexWithinTransaction() throws InterruptedException {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+        g.createCompositeIndex(Arrays.asList("tenant", "type"), Vertex.class);
+
+        final GraphTraversalSource gtx = g.tx().begin();
+        for (int i = 0; i < 10; i++) {
+            gtx.addV().property("tenant", "t" + (i % 2)).property("type", "x" + (i % 5)).iterate();
+        }
+        assertEquals(1L, (long) gtx.V().has("tenant", "t0").has("type", "x2").count().next());
+        gtx.tx().commit();
+
+        final GraphTraversalSource gtx2 = g.tx().begin();
+        assertEquals(1L, (long) gtx2.V().has("tenant", "t0").has("type", "x2").count().next());
+        gtx2.V().has("tenant", "t0").has("type", "x2").property("type", "x4").iterate();
+        gtx2.addV().property("tenant", "t0").property("type", "x4").iterate();
+        assertEquals(0L, (long) gtx2.V().has("tenant", "t0").has("type", "x2").count().next());
+        assertEquals(3L, (long) gtx2.V().has("tenant", "t0").has("type", "x4").count().next());
+
+        final Thread thread = new Thread(() -> {
+            final GraphTraversalSource gtx3 = g.tx().begin();
+            assertEquals(1L, (long) gtx3.V().has("tenant", "t0").has("type", "x2").count().next());
+            assertEquals(1L, (long) gtx3.V().has("tenant", "t0").has("type", "x4").count().next());
+        });
+        thread.start();
+        thread.join();
+
+        gtx2.tx().commit();
+
+        final GraphTraversalSource gtx4 = g.tx().begin();
+        assertEquals(0L, (long) gtx4.V().has("tenant", "t0").has("type", "x2").count().next());
+        assertEquals(3L, (long) gtx4.V().has("tenant", "t0").has("type", "x4").count().next());
+        gtx4.V().has("tenant", "t0").has("type", "x4").drop().iterate();
+        gtx4.tx().commit();
+
+        assertEquals(0L, (long) g.traversal().V().has("tenant", "t0").has("type", "x4").count().next());
+    }
+
+    @Test
+    public void shouldCountByLabelWithinTransaction() throws InterruptedException {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+
+        final GraphTraversalSource gtx = g.tx().begin();
+        for (int i = 0; i < 10; i++) {
+            gtx.addV(i < 4 ? "person" : "software").iterate();
+        }
+        assertEquals(4L, (long) gtx.V().hasLabel("person").count().next());
+        gtx.tx().commit();
+
+        final GraphTraversalSource gtx2 = g.tx().begin();
+        assertEquals(4L, (long) gtx2.V().hasLabel("person").count().next());
+        gtx2.V().hasLabel("person").limit(1).drop().iterate();
+        gtx2.addV("person").iterate();
+        gtx2.addV("person").iterate();
+        assertEquals(5L, (long) gtx2.V().hasLabel("person").count().next());
+        assertEquals(5L, (long) gtx2.V().hasLabel("person").toList().size());
+        assertEquals(11L, (long) gtx2.V().hasLabel("person", "software").count().next());
+
+        final Thread thread = new Thread(() -> {
+            final GraphTraversalSource gtx3 = g.tx().begin();
+            assertEquals(4L, (long) gtx3.V().hasLabel("person").count().next());
+        });
+        thread.start();
+        thread.join();
+
+        gtx2.tx().commit();
+
+        assertEquals(5L, (long) g.traversal().V().hasLabel("person").count().next());
+        assertEquals(6L, (long) g.traversal().V().hasLabel("software").count().next());
+    }
+
+    @Test
+    public void shouldUseRangeIndexWithinTransaction() throws InterruptedException {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+        g.createIndex("test-property", Vertex.class, TinkerIndexType.RANGE);
+
+        final GraphTraversalSource gtx = g.tx().begin();
+        for (int i = 0; i < 10; i++) {
+            gtx.addV().property("test-property", i).iterate();
+        }
+        gtx.tx().commit();
+
+        final GraphTraversalSource gtx2 = g.tx().begin();
+        gtx2.V().has("test-property", 3).property("test-property", 30).iterate();
+        gtx2.addV().property("test-property", -1).iterate();
+
+        assertEquals(4L, (long) gtx2.V().has("test-property", P.between(2, 7)).count().next());
+        assertEquals(Arrays.asList(30, 9), gtx2.V().order().by("test-property", Order.desc).limit(2).values("test-property").toList());
+        assertEquals(Arrays.asList(-1, 0), gtx2.V().order().by("test-property").limit(2).values("test-property").toList());
+
+        final Thread thread = new Thread(() -> {
+            final GraphTraversalSource gtx3 = g.tx().begin();
+            assertEquals(5L, (long) gtx3.V().has("test-property", P.between(2, 7)).count().next());
+            assertEquals(Arrays.asList(0, 1), gtx3.V().order().by("test-property").limit(2).values("test-property").toList());
+        });
+        thread.start();
+        thread.join();
+
+        gtx2.tx().commit();
+
+        final GraphTraversalSource gtx4 = g.tx().begin();
+        assertEquals(Arrays.asList(30, 9), gtx4.V().order().by("test-property", Order.desc).limit(2).values("test-property").toList());
+        assertEquals(1L, (long) gtx4.V().has("test-property", P.lt(0)).count().next());
+    }
+
     @Test
     public void shouldCreateIndexForNullVertexProperty() throws InterruptedException {
         final TinkerTransactionGraph g = TinkerTransactionGraph.open();
@@ -731,6 +977,187 @@ public class TinkerTransactionGraphTest {
         assertEquals(0, index.size());
     }
 
+    // read-only transaction tests
+
+    @Test
+    public void shouldReadCommittedElementsInReadOnlyTransaction() throws InterruptedException {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+        g.createIndex("name", Vertex.class);
+        TinkerFactory.generateModern(g);
+        g.tx().commit();
+
+        final GraphTraversalSource gtx = g.beginReadOnly();
+        assertTrue(g.tx().isOpen());
+        assertEquals(6, (long) gtx.V().count().next());
+        assertEquals(6, (long) gtx.E().count().next());
+        assertEquals(Arrays.asList("josh", "vadas"), gtx.V().has("name", "marko").out("knows").values("name").order().toList());
+        assertEquals(2, (long) gtx.V().hasLabel("software").count().next());
+
+        // committed elements are read directly rather than copied
+        final Vertex marko = gtx.V().has("name", "marko").next();
+        assertSame(g.getVertices().get(marko.id()).getUnmodified(), marko);
+
+        // changes committed by other transactions are visible to read-only transactions opened after them
+        final Thread thread = new Thread(() -> {
+            final GraphTraversalSource gtx2 = g.tx().begin();
+            gtx2.addV("person").property("name", "stephen").iterate();
+            gtx2.tx().commit();
+        });
+        thread.start();
+        thread.join();
+
+        assertEquals(6, (long) gtx.V().count().next());
+        assertEquals(0, (long) gtx.V().has("name", "stephen").count().next());
+
+        gtx.tx().commit();
+        assertFalse(g.tx().isOpen());
+
+        final GraphTraversalSource gtx3 = g.beginReadOnly();
+        assertEquals(7, (long) gtx3.V().count().next());
+        assertEquals(1, (long) gtx3.V().has("name", "stephen").count().next());
+        gtx3.tx().commit();
+    }
+
+    @Test
+    public void shouldReadSnapshotInReadOnlyTransaction() throws InterruptedException {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+        g.createIndex("name", Vertex.class);
+        g.createIndex("age", Vertex.class, TinkerIndexType.RANGE);
+        TinkerFactory.generateModern(g);
+        g.tx().commit();
+        final GraphTraversalSource gtx = g.beginReadOnly();
+        final Vertex marko = gtx.V().has("name", "marko").next();
+        final Object markoId = marko.id();
+
+        // remove a vertex with its edges, change and add elements in other transactions
+        final Thread thread = new Thread(() -> {
+            final GraphTraversalSource gtx2 = g.tx().begin();
+            gtx2.V().has("name", "marko").drop().iterate();
+            gtx2.V().has("name", "josh").property("name", "joshua").iterate();
+            gtx2.tx().commit();
+            gtx2.V().has("name", "vadas").property("age", 50).iterate();
+            gtx2.addV("person").property("name", "stephen").iterate();
+            gtx2.E().hasLabel("created").limit(1).drop().iterate();
+            gtx2.tx().commit();
+        });
+        thread.start();
+        thread.join();
+
+        assertEquals(6, (long) gtx.V().count().next());
+        assertEquals(6, (long) gtx.E().count().next());
+        assertEquals(4, (long) gtx.V().hasLabel("person").count().next());
+        assertEquals(Arrays.asList("josh", "vadas"), gtx.V().has("name", "marko").out("knows").values("name").order().toList());
+        assertEquals(Arrays.asList("josh", "vadas"), gtx.V(marko).out("knows").values("name").order().toList());
+        assertEquals(3, (long) gtx.V(marko).outE().count().next());
+        assertEquals(1, (long) gtx.V().has("name", "josh").count().next());
+        assertEquals(0, (long) gtx.V().has("name", "joshua").count().next());
+        assertEquals(Arrays.asList("vadas", "marko"), gtx.V().order().by("age").limit(2).values("name").toList());
+        gtx.tx().commit();
+
+        // the removed elements are dropped from the graph once the read-only transaction is closed
+        assertNull(g.getVertices().get(markoId));
+        assertEquals(6, g.getVertices().size());
+        assertEquals(2, g.getEdges().size());
+
+        final GraphTraversalSource gtx3 = g.beginReadOnly();
+        assertEquals(6, (long) gtx3.V().count().next());
+        assertEquals(2, (long) gtx3.E().count().next());
+        assertEquals(0, (long) gtx3.V().has("name", "marko").count().next());
+        assertEquals(1, (long) gtx3.V().has("name", "joshua").count().next());
+        assertEquals(Arrays.asList("joshua", "peter"), gtx3.V().order().by("age").limit(2).values("name").toList());
+        gtx3.tx().commit();
+    }
+
+    @Test
+    public void shouldNotReadPartOfConcurrentCommitsInReadOnlyTransaction() throws InterruptedException {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+        final Vertex a = g.addVertex(T.id, 1, "balance", 100);
+        final Vertex b = g.addVertex(T.id, 2, "balance", 100);
+        a.addEdge("link", b);
+        g.tx().commit();
+
+        // each commit moves a part of the balance between the vertices and replaces the link between them
+        final int writers = 2;
+        final CountDownLatch done = new CountDownLatch(writers);
+        for (int i = 0; i < writers; i++) {
+            new Thread(() -> {
+                final GraphTraversalSource gtx = g.tx().begin();
+                for (int j = 0; j < 500; j++) {
+                    try {
+                        final int amount = j % 7 + 1;
+                        gtx.V(1).property("balance", __.values("balance").math("_ - " + amount)).iterate();
+                        gtx.V(2).property("balance", __.values("balance").math("_ + " + amount)).iterate();
+                        gtx.E().hasLabel("link").drop().iterate();
+                        gtx.V(1).addE("link").to(__.V(2)).iterate();
+                        gtx.tx().commit();
+                    } catch (TransactionException ex) {
+                        gtx.tx().rollback();
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+
+        while (done.getCount() > 0) {
+            final GraphTraversalSource gtx = g.beginReadOnly();
+            final double balanceA = ((Number) gtx.V(1).values("balance").next()).doubleValue();
+            Thread.yield();
+            final double balanceB = ((Number) gtx.V(2).values("balance").next()).doubleValue();
+            assertEquals(200, balanceA + balanceB, 0.0);
+            assertEquals(1, (long) gtx.E().hasLabel("link").count().next());
+            assertEquals(1, (long) gtx.V(1).out("link").count().next());
+            gtx.tx().commit();
+        }
+
+        assertEquals(1, g.getEdges().size());
+    }
+
+    @Test
+    public void shouldNotChangeGraphInReadOnlyTransaction() throws InterruptedException {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+        g.addVertex(T.id, vid, "test-property", 1);
+        g.tx().commit();
+
+        final GraphTraversalSource gtx = g.beginReadOnly();
+        try {
+            gtx.addV().iterate();
+            fail("should throw IllegalStateException");
+        } catch (IllegalStateException e) {
+
+        }
+
+        try {
+            gtx.V(vid).property("test-property", 2).iterate();
+            fail("should throw IllegalStateException");
+        } catch (IllegalStateException e) {
+
+        }
+
+        try {
+            gtx.V(vid).drop().iterate();
+            fail("should throw IllegalStateException");
+        } catch (IllegalStateException e) {
+
+        }
+        gtx.tx().rollback();
+
+        assertEquals(1, (int) g.getVertices().get(vid).getUnmodified().value("test-property"));
+        countElementsInNewThreadTx(g, 1, 0);
+
+        // read-write transactions are not affected
+        final GraphTraversalSource gtx2 = g.tx().begin();
+        gtx2.V(vid).property("test-property", 2).iterate();
+        gtx2.tx().commit();
+        assertEquals(2, (int) g.getVertices().get(vid).getUnmodified().value("test-property"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotBeginReadOnlyTransactionWhenTransactionIsOpen() {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+        g.addVertex();
+        g.beginReadOnly();
+    }
+
     // tests for cloning elements
 
     @Test
@@ -748,8 +1175,10 @@ public class TinkerTransactionGraphTest {
         final TinkerVertex copy = (TinkerVertex) vertex.clone();
         vertex.properties.get("test").remove(vp);
         assertEquals(1, copy.properties.get("test").size());
-        vertex.inEdgesId.get("label").remove(edge);
-        assertEquals(1, copy.inEdgesId.get("label").size());
+
+        // adjacency is shared rather than copied as it is only changed on commit
+        assertSame(vertex.inEdgesId, copy.inEdgesId);
+        assertNull(copy.outEdgesId);
     }
 
     @Test
@@ -1191,6 +1620,112 @@ public class TinkerTransactionGraphTest {
         countElementsInNewThreadTx(g, 1, 0);
     }
 
+    // tx1 adds an edge from v1 to v2, tx2 adds an edge from v1 to v3
+    @Test
+    public void shouldCommitEdgesAddedToSameVertexInDifferentTx() throws InterruptedException {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+        final GraphTraversalSource gtx = g.tx().begin();
+
+        final Vertex v1 = gtx.addV().next();
+        final Vertex v2 = gtx.addV().next();
+        final Vertex v3 = gtx.addV().next();
+        gtx.tx().commit();
+
+        // tx1 add Edge, only visible in tx1
+        gtx.addE("test").from(v1).to(v2).iterate();
+        assertEquals(1, (long) gtx.V(v1.id()).out("test").count().next());
+        assertEquals(1, (long) gtx.V(v2.id()).inE().count().next());
+
+        // tx2 in same time add Edge from the same vertex
+        final Thread thread = new Thread(() -> {
+            final GraphTraversalSource gtx2 = g.tx().begin();
+            assertEquals(0L, (long) gtx2.V(v1.id()).outE().count().next());
+            gtx2.addE("test").from(v1).to(v3).iterate();
+            gtx2.tx().commit();
+        });
+        thread.start();
+        thread.join();
+
+        // adjacency changes don't conflict
+        gtx.tx().commit();
+
+        assertEquals(2, (long) gtx.V(v1.id()).out("test").count().next());
+        assertEquals(1, (long) gtx.V(v2.id()).in("test").count().next());
+        assertEquals(1, (long) gtx.V(v3.id()).in("test").count().next());
+
+        countElementsInNewThreadTx(g, 3, 2);
+    }
+
+    // tx1 deletes v1, tx2 adds an edge from v1 to v2
+    @Test
+    public void shouldHandleDeletingVertexWhenOtherTxAddEdge() throws InterruptedException {
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open();
+        final GraphTraversalSource gtx = g.tx().begin();
+
+        final Vertex v1 = gtx.addV().next();
+        final Vertex v2 = gtx.addV().next();
+        gtx.tx().commit();
+
+        // tx1 try to delete vertex
+        gtx.V(v1.id()).drop().iterate();
+
+        // tx2 in same time add Edge to the vertex deleted by tx1
+        final Thread thread = new Thread(() -> {
+            final GraphTraversalSource gtx2 = g.tx().begin();
+            gtx2.addE("test").from(v1).to(v2).iterate();
+            gtx2.tx().commit();
+        });
+        thread.start();
+        thread.join();
+
+        try {
+            gtx.tx().commit();
+            fail("should throw TransactionException");
+        } catch (TransactionException e) {
+
+        }
+
+        assertEquals(2, (long) gtx.V().count().next());
+        assertEquals(1, (long) gtx.E().count().next());
+
+        countElementsInNewThreadTx(g, 2, 1);
+    }
+
+    @Test
+    public void shouldWaitForLockedElementOnCommit() throws InterruptedException {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerTransactionGraph.GREMLIN_TINKERGRAPH_TX_LOCK_TIMEOUT, 10000L);
+        final TinkerTransactionGraph g = TinkerTransactionGraph.open(conf);
+        final GraphTraversalSource gtx = g.tx().begin();
+
+        final Vertex v1 = gtx.addV().property("test", 1).next();
+        gtx.tx().commit();
+
+        gtx.V(v1.id()).property("test", 2).iterate();
+
+        // other thread holds the lock for a while as if committing
+        final CountDownLatch locked = new CountDownLatch(1);
+        final Thread thread = new Thread(() -> {
+            final TinkerElementContainer<TinkerVertex> container = g.getVertices().get(v1.id());
+            container.tryLock();
+            locked.countDown();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException ignored) {
+            } finally {
+                container.releaseLock();
+            }
+        });
+        thread.start();
+        locked.await();
+
+        // commit waits for the lock rather than failing
+        gtx.tx().commit();
+        thread.join();
+
+        assertEquals(2, (int) gtx.V(v1.id()).values("test").next());
+    }
+
     @Test
     public void shouldHandleConcurrentChangeForVertexProperty() throws InterruptedException {
         final TinkerTransactionGraph g = TinkerTransactionGraph.open();